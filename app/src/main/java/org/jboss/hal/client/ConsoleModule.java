@@ -174,10 +174,13 @@ import org.jboss.hal.client.runtime.subsystem.messaging.JmsQueuePresenter;
 import org.jboss.hal.client.runtime.subsystem.messaging.JmsQueueView;
 import org.jboss.hal.client.runtime.subsystem.microprofile.health.MicroProfileHealthPresenter;
 import org.jboss.hal.client.runtime.subsystem.microprofile.health.MicroProfileHealthView;
+import org.jboss.hal.client.search.GlobalSearch;
 import org.jboss.hal.client.skeleton.FooterPresenter;
 import org.jboss.hal.client.skeleton.FooterView;
 import org.jboss.hal.client.skeleton.HeaderPresenter;
 import org.jboss.hal.client.skeleton.HeaderView;
+import org.jboss.hal.client.tools.ConsolePerformancePresenter;
+import org.jboss.hal.client.tools.ConsolePerformanceView;
 import org.jboss.hal.client.tools.MacroEditorPresenter;
 import org.jboss.hal.client.tools.MacroEditorView;
 import org.jboss.hal.client.tools.ModelBrowserPresenter;
@@ -217,6 +220,7 @@ public class ConsoleModule extends AbstractPresenterModule {
         bind(AccessControlTokens.class).in(Singleton.class);
         bind(DataSourceTemplates.class).in(Singleton.class);
         bind(ExceptionHandler.class).in(Singleton.class);
+        bind(GlobalSearch.class).asEagerSingleton(); // to register the resource description listener
         bind(ProcessStateHandler.class).asEagerSingleton(); // to register the event handler
         bind(UpdatePathAutoComplete.class).asEagerSingleton(); // to register the event handler
 
@@ -297,6 +301,11 @@ public class ConsoleModule extends AbstractPresenterModule {
                 Mbui_ConnectionView.class,
                 ConnectionPresenter.MyProxy.class);
 
+        bindPresenter(ConsolePerformancePresenter.class,
+                ConsolePerformancePresenter.MyView.class,
+                ConsolePerformanceView.class,
+                ConsolePerformancePresenter.MyProxy.class);
+
         bindPresenter(CoreManagementPresenter.class,
                 CoreManagementPresenter.MyView.class,
                 Mbui_CoreManagementView.class,
@@ -21,8 +21,8 @@ import org.jboss.hal.client.bootstrap.endpoint.EndpointManager;
 import org.jboss.hal.client.bootstrap.tasks.BootstrapTasks;
 import org.jboss.hal.client.bootstrap.tasks.InitializationTasks;
 import org.jboss.hal.client.bootstrap.tasks.InitializedTask;
+import org.jboss.hal.client.bootstrap.tasks.StartupTimeline;
 import org.jboss.hal.core.ExceptionHandler;
-import org.jboss.hal.flow.Flow;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.js.Browser;
 import org.slf4j.Logger;
@@ -70,11 +70,13 @@ public class HalBootstrapper implements Bootstrapper {
 
         endpointManager.select(() -> {
             LoadingPanel.get().on();
-            Flow.sequential(new FlowContext(), bootstrapTasks.tasks())
+            StartupTimeline timeline = new StartupTimeline();
+            bootstrapTasks.run(new FlowContext(), timeline)
                     .then(context -> {
                         logger.info("Bootstrap finished");
                         LoadingPanel.get().off();
                         placeManager.revealCurrentPlace();
+                        timeline.log("First screen", timeline.elapsed());
                         exceptionHandler.afterBootstrap();
                         for (InitializedTask task : initializationTasks.tasks()) {
                             task.run();
@@ -83,6 +85,7 @@ public class HalBootstrapper implements Bootstrapper {
                     })
                     .catch_(error -> {
                         logger.error("Bootstrap error: {}", error);
+                        timeline.log("Bootstrap failed", timeline.elapsed());
                         LoadingPanel.get().off();
                         return null;
                     });
@@ -0,0 +1,41 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import java.util.List;
+
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Task;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * A task executed during bootstrap. Bootstrap tasks declare the tasks they depend on. Tasks without pending dependencies are
+ * executed concurrently.
+ */
+public interface BootstrapTask extends Task<FlowContext> {
+
+    /** The bootstrap tasks which have to be finished before this task is started. */
+    default List<Class<? extends BootstrapTask>> dependsOn() {
+        return emptyList();
+    }
+
+    /** The name used in the {@linkplain StartupTimeline startup timeline}. */
+    @Override
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
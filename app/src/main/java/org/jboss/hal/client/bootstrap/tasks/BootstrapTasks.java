@@ -20,16 +20,19 @@ import java.util.List;
 import javax.inject.Inject;
 
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
+
+import elemental2.promise.Promise;
 
 import static java.util.Arrays.asList;
 
-/** Simple wrapper around an ordered array of bootstrap tasks. */
+/**
+ * Simple wrapper around the bootstrap tasks. The tasks are executed according to their {@linkplain BootstrapTask#dependsOn()
+ * dependencies}. Tasks which don't depend on each other run concurrently.
+ */
 public class BootstrapTasks {
 
-    private final List<Task<FlowContext>> tasks;
+    private final List<BootstrapTask> tasks;
 
-    // Don't change the order unless you know what you're doing!
     @Inject
     public BootstrapTasks(ReadEnvironment readEnvironment,
             ReadAuthentication readAuthentication,
@@ -50,7 +53,16 @@ public class BootstrapTasks {
                 startAnalytics);
     }
 
-    public List<Task<FlowContext>> tasks() {
+    public List<BootstrapTask> tasks() {
         return tasks;
     }
+
+    /**
+     * Executes the bootstrap tasks and records their start and end in the given timeline.
+     *
+     * @return a promise which is resolved when all tasks have finished or rejected as soon as one task fails
+     */
+    public Promise<FlowContext> run(FlowContext context, StartupTimeline timeline) {
+        return new TaskGraph(context, tasks, timeline).run();
+    }
 }
@@ -20,17 +20,18 @@ import java.util.List;
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
-import org.jboss.hal.flow.Flow;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import elemental2.promise.Promise;
 
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.client.bootstrap.tasks.ReadHostNames.HOST_NAMES;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES_ONLY;
@@ -40,8 +41,10 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.MASTER;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.PRIMARY;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 
-public final class FindDomainController implements Task<FlowContext> {
+/** Finds the domain controller among the hosts. Only executed in domain mode. Depends on {@link ReadHostNames}. */
+public final class FindDomainController implements BootstrapTask {
 
     private static final Logger logger = LoggerFactory.getLogger(FindDomainController.class);
 
@@ -54,39 +57,44 @@ public final class FindDomainController implements Task<FlowContext> {
         this.environment = environment;
     }
 
+    @Override
+    public List<Class<? extends BootstrapTask>> dependsOn() {
+        return singletonList(ReadHostNames.class);
+    }
+
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
         if (!environment.isStandalone()) {
             List<String> hosts = context.get(HOST_NAMES);
-            if (hosts != null) {
-                List<Task<FlowContext>> hostTasks = hosts.stream()
-                        .map(host -> {
-                            ResourceAddress address = new ResourceAddress().add(HOST, host);
-                            Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
-                                    .param(ATTRIBUTES_ONLY, true)
-                                    .param(INCLUDE_RUNTIME, true)
-                                    .build();
-                            return (Task<FlowContext>) c -> dispatcher.execute(operation).then(result -> {
-                                boolean primary = false;
-                                boolean primarySecondary = true;
-                                if (result.hasDefined(PRIMARY)) {
-                                    primary = result.get(PRIMARY).asBoolean();
-                                    primarySecondary = true;
-                                } else if (result.hasDefined(MASTER)) {
-                                    primary = result.get(MASTER).asBoolean();
-                                    primarySecondary = false;
-                                }
-                                if (primary) {
-                                    String name = result.get(NAME).asString();
-                                    environment.setDomainController(name);
-                                    environment.setPrimarySecondary(primarySecondary);
-                                    logger.info("Found domain controller: {}", name);
-                                }
-                                return Promise.resolve(c);
-                            });
-                        })
+            if (hosts != null && !hosts.isEmpty()) {
+                // read all hosts in one composite rather than one request per host
+                List<Operation> operations = hosts.stream()
+                        .map(host -> new Operation.Builder(new ResourceAddress().add(HOST, host), READ_RESOURCE_OPERATION)
+                                .param(ATTRIBUTES_ONLY, true)
+                                .param(INCLUDE_RUNTIME, true)
+                                .build())
                         .collect(toList());
-                return Flow.sequential(context, hostTasks).promise();
+                return dispatcher.execute(new Composite(operations)).then(result -> {
+                    for (ModelNode step : result) {
+                        ModelNode host = step.get(RESULT);
+                        boolean primary = false;
+                        boolean primarySecondary = true;
+                        if (host.hasDefined(PRIMARY)) {
+                            primary = host.get(PRIMARY).asBoolean();
+                            primarySecondary = true;
+                        } else if (host.hasDefined(MASTER)) {
+                            primary = host.get(MASTER).asBoolean();
+                            primarySecondary = false;
+                        }
+                        if (primary) {
+                            String name = host.get(NAME).asString();
+                            environment.setDomainController(name);
+                            environment.setPrimarySecondary(primarySecondary);
+                            logger.info("Found domain controller: {}", name);
+                        }
+                    }
+                    return Promise.resolve(context);
+                });
             } else {
                 return Promise.resolve(context);
             }
@@ -15,32 +15,48 @@
  */
 package org.jboss.hal.client.bootstrap.tasks;
 
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Build;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Settings;
+import org.jboss.hal.dmr.dispatch.DmrTransport;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.processing.MetadataProcessor;
+import org.jboss.hal.meta.processing.WorkerChannel;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
 import org.jboss.hal.resources.Names;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import elemental2.promise.Promise;
 
+import static java.util.Arrays.asList;
+import static org.jboss.hal.config.Settings.Key.BATCH_OPERATIONS;
 import static org.jboss.hal.config.Settings.Key.COLLECT_USER_DATA;
+import static org.jboss.hal.config.Settings.Key.DMR_TRANSPORT;
 import static org.jboss.hal.config.Settings.Key.LOCALE;
+import static org.jboss.hal.config.Settings.Key.METADATA_BATCH_SIZE;
+import static org.jboss.hal.config.Settings.Key.METADATA_COMPRESSION;
+import static org.jboss.hal.config.Settings.Key.METADATA_CONCURRENCY;
+import static org.jboss.hal.config.Settings.Key.METADATA_FLUSH_INTERVAL;
 import static org.jboss.hal.config.Settings.Key.PAGE_SIZE;
 import static org.jboss.hal.config.Settings.Key.POLL;
 import static org.jboss.hal.config.Settings.Key.POLL_TIME;
+import static org.jboss.hal.config.Settings.Key.READ_CACHE_TTL;
+import static org.jboss.hal.config.Settings.Key.RESOURCE_DESCRIPTION_CACHE_SIZE;
 import static org.jboss.hal.config.Settings.Key.RUN_AS;
+import static org.jboss.hal.config.Settings.Key.SECURITY_CONTEXT_CACHE_SIZE;
 import static org.jboss.hal.config.Settings.Key.TITLE;
 
 /**
- * Loads the settings. Please make sure this is one of the last bootstrap function. This function loads the run-as role which is
- * then used by the dispatcher. But all previous bootstrap functions must not have a run-as role in the dispatcher.
+ * Loads the settings. This task loads the run-as role which is then used by the dispatcher. But bootstrap tasks which execute
+ * DMR operations must not have a run-as role in the dispatcher. That's why this task depends on all of them.
  */
-public final class LoadSettings implements Task<FlowContext> {
+public final class LoadSettings implements BootstrapTask {
 
     private static final Logger logger = LoggerFactory.getLogger(LoadSettings.class);
 
@@ -53,6 +69,11 @@ public final class LoadSettings implements Task<FlowContext> {
         this.settings = settings;
     }
 
+    @Override
+    public List<Class<? extends BootstrapTask>> dependsOn() {
+        return asList(ReadEnvironment.class, ReadAuthentication.class, ReadHostNames.class, FindDomainController.class);
+    }
+
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
         settings.load(TITLE, Names.BROWSER_DEFAULT_TITLE);
@@ -62,6 +83,15 @@ public final class LoadSettings implements Task<FlowContext> {
         settings.load(POLL, true);
         settings.load(POLL_TIME, Settings.DEFAULT_POLL_TIME);
         settings.load(RUN_AS, null);
+        settings.load(DMR_TRANSPORT, DmrTransport.ENCODED.key());
+        settings.load(BATCH_OPERATIONS, false);
+        settings.load(READ_CACHE_TTL, 0);
+        settings.load(METADATA_CONCURRENCY, MetadataProcessor.DEFAULT_CONCURRENCY);
+        settings.load(METADATA_BATCH_SIZE, WorkerChannel.DEFAULT_BATCH_SIZE);
+        settings.load(METADATA_FLUSH_INTERVAL, WorkerChannel.DEFAULT_FLUSH_INTERVAL);
+        settings.load(METADATA_COMPRESSION, false);
+        settings.load(RESOURCE_DESCRIPTION_CACHE_SIZE, ResourceDescriptionRegistry.DEFAULT_CACHE_SIZE);
+        settings.load(SECURITY_CONTEXT_CACHE_SIZE, SecurityContextRegistry.DEFAULT_CACHE_SIZE);
         logger.debug("Load settings: {}", settings);
         return Promise.resolve(context);
     }
@@ -16,6 +16,7 @@
 package org.jboss.hal.client.bootstrap.tasks;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -31,7 +32,6 @@ import org.jboss.hal.dmr.Property;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
@@ -40,6 +40,7 @@ import org.slf4j.LoggerFactory;
 
 import elemental2.promise.Promise;
 
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toSet;
 import static org.jboss.hal.config.AccessControlProvider.RBAC;
 import static org.jboss.hal.config.AccessControlProvider.SIMPLE;
@@ -68,7 +69,7 @@ import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
  * function, because the operation might fail in some corner cases (e.g. when the current user is a host scoped role scoped to a
  * secondary host).
  */
-public final class ReadAuthentication implements Task<FlowContext> {
+public final class ReadAuthentication implements BootstrapTask {
 
     private static final Logger logger = LoggerFactory.getLogger(ReadAuthentication.class);
     private static final AddressTemplate CORE_SERVICE_TEMPLATE = AddressTemplate.of("/core-service=management");
@@ -84,6 +85,11 @@ public final class ReadAuthentication implements Task<FlowContext> {
         this.statementContext = statementContext;
     }
 
+    @Override
+    public List<Class<? extends BootstrapTask>> dependsOn() {
+        return singletonList(ReadEnvironment.class);
+    }
+
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
         logger.debug("Read authentication");
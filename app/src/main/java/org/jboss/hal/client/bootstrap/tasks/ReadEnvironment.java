@@ -34,7 +34,6 @@ import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.ManagementModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,7 +65,7 @@ import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
  * Reads important information from the root resource like product name and version, operation mode and management version.
  * Executes the {@code :whoami} operation to get the current user / roles.
  */
-public final class ReadEnvironment implements Task<FlowContext> {
+public final class ReadEnvironment implements BootstrapTask {
 
     private static final Logger logger = LoggerFactory.getLogger(ReadEnvironment.class);
 
@@ -25,17 +25,17 @@ import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 
 import elemental2.promise.Promise;
 
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
 
 /** Reads the domain controller. Only executed in domain mode. Depends on {@link ReadEnvironment}. */
-public final class ReadHostNames implements Task<FlowContext> {
+public final class ReadHostNames implements BootstrapTask {
 
     static final String HOST_NAMES = "bootstrap.hostNames";
 
@@ -48,6 +48,11 @@ public final class ReadHostNames implements Task<FlowContext> {
         this.environment = environment;
     }
 
+    @Override
+    public List<Class<? extends BootstrapTask>> dependsOn() {
+        return singletonList(ReadEnvironment.class);
+    }
+
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
         if (environment.isStandalone()) {
@@ -15,11 +15,12 @@
  */
 package org.jboss.hal.client.bootstrap.tasks;
 
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.ManagementModel;
 import org.jboss.hal.meta.capabilitiy.Capabilities;
@@ -28,10 +29,11 @@ import org.slf4j.LoggerFactory;
 
 import elemental2.promise.Promise;
 
+import static java.util.Collections.singletonList;
 import static org.jboss.hal.meta.StatementContext.Expression.SELECTED_PROFILE;
 
-/** Reads the capabilities from the capability registry. Depends on {@link ReadHostNames}. */
-public final class RegisterStaticCapabilities implements Task<FlowContext> {
+/** Reads the capabilities from the capability registry. Depends on {@link ReadEnvironment}. */
+public final class RegisterStaticCapabilities implements BootstrapTask {
 
     private static final Logger logger = LoggerFactory.getLogger(RegisterStaticCapabilities.class);
 
@@ -44,6 +46,11 @@ public final class RegisterStaticCapabilities implements Task<FlowContext> {
         this.capabilities = capabilities;
     }
 
+    @Override
+    public List<Class<? extends BootstrapTask>> dependsOn() {
+        return singletonList(ReadEnvironment.class);
+    }
+
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
         if (!ManagementModel.supportsCapabilitiesRegistry(environment.getManagementVersion())) {
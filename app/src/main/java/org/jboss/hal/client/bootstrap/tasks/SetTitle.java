@@ -16,6 +16,7 @@
 package org.jboss.hal.client.bootstrap.tasks;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -24,7 +25,6 @@ import javax.inject.Inject;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Settings;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.resources.Names;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,8 +33,9 @@ import elemental2.promise.Promise;
 
 import static com.google.common.base.Strings.emptyToNull;
 import static elemental2.dom.DomGlobal.document;
+import static java.util.Arrays.asList;
 
-public final class SetTitle implements Task<FlowContext> {
+public final class SetTitle implements BootstrapTask {
 
     private static final Logger logger = LoggerFactory.getLogger(SetTitle.class);
     private static final String NAME_PLACEHOLDER = "%n";
@@ -52,6 +53,11 @@ public final class SetTitle implements Task<FlowContext> {
         data.put(ORGANIZATION_PLACEHOLDER, environment::getOrganization);
     }
 
+    @Override
+    public List<Class<? extends BootstrapTask>> dependsOn() {
+        return asList(ReadEnvironment.class, LoadSettings.class);
+    }
+
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
         String title = settings.get(Settings.Key.TITLE).value();
@@ -15,6 +15,8 @@
  */
 package org.jboss.hal.client.bootstrap.tasks;
 
+import java.util.List;
+
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Endpoints;
@@ -25,7 +27,6 @@ import org.jboss.hal.core.analytics.Tracker;
 import org.jboss.hal.core.finder.FinderContextEvent;
 import org.jboss.hal.core.modelbrowser.ModelBrowserPathEvent;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.js.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,12 +39,13 @@ import elemental2.promise.Promise;
 
 import static elemental2.dom.DomGlobal.document;
 import static elemental2.dom.DomGlobal.window;
+import static java.util.Arrays.asList;
 import static org.jboss.hal.config.Settings.Key.COLLECT_USER_DATA;
 import static org.jboss.hal.config.Settings.Key.LOCALE;
 import static org.jboss.hal.js.Json.stringify;
 
 /** Initialises google analytics and binds {@link Tracker} */
-public final class StartAnalytics implements Task<FlowContext> {
+public final class StartAnalytics implements BootstrapTask {
 
     private static final String PRODUCTION_ID = "UA-89365654-1";
     private static final String DEVELOPMENT_ID = "UA-89365654-2";
@@ -64,6 +66,11 @@ public final class StartAnalytics implements Task<FlowContext> {
         this.eventBus = eventBus;
     }
 
+    @Override
+    public List<Class<? extends BootstrapTask>> dependsOn() {
+        return asList(ReadEnvironment.class, ReadAuthentication.class, LoadSettings.class);
+    }
+
     @Override
     public Promise<FlowContext> apply(final FlowContext context) {
         String pathname = window.location.pathname;
@@ -0,0 +1,114 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records when the bootstrap tasks start and finish. The timeline is logged as a waterfall, so that the time to the first
+ * screen and the effect of the task dependencies can be measured.
+ */
+public class StartupTimeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeline.class);
+    private static final int BAR_WIDTH = 40;
+
+    private final long origin;
+    private final Map<String, Entry> entries;
+
+    public StartupTimeline() {
+        this.origin = System.currentTimeMillis();
+        this.entries = new LinkedHashMap<>();
+    }
+
+    void start(String name) {
+        entries.put(name, new Entry(name, elapsed()));
+    }
+
+    void finish(String name, boolean successful) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            entry.end = elapsed();
+            entry.successful = successful;
+        }
+    }
+
+    /** @return the milliseconds since this timeline has been created */
+    public long elapsed() {
+        return System.currentTimeMillis() - origin;
+    }
+
+    /** Logs the recorded tasks and the given total time as a waterfall. */
+    public void log(String title, long total) {
+        List<String> lines = new ArrayList<>();
+        int width = 0;
+        for (String name : entries.keySet()) {
+            width = Math.max(width, name.length());
+        }
+        double scale = total > 0 ? (double) BAR_WIDTH / total : 0;
+        for (Entry entry : entries.values()) {
+            long end = entry.end < 0 ? total : entry.end;
+            int offset = (int) Math.round(entry.start * scale);
+            int length = Math.max(1, (int) Math.round((end - entry.start) * scale));
+            StringBuilder line = new StringBuilder();
+            line.append(pad(entry.name, width)).append(" |")
+                    .append(repeat(' ', offset))
+                    .append(repeat(entry.successful ? '#' : 'x', length))
+                    .append(repeat(' ', Math.max(0, BAR_WIDTH - offset - length)))
+                    .append("| ").append(entry.start).append(" - ").append(end).append(" ms");
+            if (entry.end < 0) {
+                line.append(" (pending)");
+            } else if (!entry.successful) {
+                line.append(" (failed)");
+            }
+            lines.add(line.toString());
+        }
+        logger.info("{} after {} ms:\n{}", title, total, String.join("\n", lines));
+    }
+
+    private String pad(String value, int width) {
+        return value + repeat(' ', width - value.length());
+    }
+
+    private String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private static class Entry {
+
+        final String name;
+        final long start;
+        long end;
+        boolean successful;
+
+        Entry(String name, long start) {
+            this.name = name;
+            this.start = start;
+            this.end = -1;
+            this.successful = true;
+        }
+    }
+}
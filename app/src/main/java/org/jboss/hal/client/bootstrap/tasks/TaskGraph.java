@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Tracing;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Executes {@linkplain BootstrapTask bootstrap tasks} according to their dependencies. As soon as all dependencies of a task
+ * are finished, the task is started. Independent tasks run concurrently. The execution fails fast.
+ */
+final class TaskGraph {
+
+    private final FlowContext context;
+    private final List<BootstrapTask> pending;
+    private final Set<Class<? extends BootstrapTask>> finished;
+    private final StartupTimeline timeline;
+    private int running;
+    private boolean failed;
+
+    TaskGraph(FlowContext context, List<BootstrapTask> tasks, StartupTimeline timeline) {
+        this.context = context;
+        this.pending = new ArrayList<>(tasks);
+        this.finished = new HashSet<>();
+        this.timeline = timeline;
+        this.running = 0;
+        this.failed = false;
+    }
+
+    Promise<FlowContext> run() {
+        return new Promise<>(this::schedule);
+    }
+
+    private void schedule(ResolveCallbackFn<FlowContext> resolve, RejectCallbackFn reject) {
+        if (failed) {
+            return;
+        }
+        for (Iterator<BootstrapTask> iterator = pending.iterator(); iterator.hasNext();) {
+            BootstrapTask task = iterator.next();
+            if (finished.containsAll(task.dependsOn())) {
+                iterator.remove();
+                start(task, resolve, reject);
+            }
+        }
+        if (running == 0) {
+            if (pending.isEmpty()) {
+                resolve.onInvoke(context);
+            } else {
+                failed = true;
+                reject.onInvoke("Unresolvable bootstrap dependencies: " + pending.stream()
+                        .map(BootstrapTask::name)
+                        .collect(joining(", ")));
+            }
+        }
+    }
+
+    private void start(BootstrapTask task, ResolveCallbackFn<FlowContext> resolve, RejectCallbackFn reject) {
+        running++;
+        timeline.start(task.name());
+        Tracing.trace("bootstrap", task.name(), context, task)
+                .then(c -> {
+                    running--;
+                    timeline.finish(task.name(), true);
+                    finished.add(task.getClass());
+                    schedule(resolve, reject);
+                    return null;
+                })
+                .catch_(error -> {
+                    running--;
+                    timeline.finish(task.name(), false);
+                    if (!failed) {
+                        failed = true;
+                        reject.onInvoke(error);
+                    }
+                    return null;
+                });
+    }
+}
@@ -82,7 +82,9 @@ class DriverStep extends WizardStep<Context, State> {
         registerAttachable(form);
     }
 
-    private Metadata adjustMetadata(Metadata metadata) {
+    private Metadata adjustMetadata(Metadata registered) {
+        // don't modify the registered metadata
+        Metadata metadata = registered.copy();
         ModelNode newAttributes = new ModelNode();
         for (Property property : metadata.getDescription().get(ATTRIBUTES).asPropertyList()) {
             ModelNode value = property.getValue().clone();
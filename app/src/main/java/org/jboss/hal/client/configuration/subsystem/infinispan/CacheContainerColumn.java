@@ -219,7 +219,8 @@ public class CacheContainerColumn extends FinderColumn<CacheContainer> {
     }
 
     private void addRemoteCacheContainer() {
-        Metadata rccMetadata = metadataRegistry.lookup(REMOTE_CACHE_CONTAINER_TEMPLATE);
+        // the registered operation descriptions are shared and read-only, so work on a copy
+        Metadata rccMetadata = metadataRegistry.lookup(REMOTE_CACHE_CONTAINER_TEMPLATE).copy();
         Metadata rcMetadata = metadataRegistry.lookup(REMOTE_CLUSTER_TEMPLATE);
 
         // add nested 'socket-bindings' attribute from 'remote-cluster' resource to top level metadata
@@ -253,7 +253,8 @@ public class JcaView extends HalViewImpl implements JcaPresenter.MyView {
         // ------------------------------------------------------ distributed workmanager
 
         String dwmType = labelBuilder.label(DISTRIBUTED_WORKMANAGER_TEMPLATE.lastName());
-        Metadata dwmMetadata = metadataRegistry.lookup(DISTRIBUTED_WORKMANAGER_TEMPLATE);
+        // the registered operation descriptions are shared and read-only, so work on a copy
+        Metadata dwmMetadata = metadataRegistry.lookup(DISTRIBUTED_WORKMANAGER_TEMPLATE).copy();
         Metadata srtMetadata = metadataRegistry.lookup(WORKMANAGER_SRT_TEMPLATE);
 
         // short-running-thread is required for a distributed workmanager
@@ -45,6 +45,7 @@ import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Download;
 import org.jboss.hal.js.Browser;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
@@ -181,6 +182,8 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
             "webp");
 
     private static final int MIN_HEIGHT = 70;
+    // bigger files are not opened in the editor by default
+    private static final long MAX_EDITOR_SIZE = 5 * 1024 * 1024; // bytes
     private static final AddressTemplate CONTENT_TEMPLATE = AddressTemplate.of("/deployment=*");
 
     private final Dispatcher dispatcher;
@@ -212,6 +215,7 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
     private final HTMLImageElement previewImage;
 
     private Content content;
+    private Download download;
     private int surroundingHeight;
 
     // ------------------------------------------------------ ui setup
@@ -261,7 +265,7 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
                 .icon(Icons.UNKNOWN)
                 .description(resources.messages().unsupportedFileTypeDescription())
                 .primaryAction(resources.constants().download(),
-                        () -> window.location.assign(downloadUrl((tree.getSelected().data))))
+                        () -> downloadContent(tree.getSelected().data))
                 .secondaryAction(resources.constants().viewInEditor(),
                         () -> viewInEditor(tree.getSelected().data))
                 .build();
@@ -420,12 +424,16 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
     // ------------------------------------------------------ deployment methods
 
     private String downloadUrl(ContentEntry contentEntry) {
+        return dispatcher.downloadUrl(readContent(contentEntry));
+    }
+
+    private Operation readContent(ContentEntry contentEntry) {
         ResourceAddress address = new ResourceAddress().add(DEPLOYMENT, content.getName());
         Operation.Builder builder = new Operation.Builder(address, READ_CONTENT);
         if (contentEntry != null) {
             builder.param(PATH, contentEntry.path);
         }
-        return dispatcher.downloadUrl(builder.build());
+        return builder.build();
     }
 
     private void refresh() {
@@ -587,11 +595,48 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
 
     private void loadContent(ContentEntry contentEntry, Consumer<String> successCallback) {
         if (!contentEntry.directory) {
-            ResourceAddress address = new ResourceAddress().add(DEPLOYMENT, content.getName());
-            Operation operation = new Operation.Builder(address, READ_CONTENT)
-                    .param(PATH, contentEntry.path)
-                    .build();
-            dispatcher.download(operation, successCallback);
+            String size = Format.humanReadableFileSize(contentEntry.fileSize);
+            cancelDownload();
+            Download current = dispatcher.download(readContent(contentEntry))
+                    .onProgress((loaded, total) -> editorStatus.textContent = contentEntry.name + " - " +
+                            resources.messages().downloadProgress(Format.humanReadableFileSize((long) loaded), size));
+            download = current;
+            current.text()
+                    .then(text -> {
+                        if (current == download) {
+                            download = null;
+                            editorStatus.textContent = contentEntry.name + " - " + size;
+                            successCallback.accept(text);
+                        }
+                        return null;
+                    })
+                    .catch_(error -> {
+                        if (!current.isCancelled()) {
+                            download = null;
+                            MessageEvent.fire(eventBus,
+                                    Message.error(resources.messages().lastOperationFailed(), String.valueOf(error)));
+                        }
+                        return null;
+                    });
+        }
+    }
+
+    /** Writes the content to a file. Unlike loading the content into the editor, selecting another node doesn't cancel it. */
+    private void downloadContent(ContentEntry contentEntry) {
+        Download current = dispatcher.download(readContent(contentEntry));
+        current.saveAs(contentEntry.name).catch_(error -> {
+            if (!current.isCancelled()) {
+                MessageEvent.fire(eventBus,
+                        Message.error(resources.messages().lastOperationFailed(), String.valueOf(error)));
+            }
+            return null;
+        });
+    }
+
+    private void cancelDownload() {
+        if (download != null) {
+            download.cancel();
+            download = null;
         }
     }
 
@@ -654,6 +699,7 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
     // ------------------------------------------------------ UI state
 
     private void onNodeSelected(SelectionContext<ContentEntry> selection) {
+        cancelDownload();
         collapseButton.disabled = selection.selected.length == 0;
         if (selection.selected.length != 0) {
             if (selection.node.id.equals(Ids.CONTENT_TREE_ROOT)) {
@@ -670,7 +716,7 @@ class BrowseContentElement implements IsElement<HTMLElement>, Attachable {
                             ? contentEntry.name.substring(index + 1)
                             : "";
 
-                    if (EDITOR_FILE_TYPES.contains(extension)) {
+                    if (EDITOR_FILE_TYPES.contains(extension) && contentEntry.fileSize <= MAX_EDITOR_SIZE) {
                         viewInEditor(contentEntry);
 
                     } else if (IMAGE_FILE_TYPES.contains(extension)) {
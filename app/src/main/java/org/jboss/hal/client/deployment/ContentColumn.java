@@ -94,6 +94,7 @@ import static org.jboss.elemento.Elements.span;
 import static org.jboss.hal.client.deployment.ContentColumn.CONTENT_ADDRESS;
 import static org.jboss.hal.client.deployment.ContentColumn.ROOT_ADDRESS;
 import static org.jboss.hal.client.deployment.ContentColumn.SERVER_GROUP_DEPLOYMENT_ADDRESS;
+import static org.jboss.hal.client.deployment.DeploymentTasks.uploadProgress;
 import static org.jboss.hal.client.deployment.wizard.DeploymentState.NAMES;
 import static org.jboss.hal.client.deployment.wizard.DeploymentState.UPLOAD;
 import static org.jboss.hal.core.finder.FinderColumn.RefreshMode.CLEAR_SELECTION;
@@ -327,6 +328,7 @@ public class ContentColumn extends FinderColumn<Content> {
                 .onBack((context, currentState) -> currentState == NAMES ? UPLOAD : null)
                 .onNext((context, currentState) -> currentState == UPLOAD ? NAMES : null)
 
+                .onCancel(DeploymentContext::cancelUpload)
                 .stayOpenAfterFinish()
                 .onFinish((wzd, context) -> {
                     String name = context.name;
@@ -334,8 +336,13 @@ public class ContentColumn extends FinderColumn<Content> {
                     wzd.showProgress(resources.constants().uploadInProgress(),
                             resources.messages().uploadInProgress(name));
 
+                    UploadOrReplace uploadOrReplace = new UploadOrReplace(environment, dispatcher, name, runtimeName,
+                            context.file, false)
+                            .onProgress((loaded, total, bytesPerSecond) -> wzd.updateProgress(
+                                    uploadProgress(resources, name, loaded, total, bytesPerSecond)));
+                    context.uploadCancellation = uploadOrReplace::cancel;
                     List<Task<FlowContext>> tasks = Arrays.asList(new CheckDeployment(dispatcher, name),
-                            new UploadOrReplace(environment, dispatcher, name, runtimeName, context.file, false));
+                            uploadOrReplace);
                     sequential(new FlowContext(progress.get()), tasks)
                             .then(__ -> {
                                 refresh(Ids.content(name));
@@ -398,9 +405,13 @@ public class ContentColumn extends FinderColumn<Content> {
                     if (valid) {
                         ReplaceDeploymentPanel replaceDeploymentPanel = new ReplaceDeploymentPanel();
                         replaceDeploymentPanel.on();
+                        UploadOrReplace uploadOrReplace = new UploadOrReplace(environment, dispatcher, content.getName(),
+                                content.getRuntimeName(), uploadElement.getFiles().item(0), false)
+                                .onProgress((loaded, total, bytesPerSecond) -> replaceDeploymentPanel.progress(
+                                        uploadProgress(resources, content.getName(), loaded, total, bytesPerSecond)));
+                        replaceDeploymentPanel.onCancel(uploadOrReplace::cancel);
                         List<Task<FlowContext>> tasks = Arrays.asList(new CheckDeployment(dispatcher, content.getName()),
-                                new UploadOrReplace(environment, dispatcher, content.getName(), content.getRuntimeName(),
-                                        uploadElement.getFiles().item(0), false));
+                                uploadOrReplace);
                         sequential(new FlowContext(progress.get()), tasks)
                                 .then(context -> {
                                     refresh(Ids.content(content.getName()));
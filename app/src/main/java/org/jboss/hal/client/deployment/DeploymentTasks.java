@@ -24,6 +24,7 @@ import java.util.Set;
 
 import javax.inject.Provider;
 
+import org.jboss.hal.ballroom.Format;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.core.deployment.Content;
 import org.jboss.hal.core.deployment.Deployment;
@@ -37,6 +38,7 @@ import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Upload;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.flow.Progress;
 import org.jboss.hal.flow.Task;
@@ -47,6 +49,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.Lists;
+import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.web.bindery.event.shared.EventBus;
 
 import elemental2.dom.File;
@@ -81,6 +84,7 @@ class DeploymentTasks {
 
     static final String SERVER_GROUP_DEPLOYMENTS = "deploymentFunctions.serverGroupDeployments";
     private static final String UPLOAD_STATISTICS = "deploymentsFunctions.uploadStatistics";
+    private static final String CANCELLED = "Upload cancelled.";
     private static final Logger logger = LoggerFactory.getLogger(DeploymentTasks.class);
 
     /** Uploads or updates one or multiple deployment in standalone mode resp. content in domain mode. */
@@ -160,6 +164,13 @@ class DeploymentTasks {
     private DeploymentTasks() {
     }
 
+    /** Formats the progress reported by {@link UploadOrReplace#onProgress(Upload.ProgressHandler)}. */
+    static SafeHtml uploadProgress(Resources resources, String name, double loaded, double total,
+            double bytesPerSecond) {
+        return resources.messages().uploadProgress(name, Format.humanReadableFileSize((long) loaded),
+                Format.humanReadableFileSize((long) total), Format.humanReadableFileSize((long) bytesPerSecond));
+    }
+
     /** Loads the contents form the content repository and pushes a {@code List<Content>} onto the context stack. */
     static final class LoadContent implements Task<FlowContext> {
 
@@ -404,6 +415,9 @@ class DeploymentTasks {
         private final String runtimeName;
         private final File file;
         private final boolean enabled;
+        private Upload.ProgressHandler progressHandler;
+        private Upload upload;
+        private boolean cancelled;
 
         UploadOrReplace(Environment environment, Dispatcher dispatcher, String name, String runtimeName, File file,
                 boolean enabled) {
@@ -415,8 +429,25 @@ class DeploymentTasks {
             this.enabled = enabled;
         }
 
+        /** Reports the progress of the upload. */
+        UploadOrReplace onProgress(Upload.ProgressHandler progressHandler) {
+            this.progressHandler = progressHandler;
+            return this;
+        }
+
+        /** Cancels the upload, if it's running, or prevents it from being started. */
+        void cancel() {
+            cancelled = true;
+            if (upload != null) {
+                upload.cancel();
+            }
+        }
+
         @Override
         public Promise<FlowContext> apply(final FlowContext context) {
+            if (cancelled) {
+                return Promise.reject(CANCELLED);
+            }
             boolean replace;
             Operation.Builder builder;
 
@@ -441,7 +472,11 @@ class DeploymentTasks {
             Operation operation = builder.build();
             operation.get(CONTENT).add().get(INPUT_STREAM_INDEX).set(0); // NON-NLS
 
-            return dispatcher.upload(file, operation)
+            upload = dispatcher.prepareUpload(file, operation);
+            if (progressHandler != null) {
+                upload.onProgress(progressHandler);
+            }
+            return upload.send()
                     .then(result -> {
                         UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
                         if (statistics == null) {
@@ -18,14 +18,22 @@ package org.jboss.hal.client.deployment;
 import org.jboss.elemento.Elements;
 import org.jboss.elemento.IsElement;
 import org.jboss.hal.resources.Constants;
+import org.jboss.hal.spi.Callback;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.safehtml.shared.SafeHtml;
 
+import elemental2.dom.HTMLButtonElement;
 import elemental2.dom.HTMLElement;
 
 import static elemental2.dom.DomGlobal.document;
+import static org.jboss.elemento.Elements.button;
 import static org.jboss.elemento.Elements.div;
 import static org.jboss.elemento.Elements.h;
+import static org.jboss.elemento.Elements.p;
+import static org.jboss.elemento.EventType.click;
+import static org.jboss.hal.resources.CSS.btn;
+import static org.jboss.hal.resources.CSS.btnDefault;
 import static org.jboss.hal.resources.CSS.loading;
 import static org.jboss.hal.resources.CSS.loadingContainer;
 import static org.jboss.hal.resources.CSS.spinner;
@@ -34,13 +42,26 @@ public class ReplaceDeploymentPanel implements IsElement<HTMLElement> {
     private static final Constants CONSTANTS = GWT.create(Constants.class);
 
     private final HTMLElement root;
+    private final HTMLElement progress;
+    private final HTMLButtonElement cancelButton;
+    private Callback cancelCallback;
 
     public ReplaceDeploymentPanel() {
         this.root = div().css(loadingContainer)
                 .add(div().css(loading)
                         .add(h(3).textContent(CONSTANTS.replaceDeployment()))
-                        .add(div().css(spinner)))
+                        .add(div().css(spinner))
+                        .add(progress = p().element())
+                        .add(cancelButton = button().css(btn, btnDefault)
+                                .textContent(CONSTANTS.cancel())
+                                .on(click, event -> {
+                                    if (cancelCallback != null) {
+                                        cancelCallback.execute();
+                                    }
+                                })
+                                .element()))
                 .element();
+        Elements.setVisible(cancelButton, false);
         document.body.appendChild(this.element());
     }
 
@@ -53,6 +74,17 @@ public class ReplaceDeploymentPanel implements IsElement<HTMLElement> {
         Elements.setVisible(root, true);
     }
 
+    /** Shows the progress of the upload. */
+    public void progress(SafeHtml text) {
+        progress.innerHTML = text.asString();
+    }
+
+    /** Shows a button to cancel the upload. */
+    public void onCancel(Callback cancelCallback) {
+        this.cancelCallback = cancelCallback;
+        Elements.setVisible(cancelButton, true);
+    }
+
     public void off() {
         Elements.setVisible(root, false);
     }
@@ -87,6 +87,7 @@ import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.client.deployment.ContentColumn.CONTENT_ADDRESS;
 import static org.jboss.hal.client.deployment.ContentColumn.CONTENT_TEMPLATE;
+import static org.jboss.hal.client.deployment.DeploymentTasks.uploadProgress;
 import static org.jboss.hal.client.deployment.ServerGroupDeploymentColumn.SERVER_GROUP_DEPLOYMENT_ADDRESS;
 import static org.jboss.hal.client.deployment.wizard.DeploymentState.NAMES;
 import static org.jboss.hal.client.deployment.wizard.DeploymentState.UPLOAD;
@@ -309,6 +310,7 @@ public class ServerGroupDeploymentColumn extends FinderColumn<ServerGroupDeploym
                 .onBack((context, currentState) -> currentState == NAMES ? UPLOAD : null)
                 .onNext((context, currentState) -> currentState == UPLOAD ? NAMES : null)
 
+                .onCancel(DeploymentContext::cancelUpload)
                 .stayOpenAfterFinish()
                 .onFinish((wzd, context) -> {
                     String name = context.name;
@@ -316,9 +318,13 @@ public class ServerGroupDeploymentColumn extends FinderColumn<ServerGroupDeploym
                     wzd.showProgress(resources.constants().deploymentInProgress(),
                             resources.messages().deploymentInProgress(name));
 
+                    UploadOrReplace uploadOrReplace = new UploadOrReplace(environment, dispatcher, name, runtimeName,
+                            context.file, false)
+                            .onProgress((loaded, total, bytesPerSecond) -> wzd.updateProgress(
+                                    uploadProgress(resources, name, loaded, total, bytesPerSecond)));
+                    context.uploadCancellation = uploadOrReplace::cancel;
                     List<Task<FlowContext>> tasks = asList(new CheckDeployment(dispatcher, name),
-                            new UploadOrReplace(environment, dispatcher, name, runtimeName, context.file,
-                                    false),
+                            uploadOrReplace,
                             new AddServerGroupDeployment(environment, dispatcher, name, runtimeName,
                                     statementContext.selectedServerGroup()));
                     sequential(new FlowContext(progress.get()), tasks)
@@ -85,6 +85,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.elemento.Elements.span;
+import static org.jboss.hal.client.deployment.DeploymentTasks.uploadProgress;
 import static org.jboss.hal.client.deployment.StandaloneDeploymentColumn.DEPLOYMENT_ADDRESS;
 import static org.jboss.hal.client.deployment.wizard.DeploymentState.NAMES;
 import static org.jboss.hal.client.deployment.wizard.DeploymentState.UPLOAD;
@@ -303,6 +304,7 @@ public class StandaloneDeploymentColumn extends FinderColumn<Deployment> {
                 .onBack((context, currentState) -> currentState == NAMES ? UPLOAD : null)
                 .onNext((context, currentState) -> currentState == UPLOAD ? NAMES : null)
 
+                .onCancel(DeploymentContext::cancelUpload)
                 .stayOpenAfterFinish()
                 .onFinish((wzd, wizardContext) -> {
                     String name = wizardContext.name;
@@ -310,9 +312,12 @@ public class StandaloneDeploymentColumn extends FinderColumn<Deployment> {
                     wzd.showProgress(resources.constants().deploymentInProgress(),
                             resources.messages().deploymentInProgress(name));
 
-                    List<Task<FlowContext>> tasks = asList(new CheckDeployment(dispatcher, name),
-                            new UploadOrReplace(environment, dispatcher, name, runtimeName, wizardContext.file,
-                                    wizardContext.enabled));
+                    UploadOrReplace uploadOrReplace = new UploadOrReplace(environment, dispatcher, name, runtimeName,
+                            wizardContext.file, wizardContext.enabled)
+                            .onProgress((loaded, total, bytesPerSecond) -> wzd.updateProgress(
+                                    uploadProgress(resources, name, loaded, total, bytesPerSecond)));
+                    wizardContext.uploadCancellation = uploadOrReplace::cancel;
+                    List<Task<FlowContext>> tasks = asList(new CheckDeployment(dispatcher, name), uploadOrReplace);
                     sequential(new FlowContext(progress.get()), tasks)
                             .subscribe(flowContext -> {
                                 if (flowContext.successful()) {
@@ -345,9 +350,13 @@ public class StandaloneDeploymentColumn extends FinderColumn<Deployment> {
                         ReplaceDeploymentPanel replaceDeploymentPanel = new ReplaceDeploymentPanel();
                         replaceDeploymentPanel.on();
                         // To replace an existing deployment, the original name and runtime-name must be preserved.
+                        UploadOrReplace uploadOrReplace = new UploadOrReplace(environment, dispatcher,
+                                deployment.getName(), deployment.getRuntimeName(), uploadElement.getFiles().item(0), false)
+                                .onProgress((loaded, total, bytesPerSecond) -> replaceDeploymentPanel.progress(
+                                        uploadProgress(resources, deployment.getName(), loaded, total, bytesPerSecond)));
+                        replaceDeploymentPanel.onCancel(uploadOrReplace::cancel);
                         List<Task<FlowContext>> tasks = asList(new CheckDeployment(dispatcher, deployment.getName()),
-                                new UploadOrReplace(environment, dispatcher, deployment.getName(),
-                                        deployment.getRuntimeName(), uploadElement.getFiles().item(0), false));
+                                uploadOrReplace);
                         sequential(new FlowContext(progress.get()), tasks)
                                 .then(__ -> {
                                     refresh(Ids.content(deployment.getName()));
@@ -16,10 +16,19 @@
 package org.jboss.hal.client.deployment.wizard;
 
 import org.jboss.hal.client.shared.uploadwizard.UploadContext;
+import org.jboss.hal.spi.Callback;
 
 public class DeploymentContext extends UploadContext {
 
     public String name;
     public String runtimeName;
     public boolean enabled;
+    /** Set while the deployment is uploaded. */
+    public Callback uploadCancellation;
+
+    public void cancelUpload() {
+        if (uploadCancellation != null) {
+            uploadCancellation.execute();
+        }
+    }
 }
@@ -107,6 +107,7 @@ class TopologyPreview extends PreviewContent<StaticItem>
     private final TopologyStatus topologyStatus;
     private final TopologyElements topologyElements;
     private final TopologyAttributes topologyAttributes;
+    private FlowContext updateContext;
 
     public TopologyPreview(
             SecurityContextRegistry securityContextRegistry,
@@ -156,20 +157,26 @@ class TopologyPreview extends PreviewContent<StaticItem>
     @Override
     public void update(StaticItem item) {
         startUpdate();
-        sequential(new FlowContext(progress.get()), topology(environment, dispatcher))
-                .timeout(TOPOLOGY_TIMEOUT)
+        sequential(newUpdateContext(), topology(environment, dispatcher))
                 .subscribe(context -> {
-                    if (context.successful()) {
+                    if (context.cancelled()) {
+                        logger.debug("Topology update has been cancelled");
+
+                    } else if (context.successful()) {
                         finishUpdate();
                         List<Host> hosts = context.get(TopologyTasks.HOSTS);
                         List<ServerGroup> serverGroups = context.get(TopologyTasks.SERVER_GROUPS);
                         topologyElements.update(hosts, serverGroups);
-                        updateServers(hosts, serverGroups);
-
-                    } else if (context.timeout()) {
-                        finishUpdate();
-                        logger.warn("Timeout in topology()");
-                        MessageEvent.fire(eventBus, Message.warning(resources.messages().topologyTimeout()));
+                        if (context.get(TopologyTasks.SERVERS) != null) {
+                            for (Host host : hosts) {
+                                if (host.isConnected()) {
+                                    showServers(host, host.getServers(), serverGroups);
+                                }
+                            }
+                        } else {
+                            // the topology snapshot failed: read the servers host by host (HAL-1795)
+                            updateServers(hosts, serverGroups);
+                        }
 
                     } else if (context.failure()) {
                         finishUpdate();
@@ -190,6 +197,26 @@ class TopologyPreview extends PreviewContent<StaticItem>
         topologyElements.finishUpdate();
     }
 
+    /** Cancels the running update (if any). Its remaining tasks are skipped and its result is ignored. */
+    private FlowContext newUpdateContext() {
+        cancelUpdate();
+        updateContext = new FlowContext(progress.get());
+        return updateContext;
+    }
+
+    private void cancelUpdate() {
+        if (updateContext != null) {
+            updateContext.cancel();
+            updateContext = null;
+        }
+    }
+
+    @Override
+    public void detach() {
+        super.detach();
+        cancelUpdate();
+    }
+
     // ------------------------------------------------------ host
 
     private void hostDetails(Host host) {
@@ -262,24 +289,7 @@ class TopologyPreview extends PreviewContent<StaticItem>
                         .subscribe(context -> {
                             if (context.successful()) {
                                 List<Server> servers = context.get(TopologyTasks.SERVERS);
-                                for (ServerGroup serverGroup : serverGroups) {
-                                    List<HTMLElement> serverElements = servers.stream()
-                                            .filter(sc -> host.getName().equals(sc.getHost()) &&
-                                                    serverGroup.getName().equals(sc.getServerGroup()))
-                                            .sorted(comparing(Server::getName))
-                                            .map(server -> topologyElements.serverElement(server))
-                                            .collect(toList());
-                                    if (!serverElements.isEmpty()) {
-                                        HTMLElement td = topologyElements.lookupServersElement(host, serverGroup);
-                                        if (td != null) {
-                                            td.classList.remove(empty);
-                                            td.classList.remove(CSS.progress);
-                                            td(td).add(div().css(CSS.servers)
-                                                    .addAll(serverElements));
-                                            adjustTdHeight();
-                                        }
-                                    }
-                                }
+                                showServers(host, servers, serverGroups);
 
                                 // 2. Read runtime attributes for started servers one at a time
                                 // to prevent timeouts for blocked servers (HAL-1795)
@@ -333,11 +343,32 @@ class TopologyPreview extends PreviewContent<StaticItem>
         }
     }
 
+    @SuppressWarnings("Convert2MethodRef")
+    private void showServers(Host host, List<Server> servers, List<ServerGroup> serverGroups) {
+        for (ServerGroup serverGroup : serverGroups) {
+            List<HTMLElement> serverElements = servers.stream()
+                    .filter(sc -> host.getName().equals(sc.getHost()) &&
+                            serverGroup.getName().equals(sc.getServerGroup()))
+                    .sorted(comparing(Server::getName))
+                    .map(server -> topologyElements.serverElement(server))
+                    .collect(toList());
+            if (!serverElements.isEmpty()) {
+                HTMLElement td = topologyElements.lookupServersElement(host, serverGroup);
+                if (td != null) {
+                    td.classList.remove(empty);
+                    td.classList.remove(CSS.progress);
+                    td(td).add(div().css(CSS.servers)
+                            .addAll(serverElements));
+                    adjustTdHeight();
+                }
+            }
+        }
+    }
+
     private void updateServer(Server server) {
         // It's not enough to read just the server. We also need to update
         // its host and server group. So we use topology() here.
         sequential(new FlowContext(progress.get()), topology(environment, dispatcher))
-                .timeout(TOPOLOGY_TIMEOUT)
                 .subscribe(context -> {
                     if (context.successful()) {
                         Host host = null;
@@ -380,8 +411,9 @@ class TopologyPreview extends PreviewContent<StaticItem>
                                 () -> topologyElements.serverGroupElement(finalServerGroup),
                                 updatedElement -> serverGroupDetails(finalServerGroup));
 
-                        // 3. Try to update the server attribute if the server has been started
-                        if (server.isStarted()) {
+                        // 3. Try to update the server attribute if the server has been started and the
+                        // topology has been read host by host. Otherwise the snapshot already contains them.
+                        if (server.isStarted() && context.get(TopologyTasks.SERVERS) == null) {
                             startedServerOperations(singletonList(server))
                                     .forEach((__, composite) -> dispatcher.execute(composite)
                                             .then(result -> {
@@ -408,10 +440,6 @@ class TopologyPreview extends PreviewContent<StaticItem>
                                             }));
                         }
 
-                    } else if (context.timeout()) {
-                        logger.warn("Timeout in updateServer({})", server.getServerConfigAddress());
-                        MessageEvent.fire(eventBus, Message.warning(resources.messages().topologyTimeout()));
-
                     } else if (context.failure()) {
                         String reason = context.failureReason();
                         logger.error("Error in updateServer({}): {}", server.getServerConfigAddress(), reason);
@@ -150,8 +150,9 @@ public class HostColumn extends FinderColumn<Host> implements HostActionHandler,
                 .build());
         addColumnActions(Ids.HOST_PRUNE_ACTIONS, pfIcon("remove"), resources.constants().prune(), pruneActions);
 
+        // show the hosts as soon as they have been read
         ItemsProvider<Host> itemsProvider = finderContext -> sequential(new FlowContext(progress.get()),
-                hosts(environment, dispatcher)).then(flowContext -> {
+                hosts(environment, dispatcher, this::setPartialItems)).then(flowContext -> {
                     List<Host> hosts = flowContext.get(TopologyTasks.HOSTS);
                     // Restore pending visualization
                     hosts.stream()
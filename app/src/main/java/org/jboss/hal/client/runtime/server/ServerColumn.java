@@ -243,7 +243,11 @@ public class ServerColumn extends FinderColumn<Server> implements ServerActionHa
                 tasks = serversOfHost(environment, dispatcher, statementContext.selectedHost());
 
             } else {
-                tasks = serversOfServerGroup(environment, dispatcher, statementContext.selectedServerGroup());
+                // show the servers of the hosts which have been read so far
+                tasks = serversOfServerGroup(environment, dispatcher, statementContext.selectedServerGroup(),
+                        servers -> setPartialItems(servers.stream()
+                                .sorted(comparing(Server::getName))
+                                .collect(toList())));
             }
             return sequential(new FlowContext(progress.get()), tasks)
                     .then(flowContext -> {
@@ -0,0 +1,212 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+
+import elemental2.promise.Promise;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.LINES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_LOG_FILE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SKIP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TAIL;
+
+/**
+ * Random access to a log file using chunks of {@value #CHUNK_SIZE} lines. Chunks are read using
+ * {@code read-log-file(lines=CHUNK_SIZE, skip=index*CHUNK_SIZE, tail=false)} and kept in a LRU cache of {@value #MAX_CHUNKS}
+ * chunks. The log file view shows one chunk at a time and pages through the file, instead of scrolling through all lines
+ * virtually.
+ * <p>
+ * Only complete chunks are cached. The last chunk of a growing log file changes whenever lines are appended, so it's read
+ * again each time.
+ * <p>
+ * The management model doesn't report the number of lines of a log file, and each {@code read-log-file} operation reads the
+ * file from its beginning. So the number of lines is estimated from the file size and the average length of the lines read so
+ * far. A read of two chunks around the estimate usually contains the end of the file, which gives the exact number of lines.
+ */
+class LogFileChunks {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_CHUNKS = 20;
+    /** Number of lines read to find the end of the file. */
+    static final int WINDOW = 2 * CHUNK_SIZE;
+    private static final int UNKNOWN = -1;
+
+    private final Dispatcher dispatcher;
+    private final ResourceAddress address;
+    private final Map<Integer, List<String>> cache;
+    private int lineCount;
+    private long sampledLines;
+    private long sampledChars;
+
+    LogFileChunks(Dispatcher dispatcher, ResourceAddress address) {
+        this.dispatcher = dispatcher;
+        this.address = address;
+        this.cache = new LinkedHashMap<Integer, List<String>>(MAX_CHUNKS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<String>> eldest) {
+                return size() > MAX_CHUNKS;
+            }
+        };
+        this.lineCount = UNKNOWN;
+    }
+
+    /** Returns the lines of the specified chunk. The list is empty if the chunk is beyond the end of the file. */
+    Promise<List<String>> chunk(int index) {
+        List<String> lines = cache.get(index);
+        if (lines != null) {
+            return Promise.resolve(lines);
+        }
+        return read(index * CHUNK_SIZE, CHUNK_SIZE).then(result -> {
+            if (result.size() == CHUNK_SIZE) {
+                cache.put(index, result);
+                if (lineCount != UNKNOWN && (index + 1) * CHUNK_SIZE > lineCount) {
+                    // the file has grown since the line count was determined
+                    lineCount = UNKNOWN;
+                }
+            } else if (!result.isEmpty() || index == 0) {
+                lineCount = index * CHUNK_SIZE + result.size();
+            }
+            return Promise.resolve(result);
+        });
+    }
+
+    /**
+     * Returns the number of lines. If the number is not yet known, it's estimated based on the specified file size and then
+     * determined by reading windows of {@value #WINDOW} lines around the estimate.
+     *
+     * @param fileSize the size of the log file in bytes
+     */
+    Promise<Integer> lineCount(long fileSize) {
+        if (lineCount != UNKNOWN) {
+            return Promise.resolve(lineCount);
+        }
+        int estimate = estimateLineCount(fileSize);
+        return findEnd(align(estimate - CHUNK_SIZE), 0, Integer.MAX_VALUE, false, WINDOW).then(count -> {
+            lineCount = count;
+            return Promise.resolve(count);
+        });
+    }
+
+    /** Adds the specified lines to the sample used to estimate the number of lines. */
+    void sample(List<String> lines) {
+        for (String line : lines) {
+            sampledLines++;
+            sampledChars += line.length() + 1; // + line break
+        }
+    }
+
+    /** Estimates the number of lines based on the average line length of the lines read so far. */
+    int estimateLineCount(long fileSize) {
+        if (sampledLines == 0 || sampledChars == 0) {
+            return 0;
+        }
+        return (int) min(Integer.MAX_VALUE, fileSize * sampledLines / sampledChars);
+    }
+
+    boolean isLastChunk(int index) {
+        return lineCount != UNKNOWN && (index + 1) * CHUNK_SIZE >= lineCount;
+    }
+
+    /** Must be called if lines have been appended to the log file. Keeps the cached (complete) chunks. */
+    void invalidateLineCount() {
+        lineCount = UNKNOWN;
+    }
+
+    void clear() {
+        cache.clear();
+        lineCount = UNKNOWN;
+        sampledLines = 0;
+        sampledChars = 0;
+    }
+
+    /**
+     * Reads {@value #WINDOW} lines starting at {@code skip}. If the window contains the end of the file, the number of lines is
+     * known. Otherwise the next window is chosen based on the bounds of the number of lines: Moving away from the current
+     * window with growing steps as long as only one bound is known, bisecting the bounds afterwards.
+     *
+     * @param low       the number of lines is at least this number
+     * @param high      the number of lines is at most this number
+     * @param lowKnown  whether {@code low} is based on a read
+     * @param step      the distance to the next window if only one bound is known
+     */
+    private Promise<Integer> findEnd(int skip, int low, int high, boolean lowKnown, int step) {
+        if (low >= high) {
+            return Promise.resolve(low);
+        }
+        return read(skip, WINDOW).then(lines -> {
+            if (lines.size() == WINDOW) {
+                cacheChunks(skip, lines);
+                int l = skip + WINDOW;
+                int next = high == Integer.MAX_VALUE ? align(l + step) : align(middle(l, high));
+                return findEnd(max(next, align(l)), l, high, true, step * 2);
+
+            } else if (lines.isEmpty()) {
+                if (skip == 0) {
+                    return Promise.resolve(0);
+                }
+                int next = lowKnown ? align(middle(low, skip)) : align(max(0, skip - step));
+                return findEnd(next, low, skip, lowKnown, step * 2);
+
+            } else {
+                cacheChunks(skip, lines);
+                return Promise.resolve(skip + lines.size());
+            }
+        });
+    }
+
+    /** Caches the complete chunks of a window which starts at a chunk boundary. */
+    private void cacheChunks(int skip, List<String> lines) {
+        for (int i = 0; i + CHUNK_SIZE <= lines.size(); i += CHUNK_SIZE) {
+            cache.put(skip / CHUNK_SIZE + i / CHUNK_SIZE, new ArrayList<>(lines.subList(i, i + CHUNK_SIZE)));
+        }
+    }
+
+    private static int align(int line) {
+        return max(0, line / CHUNK_SIZE * CHUNK_SIZE);
+    }
+
+    private static int middle(int low, int high) {
+        return (int) (((long) low + high) >>> 1);
+    }
+
+    private Promise<List<String>> read(int skip, int lines) {
+        Operation operation = new Operation.Builder(address, READ_LOG_FILE)
+                .param(LINES, lines)
+                .param(SKIP, skip)
+                .param(TAIL, false)
+                .build();
+        return dispatcher.execute(operation).then(result -> {
+            List<String> linesRead = result.isDefined()
+                    ? result.asList().stream().map(ModelNode::asString).collect(toList())
+                    : emptyList();
+            sample(linesRead);
+            return Promise.resolve(linesRead);
+        });
+    }
+}
@@ -15,12 +15,14 @@
  */
 package org.jboss.hal.client.runtime.subsystem.logging;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
 import javax.inject.Inject;
 
 import org.jboss.hal.client.runtime.BrowseByColumn;
+import org.jboss.hal.core.finder.ColumnAction;
 import org.jboss.hal.core.finder.ColumnActionFactory;
 import org.jboss.hal.core.finder.Finder;
 import org.jboss.hal.core.finder.FinderColumn;
@@ -47,6 +49,7 @@ import elemental2.dom.HTMLElement;
 import elemental2.promise.Promise;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.LOGGING_SUBSYSTEM_ADDRESS;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.LOG_FILE_ADDRESS;
@@ -61,6 +64,7 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.RECURSIVE_DEPTH;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.hal.resources.CSS.fontAwesome;
 
 @Column(Ids.LOG_FILE)
 @Requires(value = { LOGGING_SUBSYSTEM_ADDRESS, LOG_FILE_ADDRESS }, recursive = false)
@@ -169,7 +173,13 @@ public class LogFileColumn extends FinderColumn<LogFile> {
                                         UIConstants.TARGET, logFiles.target(item.getFilename()))
                                 .build();
 
-                        return asList(itemActionFactory.view(builder.build()), download, external);
+                        ItemAction<LogFile> search = new ItemAction.Builder<LogFile>()
+                                .title(resources.constants().search())
+                                .handler(logFile -> new LogSearchDialog(dispatcher, logFiles, resources,
+                                        singletonList(logFile)).show())
+                                .build();
+
+                        return asList(itemActionFactory.view(builder.build()), search, download, external);
                     }
                 })
                 .onPreview(item -> new LogFilePreview(logFiles, item, resources))
@@ -178,6 +188,12 @@ public class LogFileColumn extends FinderColumn<LogFile> {
                 .useFirstActionAsBreadcrumbHandler()
                 .withFilter()
                 .filterDescription(resources.messages().logfileColumnFilterDescription()));
+
+        addColumnAction(new ColumnAction.Builder<LogFile>(Ids.LOG_FILE_SEARCH_FILES)
+                .element(columnActionFactory.addButton(resources.constants().searchLogFiles(), fontAwesome("search")))
+                .handler(column -> new LogSearchDialog(dispatcher, logFiles, resources,
+                        new ArrayList<>(getCurrentItems())).show())
+                .build());
     }
 
 }
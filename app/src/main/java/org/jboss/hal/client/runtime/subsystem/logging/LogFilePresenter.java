@@ -15,7 +15,11 @@
  */
 package org.jboss.hal.client.runtime.subsystem.logging;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Objects;
 
 import javax.inject.Inject;
 
@@ -31,6 +35,7 @@ import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Download;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Resources;
@@ -38,6 +43,8 @@ import org.jboss.hal.resources.UIConstants;
 import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 import org.jboss.hal.spi.Requires;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.web.bindery.event.shared.EventBus;
 import com.gwtplatform.mvp.client.annotations.NameToken;
@@ -45,28 +52,38 @@ import com.gwtplatform.mvp.client.annotations.ProxyCodeSplit;
 import com.gwtplatform.mvp.client.proxy.ProxyPlace;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 
-import static elemental2.dom.DomGlobal.clearInterval;
+import elemental2.promise.Promise;
+
 import static elemental2.dom.DomGlobal.clearTimeout;
-import static elemental2.dom.DomGlobal.setInterval;
 import static elemental2.dom.DomGlobal.setTimeout;
-import static java.util.stream.Collectors.joining;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.LOG_FILE_ADDRESS;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.LOG_FILE_TEMPLATE;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.PROFILE_LOG_FILE_TEMPLATE;
+import static org.jboss.hal.client.runtime.subsystem.logging.LogFileChunks.CHUNK_SIZE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.LINES;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.LOGGING;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.LOGGING_PROFILE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_LOG_FILE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STREAM;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.TAIL;
 import static org.jboss.hal.meta.token.NameTokens.LOG_FILE;
 
 public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresenter.MyView, LogFilePresenter.MyProxy> {
 
     private static final int REFRESH_INTERVAL = 1000;
+    private static final int MAX_REFRESH_INTERVAL = 10_000;
+    private static final int TAIL_LINES = 100;
+    private static final int TAIL_VIEW = -1;
+    private static final Logger logger = LoggerFactory.getLogger(LogFilePresenter.class);
 
     private final FinderPathFactory finderPathFactory;
     private final Dispatcher dispatcher;
@@ -75,7 +92,13 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
     private String logFileName;
     private String loggingProfile;
     private LogFile logFile;
-    private double intervalHandle;
+    private final Deque<String> buffer;
+    private double tailHandle;
+    private int tailInterval;
+    private int tailGeneration;
+    private LogFileChunks chunks;
+    private int currentChunk;
+    private int searchGeneration;
 
     @Inject
     public LogFilePresenter(EventBus eventBus,
@@ -95,7 +118,13 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
         this.logFileName = null;
         this.loggingProfile = null;
         this.logFile = null;
-        this.intervalHandle = -1;
+        this.buffer = new ArrayDeque<>();
+        this.tailHandle = -1;
+        this.tailInterval = REFRESH_INTERVAL;
+        this.tailGeneration = 0;
+        this.chunks = null;
+        this.currentChunk = TAIL_VIEW;
+        this.searchGeneration = 0;
     }
 
     @Override
@@ -123,32 +152,21 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
     protected void reload() {
         if (logFileName != null) {
             double handle = setTimeout((o) -> getView().loading(), UIConstants.MEDIUM_TIMEOUT);
-            ResourceAddress address;
-            if (loggingProfile == null) {
-                address = LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
-            } else {
-                address = PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, logFileName);
-            }
+            ResourceAddress address = logFileAddress();
             Operation logFileOp = new Operation.Builder(address, READ_RESOURCE_OPERATION)
                     .param(INCLUDE_RUNTIME, true)
                     .build();
-            // noinspection HardCodedStringLiteral
-            Operation contentOp = new Operation.Builder(address, "read-log-file")
-                    .param("lines", LogFiles.LINES)
-                    .param("tail", true)
-                    .build();
+            Operation contentOp = readLogFile(address, LogFiles.LINES);
             dispatcher.execute(new Composite(logFileOp, contentOp),
                     (CompositeResult result) -> {
                         clearTimeout(handle);
-                        if (loggingProfile == null) {
-                            logFile = new LogFile(logFileName, result.step(0).get(RESULT));
-                        } else {
-                            logFile = new LogFile(logFileName, loggingProfile, result.step(0).get(RESULT));
-                        }
-                        List<ModelNode> linesRead = result.step(1).get(RESULT).asList();
-                        String content = linesRead.stream().map(ModelNode::asString)
-                                .collect(joining("\n"));
-                        getView().show(logFile, linesRead.size(), content);
+                        logFile = logFile(result.step(0).get(RESULT));
+                        List<String> linesRead = lines(result.step(1).get(RESULT));
+                        chunks = new LogFileChunks(dispatcher, address);
+                        chunks.sample(linesRead);
+                        currentChunk = TAIL_VIEW;
+                        replaceBuffer(linesRead);
+                        getView().show(logFile, linesRead.size(), String.join("\n", linesRead));
                     },
                     (operation, failure) -> {
                         clearTimeout(handle);
@@ -162,24 +180,15 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
 
     void reloadFile() {
         if (logFile != null) {
-            int linesToRead = inTailMode() ? getView().visibleLines() : LogFiles.LINES;
             double handle = setTimeout((o) -> getView().loading(), UIConstants.MEDIUM_TIMEOUT);
-            ResourceAddress address;
-            if (loggingProfile == null) {
-                address = LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
-            } else {
-                address = PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, logFileName);
-            }
-            // noinspection HardCodedStringLiteral
-            Operation operation = new Operation.Builder(address, READ_LOG_FILE)
-                    .param(LINES, linesToRead)
-                    .param(TAIL, true)
-                    .build();
-            dispatcher.execute(operation, result -> {
+            dispatcher.execute(readLogFile(logFileAddress(), LogFiles.LINES), result -> {
                 clearTimeout(handle);
-                List<ModelNode> linesRead = result.asList();
-                String content = linesRead.stream().map(ModelNode::asString).collect(joining("\n"));
-                getView().refresh(linesRead.size(), content);
+                List<String> linesRead = lines(result);
+                chunks.clear();
+                chunks.sample(linesRead);
+                currentChunk = TAIL_VIEW;
+                replaceBuffer(linesRead);
+                getView().refresh(linesRead.size(), String.join("\n", linesRead));
             }, (op, failure) -> {
                 clearTimeout(handle);
                 MessageEvent.fire(getEventBus(),
@@ -190,15 +199,42 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
         }
     }
 
+    /** Writes the log file to a local file, see {@link Download#saveAs(String)}. */
+    void downloadFile() {
+        if (logFile != null) {
+            Operation operation = new Operation.Builder(logFileAddress(), READ_ATTRIBUTE_OPERATION)
+                    .param(NAME, STREAM)
+                    .build();
+            Download download = dispatcher.download(operation);
+            download.saveAs(logFile.getFilename()).catch_(error -> {
+                if (!download.isCancelled()) {
+                    MessageEvent.fire(getEventBus(),
+                            Message.error(resources.messages().logFileError(logFileName), String.valueOf(error)));
+                }
+                return null;
+            });
+        } else {
+            MessageEvent.fire(getEventBus(), Message.error(resources.messages().noLogFile()));
+        }
+    }
+
     void toggleTailMode(boolean on) {
         if (logFile != null) {
             if (on) {
                 if (!inTailMode()) {
-                    intervalHandle = setInterval((o) -> reloadFile(), REFRESH_INTERVAL);
+                    searchGeneration++;
+                    if (currentChunk != TAIL_VIEW) {
+                        reloadFile();
+                    }
+                    tailInterval = REFRESH_INTERVAL;
+                    tailGeneration++;
+                    scheduleTail(tailGeneration);
                 }
             } else {
-                clearInterval(intervalHandle);
-                intervalHandle = -1;
+                // a tail request which is still in flight must not continue its timer chain
+                tailGeneration++;
+                clearTimeout(tailHandle);
+                tailHandle = -1;
                 reloadFile();
             }
         } else {
@@ -207,7 +243,230 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
     }
 
     private boolean inTailMode() {
-        return intervalHandle != -1;
+        return tailHandle != -1;
+    }
+
+    // ------------------------------------------------------ incremental tail
+
+    private void scheduleTail(int generation) {
+        tailHandle = setTimeout((o) -> tail(generation), tailInterval);
+    }
+
+    /** @return whether the tail mode which started the given generation is still active */
+    private boolean activeTail(int generation) {
+        return generation == tailGeneration && inTailMode();
+    }
+
+    /**
+     * Checks whether the log file has changed using the file size and last modification date. Only if the file has changed, the
+     * new lines are read and appended. If the file is idle, the interval between two checks is doubled up to
+     * {@value #MAX_REFRESH_INTERVAL} ms.
+     */
+    private void tail(int generation) {
+        ResourceAddress address = logFileAddress();
+        Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+        dispatcher.execute(operation)
+                .then(result -> {
+                    LogFile current = logFile(result);
+                    boolean idle = current.getSize() == logFile.getSize()
+                            && Objects.equals(current.getLastModifiedDate(), logFile.getLastModifiedDate());
+                    boolean rotated = current.getSize() < logFile.getSize();
+                    logFile = current;
+                    if (idle) {
+                        tailInterval = min(tailInterval * 2, MAX_REFRESH_INTERVAL);
+                        return Promise.resolve((Void) null);
+                    } else {
+                        tailInterval = REFRESH_INTERVAL;
+                        if (chunks != null) {
+                            if (rotated) {
+                                chunks.clear();
+                            } else {
+                                chunks.invalidateLineCount();
+                            }
+                        }
+                        return readNewLines(generation, address, rotated ? LogFiles.LINES : TAIL_LINES);
+                    }
+                })
+                .catch_(error -> {
+                    logger.error("Unable to tail log file {}: {}", logFileName, error);
+                    tailInterval = min(tailInterval * 2, MAX_REFRESH_INTERVAL);
+                    return null;
+                })
+                .then(__ -> {
+                    if (activeTail(generation)) {
+                        scheduleTail(generation);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Reads the last {@code lines} lines and appends the ones which are not yet in the buffer. If the lines read don't overlap
+     * with the buffer, more lines are read. If there's still no overlap, the buffer is replaced.
+     */
+    private Promise<Void> readNewLines(int generation, ResourceAddress address, int lines) {
+        return dispatcher.execute(readLogFile(address, lines)).then(result -> {
+            List<String> linesRead = lines(result);
+            int overlap = overlap(buffer, linesRead);
+            if (overlap > 0) {
+                List<String> newLines = linesRead.subList(overlap, linesRead.size());
+                if (!newLines.isEmpty() && activeTail(generation)) {
+                    for (String line : newLines) {
+                        if (buffer.size() == LogFiles.LINES) {
+                            buffer.removeFirst();
+                        }
+                        buffer.addLast(line);
+                    }
+                    getView().append(newLines, buffer.size());
+                }
+                return Promise.resolve((Void) null);
+
+            } else if (lines < LogFiles.LINES && linesRead.size() == lines) {
+                return readNewLines(generation, address, min(lines * 4, LogFiles.LINES));
+
+            } else {
+                if (activeTail(generation)) {
+                    replaceBuffer(linesRead);
+                    getView().refresh(linesRead.size(), String.join("\n", linesRead));
+                }
+                return Promise.resolve((Void) null);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of leading lines in {@code linesRead} which are equal to the trailing lines of {@code buffer} or 0 if
+     * there's no such overlap.
+     */
+    static int overlap(Deque<String> buffer, List<String> linesRead) {
+        List<String> tail = new ArrayList<>(buffer);
+        for (int k = min(tail.size(), linesRead.size()); k > 0; k--) {
+            if (tail.subList(tail.size() - k, tail.size()).equals(linesRead.subList(0, k))) {
+                return k;
+            }
+        }
+        return 0;
+    }
+
+    private void replaceBuffer(List<String> lines) {
+        buffer.clear();
+        buffer.addAll(lines);
+    }
+
+    // ------------------------------------------------------ chunks
+
+    void firstChunk() {
+        showChunk(0);
+    }
+
+    void previousChunk() {
+        if (currentChunk > 0) {
+            showChunk(currentChunk - 1);
+        } else if (currentChunk == TAIL_VIEW) {
+            // the chunk right before the lines shown in tail mode
+            chunks.lineCount(logFile.getSize()).then(count -> showChunk(max(0, (count - buffer.size() - 1) / CHUNK_SIZE)));
+        }
+    }
+
+    void nextChunk() {
+        if (currentChunk != TAIL_VIEW && !chunks.isLastChunk(currentChunk)) {
+            showChunk(currentChunk + 1);
+        }
+    }
+
+    void lastChunk() {
+        chunks.lineCount(logFile.getSize()).then(count -> showChunk(max(0, (count - 1) / CHUNK_SIZE)));
+    }
+
+    /** @param line the one-based line number */
+    void gotoLine(int line) {
+        if (chunks != null && line > 0) {
+            int index = (line - 1) / CHUNK_SIZE;
+            showChunk(index).then(firstLine -> {
+                getView().gotoLine(line - firstLine + 1);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Searches the chunks after the current one until the query is found. The chunks are read one after another, so the UI is
+     * not blocked. A new search or switching to tail mode cancels the current search.
+     */
+    void searchFile(String query) {
+        if (chunks != null && query != null && !query.isEmpty()) {
+            searchChunk(query, currentChunk == TAIL_VIEW ? 0 : currentChunk + 1, ++searchGeneration);
+        }
+    }
+
+    private void searchChunk(String query, int index, int generation) {
+        getView().searching(index * CHUNK_SIZE + 1);
+        chunks.chunk(index).then(lines -> {
+            if (generation == searchGeneration) {
+                for (int i = 0; i < lines.size(); i++) {
+                    if (lines.get(i).contains(query)) {
+                        currentChunk = index;
+                        getView().showChunk(index * CHUNK_SIZE + 1, lines, chunks.isLastChunk(index));
+                        getView().find(query, i + 1);
+                        return null;
+                    }
+                }
+                if (lines.size() < CHUNK_SIZE) {
+                    getView().noMatch(query);
+                } else {
+                    searchChunk(query, index + 1, generation);
+                }
+            }
+            return null;
+        });
+    }
+
+    /** Shows the specified chunk and returns the one-based number of its first line. */
+    private Promise<Integer> showChunk(int index) {
+        if (chunks == null || inTailMode()) {
+            return Promise.resolve(1);
+        }
+        searchGeneration++;
+        return chunks.chunk(index).then(lines -> {
+            if (lines.isEmpty() && index > 0) {
+                // beyond the end of the file
+                return chunks.lineCount(logFile.getSize()).then(count -> showChunk(max(0, (count - 1) / CHUNK_SIZE)));
+            }
+            currentChunk = index;
+            getView().showChunk(index * CHUNK_SIZE + 1, lines, chunks.isLastChunk(index));
+            return Promise.resolve(index * CHUNK_SIZE + 1);
+        });
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private ResourceAddress logFileAddress() {
+        if (loggingProfile == null) {
+            return LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
+        } else {
+            return PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, logFileName);
+        }
+    }
+
+    private LogFile logFile(ModelNode modelNode) {
+        if (loggingProfile == null) {
+            return new LogFile(logFileName, modelNode);
+        } else {
+            return new LogFile(logFileName, loggingProfile, modelNode);
+        }
+    }
+
+    private Operation readLogFile(ResourceAddress address, int lines) {
+        return new Operation.Builder(address, READ_LOG_FILE)
+                .param(LINES, lines)
+                .param(TAIL, true)
+                .build();
+    }
+
+    private List<String> lines(ModelNode result) {
+        return result.isDefined() ? result.asList().stream().map(ModelNode::asString).collect(toList()) : emptyList();
     }
 
     // @formatter:off
@@ -224,7 +483,17 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
 
         void refresh(int lines, String content);
 
-        int visibleLines();
+        void append(List<String> lines, int totalLines);
+
+        void showChunk(int firstLine, List<String> lines, boolean last);
+
+        void gotoLine(int line);
+
+        void find(String query, int line);
+
+        void searching(int line);
+
+        void noMatch(String query);
     }
     // @formatter:on
 }
@@ -16,16 +16,21 @@
 package org.jboss.hal.client.runtime.subsystem.logging;
 
 import java.util.Date;
+import java.util.List;
 
 import javax.inject.Inject;
 
+import org.jboss.elemento.Elements;
+import org.jboss.elemento.Key;
 import org.jboss.hal.ballroom.Clipboard;
 import org.jboss.hal.ballroom.Format;
 import org.jboss.hal.ballroom.Search;
 import org.jboss.hal.ballroom.Skeleton;
 import org.jboss.hal.ballroom.Tooltip;
 import org.jboss.hal.ballroom.editor.AceEditor;
+import org.jboss.hal.ballroom.editor.Document;
 import org.jboss.hal.ballroom.editor.Options;
+import org.jboss.hal.ballroom.editor.Session;
 import org.jboss.hal.ballroom.form.SwitchBridge;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.core.mvp.HalViewImpl;
@@ -35,12 +40,13 @@ import org.jboss.hal.resources.CSS;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Resources;
 import org.jboss.hal.resources.UIConstants;
+import org.jboss.hal.spi.Callback;
 
+import elemental2.dom.CSSProperties.WidthUnionType;
 import elemental2.dom.HTMLDivElement;
 import elemental2.dom.HTMLElement;
 import elemental2.dom.HTMLInputElement;
 
-import static elemental2.dom.DomGlobal.document;
 import static elemental2.dom.DomGlobal.setTimeout;
 import static elemental2.dom.DomGlobal.window;
 import static java.lang.Math.max;
@@ -51,7 +57,9 @@ import static org.jboss.elemento.Elements.i;
 import static org.jboss.elemento.Elements.input;
 import static org.jboss.elemento.Elements.label;
 import static org.jboss.elemento.EventType.click;
+import static org.jboss.elemento.EventType.keyup;
 import static org.jboss.elemento.InputType.checkbox;
+import static org.jboss.elemento.InputType.number;
 import static org.jboss.hal.ballroom.Skeleton.MARGIN_BIG;
 import static org.jboss.hal.resources.CSS.bootstrapSwitch;
 import static org.jboss.hal.resources.CSS.btn;
@@ -66,6 +74,7 @@ import static org.jboss.hal.resources.CSS.editorButtons;
 import static org.jboss.hal.resources.CSS.editorControls;
 import static org.jboss.hal.resources.CSS.editorStatus;
 import static org.jboss.hal.resources.CSS.fontAwesome;
+import static org.jboss.hal.resources.CSS.formControl;
 import static org.jboss.hal.resources.CSS.logFileEditorContainer;
 import static org.jboss.hal.resources.CSS.logFileFollow;
 import static org.jboss.hal.resources.CSS.logFileLoading;
@@ -79,7 +88,6 @@ import static org.jboss.hal.resources.CSS.spinner;
 import static org.jboss.hal.resources.CSS.spinnerLg;
 import static org.jboss.hal.resources.UIConstants.BODY;
 import static org.jboss.hal.resources.UIConstants.CONTAINER;
-import static org.jboss.hal.resources.UIConstants.HASH;
 import static org.jboss.hal.resources.UIConstants.PLACEMENT;
 import static org.jboss.hal.resources.UIConstants.TOGGLE;
 import static org.jboss.hal.resources.UIConstants.TOOLTIP;
@@ -89,10 +97,10 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
 
     private static final int MIN_HEIGHT = 70;
     private static final String SLASH = " / ";
+    private static final String FIRST_LINE_NUMBER = "firstLineNumber";
 
     private final Environment environment;
     private final StatementContext statementContext;
-    private final LogFiles logFiles;
     private final Resources resources;
 
     private final HTMLElement header;
@@ -100,24 +108,27 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
     private final HTMLElement status;
     private final HTMLInputElement tailMode;
     private final HTMLElement copyToClipboard;
-    private final HTMLElement download;
     private final HTMLElement editorContainer;
     private final HTMLElement loading;
+    private final HTMLElement chunkControls;
 
     private final Search search;
     private AceEditor editor;
+    private HTMLInputElement gotoLine;
     private Clipboard clipboard;
     private LogFilePresenter presenter;
+    private String query;
 
     @Inject
-    public LogFileView(Environment environment, StatementContext statementContext, LogFiles logFiles,
-            Resources resources) {
+    public LogFileView(Environment environment, StatementContext statementContext, Resources resources) {
         this.environment = environment;
         this.statementContext = statementContext;
-        this.logFiles = logFiles;
         this.resources = resources;
 
-        search = new Search.Builder(Ids.LOG_FILE_SEARCH, query -> editor.getEditor().find(query))
+        search = new Search.Builder(Ids.LOG_FILE_SEARCH, query -> {
+            this.query = query;
+            editor.getEditor().find(query);
+        })
                 .onPrevious(query -> editor.getEditor().findPrevious())
                 .onNext(query -> editor.getEditor().findNext())
                 .build();
@@ -134,6 +145,31 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
                         .add(header = h(1).element())
                         .add(logFileControls = div().css(editorControls, marginBottomSmall)
                                 .add(search)
+                                .add(chunkControls = div().css(editorButtons, btnGroup, marginLeftSmall)
+                                        .add(chunkButton(resources.constants().searchInFile(), "search-plus",
+                                                () -> presenter.searchFile(query)))
+                                        .add(chunkButton(resources.constants().firstPage(), "angle-double-up",
+                                                () -> presenter.firstChunk()))
+                                        .add(chunkButton(resources.constants().previousPage(), "angle-up",
+                                                () -> presenter.previousChunk()))
+                                        .add(chunkButton(resources.constants().nextPage(), "angle-down",
+                                                () -> presenter.nextChunk()))
+                                        .add(chunkButton(resources.constants().lastPage(), "angle-double-down",
+                                                () -> presenter.lastChunk()))
+                                        .element())
+                                .add(gotoLine = input(number).css(formControl, marginLeftSmall)
+                                        .id(Ids.LOG_FILE_GOTO_LINE)
+                                        .apply(e -> {
+                                            e.placeholder = resources.constants().gotoLine();
+                                            e.min = "1";
+                                            e.style.width = WidthUnionType.of(px(120));
+                                        })
+                                        .on(keyup, event -> {
+                                            if (Key.Enter.match(event) && !gotoLine.value.isEmpty()) {
+                                                presenter.gotoLine(Integer.parseInt(gotoLine.value));
+                                            }
+                                        })
+                                        .element())
                                 .add(status = div().css(editorStatus, marginLeftSmall).element())
                                 .add(div().css(logFileFollow)
                                         .add(label().apply(l -> l.htmlFor = Ids.LOG_FILE_FOLLOW)
@@ -156,7 +192,8 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
                                                 .title(resources.constants().copyToClipboard())
                                                 .add(i().css(fontAwesome("clipboard")))
                                                 .element())
-                                        .add(download = a("#").css(btn, btnDefault, clickable)
+                                        .add(a().css(btn, btnDefault, clickable)
+                                                .on(click, event -> presenter.downloadFile())
                                                 .data(TOGGLE, TOOLTIP)
                                                 .data(CONTAINER, BODY)
                                                 .data(PLACEMENT, TOP)
@@ -178,7 +215,12 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
     public void attach() {
         super.attach();
 
-        SwitchBridge.Api.element(tailMode).onChange((event, state) -> presenter.toggleTailMode(state));
+        SwitchBridge.Api.element(tailMode).onChange((event, state) -> {
+            // navigating in the log file is not possible in tail mode
+            Elements.setVisible(chunkControls, !state);
+            Elements.setVisible(gotoLine, !state);
+            presenter.toggleTailMode(state);
+        });
 
         editor.getEditor().$blockScrolling = 1;
         editor.getEditor().setTheme("ace/theme/logfile"); // NON-NLS
@@ -214,6 +256,17 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
         SwitchBridge.Api.element(tailMode).destroy();
     }
 
+    private HTMLElement chunkButton(String title, String icon, Callback callback) {
+        return a().css(btn, btnDefault, clickable)
+                .data(TOGGLE, TOOLTIP)
+                .data(CONTAINER, BODY)
+                .data(PLACEMENT, TOP)
+                .title(title)
+                .on(click, event -> callback.execute())
+                .add(i().css(fontAwesome(icon)))
+                .element();
+    }
+
     private void adjustEditorHeight() {
         int height = Skeleton.applicationHeight();
         height -= 2 * MARGIN_BIG;
@@ -260,10 +313,8 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
         }
         builder.append(logFile.getFilename());
         header.textContent = builder.toString();
-        download.setAttribute(UIConstants.DOWNLOAD, logFile.getFilename());
-        download.setAttribute(UIConstants.HREF,
-                logFiles.downloadUrl(logFile.getFilename(), logFile.getLoggingProfile()));
 
+        editor.getEditor().setOption(FIRST_LINE_NUMBER, 1);
         editor.getEditor().getSession().setValue(content);
         editor.getEditor().gotoLine(lines, 0, false);
     }
@@ -271,19 +322,61 @@ public class LogFileView extends HalViewImpl implements LogFilePresenter.MyView
     @Override
     public void refresh(int lines, String content) {
         statusUpdate(lines);
+        editor.getEditor().setOption(FIRST_LINE_NUMBER, 1);
         editor.getEditor().getSession().setValue(content);
         editor.getEditor().gotoLine(lines, 0, false);
     }
 
     @Override
-    public int visibleLines() {
-        int lineHeight = 15;
-        HTMLElement lineElement = (HTMLElement) document.querySelector(
-                HASH + Ids.LOG_FILE_EDITOR + " .ace_text-layer .ace_line"); // NON-NLS
-        if (lineElement != null) {
-            lineHeight = lineElement.offsetHeight;
+    public void append(List<String> lines, int totalLines) {
+        Session session = editor.getEditor().getSession();
+        if (session.getValue().isEmpty()) {
+            session.setValue(String.join("\n", lines));
+        } else {
+            Document document = session.getDocument();
+            document.insertFullLines(document.getLength(), lines.toArray(new String[0]));
+            int overflow = document.getLength() - totalLines;
+            if (overflow > 0) {
+                document.removeFullLines(0, overflow - 1);
+            }
         }
-        return editor.element().offsetHeight / lineHeight;
+        statusUpdate(totalLines);
+        editor.getEditor().gotoLine(totalLines, 0, false);
+    }
+
+    @Override
+    public void showChunk(int firstLine, List<String> lines, boolean last) {
+        String statusText = resources.messages().logFileChunkStatus(firstLine, firstLine + lines.size() - 1,
+                Format.time(new Date()));
+        status.textContent = statusText;
+        status.title = statusText;
+        editorContainer.classList.remove(logFileLoading);
+        editor.getEditor().setOption(FIRST_LINE_NUMBER, firstLine);
+        editor.getEditor().getSession().setValue(String.join("\n", lines));
+        editor.getEditor().gotoLine(1, 0, false);
+    }
+
+    @Override
+    public void gotoLine(int line) {
+        editor.getEditor().gotoLine(line, 0, false);
+    }
+
+    @Override
+    public void find(String query, int line) {
+        editor.getEditor().gotoLine(line, 0, false);
+        editor.getEditor().find(query);
+    }
+
+    @Override
+    public void searching(int line) {
+        status.textContent = resources.messages().logFileSearching(line);
+        status.title = status.textContent;
+    }
+
+    @Override
+    public void noMatch(String query) {
+        status.textContent = resources.messages().logFileNoMatch(query);
+        status.title = status.textContent;
     }
 
     private void statusUpdate(int lines) {
@@ -76,18 +76,20 @@ public class LogFiles {
     }
 
     String downloadUrl(String name, String loggingProfile) {
-        ResourceAddress address;
-        if (loggingProfile == null) {
-            address = LOG_FILE_TEMPLATE.resolve(statementContext, name);
-        } else {
-            address = PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, name);
-        }
+        ResourceAddress address = address(name, loggingProfile);
         Operation operation = new Operation.Builder(address, READ_ATTRIBUTE_OPERATION)
                 .param(NAME, STREAM)
                 .build();
         return dispatcher.downloadUrl(operation);
     }
 
+    ResourceAddress address(String name, String loggingProfile) {
+        if (loggingProfile == null) {
+            return LOG_FILE_TEMPLATE.resolve(statementContext, name);
+        }
+        return PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, name);
+    }
+
     String externalUrl(String name, String loggingProfile) {
         PlaceRequest.Builder builder = new PlaceRequest.Builder().nameToken(NameTokens.LOG_FILE)
                 .with(HOST, statementContext.selectedHost())
@@ -108,12 +110,7 @@ public class LogFiles {
     }
 
     public void tail(String name, String loggingProfile, int lines, AsyncCallback<String> callback) {
-        ResourceAddress address;
-        if (loggingProfile == null) {
-            address = LOG_FILE_TEMPLATE.resolve(statementContext, name);
-        } else {
-            address = PROFILE_LOG_FILE_TEMPLATE.resolve(statementContext, loggingProfile, name);
-        }
+        ResourceAddress address = address(name, loggingProfile);
         Operation operation = new Operation.Builder(address, READ_LOG_FILE)
                 .param(ModelDescriptionConstants.LINES, lines)
                 .param(TAIL, true)
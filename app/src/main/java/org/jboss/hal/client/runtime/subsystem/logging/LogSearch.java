@@ -0,0 +1,282 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.js.Browser;
+
+import elemental2.core.JsRegExp;
+import elemental2.dom.Worker;
+import elemental2.promise.Promise;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.client.runtime.subsystem.logging.LogFileChunks.CHUNK_SIZE;
+import static org.jboss.hal.resources.UIConstants.OBJECT;
+
+/**
+ * Searches log files using a regular expression. The log files are read one after another in chunks of
+ * {@value LogFileChunks#CHUNK_SIZE} lines. Each chunk is matched in a web worker (see app/src/web/script/log-search.js), so
+ * neither the log files have to be read completely nor does the matching block the UI.
+ * <p>
+ * Matches are reported per chunk together with {@value #CONTEXT_LINES} lines of context. The search stops after
+ * {@value #MAX_HITS} matches.
+ */
+class LogSearch {
+
+    static final int CONTEXT_LINES = 2;
+    static final int MAX_HITS = 500;
+
+    // provided by app/src/web/script/index.js
+    @JsType(isNative = true, namespace = GLOBAL, name = "window")
+    static class WorkerProvider {
+
+        static native Worker logSearchWorker();
+    }
+
+    private final Dispatcher dispatcher;
+    private final LogFiles logFiles;
+    private final String pattern;
+    private final boolean ignoreCase;
+    private final Listener listener;
+    private Worker worker;
+    private Consumer<Reply> pending;
+    private int chunkId;
+    private int hits;
+    private boolean cancelled;
+
+    LogSearch(Dispatcher dispatcher, LogFiles logFiles, String pattern, boolean ignoreCase, Listener listener) {
+        this.dispatcher = dispatcher;
+        this.logFiles = logFiles;
+        this.pattern = pattern;
+        this.ignoreCase = ignoreCase;
+        this.listener = listener;
+    }
+
+    /** Searches the log files one after another and resolves with the number of matches. */
+    Promise<Integer> search(List<LogFile> files) {
+        if (!Browser.isIE()) {
+            worker = WorkerProvider.logSearchWorker();
+            worker.onmessage = event -> complete(Js.uncheckedCast(event.data));
+            worker.onerror = event -> complete(error(event.message));
+        }
+        Promise<Void> promise = Promise.resolve((Void) null);
+        for (LogFile file : files) {
+            promise = promise.then(__ -> searchFile(file));
+        }
+        return promise
+                .then(__ -> {
+                    terminate();
+                    return Promise.resolve(hits);
+                })
+                .catch_(error -> {
+                    terminate();
+                    return Promise.reject(error);
+                });
+    }
+
+    /** Stops the search. The promise returned by {@link #search(List)} resolves with the matches found so far. */
+    void cancel() {
+        cancelled = true;
+        terminate();
+        complete(new Reply());
+    }
+
+    boolean limitReached() {
+        return hits >= MAX_HITS;
+    }
+
+    private boolean done() {
+        return cancelled || limitReached();
+    }
+
+    private Promise<Void> searchFile(LogFile logFile) {
+        if (done()) {
+            return Promise.resolve((Void) null);
+        }
+        listener.onFile(logFile);
+        LogFileChunks chunks = new LogFileChunks(dispatcher,
+                logFiles.address(logFile.getFilename(), logFile.getLoggingProfile()));
+        return chunks.chunk(0).then(lines -> scan(logFile, chunks, 0, emptyList(), lines));
+    }
+
+    // the previous and the next chunk provide the context lines at the chunk boundaries
+    private Promise<Void> scan(LogFile logFile, LogFileChunks chunks, int index, List<String> previous,
+            List<String> current) {
+        if (done() || current.isEmpty()) {
+            return Promise.resolve((Void) null);
+        }
+        Promise<List<String>> next = current.size() < CHUNK_SIZE
+                ? Promise.resolve(emptyList())
+                : chunks.chunk(index + 1);
+        return next.then(following -> match(index * CHUNK_SIZE + 1, previous, current, following).then(matches -> {
+            report(logFile, matches);
+            return scan(logFile, chunks, index + 1, current, following);
+        }));
+    }
+
+    private Promise<Hit[]> match(int firstLine, List<String> previous, List<String> lines, List<String> next) {
+        if (done()) {
+            return Promise.resolve(new Hit[0]);
+        }
+        Chunk chunk = new Chunk();
+        chunk.id = ++chunkId;
+        chunk.pattern = pattern;
+        chunk.ignoreCase = ignoreCase;
+        chunk.context = CONTEXT_LINES;
+        chunk.firstLine = firstLine;
+        chunk.before = previous.subList(max(0, previous.size() - CONTEXT_LINES), previous.size())
+                .toArray(new String[0]);
+        chunk.lines = lines.toArray(new String[0]);
+        chunk.after = next.subList(0, min(CONTEXT_LINES, next.size())).toArray(new String[0]);
+
+        return new Promise<>((resolve, reject) -> {
+            pending = reply -> {
+                if (reply.error != null) {
+                    reject.onInvoke(reply.error);
+                } else {
+                    resolve.onInvoke(reply.hits != null ? reply.hits : new Hit[0]);
+                }
+            };
+            if (worker != null) {
+                worker.postMessage(chunk);
+            } else {
+                complete(matchLocally(chunk));
+            }
+        });
+    }
+
+    private void complete(Reply reply) {
+        if (pending != null) {
+            Consumer<Reply> callback = pending;
+            pending = null;
+            callback.accept(reply);
+        }
+    }
+
+    private void report(LogFile logFile, Hit[] matches) {
+        if (!cancelled && matches.length != 0) {
+            List<Hit> reported = asList(matches).subList(0, min(matches.length, MAX_HITS - hits));
+            hits += reported.size();
+            listener.onHits(logFile, reported);
+        }
+    }
+
+    private void terminate() {
+        if (worker != null) {
+            worker.terminate();
+            worker = null;
+        }
+    }
+
+    // fallback for browsers which don't support web workers created by the bundler
+    private Reply matchLocally(Chunk chunk) {
+        JsRegExp regex;
+        try {
+            regex = new JsRegExp(chunk.pattern, chunk.ignoreCase ? "i" : "");
+        } catch (Exception e) {
+            return error(e.getMessage());
+        }
+        List<Hit> matches = new ArrayList<>();
+        for (int i = 0; i < chunk.lines.length; i++) {
+            if (regex.test(chunk.lines[i])) {
+                Hit hit = new Hit();
+                hit.line = chunk.firstLine + i;
+                hit.text = chunk.lines[i];
+                hit.before = context(chunk, i - CONTEXT_LINES, i);
+                hit.after = context(chunk, i + 1, i + 1 + CONTEXT_LINES);
+                matches.add(hit);
+            }
+        }
+        Reply reply = new Reply();
+        reply.id = chunk.id;
+        reply.hits = matches.toArray(new Hit[0]);
+        return reply;
+    }
+
+    // returns the lines [from, to) relative to the chunk lines, including the lines before and after the chunk
+    private String[] context(Chunk chunk, int from, int to) {
+        List<String> lines = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (i < 0) {
+                int before = chunk.before.length + i;
+                if (before >= 0) {
+                    lines.add(chunk.before[before]);
+                }
+            } else if (i < chunk.lines.length) {
+                lines.add(chunk.lines[i]);
+            } else if (i - chunk.lines.length < chunk.after.length) {
+                lines.add(chunk.after[i - chunk.lines.length]);
+            }
+        }
+        return lines.toArray(new String[0]);
+    }
+
+    private static Reply error(String message) {
+        Reply reply = new Reply();
+        reply.error = message;
+        return reply;
+    }
+
+    interface Listener {
+
+        /** Called before a log file is searched. */
+        void onFile(LogFile logFile);
+
+        /** Called with the matches of one chunk. */
+        void onHits(LogFile logFile, List<Hit> hits);
+    }
+
+    /** A matching line with its line number (starting at 1) and context lines. */
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    static class Hit {
+
+        int line;
+        String text;
+        String[] before;
+        String[] after;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Chunk {
+
+        int id;
+        String pattern;
+        boolean ignoreCase;
+        int context;
+        int firstLine;
+        String[] before;
+        String[] lines;
+        String[] after;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Reply {
+
+        int id;
+        String error;
+        Hit[] hits;
+    }
+}
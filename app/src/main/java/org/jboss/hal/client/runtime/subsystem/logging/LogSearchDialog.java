@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.List;
+
+import org.jboss.elemento.HtmlContentBuilder;
+import org.jboss.elemento.Key;
+import org.jboss.hal.ballroom.dialog.Dialog;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.resources.CSS;
+import org.jboss.hal.resources.Ids;
+import org.jboss.hal.resources.Resources;
+
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLInputElement;
+import elemental2.dom.HTMLPreElement;
+
+import static org.jboss.elemento.Elements.bag;
+import static org.jboss.elemento.Elements.div;
+import static org.jboss.elemento.Elements.input;
+import static org.jboss.elemento.Elements.label;
+import static org.jboss.elemento.Elements.mark;
+import static org.jboss.elemento.Elements.p;
+import static org.jboss.elemento.Elements.pre;
+import static org.jboss.elemento.Elements.removeChildrenFrom;
+import static org.jboss.elemento.Elements.strong;
+import static org.jboss.elemento.EventType.keydown;
+import static org.jboss.elemento.InputType.checkbox;
+import static org.jboss.elemento.InputType.text;
+import static org.jboss.hal.resources.CSS.formControl;
+import static org.jboss.hal.resources.CSS.formGroup;
+import static org.jboss.hal.resources.CSS.logSearchResults;
+
+/** Dialog to search one or several log files using a {@link LogSearch}. The matches are shown as they are found. */
+class LogSearchDialog {
+
+    private final Dispatcher dispatcher;
+    private final LogFiles logFiles;
+    private final Resources resources;
+    private final List<LogFile> files;
+    private final HTMLInputElement pattern;
+    private final HTMLInputElement ignoreCase;
+    private final HTMLElement status;
+    private final HTMLElement results;
+    private final Dialog dialog;
+    private LogSearch search;
+    private int hits;
+
+    LogSearchDialog(Dispatcher dispatcher, LogFiles logFiles, Resources resources, List<LogFile> files) {
+        this.dispatcher = dispatcher;
+        this.logFiles = logFiles;
+        this.resources = resources;
+        this.files = files;
+
+        Iterable<HTMLElement> elements = bag()
+                .add(div().css(formGroup)
+                        .add(pattern = input(text).id(Ids.LOG_FILE_SEARCH_PATTERN).css(formControl)
+                                .attr("placeholder", resources.constants().pattern())
+                                .on(keydown, event -> {
+                                    if (Key.Enter.match(event)) {
+                                        event.preventDefault();
+                                        search();
+                                    }
+                                })
+                                .element()))
+                .add(div()
+                        .add(ignoreCase = input(checkbox).id(Ids.LOG_FILE_SEARCH_IGNORE_CASE).element())
+                        .add(label().css(CSS.marginLeft5)
+                                .apply(l -> l.htmlFor = Ids.LOG_FILE_SEARCH_IGNORE_CASE)
+                                .textContent(resources.constants().ignoreCase())))
+                .add(status = p().element())
+                .add(results = div().css(logSearchResults).element())
+                .elements();
+
+        dialog = new Dialog.Builder(resources.constants().searchLogFiles())
+                .add(elements)
+                .primary(resources.constants().search(), this::search)
+                .cancel()
+                .size(Dialog.Size.LARGE)
+                .closeOnEsc(true)
+                .closed(this::cancel)
+                .build();
+    }
+
+    void show() {
+        dialog.show();
+        pattern.focus();
+    }
+
+    // always returns false to keep the dialog open
+    private boolean search() {
+        String value = pattern.value.trim();
+        if (!value.isEmpty()) {
+            cancel();
+            hits = 0;
+            removeChildrenFrom(results);
+
+            LogSearch current = new LogSearch(dispatcher, logFiles, value, ignoreCase.checked, new LogSearch.Listener() {
+                @Override
+                public void onFile(LogFile logFile) {
+                    status.textContent = resources.messages().logSearchProgress(logFile.getFilename(), hits);
+                }
+
+                @Override
+                public void onHits(LogFile logFile, List<LogSearch.Hit> matches) {
+                    hits += matches.size();
+                    for (LogSearch.Hit hit : matches) {
+                        results.appendChild(hitElement(logFile, hit));
+                    }
+                }
+            });
+            search = current;
+            current.search(files)
+                    .then(count -> {
+                        if (current == search) {
+                            status.textContent = current.limitReached()
+                                    ? resources.messages().logSearchLimit(count)
+                                    : resources.messages().logSearchResult(count, files.size());
+                        }
+                        return null;
+                    })
+                    .catch_(error -> {
+                        if (current == search) {
+                            status.textContent = resources.messages().logSearchInvalidPattern(String.valueOf(error));
+                        }
+                        return null;
+                    });
+        }
+        return false;
+    }
+
+    private void cancel() {
+        if (search != null) {
+            search.cancel();
+            search = null;
+        }
+    }
+
+    private HTMLElement hitElement(LogFile logFile, LogSearch.Hit hit) {
+        HtmlContentBuilder<HTMLPreElement> lines = pre();
+        for (String line : hit.before) {
+            lines.add(line + "\n");
+        }
+        lines.add(mark().textContent(hit.text));
+        for (String line : hit.after) {
+            lines.add("\n" + line);
+        }
+        return div()
+                .add(strong().textContent(logFile.getFilename() + ":" + hit.line))
+                .add(lines)
+                .element();
+    }
+}
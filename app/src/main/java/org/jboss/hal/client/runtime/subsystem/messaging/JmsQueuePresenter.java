@@ -15,6 +15,7 @@
  */
 package org.jboss.hal.client.runtime.subsystem.messaging;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,7 @@ import org.jboss.hal.core.mbui.form.OperationFormBuilder;
 import org.jboss.hal.core.mvp.ApplicationFinderPresenter;
 import org.jboss.hal.core.mvp.HalView;
 import org.jboss.hal.core.mvp.HasPresenter;
+import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
@@ -63,12 +65,15 @@ import com.gwtplatform.mvp.client.annotations.ProxyCodeSplit;
 import com.gwtplatform.mvp.client.proxy.ProxyPlace;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 
+import elemental2.dom.HTMLElement;
 import elemental2.promise.Promise;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static org.jboss.elemento.Elements.p;
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_CORE_QUEUE_ADDRESS;
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_CORE_QUEUE_TEMPLATE;
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_DEPLOYMENT_TEMPLATE;
@@ -94,6 +99,7 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.OTHER_QUEUE_NAME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.REJECT_DUPLICATES;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.REMOVE_MESSAGE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.REMOVE_MESSAGES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SEND_MESSAGES_TO_DEAD_LETTER_ADDRESS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SEND_MESSAGE_TO_DEAD_LETTER_ADDRESS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUBDEPLOYMENT;
@@ -105,6 +111,7 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     private static final long MESSAGES_THRESHOLD = 500L;
     private static final String MESSAGES_COUNT = "messagesCount";
     private static final String MESSAGES = "messages";
+    private static final String WINDOWS = "windows";
     private static final Logger logger = LoggerFactory.getLogger(JmsQueuePresenter.class);
 
     private final FinderPathFactory finderPathFactory;
@@ -118,6 +125,8 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     private String subdeployment;
     private String messageServer;
     private String queue;
+    private String filter;
+    private MessageWindow window;
 
     @Inject
     public JmsQueuePresenter(EventBus eventBus,
@@ -153,6 +162,8 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
         subdeployment = request.getParameter(SUBDEPLOYMENT, null);
         messageServer = request.getParameter(Ids.MESSAGING_SERVER, null);
         queue = request.getParameter(NAME, null);
+        filter = null;
+        window = null;
     }
 
     @Override
@@ -172,19 +183,19 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
 
         } else {
             ResourceAddress address = queueAddress();
-            Task<FlowContext> count = context -> {
-                Operation operation = new Operation.Builder(address, COUNT_MESSAGES).build();
-                return dispatcher.execute(operation)
-                        .then(result -> context.resolve(MESSAGES_COUNT, result.asLong()));
-            };
+            Task<FlowContext> count = context -> dispatcher.execute(countMessages(currentFilter()))
+                    .then(result -> context.resolve(MESSAGES_COUNT, result.asLong()));
             Task<FlowContext> list = context -> {
                 long messages = context.get(MESSAGES_COUNT);
                 if (messages > MESSAGES_THRESHOLD) {
-                    context.set(MESSAGES, emptyList());
-                    return Promise.resolve(context);
+                    // too many messages: partition the timestamp range until each window is small enough
+                    return searchWindows(messages).then(windows -> context.resolve(WINDOWS,
+                            windows.stream()
+                                    // a window with all messages is no refinement
+                                    .filter(w -> w.getCount() < messages)
+                                    .collect(toList())));
                 } else {
-                    Operation operation = new Operation.Builder(address, LIST_MESSAGES).build();
-                    return dispatcher.execute(operation)
+                    return dispatcher.execute(listMessages(currentFilter()))
                             .then(result -> context.resolve(MESSAGES,
                                     result.asList().stream().map(JmsMessage::new).collect(toList())));
                 }
@@ -193,13 +204,12 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
             sequential(new FlowContext(progress.get()), tasks)
                     .then(context -> {
                         long c = context.get(MESSAGES_COUNT);
-                        List<JmsMessage> messages = context.get(MESSAGES);
                         if (c > MESSAGES_THRESHOLD) {
                             logger.debug("More than {} messages in queue {}. Skip :list-messages operation.",
-                                    MESSAGES_THRESHOLD, queueAddress());
-                            getView().showMany(c);
+                                    MESSAGES_THRESHOLD, address);
+                            getView().showMany(c, context.get(WINDOWS));
                         } else {
-                            getView().showAll(messages);
+                            getView().showAll(context.get(MESSAGES));
                         }
                         return null;
                     });
@@ -215,9 +225,7 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     }
 
     private void readAll() {
-        ResourceAddress address = queueAddress();
-        Operation operation = new Operation.Builder(address, LIST_MESSAGES).build();
-        dispatcher.execute(operation,
+        dispatcher.execute(listMessages(currentFilter()),
                 result -> getView().showAll(result.asList().stream().map(JmsMessage::new).collect(toList())));
     }
 
@@ -226,8 +234,117 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
         return showAll.getOrDefault(id, false);
     }
 
+    // ------------------------------------------------------ filter
+
+    /**
+     * Partitions the messages matching the current filter into windows with no more than {@link #MESSAGES_THRESHOLD}
+     * messages. The windows are in chronological order.
+     */
+    private Promise<List<MessageWindow>> searchWindows(long messages) {
+        MessageWindowSearch search = new MessageWindowSearch(MESSAGES_THRESHOLD, (windows, success, failure) -> {
+            Composite composite = new Composite(windows.stream()
+                    .map(w -> countMessages(and(filter, w.condition())))
+                    .collect(toList()));
+            dispatcher.execute(composite, result -> {
+                List<Long> counts = new ArrayList<>();
+                for (int i = 0; i < windows.size(); i++) {
+                    counts.add(result.step(i).get(RESULT).asLong(0));
+                }
+                success.accept(counts);
+            }, (operation, error) -> failure.accept(error));
+        });
+        return new Promise<>((resolve, reject) -> {
+            if (window != null) {
+                search.refine(window.withCount(messages), resolve::onInvoke, reject::onInvoke);
+            } else {
+                search.search(System.currentTimeMillis(), resolve::onInvoke, reject::onInvoke);
+            }
+        });
+    }
+
+    /** Restricts the messages to the ones in the specified window (combined with the current filter). */
+    void browseWindow(MessageWindow window) {
+        // replaces the current window, the user defined filter is kept
+        this.window = window;
+        reload();
+    }
+
+    void filterMessages() {
+        Metadata metadata = metadataRegistry.lookup(MESSAGING_CORE_QUEUE_TEMPLATE);
+        Form<ModelNode> form = new OperationFormBuilder<>(Ids.JMS_MESSAGE_FILTER_FORM, metadata, LIST_MESSAGES)
+                .include(FILTER)
+                .build();
+
+        Dialog dialog = new Dialog.Builder(resources.constants().filterMessages())
+                .add(form.element())
+                .cancel()
+                .primary(resources.constants().ok(), () -> {
+                    boolean valid = form.save();
+                    if (valid) {
+                        ModelNode value = form.getModel().get(FILTER);
+                        filter = value.isDefined() && !value.asString().trim().isEmpty()
+                                ? value.asString().trim()
+                                : null;
+                        window = null;
+                        reload();
+                    }
+                    return valid;
+                })
+                .build();
+        dialog.registerAttachable(form);
+        dialog.show();
+
+        ModelNode model = new ModelNode();
+        if (filter != null) {
+            model.get(FILTER).set(filter);
+        }
+        form.edit(model);
+        form.getFormItem(FILTER).setFocus(true);
+    }
+
+    void clearFilter() {
+        filter = null;
+        window = null;
+        reload();
+    }
+
+    boolean hasFilter() {
+        return currentFilter() != null;
+    }
+
+    String getFilter() {
+        return currentFilter();
+    }
+
+    /** @return the user defined filter combined with the current window (if any) */
+    private String currentFilter() {
+        return window != null ? and(filter, window.condition()) : filter;
+    }
+
+    private Operation countMessages(String filter) {
+        Operation.Builder builder = new Operation.Builder(queueAddress(), COUNT_MESSAGES);
+        if (filter != null) {
+            builder.param(FILTER, filter);
+        }
+        return builder.build();
+    }
+
+    private Operation listMessages(String filter) {
+        Operation.Builder builder = new Operation.Builder(queueAddress(), LIST_MESSAGES);
+        if (filter != null) {
+            builder.param(FILTER, filter);
+        }
+        return builder.build();
+    }
+
+    private String and(String filter, String condition) {
+        return filter == null ? condition : "(" + filter + ") AND " + condition; // NON-NLS
+    }
+
+    // ------------------------------------------------------ actions
+
     void changePriority(List<JmsMessage> messages) {
-        if (messages.isEmpty()) {
+        if (messages.isEmpty() && !hasFilter()) {
             noMessagesSelected();
         } else {
             Metadata metadata = metadataRegistry.lookup(MESSAGING_CORE_QUEUE_TEMPLATE);
@@ -236,6 +353,7 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
                     .build();
 
             Dialog dialog = new Dialog.Builder(resources.constants().changePriority())
+                    .add(filterHint(messages))
                     .add(form.element())
                     .cancel()
                     .primary(resources.constants().ok(), () -> {
@@ -280,12 +398,11 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     }
 
     void expire(List<JmsMessage> messages) {
-        if (messages.isEmpty()) {
+        if (messages.isEmpty() && !hasFilter()) {
             noMessagesSelected();
         } else {
-            SafeHtml question = messages.size() == 1
-                    ? resources.messages().expireMessageQuestion()
-                    : resources.messages().expireMessagesQuestion();
+            SafeHtml question = question(messages, resources.messages().expireMessageQuestion(),
+                    resources.messages().expireMessagesQuestion());
             DialogFactory.showConfirmation(resources.constants().expire(), question, () -> {
                 Operation operation;
                 if (messages.size() == 1) {
@@ -307,7 +424,7 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     }
 
     void move(List<JmsMessage> messages) {
-        if (messages.isEmpty()) {
+        if (messages.isEmpty() && !hasFilter()) {
             noMessagesSelected();
         } else {
             Metadata metadata = metadataRegistry.lookup(MESSAGING_CORE_QUEUE_TEMPLATE);
@@ -315,6 +432,7 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
                     .build();
 
             Dialog dialog = new Dialog.Builder(resources.constants().move())
+                    .add(filterHint(messages))
                     .add(form.element())
                     .cancel()
                     .primary(resources.constants().ok(), () -> {
@@ -358,12 +476,11 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     }
 
     void sendToDeadLetter(List<JmsMessage> messages) {
-        if (messages.isEmpty()) {
+        if (messages.isEmpty() && !hasFilter()) {
             noMessagesSelected();
         } else {
-            SafeHtml question = messages.size() == 1
-                    ? resources.messages().sendMessageToDeadLetterQuestion()
-                    : resources.messages().sendMessagesToDeadLetterQuestion();
+            SafeHtml question = question(messages, resources.messages().sendMessageToDeadLetterQuestion(),
+                    resources.messages().sendMessagesToDeadLetterQuestion());
             DialogFactory.showConfirmation(resources.constants().sendToDeadLetter(), question, () -> {
                 Operation operation;
                 if (messages.size() == 1) {
@@ -385,12 +502,11 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     }
 
     void remove(List<JmsMessage> messages) {
-        if (messages.isEmpty()) {
+        if (messages.isEmpty() && !hasFilter()) {
             noMessagesSelected();
         } else {
-            SafeHtml question = messages.size() == 1
-                    ? resources.messages().removeMessageQuestion()
-                    : resources.messages().removeMessagesQuestion();
+            SafeHtml question = question(messages, resources.messages().removeMessageQuestion(),
+                    resources.messages().removeMessagesQuestion());
             DialogFactory.showConfirmation(resources.constants().remove(), question, () -> {
                 Operation operation;
                 if (messages.size() == 1) {
@@ -415,7 +531,25 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
         MessageEvent.fire(getEventBus(), Message.warning(resources.messages().noMessagesSelected()));
     }
 
+    private SafeHtml question(List<JmsMessage> messages, SafeHtml single, SafeHtml multiple) {
+        if (messages.isEmpty()) {
+            return resources.messages().filteredMessagesQuestion(currentFilter());
+        }
+        return messages.size() == 1 ? single : multiple;
+    }
+
+    private List<HTMLElement> filterHint(List<JmsMessage> messages) {
+        if (messages.isEmpty()) {
+            return singletonList(p().innerHtml(resources.messages().filteredMessagesQuestion(currentFilter())).element());
+        }
+        return emptyList();
+    }
+
+    /** Returns a filter for the selected messages or the current filter if no messages are selected. */
     private String filter(List<JmsMessage> messages) {
+        if (messages.isEmpty()) {
+            return currentFilter();
+        }
         return messages.stream()
                 .map(message -> JMS_MESSAGE_ID + "='" + message.getMessageId() + "'")
                 .collect(joining(" OR ")); // NON-NLS
@@ -450,7 +584,7 @@ public class JmsQueuePresenter extends ApplicationFinderPresenter<JmsQueuePresen
     }
 
     public interface MyView extends HalView, HasPresenter<JmsQueuePresenter> {
-        void showMany(long count);
+        void showMany(long count, List<MessageWindow> windows);
 
         void showAll(List<JmsMessage> messages);
     }
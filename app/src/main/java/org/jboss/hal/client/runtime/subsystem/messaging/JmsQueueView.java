@@ -15,11 +15,14 @@
  */
 package org.jboss.hal.client.runtime.subsystem.messaging;
 
+import java.util.Date;
 import java.util.List;
 
 import javax.inject.Inject;
 
+import org.jboss.elemento.Elements;
 import org.jboss.hal.ballroom.EmptyState;
+import org.jboss.hal.ballroom.Format;
 import org.jboss.hal.ballroom.Toolbar;
 import org.jboss.hal.ballroom.Toolbar.Attribute;
 import org.jboss.hal.ballroom.dataprovider.DataProvider;
@@ -32,17 +35,30 @@ import org.jboss.hal.resources.Icons;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Resources;
 
+import com.google.gwt.safehtml.shared.SafeHtmlUtils;
+
+import elemental2.dom.HTMLElement;
+
 import static java.util.Comparator.comparing;
+import static org.jboss.elemento.Elements.a;
+import static org.jboss.elemento.Elements.li;
+import static org.jboss.elemento.Elements.ul;
+import static org.jboss.elemento.EventType.click;
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_CORE_QUEUE_TEMPLATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.jboss.hal.resources.CSS.clickable;
+import static org.jboss.hal.resources.CSS.listUnstyled;
 
 public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyView {
 
     private static final String TOO_MANY_MESSAGES = "tooManyMessages";
+    private static final String NO_MATCHING_MESSAGES = "noMatchingMessages";
 
     private final Resources resources;
     private final DataProvider<JmsMessage> dataProvider;
     private final EmptyState tooManyMessages;
+    private final HTMLElement windowsElement;
+    private final EmptyState noMatchingMessages;
     private final ModelNodeListView<JmsMessage> listView;
     private JmsQueuePresenter presenter;
 
@@ -54,9 +70,17 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
         Metadata metadata = metadataRegistry.lookup(MESSAGING_CORE_QUEUE_TEMPLATE);
         tooManyMessages = new EmptyState.Builder(Ids.JMS_MESSAGE_LIST_TOO_MANY, resources.constants().manyMessages())
                 .icon(Icons.WARNING)
-                .primaryAction(resources.constants().allMessagesAlways(), () -> presenter.readAllMessages(true))
+                .add(windowsElement = ul().css(listUnstyled).element())
+                .primaryAction(resources.constants().filterMessages(), () -> presenter.filterMessages())
+                .secondaryAction(resources.constants().allMessagesAlways(), () -> presenter.readAllMessages(true))
                 .secondaryAction(resources.constants().allMessagesOnce(), () -> presenter.readAllMessages(false))
                 .build();
+        noMatchingMessages = new EmptyState.Builder(Ids.JMS_MESSAGE_LIST_NO_MATCH,
+                resources.constants().noMatchingItems())
+                .icon(Icons.INFO)
+                .primaryAction(resources.constants().clearAllFilters(), () -> presenter.clearFilter())
+                .secondaryAction(resources.constants().filterMessages(), () -> presenter.filterMessages())
+                .build();
         listView = new ModelNodeListView.Builder<>(Ids.JMS_MESSAGE_LIST, metadata, dataProvider,
                 item -> new JmsMessageDisplay(item, presenter, resources))
 
@@ -78,6 +102,8 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
 
                 .toolbarAction(new Toolbar.Action(Ids.JMS_MESSAGE_LIST_REFRESH, resources.constants().refresh(),
                         this::refresh))
+                .toolbarAction(new Toolbar.Action(Ids.JMS_MESSAGE_LIST_FILTER, resources.constants().filter(),
+                        this::filter))
                 .toolbarAction(new Toolbar.Action(Ids.JMS_MESSAGE_LIST_CLEAR_SELECTION,
                         resources.constants().clearSelection(), this::clearSelection))
                 .toolbarAction(new Toolbar.Action(Ids.JMS_MESSAGE_LIST_SELECT_ALL,
@@ -102,6 +128,7 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
                         this::remove))
 
                 .emptyState(TOO_MANY_MESSAGES, tooManyMessages)
+                .emptyState(NO_MATCHING_MESSAGES, noMatchingMessages)
                 .multiSelect(true)
                 .build();
 
@@ -115,14 +142,26 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
     }
 
     @Override
-    public void showMany(long count) {
+    public void showMany(long count, List<MessageWindow> windows) {
         tooManyMessages.setDescription(resources.messages().manyMessages(count));
+        Elements.removeChildrenFrom(windowsElement);
+        windows.forEach(window -> windowsElement.appendChild(li()
+                .add(a().css(clickable)
+                        .innerHtml(resources.messages().messagesWindow(
+                                Format.mediumDateTime(new Date(window.getFrom())),
+                                Format.mediumDateTime(new Date(window.getTo())), window.getCount()))
+                        .on(click, event -> presenter.browseWindow(window)))
+                .element()));
         listView.showEmptyState(TOO_MANY_MESSAGES);
     }
 
     @Override
     public void showAll(List<JmsMessage> messages) {
         dataProvider.update(messages);
+        if (messages.isEmpty() && presenter.hasFilter()) {
+            noMatchingMessages.setDescription(SafeHtmlUtils.fromString(presenter.getFilter()));
+            listView.showEmptyState(NO_MATCHING_MESSAGES);
+        }
     }
 
     private void refresh() {
@@ -131,6 +170,12 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
         }
     }
 
+    private void filter() {
+        if (presenter != null) {
+            presenter.filterMessages();
+        }
+    }
+
     private void clearSelection() {
         dataProvider.clearVisibleSelection();
     }
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.messaging;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.JMS_TIMESTAMP;
+
+/**
+ * A range of JMS timestamps {@code [from, to)} together with the number of messages in that range. Used to browse queues with
+ * too many messages in bounded windows. Unlike the JMS priority, the timestamp ranges partition the messages and can be
+ * bisected until the number of messages is small enough.
+ */
+class MessageWindow {
+
+    private final long from;
+    private final long to;
+    private final long count;
+
+    MessageWindow(long from, long to, long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    /** @return the message selector for this window */
+    String condition() {
+        return JMS_TIMESTAMP + " >= " + from + " AND " + JMS_TIMESTAMP + " < " + to; // NON-NLS
+    }
+
+    /** @return whether this window spans more than one millisecond and can be split into two halves. */
+    boolean splittable() {
+        return to - from > 1;
+    }
+
+    /** @return the two halves of this window. The counts of the halves are unknown (-1). */
+    MessageWindow[] split() {
+        long middle = from + (to - from) / 2;
+        return new MessageWindow[] { new MessageWindow(from, middle, -1), new MessageWindow(middle, to, -1) };
+    }
+
+    MessageWindow withCount(long count) {
+        return new MessageWindow(from, to, count);
+    }
+
+    long getFrom() {
+        return from;
+    }
+
+    long getTo() {
+        return to;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MessageWindow)) {
+            return false;
+        }
+        MessageWindow that = (MessageWindow) o;
+        return from == that.from && to == that.to;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(from) + Long.hashCode(to);
+    }
+
+    @Override
+    public String toString() {
+        return "MessageWindow[" + from + ", " + to + "): " + count;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.lang.Math.max;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Partitions the messages of a queue into {@linkplain MessageWindow windows} with no more than a given number of messages.
+ * <p>
+ * Every count is a scan of the whole queue on the server side, and there's no operation which returns the oldest or newest
+ * JMS timestamp without such a scan. So the search starts with one round of probes: The time before now is divided into
+ * ranges which grow exponentially with their age ({@value #PROBE_BASE} ms, then times {@value #PROBE_FACTOR}, up to about
+ * half a year), plus one range for older and one for future messages. This finds the real time span of the messages and a
+ * first partition in one round trip. The windows with too many messages are then bisected, one round per level.
+ * <p>
+ * The search stops after {@value #MAX_ROUNDS} rounds. In that case the windows found so far are returned. They still
+ * partition the messages, but some of them have more messages than the threshold.
+ */
+class MessageWindowSearch {
+
+    static final long PROBE_BASE = 60_000; // one minute
+    static final int PROBE_FACTOR = 8;
+    static final int PROBES = 7;
+    static final int MAX_ROUNDS = 12;
+    private static final Logger logger = LoggerFactory.getLogger(MessageWindowSearch.class);
+
+    private final long threshold;
+    private final Counter counter;
+
+    /**
+     * @param threshold the maximum number of messages per window
+     * @param counter counts the messages of several windows in one round trip
+     */
+    MessageWindowSearch(long threshold, Counter counter) {
+        this.threshold = threshold;
+        this.counter = counter;
+    }
+
+    /** Partitions all messages of the queue. Starts with one round of probes relative to {@code now}. */
+    void search(long now, Consumer<List<MessageWindow>> success, Consumer<Object> failure) {
+        count(1, probes(now), success, failure);
+    }
+
+    /** Partitions the messages of the specified window, which is known to contain too many messages. */
+    void refine(MessageWindow window, Consumer<List<MessageWindow>> success, Consumer<Object> failure) {
+        bisect(1, singletonList(window), success, failure);
+    }
+
+    /** @return consecutive windows from the oldest to the newest (and future) messages */
+    static List<MessageWindow> probes(long now) {
+        List<MessageWindow> windows = new ArrayList<>();
+        long to = now + 1;
+        long age = PROBE_BASE;
+        for (int i = 0; i < PROBES && to > 0; i++) {
+            long from = max(0, now - age);
+            windows.add(0, new MessageWindow(from, to, -1));
+            to = from;
+            age *= PROBE_FACTOR;
+        }
+        if (to > 0) {
+            windows.add(0, new MessageWindow(0, to, -1));
+        }
+        windows.add(new MessageWindow(now + 1, Long.MAX_VALUE, -1));
+        return windows;
+    }
+
+    /** Counts the windows with an unknown count in one round trip, drops the empty ones and continues to bisect. */
+    private void count(int round, List<MessageWindow> windows, Consumer<List<MessageWindow>> success,
+            Consumer<Object> failure) {
+        List<MessageWindow> unknown = windows.stream().filter(w -> w.getCount() < 0).collect(toList());
+        counter.count(unknown, counts -> {
+            List<MessageWindow> counted = new ArrayList<>();
+            int index = 0;
+            for (MessageWindow w : windows) {
+                long c = w.getCount() < 0 ? counts.get(index++) : w.getCount();
+                if (c > 0) {
+                    counted.add(w.withCount(c));
+                }
+            }
+            bisect(round + 1, counted, success, failure);
+        }, failure);
+    }
+
+    /** Splits the windows with too many messages into two halves, unless the maximum number of rounds has been reached. */
+    private void bisect(int round, List<MessageWindow> windows, Consumer<List<MessageWindow>> success,
+            Consumer<Object> failure) {
+        List<MessageWindow> large = windows.stream()
+                .filter(w -> w.getCount() > threshold && w.splittable())
+                .collect(toList());
+        if (large.isEmpty()) {
+            success.accept(windows);
+
+        } else if (round > MAX_ROUNDS) {
+            logger.warn("Stop to bisect message windows after {} rounds. {} windows have more than {} messages.",
+                    MAX_ROUNDS, large.size(), threshold);
+            success.accept(windows);
+
+        } else {
+            List<MessageWindow> next = new ArrayList<>();
+            for (MessageWindow w : windows) {
+                if (large.contains(w)) {
+                    next.addAll(asList(w.split()));
+                } else {
+                    next.add(w);
+                }
+            }
+            count(round, next, success, failure);
+        }
+    }
+
+    /** Counts the messages of several windows in one round trip. */
+    @FunctionalInterface
+    interface Counter {
+
+        /** @param success called with the counts in the order of the windows */
+        void count(List<MessageWindow> windows, Consumer<List<Long>> success, Consumer<Object> failure);
+    }
+}
@@ -16,12 +16,13 @@
 package org.jboss.hal.client.runtime.subsystem.undertow;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 
 import org.jboss.hal.ballroom.dialog.DialogFactory;
 import org.jboss.hal.core.finder.Finder;
@@ -38,18 +39,16 @@ import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
-import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Progress;
-import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.meta.token.NameTokens;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Names;
 import org.jboss.hal.resources.Resources;
-import org.jboss.hal.spi.Footer;
 import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 import org.jboss.hal.spi.Requires;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.web.bindery.event.shared.EventBus;
 import com.gwtplatform.mvp.client.annotations.NameToken;
@@ -57,8 +56,7 @@ import com.gwtplatform.mvp.client.annotations.ProxyCodeSplit;
 import com.gwtplatform.mvp.client.proxy.ProxyPlace;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 
-import elemental2.promise.Promise;
-
+import static java.lang.Math.min;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.client.runtime.subsystem.undertow.AddressTemplates.WEB_DEPLOYMENT_ADDRESS;
 import static org.jboss.hal.client.runtime.subsystem.undertow.AddressTemplates.WEB_DEPLOYMENT_TEMPLATE;
@@ -83,24 +81,26 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.UNDERTOW;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.WEBSOCKET;
 import static org.jboss.hal.dmr.ModelNodeHelper.asNamedNodes;
 import static org.jboss.hal.dmr.ModelNodeHelper.failSafePropertyList;
-import static org.jboss.hal.flow.Flow.sequential;
 
 public class DeploymentPresenter
         extends ApplicationFinderPresenter<DeploymentPresenter.MyView, DeploymentPresenter.MyProxy>
         implements SupportsExpertMode {
 
-    private static final String SERVLETS = "servlets";
-    private static final String WEBSOCKETS = "websockets";
-    private static final String SESSION_IDS = "session-ids";
-    private static final String SESSIONS = "sessions";
+    /** Maximum number of sessions whose times are read in one composite operation. */
+    static final int SESSIONS_PER_REQUEST = 50;
+    /** Number of pages after the current page whose session times are read in advance. */
+    static final int PREFETCH_PAGES = 1;
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentPresenter.class);
 
     private final Dispatcher dispatcher;
     private final FinderPathFactory finderPathFactory;
     private final StatementContext statementContext;
     private final Resources resources;
-    private final Provider<Progress> progress;
     private String deploymentName;
     private String subdeploymentName;
+    private List<Session> sessions;
+    private final Set<String> requestedSessions;
+    private int sessionGeneration;
 
     @Inject
     public DeploymentPresenter(
@@ -111,14 +111,14 @@ public class DeploymentPresenter
             Dispatcher dispatcher,
             FinderPathFactory finderPathFactory,
             StatementContext statementContext,
-            Resources resources,
-            @Footer Provider<Progress> progress) {
+            Resources resources) {
         super(eventBus, view, myProxy, finder);
         this.dispatcher = dispatcher;
         this.finderPathFactory = finderPathFactory;
         this.statementContext = statementContext;
         this.resources = resources;
-        this.progress = progress;
+        this.sessions = Collections.emptyList();
+        this.requestedSessions = new HashSet<>();
     }
 
     @Override
@@ -148,78 +148,40 @@ public class DeploymentPresenter
                 .append(Ids.UNDERTOW_RUNTIME_DEPLOYMENT, Ids.asId(itemPath), Names.DEPLOYMENT, itemPath);
     }
 
+    @Override
+    protected void onHide() {
+        super.onHide();
+        sessionGeneration++;
+    }
+
     @Override
     protected void reload() {
         ResourceAddress address = deploymentAddress();
+        int generation = ++sessionGeneration;
+        requestedSessions.clear();
 
-        // task 1: read sessions ids, servlets and websockets
+        // read sessions ids, servlets and websockets. The session timestamps are read lazily for the current and the
+        // next page(s) of the session table.
         Operation readResourceOp = new Operation.Builder(address, READ_RESOURCE_OPERATION)
                 .param(INCLUDE_RUNTIME, true)
                 .param(RECURSIVE, true)
                 .build();
         Operation listSessionsOp = new Operation.Builder(address, LIST_SESSIONS).build();
-        Task<FlowContext> task1 = context -> dispatcher.execute(new Composite(readResourceOp, listSessionsOp))
+        dispatcher.execute(new Composite(readResourceOp, listSessionsOp))
                 .then(result -> {
                     ModelNode readResourceResult = result.step(0).get(RESULT);
                     List<NamedNode> servlets = asNamedNodes(failSafePropertyList(readResourceResult, SERVLET));
                     List<NamedNode> websockets = asNamedNodes(failSafePropertyList(readResourceResult, WEBSOCKET));
 
-                    // sorted session ids (important for step 2!)
                     ModelNode listSessionsResult = result.step(1).get(RESULT);
-                    List<String> sessionIds = listSessionsResult.isDefined()
-                            ? listSessionsResult.asList().stream().map(ModelNode::asString).sorted().collect(toList())
+                    sessions = listSessionsResult.isDefined()
+                            ? listSessionsResult.asList().stream()
+                                    .map(ModelNode::asString)
+                                    .sorted()
+                                    .map(id -> new Session(id, new ModelNode()))
+                                    .collect(toList())
                             : Collections.emptyList();
 
-                    context.set(SERVLETS, servlets);
-                    context.set(WEBSOCKETS, websockets);
-                    context.set(SESSION_IDS, sessionIds);
-                    return Promise.resolve(context);
-                });
-
-        // task 2: read session creation and last access times
-        Task<FlowContext> task2 = context -> {
-            List<String> sessionIds = context.get(SESSION_IDS);
-            if (sessionIds.isEmpty()) {
-                context.set(SESSIONS, Collections.emptyList());
-                return Promise.resolve(context);
-            } else {
-                List<Operation> operations = new ArrayList<>();
-                for (String id : sessionIds) {
-                    operations.add(new Operation.Builder(address, GET_SESSION_CREATION_TIME)
-                            .param(SESSION_ID, id)
-                            .build());
-                    operations.add(new Operation.Builder(address, GET_SESSION_LAST_ACCESSED_TIME)
-                            .param(SESSION_ID, id)
-                            .build());
-                }
-                return dispatcher.execute(new Composite(operations))
-                        .then(result -> {
-                            int i = 0;
-                            List<Session> sessions = new ArrayList<>();
-                            for (String sessionId : sessionIds) {
-                                ModelNode modelNode = new ModelNode();
-                                if (result.step(i).isDefined() && result.step(i).get(RESULT).isDefined()) {
-                                    modelNode.get(CREATION_TIME).set(result.step(i).get(RESULT));
-                                }
-                                i++;
-                                if (result.step(i).isDefined() && result.step(i).get(RESULT).isDefined()) {
-                                    modelNode.get(LAST_ACCESSED_TIME).set(result.step(i).get(RESULT));
-                                }
-                                i++;
-                                sessions.add(new Session(sessionId, modelNode));
-                            }
-                            context.set(SESSIONS, sessions);
-                            return Promise.resolve(context);
-                        });
-            }
-        };
-
-        sequential(new FlowContext(progress.get()), Arrays.asList(task1, task2))
-                .then(context -> {
-                    List<Session> sessions = context.get(SESSIONS);
-                    List<NamedNode> servlets = context.get(SERVLETS);
-                    List<NamedNode> websockets = context.get(WEBSOCKETS);
-
                     getView().updateSessions(sessions);
                     getView().updateServlets(servlets);
                     getView().updateWebsockets(websockets);
@@ -227,6 +189,69 @@ public class DeploymentPresenter
                 });
     }
 
+    /**
+     * Reads the creation and last access times of the visible sessions and the sessions of the next page(s) unless they've
+     * already been requested. The visible sessions are read first.
+     */
+    void loadSessions(List<Session> visibleSessions, List<Session> nextSessions) {
+        int generation = sessionGeneration;
+        List<Session> pending = Stream.concat(visibleSessions.stream(), nextSessions.stream())
+                .filter(session -> requestedSessions.add(session.getSessionId()))
+                .collect(toList());
+        for (int i = 0; i < pending.size(); i += SESSIONS_PER_REQUEST) {
+            List<Session> chunk = pending.subList(i, min(i + SESSIONS_PER_REQUEST, pending.size()));
+            readSessionTimes(chunk, generation);
+        }
+    }
+
+    private void readSessionTimes(List<Session> chunk, int generation) {
+        ResourceAddress address = deploymentAddress();
+        List<Operation> operations = new ArrayList<>();
+        for (Session session : chunk) {
+            operations.add(new Operation.Builder(address, GET_SESSION_CREATION_TIME)
+                    .param(SESSION_ID, session.getSessionId())
+                    .build());
+            operations.add(new Operation.Builder(address, GET_SESSION_LAST_ACCESSED_TIME)
+                    .param(SESSION_ID, session.getSessionId())
+                    .build());
+        }
+        dispatcher.execute(new Composite(operations))
+                .then(result -> {
+                    if (generation == sessionGeneration) {
+                        int i = 0;
+                        for (Session session : chunk) {
+                            if (result.step(i).isDefined() && result.step(i).get(RESULT).isDefined()) {
+                                session.get(CREATION_TIME).set(result.step(i).get(RESULT));
+                            }
+                            i++;
+                            if (result.step(i).isDefined() && result.step(i).get(RESULT).isDefined()) {
+                                session.get(LAST_ACCESSED_TIME).set(result.step(i).get(RESULT));
+                            }
+                            i++;
+                        }
+                        getView().refreshSessions();
+                    }
+                    return null;
+                })
+                .catch_(error -> {
+                    if (generation == sessionGeneration) {
+                        if (chunk.size() > 1) {
+                            // A single invalidated session fails the whole composite. Retry both halves to read the
+                            // times of the remaining sessions.
+                            int half = chunk.size() / 2;
+                            readSessionTimes(chunk.subList(0, half), generation);
+                            readSessionTimes(chunk.subList(half, chunk.size()), generation);
+                        } else {
+                            Session session = chunk.get(0);
+                            logger.error("Unable to read times of session {}: {}", session.getSessionId(), error);
+                            session.setFailed(true);
+                            getView().refreshSessions();
+                        }
+                    }
+                    return null;
+                });
+    }
+
     void invalidateSession(Session session) {
         DialogFactory.showConfirmation(resources.constants().invalidateSession(),
                 resources.messages().invalidateSessionQuestion(), () -> {
@@ -271,6 +296,8 @@ public class DeploymentPresenter
     public interface MyView extends HalView, HasPresenter<DeploymentPresenter> {
         void updateSessions(List<Session> sessions);
 
+        void refreshSessions();
+
         void updateSessionAttributes(List<Property> attributes);
 
         void updateServlets(List<NamedNode> model);
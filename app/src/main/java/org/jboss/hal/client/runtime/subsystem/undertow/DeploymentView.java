@@ -79,9 +79,13 @@ public class DeploymentView extends HalViewImpl implements DeploymentPresenter.M
                         Constraint.executable(WEB_DEPLOYMENT_TEMPLATE, INVALIDATE_SESSION))
                 .column(SESSION_ID, Names.SESSION_ID, (cell, type, row, meta) -> row.getName())
                 .column(CREATION_TIME, resources.constants().creationTime(),
-                        (cell, type, row, meta) -> Format.mediumDateTime(row.getCreationTime()))
+                        (cell, type, row, meta) -> row.isFailed()
+                                ? resources.constants().error()
+                                : Format.mediumDateTime(row.getCreationTime()))
                 .column(LAST_ACCESSED_TIME, resources.constants().lastAccessedTime(),
-                        (cell, type, row, meta) -> Format.mediumDateTime(row.getLastAccessTime()))
+                        (cell, type, row, meta) -> row.isFailed()
+                                ? resources.constants().error()
+                                : Format.mediumDateTime(row.getLastAccessTime()))
                 .build();
 
         attributesElement = div().css(marginTopLarge)
@@ -174,6 +178,8 @@ public class DeploymentView extends HalViewImpl implements DeploymentPresenter.M
                 Elements.setVisible(attributesElement, false);
             }
         });
+        sessionTable.onDraw(table -> presenter.loadSessions(table.visibleRows(),
+                table.nextRows(DeploymentPresenter.PREFETCH_PAGES)));
         servletsTable.bindForm(servletsForm);
         websocketsTable.bindForm(websocketsForm);
     }
@@ -189,6 +195,11 @@ public class DeploymentView extends HalViewImpl implements DeploymentPresenter.M
         Elements.setVisible(attributesElement, sessionTable.hasSelection());
     }
 
+    @Override
+    public void refreshSessions() {
+        sessionTable.redrawVisibleRows();
+    }
+
     @Override
     public void updateSessionAttributes(List<Property> attributes) {
         Elements.removeChildrenFrom(attributesTableBody);
@@ -26,6 +26,8 @@ import static org.jboss.hal.dmr.ModelNodeHelper.failSafeDate;
 
 class Session extends NamedNode {
 
+    private boolean failed;
+
     Session(String sessionId, ModelNode modelNode) {
         super(sessionId, modelNode);
     }
@@ -41,4 +43,13 @@ class Session extends NamedNode {
     Date getLastAccessTime() {
         return failSafeDate(this, LAST_ACCESSED_TIME);
     }
+
+    /** @return whether the times of this session could not be read */
+    boolean isFailed() {
+        return failed;
+    }
+
+    void setFailed(boolean failed) {
+        this.failed = failed;
+    }
 }
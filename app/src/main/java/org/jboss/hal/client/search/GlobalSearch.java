@@ -0,0 +1,500 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.jboss.hal.ballroom.LabelBuilder;
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.core.mvp.Places;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.js.Browser;
+import org.jboss.hal.meta.StatementContext.Expression;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.resource.RequiredResources;
+import org.jboss.hal.meta.search.SearchIndex;
+import org.jboss.hal.meta.token.NameTokens;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
+
+import elemental2.dom.Worker;
+import elemental2.promise.Promise;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+
+import static com.google.common.base.Strings.nullToEmpty;
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.setTimeout;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PROFILE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_CONFIG;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.hal.resources.UIConstants.OBJECT;
+
+/**
+ * Full-text search over the places of the console and the resource descriptions loaded so far.
+ * <p>
+ * The places are taken from the {@link SearchIndex} generated for all name tokens and their {@code @Keywords}. Resource
+ * descriptions are indexed whenever they are added to the {@link ResourceDescriptionRegistry}: the address template, the
+ * attribute names and the descriptions. The inverted index itself lives in a web worker (see
+ * app/src/web/script/global-search.js). Documents are sent to the worker in batches, so the index grows incrementally and
+ * neither indexing nor querying blocks the UI.
+ * <p>
+ * If the worker fails (e.g. because its script cannot be loaded), the pending searches are rejected and the worker is
+ * terminated. The index is lost in this case, so all further searches are rejected as well.
+ * <p>
+ * Places which need a parameter (i.e. whose required resources contain wildcards) are not indexed since they cannot be revealed
+ * without a selection. Resource descriptions jump to the place with the most specific required resource which covers the
+ * address or to the model browser otherwise.
+ */
+public class GlobalSearch {
+
+    public static final int MAX_HITS = 25;
+    private static final int FLUSH_INTERVAL = 250; // ms
+    private static final String SEPARATOR = "/";
+    private static final String WILDCARD = "*";
+    private static final Set<String> EXCLUDED_TOKENS = new HashSet<>(Arrays.asList(NameTokens.ERROR,
+            NameTokens.EXPERT_MODE, NameTokens.GENERIC_SUBSYSTEM, NameTokens.UNAUTHORIZED));
+    private static final Set<String> SCOPE = new HashSet<>(Arrays.asList(PROFILE, HOST, SERVER, SERVER_CONFIG,
+            SERVER_GROUP));
+    private static final Logger logger = LoggerFactory.getLogger(GlobalSearch.class);
+
+    // provided by app/src/web/script/index.js
+    @JsType(isNative = true, namespace = GLOBAL, name = "window")
+    static class WorkerProvider {
+
+        static native Worker globalSearchWorker();
+    }
+
+    private final Environment environment;
+    private final Provider<Places> places; // the places are not needed until the first search
+    private final SearchIndex searchIndex;
+    private final RequiredResources requiredResources;
+    private final LabelBuilder labelBuilder;
+    private final List<Target> targets; // the index of a target is the id of the document
+    private final Set<String> indexedAddresses;
+    private final Map<String, String> placeTemplates; // normalized template -> name token
+    private final List<Document> pending;
+    private final List<Document> local; // only used if web workers are not supported
+    private final Map<Integer, PendingQuery> queries;
+    private Worker worker;
+    private String workerError;
+    private boolean placesIndexed;
+    private int placeCount;
+    private int queryId;
+    private double timeoutHandle;
+
+    @Inject
+    public GlobalSearch(Environment environment, Provider<Places> places, SearchIndex searchIndex,
+            RequiredResources requiredResources, ResourceDescriptionRegistry resourceDescriptionRegistry) {
+        this.environment = environment;
+        this.places = places;
+        this.searchIndex = searchIndex;
+        this.requiredResources = requiredResources;
+        this.labelBuilder = new LabelBuilder();
+        this.targets = new ArrayList<>();
+        this.indexedAddresses = new HashSet<>();
+        this.placeTemplates = new HashMap<>();
+        this.pending = new ArrayList<>();
+        this.local = new ArrayList<>();
+        this.queries = new HashMap<>();
+        this.timeoutHandle = -1;
+
+        resourceDescriptionRegistry.addListener(this::indexResourceDescription);
+    }
+
+    // ------------------------------------------------------ index
+
+    // The places depend on the operation mode, which is only known after the bootstrap.
+    private void indexPlaces() {
+        if (!placesIndexed) {
+            placesIndexed = true;
+            for (String token : searchIndex.getTokens(environment.isStandalone())) {
+                if (!EXCLUDED_TOKENS.contains(token)) {
+                    indexPlace(token);
+                }
+            }
+        }
+    }
+
+    private void indexPlace(String token) {
+        List<String> templates = requiredResources.getResources(token).stream()
+                .map(GlobalSearch::normalize)
+                .collect(toList());
+        if (templates.stream().noneMatch(template -> template.contains(WILDCARD))) {
+            String title = labelBuilder.label(token);
+            Set<String> keywords = new HashSet<>(searchIndex.getKeywords(token));
+            for (String template : templates) {
+                if (!template.isEmpty()) {
+                    placeTemplates.put(template, token);
+                    keywords.addAll(Arrays.asList(template.split("[/=]")));
+                }
+            }
+            Document document = document(new Target(Kind.PLACE, title, null, token, null));
+            document.keywords = keywords.toArray(new String[0]);
+            post(document);
+            placeCount++;
+        }
+    }
+
+    private void indexResourceDescription(ResourceAddress address, ResourceDescription resourceDescription) {
+        String template = address.toString();
+        if (indexedAddresses.add(template)) {
+            List<Property> attributes = resourceDescription.getAttributes(ATTRIBUTES);
+            String resourceDescriptionText = resourceDescription.hasDefined(DESCRIPTION)
+                    ? resourceDescription.getDescription()
+                    : null;
+            StringBuilder description = new StringBuilder(nullToEmpty(resourceDescriptionText));
+            for (Property attribute : attributes) {
+                if (attribute.getValue().hasDefined(DESCRIPTION)) {
+                    description.append(' ').append(attribute.getValue().get(DESCRIPTION).asString());
+                }
+            }
+            Document document = document(new Target(Kind.RESOURCE, template, resourceDescriptionText, null, address));
+            document.attributes = attributes.stream().map(Property::getName).toArray(String[]::new);
+            document.description = description.toString();
+            post(document);
+        }
+    }
+
+    private Document document(Target target) {
+        Document document = new Document();
+        document.id = targets.size();
+        document.title = target.title;
+        targets.add(target);
+        return document;
+    }
+
+    private void post(Document document) {
+        pending.add(document);
+        if (timeoutHandle < 0) {
+            timeoutHandle = setTimeout(__ -> flush(), FLUSH_INTERVAL);
+        }
+    }
+
+    private void flush() {
+        if (timeoutHandle >= 0) {
+            clearTimeout(timeoutHandle);
+            timeoutHandle = -1;
+        }
+        if (!pending.isEmpty()) {
+            if (Browser.isIE()) {
+                local.addAll(pending);
+            } else if (workerError == null) {
+                Message message = new Message();
+                message.type = "add";
+                message.documents = pending.toArray(new Document[0]);
+                worker().postMessage(message);
+            }
+            pending.clear();
+        }
+    }
+
+    private Worker worker() {
+        if (worker == null) {
+            worker = WorkerProvider.globalSearchWorker();
+            worker.onmessage = event -> reply(Js.uncheckedCast(event.data));
+            worker.onerror = event -> failWorker(event.message);
+            worker.addEventListener("messageerror", event -> failWorker("Unable to read message")); // NON-NLS
+        }
+        return worker;
+    }
+
+    private void failWorker(String error) {
+        logger.error("Global search worker failed: {}", error);
+        workerError = error;
+        worker.terminate();
+        List<PendingQuery> failed = new ArrayList<>(queries.values());
+        queries.clear();
+        failed.forEach(query -> query.failure.accept(error));
+    }
+
+    /** @return the number of indexed places */
+    public int getPlaces() {
+        indexPlaces();
+        return placeCount;
+    }
+
+    /** @return the number of indexed resource descriptions */
+    public int getResources() {
+        return indexedAddresses.size();
+    }
+
+    // ------------------------------------------------------ search
+
+    /** Searches the index and resolves with at most {@value #MAX_HITS} hits, ordered by relevance. */
+    public Promise<List<Hit>> search(String query) {
+        indexPlaces();
+        flush();
+        if (query == null || query.trim().isEmpty()) {
+            return Promise.resolve(emptyList());
+        }
+        if (Browser.isIE()) {
+            return Promise.resolve(searchLocally(query));
+        }
+        if (workerError != null) {
+            return Promise.reject(workerError);
+        }
+        return new Promise<>((resolve, reject) -> {
+            Message message = new Message();
+            message.type = "query";
+            message.id = ++queryId;
+            message.query = query;
+            message.limit = MAX_HITS;
+            queries.put(message.id, new PendingQuery(reply -> {
+                List<Hit> hits = new ArrayList<>();
+                for (ReplyHit replyHit : reply.hits) {
+                    hits.add(hit(targets.get(replyHit.document), replyHit.matches));
+                }
+                resolve.onInvoke(hits);
+            }, reject::onInvoke));
+            worker().postMessage(message);
+        });
+    }
+
+    private void reply(Reply reply) {
+        PendingQuery query = queries.remove(reply.id);
+        if (query != null) {
+            if (reply.error != null) {
+                query.failure.accept(reply.error);
+            } else {
+                query.success.accept(reply);
+            }
+        }
+    }
+
+    // fallback for browsers which don't support web workers created by the bundler: matches the titles, keywords and
+    // attribute names by substring
+    private List<Hit> searchLocally(String query) {
+        String[] terms = query.toLowerCase().trim().split("\\s+");
+        List<Hit> hits = new ArrayList<>();
+        for (Document document : local) {
+            StringBuilder text = new StringBuilder(document.title.toLowerCase());
+            for (String[] values : Arrays.asList(document.keywords, document.attributes)) {
+                if (values != null) {
+                    for (String value : values) {
+                        text.append(' ').append(value.toLowerCase());
+                    }
+                }
+            }
+            if (Arrays.stream(terms).allMatch(term -> text.indexOf(term) >= 0)) {
+                hits.add(hit(targets.get(document.id), new String[0]));
+                if (hits.size() == MAX_HITS) {
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private Hit hit(Target target, String[] matches) {
+        PlaceRequest placeRequest = target.kind == Kind.PLACE
+                ? placeRequest(target.token)
+                : placeRequest(target.address);
+        return new Hit(target.kind, target.title, target.description,
+                matches != null ? Arrays.asList(matches) : emptyList(), placeRequest);
+    }
+
+    private PlaceRequest placeRequest(String token) {
+        Set<String> templates = requiredResources.getResources(token);
+        if (templates.stream().anyMatch(template -> template.contains(Expression.SELECTED_PROFILE.expression()))) {
+            return places.get().selectedProfile(token).build();
+        } else if (templates.stream().anyMatch(template -> template.contains(Expression.SELECTED_HOST.expression())
+                || template.contains(Expression.SELECTED_SERVER.expression()))) {
+            return places.get().selectedServer(token).build();
+        }
+        return new PlaceRequest.Builder().nameToken(token).build();
+    }
+
+    private PlaceRequest placeRequest(ResourceAddress address) {
+        // the place with the most specific required resource which covers the address
+        String normalized = normalize(address.toString());
+        String token = null;
+        int length = -1;
+        for (Map.Entry<String, String> entry : placeTemplates.entrySet()) {
+            String template = entry.getKey();
+            if (template.length() > length
+                    && (normalized.equals(template) || normalized.startsWith(template + SEPARATOR))) {
+                token = entry.getValue();
+                length = template.length();
+            }
+        }
+        if (token != null) {
+            return placeRequest(token);
+        }
+
+        // the model browser needs a resolved address: use the segments up to the first wildcard
+        ResourceAddress resolved = new ResourceAddress();
+        for (Property segment : address.asPropertyList()) {
+            String value = segment.getValue().asString();
+            if (WILDCARD.equals(value)) {
+                break;
+            }
+            resolved.add(segment.getName(), value);
+        }
+        return places.get().modelBrowser(resolved);
+    }
+
+    /**
+     * Removes placeholders and the leading scope segments (profile, host, server...) from an address template, so that the
+     * required resources of places and the addresses of resource descriptions can be compared.
+     */
+    static String normalize(String template) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : template.split(SEPARATOR)) {
+            if (segment.isEmpty() || segment.startsWith("{")) {
+                continue;
+            }
+            String name = segment.contains("=") ? segment.substring(0, segment.indexOf('=')) : segment;
+            if (segments.isEmpty() && SCOPE.contains(name)) {
+                continue;
+            }
+            segments.add(segment);
+        }
+        return String.join(SEPARATOR, segments);
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    public enum Kind {
+        PLACE, RESOURCE
+    }
+
+    /** A search result which can be revealed using its place request. */
+    public static class Hit {
+
+        private final Kind kind;
+        private final String title;
+        private final String description;
+        private final List<String> matches;
+        private final PlaceRequest placeRequest;
+
+        Hit(Kind kind, String title, String description, List<String> matches, PlaceRequest placeRequest) {
+            this.kind = kind;
+            this.title = title;
+            this.description = description;
+            this.matches = matches;
+            this.placeRequest = placeRequest;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        /** @return the description of the resource or {@code null} for places */
+        public String getDescription() {
+            return description;
+        }
+
+        /** @return the keywords and attribute names which matched the query */
+        public List<String> getMatches() {
+            return matches;
+        }
+
+        public PlaceRequest getPlaceRequest() {
+            return placeRequest;
+        }
+    }
+
+    private static class Target {
+
+        final Kind kind;
+        final String title;
+        final String description;
+        final String token;
+        final ResourceAddress address;
+
+        Target(Kind kind, String title, String description, String token, ResourceAddress address) {
+            this.kind = kind;
+            this.title = title;
+            this.description = description;
+            this.token = token;
+            this.address = address;
+        }
+    }
+
+    private static class PendingQuery {
+
+        final Consumer<Reply> success;
+        final Consumer<Object> failure;
+
+        PendingQuery(Consumer<Reply> success, Consumer<Object> failure) {
+            this.success = success;
+            this.failure = failure;
+        }
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Document {
+
+        int id;
+        String title;
+        String[] keywords;
+        String[] attributes;
+        String description;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Message {
+
+        String type;
+        Document[] documents;
+        int id;
+        String query;
+        int limit;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class ReplyHit {
+
+        int document;
+        double score;
+        String[] matches;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Reply {
+
+        int id;
+        int total;
+        ReplyHit[] hits;
+        String error;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jboss.elemento.IsElement;
+import org.jboss.elemento.Key;
+import org.jboss.hal.client.search.GlobalSearch.Hit;
+import org.jboss.hal.resources.CSS;
+import org.jboss.hal.resources.Ids;
+import org.jboss.hal.resources.Resources;
+import org.jboss.hal.resources.UIConstants;
+
+import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
+
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLInputElement;
+import elemental2.dom.KeyboardEvent;
+
+import static org.jboss.elemento.Elements.*;
+import static org.jboss.elemento.EventType.blur;
+import static org.jboss.elemento.EventType.click;
+import static org.jboss.elemento.EventType.focus;
+import static org.jboss.elemento.EventType.input;
+import static org.jboss.elemento.EventType.keydown;
+import static org.jboss.elemento.EventType.mousedown;
+import static org.jboss.elemento.InputType.search;
+import static org.jboss.hal.resources.CSS.active;
+import static org.jboss.hal.resources.CSS.clickable;
+import static org.jboss.hal.resources.CSS.dropdownMenu;
+import static org.jboss.hal.resources.CSS.formControl;
+import static org.jboss.hal.resources.CSS.globalSearchKind;
+import static org.jboss.hal.resources.CSS.globalSearchMatches;
+import static org.jboss.hal.resources.CSS.open;
+import static org.jboss.hal.resources.CSS.static_;
+
+/**
+ * Search box in the header which queries the {@link GlobalSearch} while typing. The hits are shown in a dropdown and can be
+ * selected using the mouse or the cursor keys.
+ */
+public class GlobalSearchBox implements IsElement<HTMLElement> {
+
+    private final GlobalSearch globalSearch;
+    private final Resources resources;
+    private final Consumer<PlaceRequest> onSelect;
+    private final HTMLElement root;
+    private final HTMLInputElement searchBox;
+    private final HTMLElement results;
+    private final List<Hit> hits;
+    private final List<HTMLElement> items;
+    private String query;
+    private int activeIndex;
+
+    public GlobalSearchBox(GlobalSearch globalSearch, Resources resources, Consumer<PlaceRequest> onSelect) {
+        this.globalSearch = globalSearch;
+        this.resources = resources;
+        this.onSelect = onSelect;
+        this.hits = new ArrayList<>();
+        this.items = new ArrayList<>();
+        this.activeIndex = -1;
+
+        root = li().css(CSS.globalSearch)
+                .add(searchBox = input(search)
+                        .id(Ids.GLOBAL_SEARCH)
+                        .css(formControl)
+                        .attr(UIConstants.PLACEHOLDER, resources.constants().globalSearch())
+                        .on(input, event -> search(searchBox.value))
+                        .on(focus, event -> search(searchBox.value))
+                        .on(blur, event -> close())
+                        .on(keydown, this::onKeyDown)
+                        .element())
+                .add(results = ul().css(dropdownMenu)
+                        // prevent the blur event of the search box, so that the click event is fired
+                        .on(mousedown, event -> event.preventDefault())
+                        .element())
+                .element();
+    }
+
+    @Override
+    public HTMLElement element() {
+        return root;
+    }
+
+    private void search(String query) {
+        this.query = query;
+        if (query == null || query.trim().isEmpty()) {
+            close();
+            return;
+        }
+        globalSearch.search(query)
+                .then(hits -> {
+                    // ignore the hits of outdated queries
+                    if (query.equals(this.query)) {
+                        show(hits);
+                    }
+                    return null;
+                })
+                .catch_(error -> {
+                    if (query.equals(this.query)) {
+                        showError(String.valueOf(error));
+                    }
+                    return null;
+                });
+    }
+
+    private void show(List<Hit> hits) {
+        clear();
+        this.hits.addAll(hits);
+
+        results.appendChild(li().css(static_)
+                .textContent(resources.messages().globalSearchDescription(globalSearch.getPlaces(),
+                        globalSearch.getResources()))
+                .element());
+        if (hits.isEmpty()) {
+            results.appendChild(li().css(static_).innerHtml(resources.messages().noMatchingItems()).element());
+        } else {
+            for (Hit hit : hits) {
+                HTMLElement a = a().css(clickable)
+                        .on(click, event -> select(hit))
+                        .add(span().css(globalSearchKind)
+                                .textContent(hit.getKind() == GlobalSearch.Kind.PLACE
+                                        ? resources.constants().place()
+                                        : resources.constants().resource()))
+                        .add(span().textContent(hit.getTitle()))
+                        .element();
+                if (hit.getDescription() != null) {
+                    a.title = hit.getDescription();
+                }
+                if (!hit.getMatches().isEmpty()) {
+                    a.appendChild(span().css(globalSearchMatches)
+                            .textContent(String.join(", ", hit.getMatches()))
+                            .element());
+                }
+                HTMLElement item = li().add(a).element();
+                items.add(item);
+                results.appendChild(item);
+            }
+        }
+        root.classList.add(open);
+    }
+
+    private void showError(String error) {
+        clear();
+        results.appendChild(li().css(static_).textContent(resources.messages().globalSearchError(error)).element());
+        root.classList.add(open);
+    }
+
+    private void clear() {
+        hits.clear();
+        items.clear();
+        activeIndex = -1;
+        removeChildrenFrom(results);
+    }
+
+    private void onKeyDown(KeyboardEvent event) {
+        Key key = Key.fromEvent(event);
+        if (key == Key.ArrowDown || key == Key.ArrowUp) {
+            event.preventDefault();
+            if (!items.isEmpty()) {
+                int index = key == Key.ArrowDown ? activeIndex + 1 : activeIndex - 1;
+                activate((index + items.size()) % items.size());
+            }
+        } else if (key == Key.Enter) {
+            if (!hits.isEmpty()) {
+                select(hits.get(Math.max(activeIndex, 0)));
+            }
+        } else if (key == Key.Escape) {
+            searchBox.value = "";
+            close();
+            searchBox.blur();
+        }
+    }
+
+    private void activate(int index) {
+        if (activeIndex >= 0 && activeIndex < items.size()) {
+            items.get(activeIndex).classList.remove(active);
+        }
+        activeIndex = index;
+        items.get(activeIndex).classList.add(active);
+    }
+
+    private void select(Hit hit) {
+        close();
+        searchBox.blur();
+        onSelect.accept(hit.getPlaceRequest());
+    }
+
+    private void close() {
+        root.classList.remove(open);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.skeleton;
+
+import java.util.List;
+
+import org.jboss.hal.ballroom.dialog.Dialog;
+import org.jboss.hal.meta.CacheStatistics;
+import org.jboss.hal.resources.Resources;
+
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLTableSectionElement;
+
+import static java.util.Arrays.asList;
+import static org.jboss.elemento.Elements.*;
+import static org.jboss.hal.resources.CSS.table;
+import static org.jboss.hal.resources.CSS.tableStriped;
+
+/** Shows the statistics of the metadata caches. Used to size the caches in the settings. */
+class CacheStatisticsDialog {
+
+    private static final int KB = 1024;
+
+    private final Dialog dialog;
+
+    CacheStatisticsDialog(List<CacheStatistics> statistics, Resources resources) {
+        HTMLTableSectionElement tbody = tbody().element();
+        for (CacheStatistics cs : statistics) {
+            tbody.appendChild(tr()
+                    .add(td().textContent(cs.getName()))
+                    .add(td().textContent(String.valueOf(cs.getSize())))
+                    .add(td().textContent(cs.getWeight() / KB + " / " + cs.getMaximumWeight() / KB + " KB"))
+                    .add(td().textContent(String.valueOf(cs.getHits())))
+                    .add(td().textContent(String.valueOf(cs.getMisses())))
+                    .add(td().textContent(Math.round(cs.hitRate() * 100) + " %"))
+                    .add(td().textContent(String.valueOf(cs.getEvictions())))
+                    .element());
+        }
+        HTMLElement element = table().css(table, tableStriped)
+                .add(thead()
+                        .add(tr()
+                                .addAll(asList(resources.constants().name(), resources.constants().count(),
+                                        resources.constants().size(), resources.constants().hitCount(),
+                                        resources.constants().missCount(), resources.constants().hitRate(),
+                                        resources.constants().evictionCount())
+                                        .stream()
+                                        .map(title -> th().textContent(title).element())
+                                        .toArray(HTMLElement[]::new))))
+                .add(tbody)
+                .element();
+
+        dialog = new Dialog.Builder(resources.constants().cacheStatistics())
+                .add(p().textContent(resources.messages().cacheStatisticsDescription()).element())
+                .add(element)
+                .size(Dialog.Size.MEDIUM)
+                .closeOnly()
+                .build();
+    }
+
+    void show() {
+        dialog.show();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.skeleton;
+
+import java.util.List;
+
+import org.jboss.hal.ballroom.dialog.Dialog;
+import org.jboss.hal.flow.Span;
+import org.jboss.hal.flow.Tracing;
+import org.jboss.hal.resources.Resources;
+
+import elemental2.dom.CSSProperties.WidthUnionType;
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLTableSectionElement;
+
+import static java.util.Arrays.asList;
+import static org.jboss.elemento.Elements.*;
+import static org.jboss.hal.resources.CSS.error;
+import static org.jboss.hal.resources.CSS.flowTraceBar;
+import static org.jboss.hal.resources.CSS.flowTraceCall;
+import static org.jboss.hal.resources.CSS.flowTraces;
+import static org.jboss.hal.resources.CSS.table;
+import static org.jboss.hal.resources.CSS.tableStriped;
+
+/** Shows the recorded {@linkplain Tracing flow traces} as a waterfall. Used to see where time goes when a page is slow. */
+class FlowTracesDialog {
+
+    private static final int KB = 1024;
+
+    private final Resources resources;
+    private final HTMLTableSectionElement tbody;
+    private final Dialog dialog;
+
+    FlowTracesDialog(Resources resources) {
+        this.resources = resources;
+        this.tbody = tbody().element();
+
+        HTMLElement element = div().css(flowTraces)
+                .add(table().css(table, tableStriped)
+                        .add(thead()
+                                .add(tr()
+                                        .addAll(asList(resources.constants().name(), resources.constants().task(),
+                                                resources.constants().start(), resources.constants().duration(),
+                                                resources.constants().request(), resources.constants().response(), "")
+                                                .stream()
+                                                .map(title -> th().textContent(title).element())
+                                                .toArray(HTMLElement[]::new))))
+                        .add(tbody))
+                .element();
+
+        dialog = new Dialog.Builder(resources.constants().flowTraces())
+                .add(p().textContent(resources.messages().flowTracesDescription(Tracing.CAPACITY)).element())
+                .add(element)
+                .size(Dialog.Size.MAX)
+                .closeOnly()
+                .primary(resources.constants().refresh(), () -> {
+                    render();
+                    return false;
+                })
+                .secondary(Dialog.PRIMARY_POSITION - 1, resources.constants().clear(), () -> {
+                    Tracing.clear();
+                    render();
+                    return false;
+                })
+                .build();
+    }
+
+    void show() {
+        render();
+        dialog.show();
+    }
+
+    private void render() {
+        removeChildrenFrom(tbody);
+        List<Span> spans = Tracing.spans();
+        if (spans.isEmpty()) {
+            tbody.appendChild(tr().add(td().attr("colspan", "7").textContent(resources.constants().noItems())).element());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long origin = spans.get(0).start();
+        long last = origin;
+        for (Span span : spans) {
+            last = Math.max(last, span.running() ? now : span.end());
+        }
+        double total = Math.max(1, last - origin);
+
+        for (Span span : spans) {
+            long end = span.running() ? now : span.end();
+            HTMLElement bar = bar(span.start() - origin, end - span.start(), total, span.failed());
+            if (span.failed()) {
+                bar.title = span.failure();
+            }
+            tbody.appendChild(tr()
+                    .add(td().textContent(span.flow()))
+                    .add(td().textContent(span.task()))
+                    .add(td().textContent(span.start() - origin + " ms"))
+                    .add(td().textContent(span.running() ? "…" : end - span.start() + " ms"))
+                    .add(td())
+                    .add(td())
+                    .add(td().add(bar))
+                    .element());
+
+            for (Span.Call call : span.calls()) {
+                long callEnd = call.end() < 0 ? now : call.end();
+                HTMLElement callBar = bar(call.start() - origin, callEnd - call.start(), total, call.failed());
+                if (call.failed()) {
+                    callBar.title = call.failure();
+                }
+                tbody.appendChild(tr().css(flowTraceCall)
+                        .add(td().attr("colspan", "2").title(call.name()).textContent(call.name()))
+                        .add(td().textContent(call.start() - origin + " ms"))
+                        .add(td().textContent(call.end() < 0 ? "…" : callEnd - call.start() + " ms"))
+                        .add(td().textContent(size(call.requestSize())))
+                        .add(td().textContent(size(call.responseSize())))
+                        .add(td().add(callBar))
+                        .element());
+            }
+        }
+    }
+
+    private HTMLElement bar(long offset, long duration, double total, boolean failed) {
+        HTMLElement span = span().element();
+        span.style.left = (offset / total * 100) + "%";
+        span.style.width = WidthUnionType.of((duration / total * 100) + "%");
+        if (failed) {
+            span.classList.add(error);
+        }
+        return div().css(flowTraceBar).add(span).element();
+    }
+
+    private String size(long bytes) {
+        if (bytes == Span.UNKNOWN_SIZE) {
+            return "";
+        } else if (bytes < KB) {
+            return bytes + " B";
+        } else {
+            return Math.round(bytes / (double) KB) + " KB";
+        }
+    }
+}
@@ -37,6 +37,8 @@ import org.jboss.hal.dmr.macro.MacroOperationEvent;
 import org.jboss.hal.dmr.macro.MacroOperationEvent.MacroOperationHandler;
 import org.jboss.hal.dmr.macro.Macros;
 import org.jboss.hal.dmr.macro.Recording;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
 import org.jboss.hal.meta.token.NameTokens;
 import org.jboss.hal.resources.Resources;
 import org.jboss.hal.spi.Message;
@@ -49,6 +51,8 @@ import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 
 import elemental2.dom.HTMLElement;
 
+import static java.util.Arrays.asList;
+
 public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
         implements IsElement, MacroOperationHandler, MacroFinishedHandler, VersionUpdateHandler {
 
@@ -57,6 +61,8 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
     private final Settings settings;
     private final Macros macros;
     private final ExpressionResolver expressionResolver;
+    private final ResourceDescriptionRegistry resourceDescriptionRegistry;
+    private final SecurityContextRegistry securityContextRegistry;
     private final Resources resources;
     private final AboutDialog aboutDialog;
     private boolean recording;
@@ -71,6 +77,8 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
             Settings settings,
             Macros macros,
             ExpressionResolver expressionResolver,
+            ResourceDescriptionRegistry resourceDescriptionRegistry,
+            SecurityContextRegistry securityContextRegistry,
             Resources resources) {
         super(eventBus, view);
         this.environment = environment;
@@ -78,6 +86,8 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
         this.settings = settings;
         this.macros = macros;
         this.expressionResolver = expressionResolver;
+        this.resourceDescriptionRegistry = resourceDescriptionRegistry;
+        this.securityContextRegistry = securityContextRegistry;
         this.resources = resources;
         this.aboutDialog = new AboutDialog(environment, endpoints, resources);
     }
@@ -133,6 +143,19 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
         }
     }
 
+    void onCacheStatistics() {
+        new CacheStatisticsDialog(asList(resourceDescriptionRegistry.statistics(), securityContextRegistry.statistics()),
+                resources).show();
+    }
+
+    void onConsolePerformance() {
+        placeManager.revealPlace(new PlaceRequest.Builder().nameToken(NameTokens.CONSOLE_PERFORMANCE).build());
+    }
+
+    void onFlowTraces() {
+        new FlowTracesDialog(resources).show();
+    }
+
     void onMacroEditor() {
         if (!recording) {
             placeManager.revealPlace(new PlaceRequest.Builder().nameToken(NameTokens.MACRO_EDITOR).build());
@@ -69,14 +69,22 @@ public class FooterView extends HalViewImpl implements FooterPresenter.MyView {
 
         ProgressElement progress = new ProgressElement(XS, NONE, false);
         HTMLElement showVersion;
+        HTMLElement flowTraces;
         HTMLElement modelBrowser;
         HTMLElement expressionResolver;
+        HTMLElement cacheStatistics;
+        HTMLElement consolePerformance;
         HTMLElement settings;
         HTMLElement root = footer().css(footer)
                 .add(nav().css(navbar, navbarFooter, navbarFixedBottom)
                         .add(ul().css(CSS.nav, navbarNav)
                                 .add(li().css(footerProgress)
-                                        .add(progress)))
+                                        .add(progress))
+                                .add(li()
+                                        .add(flowTraces = a().css(footerTraces, clickable)
+                                                .title(resources.constants().flowTraces())
+                                                .add(span().css(fontAwesome("align-left")))
+                                                .element())))
                         .add(ul().css(CSS.nav, navbarNav, footerTools)
                                 .add(recordingContainer = li()
                                         .add(div().css(tool)
@@ -119,6 +127,14 @@ public class FooterView extends HalViewImpl implements FooterPresenter.MyView {
                                                 .add(li()
                                                         .add(macroEditor = a().css(clickable)
                                                                 .textContent(resources.constants().macroEditor())
+                                                                .element()))
+                                                .add(li()
+                                                        .add(cacheStatistics = a().css(clickable)
+                                                                .textContent(resources.constants().cacheStatistics())
+                                                                .element()))
+                                                .add(li()
+                                                        .add(consolePerformance = a().css(clickable)
+                                                                .textContent(resources.constants().consolePerformance())
                                                                 .element()))))
                                 .add(li()
                                         .add(settings = a().css(tool, clickable)
@@ -133,10 +149,13 @@ public class FooterView extends HalViewImpl implements FooterPresenter.MyView {
         Elements.setVisible(updateAvailable, false);
 
         bind(showVersion, click, event -> presenter.onShowVersion());
+        bind(flowTraces, click, event -> presenter.onFlowTraces());
         bind(modelBrowser, click, event -> presenter.onModelBrowser());
         bind(expressionResolver, click, event -> presenter.onExpressionResolver());
         bind(macroRecorder, click, event -> presenter.onMacroRecording());
         bind(macroEditor, click, event -> presenter.onMacroEditor());
+        bind(cacheStatistics, click, event -> presenter.onCacheStatistics());
+        bind(consolePerformance, click, event -> presenter.onConsolePerformance());
         bind(settings, click, event -> presenter.onSettings());
     }
 
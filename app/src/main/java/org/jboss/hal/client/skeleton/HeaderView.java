@@ -27,6 +27,8 @@ import javax.inject.Inject;
 import org.jboss.elemento.Elements;
 import org.jboss.elemento.HtmlContentBuilder;
 import org.jboss.hal.ballroom.Tooltip;
+import org.jboss.hal.client.search.GlobalSearch;
+import org.jboss.hal.client.search.GlobalSearchBox;
 import org.jboss.hal.config.Endpoints;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Role;
@@ -178,7 +180,8 @@ public class HeaderView extends HalViewImpl implements HeaderPresenter.MyView {
     private HandlerRegistration refreshHandler;
 
     @Inject
-    public HeaderView(Environment environment, Places places, AccessControl ac, Resources resources) {
+    public HeaderView(Environment environment, Places places, AccessControl ac, GlobalSearch globalSearch,
+            Resources resources) {
         this.places = places;
         this.resources = resources;
 
@@ -230,6 +233,8 @@ public class HeaderView extends HalViewImpl implements HeaderPresenter.MyView {
                                                 .add(reloadLabel = span().element())
                                                 .element())
                                         .element())
+                                .add(new GlobalSearchBox(globalSearch, resources,
+                                        placeRequest -> presenter.goTo(placeRequest)))
                                 .add(li().css(drawerPfTrigger, dropdown)
                                         .add(messages = a().css(navItemIconic, drawerPfTriggerIcon)
                                                 .id(Ids.MESSAGES_LINK)
@@ -30,7 +30,12 @@ import org.jboss.hal.core.mbui.dialog.ModifyResourceDialog;
 import org.jboss.hal.core.mbui.form.ModelNodeForm;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.dispatch.DmrTransport;
 import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.processing.MetadataProcessor;
+import org.jboss.hal.meta.processing.WorkerChannel;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Resources;
 
@@ -84,6 +89,15 @@ class SettingsDialog {
         }
         attributes.add(POLL.key());
         attributes.add(POLL_TIME.key());
+        attributes.add(DMR_TRANSPORT.key());
+        attributes.add(BATCH_OPERATIONS.key());
+        attributes.add(READ_CACHE_TTL.key());
+        attributes.add(METADATA_CONCURRENCY.key());
+        attributes.add(METADATA_BATCH_SIZE.key());
+        attributes.add(METADATA_FLUSH_INTERVAL.key());
+        attributes.add(METADATA_COMPRESSION.key());
+        attributes.add(RESOURCE_DESCRIPTION_CACHE_SIZE.key());
+        attributes.add(SECURITY_CONTEXT_CACHE_SIZE.key());
         ModelNodeForm<ModelNode> form = new ModelNodeForm.Builder<>(Ids.SETTINGS_FORM, metadata)
                 .include(attributes)
                 .customFormItem(PAGE_SIZE.key(),
@@ -117,6 +131,20 @@ class SettingsDialog {
             modelNode.get(LOCALE.key()).set(settings.get(LOCALE).value());
         }
         modelNode.get(PAGE_SIZE.key()).set(settings.get(PAGE_SIZE).asInt(Settings.DEFAULT_PAGE_SIZE));
+        modelNode.get(DMR_TRANSPORT.key()).set(DmrTransport.from(settings.get(DMR_TRANSPORT).value()).key());
+        modelNode.get(BATCH_OPERATIONS.key()).set(settings.get(BATCH_OPERATIONS).asBoolean());
+        modelNode.get(READ_CACHE_TTL.key()).set(settings.get(READ_CACHE_TTL).asInt(0));
+        modelNode.get(METADATA_CONCURRENCY.key())
+                .set(settings.get(METADATA_CONCURRENCY).asInt(MetadataProcessor.DEFAULT_CONCURRENCY));
+        modelNode.get(METADATA_BATCH_SIZE.key())
+                .set(settings.get(METADATA_BATCH_SIZE).asInt(WorkerChannel.DEFAULT_BATCH_SIZE));
+        modelNode.get(METADATA_FLUSH_INTERVAL.key())
+                .set(settings.get(METADATA_FLUSH_INTERVAL).asInt(WorkerChannel.DEFAULT_FLUSH_INTERVAL));
+        modelNode.get(METADATA_COMPRESSION.key()).set(settings.get(METADATA_COMPRESSION).asBoolean());
+        modelNode.get(RESOURCE_DESCRIPTION_CACHE_SIZE.key()).set(
+                settings.get(RESOURCE_DESCRIPTION_CACHE_SIZE).asInt(ResourceDescriptionRegistry.DEFAULT_CACHE_SIZE));
+        modelNode.get(SECURITY_CONTEXT_CACHE_SIZE.key()).set(
+                settings.get(SECURITY_CONTEXT_CACHE_SIZE).asInt(SecurityContextRegistry.DEFAULT_CACHE_SIZE));
         dialog.show(modelNode);
     }
 
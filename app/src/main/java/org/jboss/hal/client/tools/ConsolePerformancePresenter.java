@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.tools;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.ballroom.HasTitle;
+import org.jboss.hal.core.mvp.ApplicationPresenter;
+import org.jboss.hal.core.mvp.HalView;
+import org.jboss.hal.core.mvp.HasPresenter;
+import org.jboss.hal.dmr.dispatch.BatchStatistics;
+import org.jboss.hal.dmr.dispatch.DispatchStatistics;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.meta.token.NameTokens;
+import org.jboss.hal.resources.Resources;
+
+import com.google.web.bindery.event.shared.EventBus;
+import com.gwtplatform.mvp.client.annotations.NameToken;
+import com.gwtplatform.mvp.client.annotations.ProxyStandard;
+import com.gwtplatform.mvp.client.proxy.ProxyPlace;
+
+import static elemental2.dom.DomGlobal.clearInterval;
+import static elemental2.dom.DomGlobal.setInterval;
+
+/**
+ * Shows the latency percentiles, transferred bytes and error rates of the requests sent by the {@link Dispatcher}. The
+ * statistics are refreshed while the page is visible and can be exported as JSON.
+ */
+public class ConsolePerformancePresenter
+        extends ApplicationPresenter<ConsolePerformancePresenter.MyView, ConsolePerformancePresenter.MyProxy>
+        implements HasTitle {
+
+    private static final int REFRESH_INTERVAL = 2000; // ms
+    private static final String EXPORT_FILENAME = "console-performance.json"; // NON-NLS
+
+    private final Dispatcher dispatcher;
+    private final Resources resources;
+    private double intervalHandle;
+
+    @Inject
+    public ConsolePerformancePresenter(EventBus eventBus, MyView view, MyProxy proxy, Dispatcher dispatcher,
+            Resources resources) {
+        super(eventBus, view, proxy);
+        this.dispatcher = dispatcher;
+        this.resources = resources;
+    }
+
+    @Override
+    public String getTitle() {
+        return resources.constants().consolePerformance();
+    }
+
+    @Override
+    protected void onBind() {
+        super.onBind();
+        getView().setPresenter(this);
+    }
+
+    @Override
+    protected void onReveal() {
+        super.onReveal();
+        refresh();
+        clearInterval(intervalHandle);
+        intervalHandle = setInterval(o -> refresh(), REFRESH_INTERVAL);
+    }
+
+    @Override
+    protected void onHide() {
+        super.onHide();
+        clearInterval(intervalHandle);
+    }
+
+    void refresh() {
+        getView().update(dispatcher.statistics(), dispatcher.batchStatistics());
+    }
+
+    void reset() {
+        dispatcher.statistics().reset();
+        refresh();
+    }
+
+    void export() {
+        getView().download(EXPORT_FILENAME, dispatcher.statistics().toJson());
+    }
+
+    // @formatter:off
+    @ProxyStandard
+    @NameToken(NameTokens.CONSOLE_PERFORMANCE)
+    public interface MyProxy extends ProxyPlace<ConsolePerformancePresenter> {
+    }
+
+    public interface MyView extends HalView, HasPresenter<ConsolePerformancePresenter> {
+        void update(DispatchStatistics statistics, BatchStatistics batchStatistics);
+
+        void download(String filename, String json);
+    }
+    // @formatter:on
+}
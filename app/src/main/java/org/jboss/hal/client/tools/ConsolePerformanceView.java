@@ -0,0 +1,168 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.tools;
+
+import java.util.Collection;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.ballroom.Format;
+import org.jboss.hal.core.mvp.HalViewImpl;
+import org.jboss.hal.dmr.dispatch.BatchStatistics;
+import org.jboss.hal.dmr.dispatch.DispatchStatistics;
+import org.jboss.hal.dmr.dispatch.LatencyHistogram;
+import org.jboss.hal.resources.Resources;
+
+import elemental2.dom.Blob;
+import elemental2.dom.Blob.ConstructorBlobPartsArrayUnionType;
+import elemental2.dom.BlobPropertyBag;
+import elemental2.dom.HTMLAnchorElement;
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLTableRowElement;
+import elemental2.dom.HTMLTableSectionElement;
+import elemental2.dom.MouseEvent;
+import elemental2.dom.URL;
+
+import static elemental2.dom.DomGlobal.document;
+import static java.util.Arrays.asList;
+import static org.jboss.elemento.Elements.*;
+import static org.jboss.elemento.EventType.bind;
+import static org.jboss.elemento.EventType.click;
+import static org.jboss.hal.ballroom.LayoutBuilder.column;
+import static org.jboss.hal.ballroom.LayoutBuilder.row;
+import static org.jboss.hal.resources.CSS.btn;
+import static org.jboss.hal.resources.CSS.btnDefault;
+import static org.jboss.hal.resources.CSS.btnToolbar;
+import static org.jboss.hal.resources.CSS.fontAwesome;
+import static org.jboss.hal.resources.CSS.marginRight5;
+import static org.jboss.hal.resources.CSS.pullRight;
+import static org.jboss.hal.resources.CSS.table;
+import static org.jboss.hal.resources.CSS.tableStriped;
+import static org.jboss.hal.resources.CSS.textRight;
+
+public class ConsolePerformanceView extends HalViewImpl implements ConsolePerformancePresenter.MyView {
+
+    private static final String MS = " ms";
+
+    private final Resources resources;
+    private final HTMLElement summary;
+    private final HTMLTableSectionElement operations;
+    private final HTMLTableSectionElement templates;
+    private final HTMLTableSectionElement total;
+    private ConsolePerformancePresenter presenter;
+
+    @Inject
+    public ConsolePerformanceView(Resources resources) {
+        this.resources = resources;
+
+        HTMLElement refresh;
+        HTMLElement reset;
+        HTMLElement export;
+        initElement(row()
+                .add(column()
+                        .add(div().css(btnToolbar, pullRight)
+                                .add(refresh = button().css(btn, btnDefault)
+                                        .add(span().css(fontAwesome("refresh"), marginRight5))
+                                        .add(span().textContent(resources.constants().refresh()))
+                                        .element())
+                                .add(reset = button().css(btn, btnDefault)
+                                        .textContent(resources.constants().reset())
+                                        .element())
+                                .add(export = button().css(btn, btnDefault)
+                                        .add(span().css(fontAwesome("download"), marginRight5))
+                                        .add(span().textContent(resources.constants().export()))
+                                        .element()))
+                        .add(h(1).textContent(resources.constants().consolePerformance()))
+                        .add(p().textContent(resources.messages().consolePerformanceDescription()))
+                        .add(summary = p().element())
+                        .add(histogramTable(resources.constants().requests(), total = tbody().element()))
+                        .add(h(2).textContent(resources.constants().operations()))
+                        .add(histogramTable(resources.constants().operation(), operations = tbody().element()))
+                        .add(h(2).textContent(resources.constants().addressTemplates()))
+                        .add(histogramTable(resources.constants().address(), templates = tbody().element())))
+                .element());
+
+        bind(refresh, click, event -> presenter.refresh());
+        bind(reset, click, event -> presenter.reset());
+        bind(export, click, event -> presenter.export());
+    }
+
+    private HTMLElement histogramTable(String name, HTMLTableSectionElement tbody) {
+        return table().css(table, tableStriped)
+                .add(thead()
+                        .add(tr()
+                                .add(th().textContent(name))
+                                .addAll(asList(resources.constants().count(), resources.constants().errorRate(),
+                                        resources.constants().average(), "p50", "p90", "p99", // NON-NLS
+                                        resources.constants().maximum(), resources.constants().bytesSent(),
+                                        resources.constants().bytesReceived())
+                                        .stream()
+                                        .map(title -> th().css(textRight).textContent(title).element())
+                                        .toArray(HTMLElement[]::new))))
+                .add(tbody)
+                .element();
+    }
+
+    @Override
+    public void setPresenter(ConsolePerformancePresenter presenter) {
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void update(DispatchStatistics statistics, BatchStatistics batchStatistics) {
+        summary.textContent = resources.messages().consolePerformanceSummary(statistics.getInFlight(),
+                statistics.getMaxInFlight(), batchStatistics.getBatches(), batchStatistics.getRoundTripsSaved());
+        rows(total, asList(statistics.getTotal()));
+        rows(operations, statistics.getOperations());
+        rows(templates, statistics.getTemplates());
+    }
+
+    private void rows(HTMLTableSectionElement tbody, Collection<LatencyHistogram> histograms) {
+        removeChildrenFrom(tbody);
+        for (LatencyHistogram histogram : histograms) {
+            tbody.appendChild(histogramRow(histogram));
+        }
+    }
+
+    private HTMLTableRowElement histogramRow(LatencyHistogram histogram) {
+        return tr()
+                .add(td().textContent(histogram.getName()))
+                .add(td().css(textRight).textContent(String.valueOf(histogram.getCount())))
+                .add(td().css(textRight).textContent(Math.round(histogram.getErrorRate() * 100) + " %"))
+                .add(td().css(textRight).textContent(histogram.getMean() + MS))
+                .add(td().css(textRight).textContent(histogram.percentile(50) + MS))
+                .add(td().css(textRight).textContent(histogram.percentile(90) + MS))
+                .add(td().css(textRight).textContent(histogram.percentile(99) + MS))
+                .add(td().css(textRight).textContent(histogram.getMax() + MS))
+                .add(td().css(textRight).textContent(Format.humanReadableFileSize(histogram.getBytesSent())))
+                .add(td().css(textRight).textContent(Format.humanReadableFileSize(histogram.getBytesReceived())))
+                .element();
+    }
+
+    @Override
+    public void download(String filename, String json) {
+        BlobPropertyBag options = BlobPropertyBag.create();
+        options.setType("application/json");
+        Blob blob = new Blob(new ConstructorBlobPartsArrayUnionType[] { ConstructorBlobPartsArrayUnionType.of(json) },
+                options);
+        String url = URL.createObjectURL(blob);
+        HTMLAnchorElement anchor = a(url).apply(a -> a.download = filename).element();
+        document.body.appendChild(anchor);
+        anchor.dispatchEvent(new MouseEvent(click.getName()));
+        document.body.removeChild(anchor);
+        URL.revokeObjectURL(url);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LogFilePresenterTest {
+
+    @Test
+    public void noOverlap() {
+        assertEquals(0, LogFilePresenter.overlap(buffer("a", "b", "c"), asList("d", "e", "f")));
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(0, LogFilePresenter.overlap(buffer(), asList("a", "b")));
+        assertEquals(0, LogFilePresenter.overlap(buffer("a", "b"), emptyList()));
+    }
+
+    @Test
+    public void fullOverlap() {
+        // nothing new
+        assertEquals(3, LogFilePresenter.overlap(buffer("a", "b", "c"), asList("a", "b", "c")));
+    }
+
+    @Test
+    public void partialOverlap() {
+        // d and e are new
+        assertEquals(2, LogFilePresenter.overlap(buffer("a", "b", "c"), asList("b", "c", "d", "e")));
+    }
+
+    @Test
+    public void bufferLongerThanLinesRead() {
+        assertEquals(2, LogFilePresenter.overlap(buffer("a", "b", "c", "d"), asList("c", "d", "e")));
+    }
+
+    @Test
+    public void repeatedLines() {
+        // the longest overlap wins: only the last x is new
+        assertEquals(2, LogFilePresenter.overlap(buffer("a", "x", "x"), asList("x", "x", "x")));
+        // the x at the end of the buffer is followed by a new x
+        assertEquals(1, LogFilePresenter.overlap(buffer("a", "b", "x"), asList("x", "x", "c")));
+        // the leading x of the lines read must not match the repeated lines in the middle of the buffer
+        assertEquals(0, LogFilePresenter.overlap(buffer("x", "x", "a"), asList("x", "x", "b")));
+    }
+
+    @Test
+    public void rotation() {
+        // after a log rotation the lines read start from scratch and don't match the end of the buffer
+        assertEquals(0, LogFilePresenter.overlap(buffer("old 1", "old 2", "old 3"), asList("new 1", "new 2")));
+        // a rotated file which starts with the same line as the last buffered line is not detected as rotation
+        assertEquals(1, LogFilePresenter.overlap(buffer("old 1", "started"), asList("started", "new 1")));
+    }
+
+    private Deque<String> buffer(String... lines) {
+        return new ArrayDeque<>(asList(lines));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.client.runtime.subsystem.messaging.MessageWindowSearch.MAX_ROUNDS;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class MessageWindowSearchTest {
+
+    private static final long THRESHOLD = 500;
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long HOUR = 3_600_000L;
+
+    private List<Long> timestamps;
+    private int rounds;
+    private int operations; // count-messages operations, each one scans the whole queue
+    private MessageWindowSearch search;
+    private List<MessageWindow> windows;
+
+    @Before
+    public void setUp() {
+        timestamps = new ArrayList<>();
+        rounds = 0;
+        operations = 0;
+        search = new MessageWindowSearch(THRESHOLD, (windows, success, failure) -> {
+            rounds++;
+            operations += windows.size();
+            List<Long> result = new ArrayList<>();
+            for (MessageWindow window : windows) {
+                result.add(timestamps.stream().filter(t -> t >= window.getFrom() && t < window.getTo()).count());
+            }
+            success.accept(result);
+        });
+    }
+
+    @Test
+    public void probes() {
+        List<MessageWindow> probes = MessageWindowSearch.probes(NOW);
+        assertEquals(0, probes.get(0).getFrom());
+        assertEquals(Long.MAX_VALUE, probes.get(probes.size() - 1).getTo());
+        for (int i = 1; i < probes.size(); i++) {
+            // consecutive and without gaps
+            assertEquals(probes.get(i - 1).getTo(), probes.get(i).getFrom());
+        }
+    }
+
+    @Test
+    public void fewMessages() {
+        spread(100, NOW - HOUR, NOW);
+        search();
+
+        // the probes are enough
+        assertEquals(1, rounds);
+        assertTotal(100);
+    }
+
+    @Test
+    public void recentMessages() {
+        // 10.000 messages of the last two hours
+        spread(10_000, NOW - 2 * HOUR, NOW);
+        search();
+
+        assertSmall();
+        assertTotal(10_000);
+        assertEquals(8, rounds);
+        assertEquals(77, operations);
+    }
+
+    @Test
+    public void recentMessagesFromEpoch() {
+        // starting with one window from 1970 until now doesn't find small windows within the maximum number of rounds
+        spread(10_000, NOW - 2 * HOUR, NOW);
+        search.refine(new MessageWindow(0, NOW + 1, 10_000), result -> windows = result,
+                error -> fail(String.valueOf(error)));
+
+        assertEquals(MAX_ROUNDS, rounds);
+        assertTrue(windows.stream().anyMatch(window -> window.getCount() > THRESHOLD));
+        assertTotal(10_000);
+    }
+
+    @Test
+    public void oldMessages() {
+        // 10.000 messages from a week about a year ago
+        spread(10_000, NOW - 365 * 24 * HOUR, NOW - 358 * 24 * HOUR);
+        search();
+
+        // the windows might still be too large, but they partition all messages
+        assertTrue(rounds <= MAX_ROUNDS);
+        assertTotal(10_000);
+    }
+
+    @Test
+    public void maxRounds() {
+        // all messages have the same timestamp: the windows can be split, but never get small enough
+        for (int i = 0; i < 1_000; i++) {
+            timestamps.add(NOW - HOUR);
+        }
+        search();
+
+        assertEquals(MAX_ROUNDS, rounds);
+        assertTotal(1_000);
+    }
+
+    @Test
+    public void refine() {
+        spread(2_000, NOW - HOUR, NOW);
+        MessageWindow window = new MessageWindow(NOW - HOUR, NOW, 2_000);
+        search.refine(window, result -> windows = result, error -> fail(String.valueOf(error)));
+
+        assertSmall();
+        assertTotal(2_000);
+        assertEquals(2, rounds);
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private void search() {
+        search.search(NOW, result -> windows = result, error -> fail(String.valueOf(error)));
+    }
+
+    /** Adds messages with timestamps evenly spread over {@code [from, to)} */
+    private void spread(int messages, long from, long to) {
+        long step = (to - from) / messages;
+        for (int i = 0; i < messages; i++) {
+            timestamps.add(from + i * step);
+        }
+    }
+
+    private void assertSmall() {
+        for (MessageWindow window : windows) {
+            assertTrue(window + " has too many messages", window.getCount() <= THRESHOLD);
+        }
+    }
+
+    private void assertTotal(long total) {
+        assertEquals(total, windows.stream().mapToLong(MessageWindow::getCount).sum());
+        for (int i = 1; i < windows.size(); i++) {
+            assertTrue(windows.get(i - 1).getTo() <= windows.get(i).getFrom());
+        }
+    }
+}
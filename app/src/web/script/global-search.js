@@ -0,0 +1,214 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+// Inverted index used by the global search (see GlobalSearch.java). The index is built incrementally:
+//
+// { type: "add", documents: [{ id: number, title: string, keywords: [], attributes: [], description: string }] }
+//   adds documents to the index. There's no reply.
+//
+// { type: "query", id: number, query: string, limit: number }
+//   replies with { id: number, total: number, hits: [{ document: number, score: number, matches: [] }] }.
+//   All terms of the query have to match. The last term is matched as prefix, since it's usually incomplete while the user
+//   is typing. Terms which don't match exactly, are matched by prefix and by edit distance (fuzzy).
+//   'matches' contains the keywords and attribute names which matched the query.
+//   If the query fails, replies with { id: number, error: string }.
+
+const FIELDS = {title: 4, keywords: 3, attributes: 2, description: 0.5};
+const EXACT = 1.0;
+const PREFIX = 0.6;
+const FUZZY = 0.3;
+const STOP_WORDS = new Set(["an", "and", "are", "as", "be", "by", "for", "if", "in", "is", "it", "of", "on", "or",
+    "that", "the", "this", "to", "which", "will", "with"]);
+
+// term -> Map(document -> { weight: number, sources: Set })
+const postings = new Map();
+let terms = [];
+let sorted = true;
+
+function tokenize(text) {
+    if (!text) {
+        return [];
+    }
+    return text.toLowerCase()
+        .split(/[^a-z0-9]+/)
+        .filter(term => term.length > 1 && !STOP_WORDS.has(term));
+}
+
+function index(term, document, weight, source) {
+    let documents = postings.get(term);
+    if (!documents) {
+        documents = new Map();
+        postings.set(term, documents);
+        terms.push(term);
+        sorted = false;
+    }
+    let posting = documents.get(document);
+    if (!posting) {
+        posting = {weight: 0, sources: new Set()};
+        documents.set(document, posting);
+    }
+    posting.weight = Math.max(posting.weight, weight);
+    if (source) {
+        posting.sources.add(source);
+    }
+}
+
+function add(document) {
+    tokenize(document.title).forEach(term => index(term, document.id, FIELDS.title));
+    (document.keywords || []).forEach(keyword =>
+        tokenize(keyword).forEach(term => index(term, document.id, FIELDS.keywords, keyword)));
+    (document.attributes || []).forEach(attribute =>
+        tokenize(attribute).forEach(term => index(term, document.id, FIELDS.attributes, attribute)));
+    tokenize(document.description).forEach(term => index(term, document.id, FIELDS.description));
+}
+
+// the terms are sorted lazily, so that adding many documents does not sort the terms over and over again
+function sortedTerms() {
+    if (!sorted) {
+        terms.sort();
+        sorted = true;
+    }
+    return terms;
+}
+
+function firstIndexOf(prefix) {
+    let all = sortedTerms();
+    let low = 0;
+    let high = all.length;
+    while (low < high) {
+        let middle = (low + high) >>> 1;
+        if (all[middle] < prefix) {
+            low = middle + 1;
+        } else {
+            high = middle;
+        }
+    }
+    return low;
+}
+
+// Levenshtein distance which gives up as soon as the distance exceeds max
+function distance(a, b, max) {
+    if (Math.abs(a.length - b.length) > max) {
+        return max + 1;
+    }
+    let previous = new Array(b.length + 1);
+    let current = new Array(b.length + 1);
+    for (let j = 0; j <= b.length; j++) {
+        previous[j] = j;
+    }
+    for (let i = 1; i <= a.length; i++) {
+        current[0] = i;
+        let smallest = current[0];
+        for (let j = 1; j <= b.length; j++) {
+            let cost = a.charCodeAt(i - 1) === b.charCodeAt(j - 1) ? 0 : 1;
+            current[j] = Math.min(previous[j] + 1, current[j - 1] + 1, previous[j - 1] + cost);
+            smallest = Math.min(smallest, current[j]);
+        }
+        if (smallest > max) {
+            return max + 1;
+        }
+        [previous, current] = [current, previous];
+    }
+    return previous[b.length];
+}
+
+// returns a map of term -> match quality for the specified query term
+function expand(queryTerm, prefix) {
+    let expanded = new Map();
+    if (postings.has(queryTerm)) {
+        expanded.set(queryTerm, EXACT);
+    }
+    if (prefix || expanded.size === 0) {
+        let all = sortedTerms();
+        for (let i = firstIndexOf(queryTerm); i < all.length && all[i].startsWith(queryTerm); i++) {
+            if (!expanded.has(all[i])) {
+                // the closer the prefix to the complete term, the better
+                expanded.set(all[i], PREFIX * queryTerm.length / all[i].length);
+            }
+        }
+    }
+    if (expanded.size === 0 && queryTerm.length >= 4) {
+        let max = queryTerm.length >= 8 ? 2 : 1;
+        for (let term of terms) {
+            let d = distance(queryTerm, term, max);
+            if (d <= max) {
+                expanded.set(term, FUZZY / d);
+            }
+        }
+    }
+    return expanded;
+}
+
+function query(request) {
+    let queryTerms = tokenize(request.query);
+    if (queryTerms.length === 0) {
+        return {id: request.id, total: 0, hits: []};
+    }
+
+    // document -> { score: number, matches: Set }
+    let results = null;
+    queryTerms.forEach((queryTerm, index) => {
+        let scores = new Map();
+        expand(queryTerm, index === queryTerms.length - 1).forEach((quality, term) => {
+            postings.get(term).forEach((posting, document) => {
+                let score = posting.weight * quality;
+                let current = scores.get(document);
+                if (!current) {
+                    current = {score: 0, matches: new Set()};
+                    scores.set(document, current);
+                }
+                current.score = Math.max(current.score, score);
+                posting.sources.forEach(source => current.matches.add(source));
+            });
+        });
+        if (results === null) {
+            results = scores;
+        } else {
+            // all query terms have to match
+            let intersection = new Map();
+            results.forEach((result, document) => {
+                let other = scores.get(document);
+                if (other) {
+                    result.score += other.score;
+                    other.matches.forEach(match => result.matches.add(match));
+                    intersection.set(document, result);
+                }
+            });
+            results = intersection;
+        }
+    });
+
+    let hits = Array.from(results, ([document, result]) => ({
+        document: document,
+        score: result.score,
+        matches: Array.from(result.matches).slice(0, 5)
+    }));
+    hits.sort((h1, h2) => h2.score - h1.score || h1.document - h2.document);
+    return {id: request.id, total: hits.length, hits: hits.slice(0, request.limit)};
+}
+
+self.addEventListener("message", function (e) {
+    let message = e.data;
+    if (message.type === "add") {
+        message.documents.forEach(add);
+    } else if (message.type === "query") {
+        try {
+            self.postMessage(query(message));
+        } catch (error) {
+            self.postMessage({id: message.id, error: String(error)});
+        }
+    }
+}, false);
@@ -72,3 +72,11 @@ window.ClipboardJS = require("clipboard");
 
 // TODO Web worker
 window.metadataChannel = new Worker(new URL("./worker.js", import.meta.url), {type: "module"});
+// one worker per log search, terminated when the search is done (see LogSearch.java)
+window.logSearchWorker = function () {
+    return new Worker(new URL("./log-search.js", import.meta.url));
+};
+// one worker for the global search, created on first use (see GlobalSearch.java)
+window.globalSearchWorker = function () {
+    return new Worker(new URL("./global-search.js", import.meta.url));
+};
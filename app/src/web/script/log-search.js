@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+// each message contains one chunk of a log file (see LogSearch.Chunk):
+// { id: number, pattern: string, ignoreCase: boolean, context: number, firstLine: number,
+//   before: [], lines: [], after: [] }
+// 'before' and 'after' are the neighbouring lines of the chunk and are only used as context lines.
+self.addEventListener("message", function (e) {
+    let chunk = e.data;
+    let regex;
+    try {
+        regex = new RegExp(chunk.pattern, chunk.ignoreCase ? "i" : "");
+    } catch (error) {
+        self.postMessage({id: chunk.id, error: error.message});
+        return;
+    }
+    let all = chunk.before.concat(chunk.lines, chunk.after);
+    let offset = chunk.before.length;
+    let hits = [];
+    for (let i = 0; i < chunk.lines.length; i++) {
+        if (regex.test(chunk.lines[i])) {
+            let index = offset + i;
+            hits.push({
+                line: chunk.firstLine + i,
+                text: chunk.lines[i],
+                before: all.slice(Math.max(0, index - chunk.context), index),
+                after: all.slice(index + 1, index + 1 + chunk.context)
+            });
+        }
+    }
+    self.postMessage({id: chunk.id, hits: hits});
+}, false);
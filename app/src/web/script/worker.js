@@ -15,32 +15,60 @@
  */
 self.importScripts("pouchdb.min.js");
 
+// database handles are reused across messages
+self.databases = {};
+
+// each message contains all documents for one database: { database: string, documents: [], compress: boolean }
 self.addEventListener("message", function (e) {
-    let db = new PouchDB(e.data.database);
-    db.get(e.data.document._id)
-        .then(function (doc) {
-            // update existing document
-            e.data.document._rev = doc._rev;
-            db.put(e.data.document)
-                .then(function (response) {
-                    info("Update " + e.data.database + response.id);
-                })
-                .catch(function (error) {
-                    error("Unable to put " + e.data.database + e.data.document._id + ": " + error);
-                });
+    let name = e.data.database;
+    let documents = e.data.documents;
+    let db = database(name);
+    let compressed = e.data.compress && self.CompressionStream ? Promise.all(documents.map(compress)) : Promise.resolve();
+    compressed
+        .then(function () {
+            return db.allDocs({keys: documents.map(document => document._id)});
+        })
+        .then(function (result) {
+            // keys and rows have the same order
+            result.rows.forEach(function (row, index) {
+                if (row.value && !row.value.deleted) {
+                    documents[index]._rev = row.value.rev;
+                }
+            });
+            return db.bulkDocs(documents);
         })
-        .catch(function () {
-            // put new document
-            db.put(e.data.document)
-                .then(function (response) {
-                    info("Insert " + e.data.database + response.id);
-                })
-                .catch(function (error) {
-                    error("Unable to put " + e.data.database + e.data.document._id + ": " + error);
-                });
+        .then(function (response) {
+            let failed = response.filter(r => r.error);
+            failed.forEach(function (r) {
+                error("Unable to put " + name + r.id + ": " + r.message);
+            });
+            info("Stored " + (response.length - failed.length) + " documents in " + name);
+        })
+        .catch(function (reason) {
+            error("Unable to store " + documents.length + " documents in " + name + ": " + reason);
         });
 }, false);
 
+// compresses the binary payload attachment (see AbstractDatabase.asDocument())
+self.compress = function (document) {
+    let attachment = document._attachments && document._attachments.payload;
+    if (attachment && document.encoding === "identity") {
+        let stream = attachment.data.stream().pipeThrough(new CompressionStream("gzip"));
+        return new Response(stream).blob().then(function (blob) {
+            attachment.data = new Blob([blob], {type: attachment.content_type});
+            document.encoding = "gzip";
+        });
+    }
+    return Promise.resolve();
+};
+
+self.database = function (name) {
+    if (!databases[name]) {
+        databases[name] = new PouchDB(name);
+    }
+    return databases[name];
+};
+
 self.info = function (message) {
     // use the same log format as HAL
     console.info(timestamp() + " INFO  worker.js                                " + message);
@@ -35,6 +35,8 @@ public class Editor {
 
     public native void setOptions(Options options);
 
+    public native void setOption(String name, Object value);
+
     public native void setReadOnly(boolean readOnly);
 
     public native void setTheme(String theme);
@@ -73,6 +73,11 @@ class Api<T> {
      */
     native Api<T> enable(boolean enable);
 
+    /**
+     * Invalidates the cached data of the selected rows. Chain the {@link #draw(String)} to re-render the rows.
+     */
+    native Api<T> invalidate();
+
     /**
      * Returns the jQuery object for the button selected with {@link #button(int)}
      */
@@ -15,6 +15,8 @@
  */
 package org.jboss.hal.ballroom.table;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -38,12 +40,14 @@ import elemental2.dom.HTMLTableElement;
 import elemental2.dom.NodeList;
 
 import static elemental2.dom.DomGlobal.document;
+import static java.lang.Math.min;
 import static java.util.Arrays.asList;
 import static org.jboss.elemento.Elements.asHtmlElement;
 import static org.jboss.elemento.Elements.htmlElements;
 import static org.jboss.elemento.Elements.table;
 import static org.jboss.elemento.EventType.bind;
 import static org.jboss.elemento.EventType.click;
+import static org.jboss.hal.ballroom.table.RefreshMode.PAGE;
 import static org.jboss.hal.ballroom.table.RefreshMode.RESET;
 import static org.jboss.hal.resources.CSS.columnAction;
 import static org.jboss.hal.resources.CSS.dataTable;
@@ -276,6 +280,11 @@ public class DataTable<T> implements Table<T> {
         }));
     }
 
+    @Override
+    public void onDraw(DrawHandler<T> handler) {
+        api().on(DRAW, CallbackUnionType.of((DrawCallback) (event, settings) -> handler.onDraw(this)));
+    }
+
     @Override
     public T selectedRow() {
         return api().selectedRow();
@@ -286,6 +295,48 @@ public class DataTable<T> implements Table<T> {
         return api().selectedRows();
     }
 
+    @Override
+    public List<T> visibleRows() {
+        return asList(api().rows(currentPage()).data().toArray());
+    }
+
+    @Override
+    public List<T> nextRows(int pages) {
+        T[] visible = api().rows(currentPage()).data().toArray();
+        if (visible.length != 0) {
+            T[] rows = api().rows(allPages()).data().toArray();
+            for (int i = 0; i < rows.length; i++) {
+                if (rows[i] == visible[0]) {
+                    int start = i + visible.length;
+                    int end = min(start + pages * visible.length, rows.length);
+                    if (start < end) {
+                        return new ArrayList<>(asList(rows).subList(start, end));
+                    }
+                    break;
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void redrawVisibleRows() {
+        api().rows(currentPage()).invalidate().draw(PAGE.mode());
+    }
+
+    private SelectorModifier currentPage() {
+        return new SelectorModifierBuilder()
+                .page(SelectorModifier.Page.current)
+                .search(SelectorModifier.Search.applied)
+                .build();
+    }
+
+    private SelectorModifier allPages() {
+        return new SelectorModifierBuilder()
+                .search(SelectorModifier.Search.applied)
+                .build();
+    }
+
     @Override
     public void select(T data) {
         select(data, null);
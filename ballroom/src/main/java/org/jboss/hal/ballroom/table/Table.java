@@ -40,6 +40,8 @@ public interface Table<T> extends IsElement, Attachable {
 
     void onSelectionChange(SelectionChangeHandler<T> handler);
 
+    void onDraw(DrawHandler<T> handler);
+
     default boolean hasSelection() {
         return !selectedRows().isEmpty();
     }
@@ -48,6 +50,18 @@ public interface Table<T> extends IsElement, Attachable {
 
     List<T> selectedRows();
 
+    /** Returns the rows of the current page taking the current search and order into account. */
+    List<T> visibleRows();
+
+    /**
+     * Returns the rows of the specified number of pages after the current page taking the current search and order into
+     * account. Use this method to prefetch data of the pages the user is about to see.
+     */
+    List<T> nextRows(int pages);
+
+    /** Re-renders the rows of the current page. Use this method if the data of these rows has been modified in place. */
+    void redrawVisibleRows();
+
     void select(T data);
 
     void select(T data, Function<T, String> identifier);
@@ -75,4 +89,15 @@ public interface Table<T> extends IsElement, Attachable {
          */
         void onSelectionChanged(Table<T> table);
     }
+
+    /**
+     * Handler which is called after the table has been drawn. That is after paging, sorting, searching or updating the table.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    interface DrawHandler<T> {
+
+        void onDraw(Table<T> table);
+    }
 }
@@ -141,6 +141,7 @@ public class Wizard<C, S extends Enum<S>> {
     private FinishCallback<C, S> finishCallback;
     private CancelCallback<C> cancelCallback;
     private boolean showsError;
+    private HTMLElement progressText;
     private boolean stayOpenAfterFinish;
     private boolean finishCanClose;
     private S state;
@@ -204,7 +205,7 @@ public class Wizard<C, S extends Enum<S>> {
 
         blankSlate.appendChild(div().css(spinner, spinnerLg, blankSlatePfIcon).element());
         blankSlate.appendChild(h(3).css(blankSlatePfMainAction).textContent(title).element());
-        blankSlate.appendChild(p().css(blankSlatePfSecondaryAction).innerHtml(text).element());
+        blankSlate.appendChild(progressText = p().css(blankSlatePfSecondaryAction).innerHtml(text).element());
 
         stepElements.values().forEach(element -> Elements.setVisible(element, false));
         Elements.setVisible(blankSlate, true);
@@ -213,6 +214,13 @@ public class Wizard<C, S extends Enum<S>> {
         nextButton.disabled = true;
     }
 
+    /** Updates the text shown by {@link #showProgress(String, SafeHtml)}, e.g. to show the progress of an upload. */
+    public void updateProgress(SafeHtml text) {
+        if (progressText != null && progressText.isConnected) {
+            progressText.innerHTML = text.asString();
+        }
+    }
+
     public void showSuccess(String title, SafeHtml text) {
         showSuccess(title, text, null, null, true);
     }
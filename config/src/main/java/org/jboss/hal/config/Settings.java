@@ -84,9 +84,24 @@ public class Settings {
 
     @SuppressWarnings("DuplicateStringLiteralInspection")
     public enum Key {
-        TITLE("title", true), COLLECT_USER_DATA("collect-user-data", true), LOCALE("locale", true), PAGE_SIZE("page-size",
-                true), POLL("poll", true), POLL_TIME("poll-time", true), RUN_AS("run-as", false); // can contain multiple roles
-                                                                                                  // separated by ","
+        // @formatter:off
+        TITLE("title", true),
+        COLLECT_USER_DATA("collect-user-data", true),
+        LOCALE("locale", true),
+        PAGE_SIZE("page-size", true),
+        POLL("poll", true),
+        POLL_TIME("poll-time", true),
+        RUN_AS("run-as", false), // can contain multiple roles separated by ","
+        DMR_TRANSPORT("dmr-transport", true),
+        BATCH_OPERATIONS("batch-operations", true),
+        READ_CACHE_TTL("read-cache-ttl", true),
+        METADATA_CONCURRENCY("metadata-concurrency", true),
+        METADATA_BATCH_SIZE("metadata-batch-size", true),
+        METADATA_FLUSH_INTERVAL("metadata-flush-interval", true),
+        METADATA_COMPRESSION("metadata-compression", true),
+        RESOURCE_DESCRIPTION_CACHE_SIZE("resource-description-cache-size", true),
+        SECURITY_CONTEXT_CACHE_SIZE("security-context-cache-size", true);
+        // @formatter:on
 
         public static Key from(String key) {
             switch (key) {
@@ -104,6 +119,24 @@ public class Settings {
                     return POLL_TIME;
                 case "run-as":
                     return RUN_AS;
+                case "dmr-transport":
+                    return DMR_TRANSPORT;
+                case "batch-operations":
+                    return BATCH_OPERATIONS;
+                case "read-cache-ttl":
+                    return READ_CACHE_TTL;
+                case "metadata-concurrency":
+                    return METADATA_CONCURRENCY;
+                case "metadata-batch-size":
+                    return METADATA_BATCH_SIZE;
+                case "metadata-flush-interval":
+                    return METADATA_FLUSH_INTERVAL;
+                case "metadata-compression":
+                    return METADATA_COMPRESSION;
+                case "resource-description-cache-size":
+                    return RESOURCE_DESCRIPTION_CACHE_SIZE;
+                case "security-context-cache-size":
+                    return SECURITY_CONTEXT_CACHE_SIZE;
                 default:
                     return null;
             }
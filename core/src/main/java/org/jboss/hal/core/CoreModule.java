@@ -33,6 +33,7 @@ import org.jboss.hal.core.mvp.Places;
 import org.jboss.hal.core.runtime.group.ServerGroupActions;
 import org.jboss.hal.core.runtime.host.HostActions;
 import org.jboss.hal.core.runtime.server.ServerActions;
+import org.jboss.hal.core.runtime.server.ServerStateMonitor;
 import org.jboss.hal.core.runtime.server.ServerUrlStorage;
 import org.jboss.hal.core.subsystem.Subsystems;
 import org.jboss.hal.core.ui.UIRegistry;
@@ -68,6 +69,7 @@ public class CoreModule extends AbstractGinModule {
         bind(Core.class).in(Singleton.class);
         bind(Places.class).in(Singleton.class);
         bind(ServerActions.class).in(Singleton.class);
+        bind(ServerStateMonitor.class).in(Singleton.class);
         bind(ServerGroupActions.class).in(Singleton.class);
         bind(ServerUrlStorage.class).in(Singleton.class);
         bind(StatementContext.class).to(CoreStatementContext.class).asEagerSingleton(); // to register the event handler
@@ -19,9 +19,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -34,6 +36,7 @@ import org.jboss.hal.flow.Flow;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.flow.Progress;
 import org.jboss.hal.flow.Task;
+import org.jboss.hal.meta.processing.MetadataPrefetcher;
 import org.jboss.hal.meta.security.SecurityContextRegistry;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.spi.Footer;
@@ -84,6 +87,7 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
     private final PlaceManager placeManager;
     private final ColumnRegistry columnRegistry;
     private final SecurityContextRegistry securityContextRegistry;
+    private final MetadataPrefetcher metadataPrefetcher;
     private final Provider<Progress> progress;
     private final FinderContext context;
     private final LinkedHashMap<String, FinderColumn<?>> columns;
@@ -101,6 +105,7 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
             PlaceManager placeManager,
             ColumnRegistry columnRegistry,
             SecurityContextRegistry securityContextRegistry,
+            MetadataPrefetcher metadataPrefetcher,
             @Footer Provider<Progress> progress) {
 
         this.environment = environment;
@@ -108,6 +113,7 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
         this.placeManager = placeManager;
         this.columnRegistry = columnRegistry;
         this.securityContextRegistry = securityContextRegistry;
+        this.metadataPrefetcher = metadataPrefetcher;
         this.progress = progress;
 
         this.context = new FinderContext();
@@ -277,6 +283,22 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
         }
     }
 
+    /**
+     * Prefetches the metadata of the columns and places which can be reached from the specified column. Targets of the selected
+     * row come first.
+     */
+    <T> void prefetch(FinderColumn<T> column) {
+        Set<String> targets = new LinkedHashSet<>();
+        FinderRow<T> selectedRow = column.selectedRow();
+        if (selectedRow != null) {
+            targets.addAll(selectedRow.getTargets());
+        }
+        for (FinderRow<T> row : column.rows()) {
+            targets.addAll(row.getTargets());
+        }
+        metadataPrefetcher.prefetch(targets);
+    }
+
     void selectColumn(String columnId) {
         FinderColumn<?> finderColumn = columns.get(columnId);
         if (finderColumn != null) {
@@ -16,6 +16,7 @@
 package org.jboss.hal.core.finder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -149,6 +150,8 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     private boolean asElement;
     private final boolean firstActionAsBreadcrumbHandler;
     private ItemsProvider<T> itemsProvider;
+    private boolean loading;
+    private boolean partial;
     private List<T> currentItems;
     private ItemRenderer<T> itemRenderer;
     private PreviewCallback<T> previewCallback;
@@ -353,7 +356,10 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
             // show the 'clear' icon when there are typed chars
             Elements.setVisible(clearFilterElement, true);
         }
+        applyFilter();
+    }
 
+    private void applyFilter() {
         int matched = 0;
         String filter = filterElement.value;
         for (HTMLElement li : Elements.children(ulElement)) {
@@ -548,6 +554,10 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         return null;
     }
 
+    Collection<FinderRow<T>> rows() {
+        return rows.values();
+    }
+
     boolean contains(String itemId) {
         return rows.containsKey(itemId);
     }
@@ -652,11 +662,20 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
                 setItems(initialItems);
                 resolve.onInvoke(this);
             } else if (itemsProvider != null) {
+                loading = true;
+                partial = false;
                 itemsProvider.items(finder.getContext())
                         .then((List<T> items) -> {
+                            loading = false;
                             setItems(items);
                             resolve.onInvoke(this);
                             return null;
+                        })
+                        .catch_(error -> {
+                            loading = false;
+                            partial = false;
+                            logger.error("Unable to read items of column '{}': {}", id, error);
+                            return null;
                         });
             } else {
                 setItems(Collections.emptyList());
@@ -666,6 +685,49 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     }
 
     private void setItems(List<T> items) {
+        if (partial) {
+            // keep what the user did while the partial items were shown
+            partial = false;
+            renderItemsAndKeepState(items);
+        } else {
+            renderItems(items);
+        }
+        if (items.isEmpty()) {
+            ulElement.appendChild(noItems);
+        }
+        finder.prefetch(this);
+    }
+
+    /**
+     * Shows the items read so far while the {@linkplain ItemsProvider items provider} is still loading. Use this method in
+     * items providers which read their items step by step. The partial items are replaced by the items of the items provider as
+     * soon as it has finished. Calls after the items provider has finished or failed are ignored. The selected item and the
+     * filter are kept across partial updates.
+     */
+    protected void setPartialItems(List<T> items) {
+        if (loading) {
+            partial = true;
+            renderItemsAndKeepState(items);
+        }
+    }
+
+    private void renderItemsAndKeepState(List<T> items) {
+        FinderRow<T> selectedRow = selectedRow();
+        String filter = filterElement != null ? filterElement.value : null;
+        renderItems(items);
+        if (selectedRow != null) {
+            FinderRow<T> row = rows.get(selectedRow.getId());
+            if (row != null) {
+                row.markSelected(true);
+            }
+        }
+        if (filter != null && filter.trim().length() != 0) {
+            filterElement.value = filter;
+            applyFilter();
+        }
+    }
+
+    private void renderItems(List<T> items) {
         rows.clear();
         currentItems = items;
         Elements.removeChildrenFrom(ulElement);
@@ -706,10 +768,6 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         }
         updateHeader(items.size());
         Tooltip.select(HASH + id + " [data-" + UIConstants.TOGGLE + "=" + UIConstants.TOOLTIP + "]").init(); // NON-NLS
-
-        if (items.isEmpty()) {
-            ulElement.appendChild(noItems);
-        }
     }
 
     /**
@@ -15,7 +15,9 @@
  */
 package org.jboss.hal.core.finder;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.jboss.elemento.Elements;
 import org.jboss.elemento.HtmlContentBuilder;
@@ -276,6 +278,8 @@ class FinderRow<T> implements IsElement<HTMLLIElement> {
         finder.updateHistory();
         if (nextColumn != null) {
             finder.appendColumn(nextColumn);
+        } else {
+            finder.prefetch(column);
         }
         // </keep>
         updatePreview();
@@ -325,6 +329,20 @@ class FinderRow<T> implements IsElement<HTMLLIElement> {
         return nextColumn;
     }
 
+    /** Returns the ids of the column and the places which can be reached from this row. */
+    Set<String> getTargets() {
+        Set<String> targets = new LinkedHashSet<>();
+        if (nextColumn != null) {
+            targets.add(nextColumn);
+        }
+        for (ItemAction<T> action : actions) {
+            if (action.nameToken != null) {
+                targets.add(action.nameToken);
+            }
+        }
+        return targets;
+    }
+
     ItemActionHandler<T> getPrimaryAction() {
         return primaryAction;
     }
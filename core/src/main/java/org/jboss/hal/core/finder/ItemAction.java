@@ -33,6 +33,7 @@ public class ItemAction<T> {
     final String title;
     final ItemActionHandler<T> handler;
     final String href;
+    final String nameToken;
     final Map<String, String> attributes;
     final Constraints constraints;
 
@@ -40,6 +41,7 @@ public class ItemAction<T> {
         this.title = builder.title;
         this.handler = builder.handler;
         this.href = builder.href;
+        this.nameToken = builder.nameToken;
         this.attributes = builder.attributes;
         if (builder.constraints != null) {
             this.constraints = builder.constraints;
@@ -63,6 +65,7 @@ public class ItemAction<T> {
         private String title;
         private ItemActionHandler<T> handler;
         private String href;
+        private String nameToken;
         private final Map<String, String> attributes;
         private Constraint constraint;
         private Constraints constraints;
@@ -71,6 +74,7 @@ public class ItemAction<T> {
             this.title = null;
             this.handler = null;
             this.href = null;
+            this.nameToken = null;
             this.attributes = new HashMap<>();
         }
 
@@ -97,6 +101,12 @@ public class ItemAction<T> {
             return this;
         }
 
+        /** The name token of the place revealed by this action. Used to prefetch the metadata of the place. */
+        public Builder<T> nameToken(String nameToken) {
+            this.nameToken = nameToken;
+            return this;
+        }
+
         public Builder<T> constraint(Constraint constraint) {
             this.constraint = constraint;
             return this;
@@ -412,7 +412,9 @@ public class ModelBrowser implements IsElement<HTMLElement> {
             AddressTemplate template = asGenericTemplate(parent, parent.data.getAddress());
             metadataProcessor.lookup(template, progress.get(), new SuccessfulMetadataCallback(eventBus, resources) {
                 @Override
-                public void onMetadata(Metadata metadata) {
+                public void onMetadata(Metadata registeredMetadata) {
+                    // the registered operation descriptions are shared and read-only, so work on a copy
+                    Metadata metadata = registeredMetadata.copy();
                     flattenDescription(metadata.getDescription().get(OPERATIONS).get(ADD).get(REQUEST_PROPERTIES));
                     String title = new LabelBuilder().label(parent.text);
                     NameItem nameItem = new NameItem();
@@ -28,6 +28,7 @@ import org.jboss.hal.core.runtime.host.HostSelectionEvent;
 import org.jboss.hal.core.runtime.server.ServerSelectionEvent;
 import org.jboss.hal.flow.Progress;
 import org.jboss.hal.meta.StatementContext.Expression;
+import org.jboss.hal.meta.processing.MetadataPrefetcher;
 import org.jboss.hal.meta.processing.MetadataProcessor;
 import org.jboss.hal.resources.Resources;
 import org.jboss.hal.spi.Footer;
@@ -67,6 +68,7 @@ import static org.jboss.hal.meta.StatementContext.Expression.SELECTED_SERVER_CON
 public class HalPlaceManager extends DefaultPlaceManager {
 
     private final MetadataProcessor metadataProcessor;
+    private final MetadataPrefetcher metadataPrefetcher;
     private final Provider<Progress> progress;
     private final Map<Expression, Consumer<String>> selectFunctions;
     private Resources resources;
@@ -78,11 +80,13 @@ public class HalPlaceManager extends DefaultPlaceManager {
             @ErrorPlace String errorPlaceNameToken,
             @UnauthorizedPlace String unauthorizedPlaceNameToken,
             MetadataProcessor metadataProcessor,
+            MetadataPrefetcher metadataPrefetcher,
             @Footer Provider<Progress> progress,
             Resources resources) {
         super(eventBus, tokenFormatter, defaultPlaceNameToken, errorPlaceNameToken, unauthorizedPlaceNameToken,
                 new PlaceHistoryHandler.DefaultHistorian());
         this.metadataProcessor = metadataProcessor;
+        this.metadataPrefetcher = metadataPrefetcher;
         this.progress = progress;
         this.resources = resources;
 
@@ -106,6 +110,8 @@ public class HalPlaceManager extends DefaultPlaceManager {
             }
         }
 
+        // pending prefetches would compete with the metadata of the new place
+        metadataPrefetcher.cancel();
         metadataProcessor.process(request.getNameToken(), progress.get())
                 .then(__ -> {
                     HalPlaceManager.super.doRevealPlace(request, updateBrowserUrl);
@@ -17,15 +17,12 @@ package org.jboss.hal.core.runtime;
 
 import java.util.function.Predicate;
 
-import org.jboss.hal.dmr.Composite;
-import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.Flow;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.flow.FlowStatus;
-import org.jboss.hal.flow.Progress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,27 +56,6 @@ public class TimeoutHandler {
                 .then(__ -> Promise.resolve(SUCCESS), error -> Promise.resolve(FlowStatus.fromError(error)));
     }
 
-    /** Executes the composite operation until the operation successfully returns. */
-    public static Promise<FlowStatus> repeatCompositeUntil(final Dispatcher dispatcher, final Composite composite,
-            final int timeout) {
-        // repeat until there are failures
-        return repeatCompositeUntil(dispatcher, composite, modelNodes -> !modelNodes.isFailure(), timeout);
-    }
-
-    /** Executes the composite operation until the predicate no longer is true. */
-    public static Promise<FlowStatus> repeatCompositeUntil(final Dispatcher dispatcher, final Composite composite,
-            final Predicate<CompositeResult> until, final int timeout) {
-        logger.debug("Repeat {} while the predicate evaluates to true with {} seconds timeout", composite.asCli(),
-                timeout);
-        // repeat until the predicate returns true
-        return Flow.repeat(new FlowContext(Progress.NOOP),
-                c -> dispatcher.execute(composite).then(cr -> c.resolve(!until.test(cr)))) // until = !while
-                .while_(c -> c.pop(true))
-                .failFast(false)
-                .timeout(timeout * 1000L)
-                .then(__ -> Promise.resolve(SUCCESS), error -> Promise.resolve(FlowStatus.fromError(error)));
-    }
-
     private TimeoutHandler() {
     }
 }
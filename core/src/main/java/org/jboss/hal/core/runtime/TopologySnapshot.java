@@ -0,0 +1,229 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.core.runtime.group.ServerGroup;
+import org.jboss.hal.core.runtime.host.Host;
+import org.jboss.hal.core.runtime.server.Server;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelDescriptionConstants;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.resources.Ids;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Stopwatch;
+
+import elemental2.promise.Promise;
+
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.function.UnaryOperator.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES_ONLY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.BLOCKING_TIMEOUT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CORE_SERVICE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.MANAGEMENT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_BOOT_ERRORS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_CONFIG;
+
+/**
+ * Snapshot of the whole domain topology: hosts, server configs, running servers and server groups.
+ * <p>
+ * Instead of reading the servers host by host, the snapshot uses wildcard operations like {@code /host=* /server-config=*} and
+ * {@code /host=* /server=*} and assembles the hosts, servers and server groups on the client side. The number of round trips
+ * doesn't depend on the number of hosts: One composite reads the topology, a second one the boot errors of the started servers
+ * (only if there are started servers).
+ */
+public class TopologySnapshot {
+
+    private static final String WILDCARD = "*";
+    private static final int OPERATION_TIMEOUT = 3; // seconds
+    private static final Logger logger = LoggerFactory.getLogger(TopologySnapshot.class);
+
+    /** Reads a snapshot of the domain topology. Returns an empty snapshot in standalone mode. */
+    public static Promise<TopologySnapshot> read(Environment environment, Dispatcher dispatcher) {
+        if (environment.isStandalone()) {
+            return Promise.resolve(new TopologySnapshot(emptyList(), emptyList(), emptyList()));
+        }
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        return dispatcher.execute(topologyOperation())
+                .then(result -> {
+                    TopologySnapshot snapshot = assemble(result);
+                    return snapshot.readBootErrors(dispatcher);
+                })
+                .then(snapshot -> {
+                    logger.debug("Read topology snapshot with {} hosts and {} servers in {} ms",
+                            snapshot.hosts.size(), snapshot.servers.size(), stopwatch.elapsed(MILLISECONDS));
+                    return Promise.resolve(snapshot);
+                });
+    }
+
+    /** Returns the composite which reads the topology. Its number of steps doesn't depend on the number of hosts. */
+    static Composite topologyOperation() {
+        Composite composite = new Composite(
+                new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_RESOURCES_OPERATION)
+                        .param(CHILD_TYPE, ModelDescriptionConstants.HOST)
+                        .param(INCLUDE_RUNTIME, true)
+                        .build(),
+                new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_RESOURCES_OPERATION)
+                        .param(CHILD_TYPE, ModelDescriptionConstants.SERVER_GROUP)
+                        .param(INCLUDE_RUNTIME, true)
+                        .build(),
+                new Operation.Builder(new ResourceAddress()
+                        .add(ModelDescriptionConstants.HOST, WILDCARD)
+                        .add(SERVER_CONFIG, WILDCARD), READ_RESOURCE_OPERATION)
+                        .param(INCLUDE_RUNTIME, true)
+                        .build(),
+                new Operation.Builder(new ResourceAddress()
+                        .add(ModelDescriptionConstants.HOST, WILDCARD)
+                        .add(SERVER, WILDCARD), READ_RESOURCE_OPERATION)
+                        .param(ATTRIBUTES_ONLY, true)
+                        .param(INCLUDE_RUNTIME, true)
+                        .build(),
+                TopologyTasks.disconnectedHostsOperation());
+        composite.addHeader(BLOCKING_TIMEOUT, OPERATION_TIMEOUT);
+        return composite;
+    }
+
+    /** Assembles the snapshot from the result of the topology composite. */
+    static TopologySnapshot assemble(CompositeResult result) {
+        List<Host> hosts = result.step(0).get(RESULT).asPropertyList().stream()
+                .map(Host::new)
+                .collect(toList());
+        Map<String, Host> hostsByName = hosts.stream().collect(toMap(Host::getAddressName, identity()));
+
+        List<ServerGroup> serverGroups = result.step(1).get(RESULT).asPropertyList().stream()
+                .map(ServerGroup::new)
+                .sorted(comparing(ServerGroup::getName))
+                .collect(toList());
+
+        List<Server> servers = new ArrayList<>();
+        for (ModelNode node : result.step(2).get(RESULT).asList()) {
+            if (!node.isFailure()) {
+                String host = new ResourceAddress(node.get(ADDRESS)).getParent().lastValue();
+                servers.add(new Server(host, node.get(RESULT)));
+            }
+        }
+        Map<String, Server> serversById = servers.stream().collect(toMap(Server::getId, identity()));
+        for (ModelNode node : result.step(3).get(RESULT).asList()) {
+            if (!node.isFailure()) {
+                ResourceAddress address = new ResourceAddress(node.get(ADDRESS));
+                Server server = serversById.get(Ids.hostServer(address.getParent().lastValue(), address.lastValue()));
+                if (server != null) {
+                    server.addServerAttributes(node.get(RESULT));
+                }
+            }
+        }
+        for (Server server : servers) {
+            Host host = hostsByName.get(server.getHost());
+            if (host != null) {
+                host.addServer(server);
+            }
+        }
+        ServerGroup.addServers(serverGroups, servers);
+
+        hosts.addAll(TopologyTasks.disconnectedHosts(result.step(4).get(RESULT)));
+        return new TopologySnapshot(Host.sort(hosts), serverGroups, servers);
+    }
+
+    private final List<Host> hosts;
+    private final List<ServerGroup> serverGroups;
+    private final List<Server> servers;
+
+    private TopologySnapshot(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers) {
+        this.hosts = hosts;
+        this.serverGroups = serverGroups;
+        this.servers = servers;
+    }
+
+    /**
+     * Returns the composite which reads the boot errors of all started servers or {@code null} if no server has been started.
+     * The steps are in the order of {@link #startedServers()}.
+     */
+    Composite bootErrorsOperation() {
+        List<Server> startedServers = startedServers();
+        if (startedServers.isEmpty()) {
+            return null;
+        }
+        List<Operation> operations = startedServers.stream()
+                .map(server -> new Operation.Builder(server.getServerAddress().add(CORE_SERVICE, MANAGEMENT),
+                        READ_BOOT_ERRORS).build())
+                .collect(toList());
+        Composite composite = new Composite(operations);
+        composite.addHeader(BLOCKING_TIMEOUT, OPERATION_TIMEOUT);
+        return composite;
+    }
+
+    private List<Server> startedServers() {
+        return servers.stream().filter(Server::isStarted).collect(toList());
+    }
+
+    private Promise<TopologySnapshot> readBootErrors(Dispatcher dispatcher) {
+        Composite composite = bootErrorsOperation();
+        if (composite == null) {
+            return Promise.resolve(this);
+        }
+        List<Server> startedServers = startedServers();
+        return dispatcher.execute(composite)
+                .then(result -> {
+                    for (int i = 0; i < startedServers.size(); i++) {
+                        List<ModelNode> bootErrors = result.step(i).get(RESULT).asList();
+                        startedServers.get(i).setBootErrors(!bootErrors.isEmpty());
+                    }
+                    return Promise.resolve(this);
+                })
+                .catch_(error -> {
+                    // boot errors are nice to have, the snapshot is still valid without them
+                    logger.error("Unable to read boot errors of started servers: {}", error);
+                    return Promise.resolve(this);
+                });
+    }
+
+    /** @return the ordered list of hosts with the domain controller as first element. Each host contains its servers. */
+    public List<Host> getHosts() {
+        return hosts;
+    }
+
+    /** @return the ordered list of server groups. Each server group contains its servers. */
+    public List<ServerGroup> getServerGroups() {
+        return serverGroups;
+    }
+
+    /** @return all servers of the domain */
+    public List<Server> getServers() {
+        return servers;
+    }
+}
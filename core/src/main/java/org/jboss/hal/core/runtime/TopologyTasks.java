@@ -19,8 +19,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.jboss.hal.ballroom.dialog.Dialog;
 import org.jboss.hal.ballroom.dialog.DialogFactory;
@@ -97,6 +99,12 @@ public final class TopologyTasks {
     public static final String SERVERS = "topologyTasks.servers"; // List<Server>
     public static final String SERVER = "topologyTasks.server"; // Server
 
+    /**
+     * Maximum number of hosts which are read at the same time. Matches the number of parallel connections most browsers allow
+     * per origin.
+     */
+    public static final int MAX_CONCURRENT_HOSTS = 6;
+
     private static final String HOST_NAMES = "topologyTasks.hostNames"; // List<String>
     private static final String WILDCARD = "*";
     private static final int OPERATION_TIMEOUT = 3; // seconds
@@ -119,8 +127,13 @@ public final class TopologyTasks {
     }
 
     /**
-     * Returns a list of tasks to read the basic topology. This only includes hosts and server groups, but <em>no</em> servers.
-     * Servers are read in a second step to make the whole process more resilient.
+     * Returns a list of tasks to read the topology. The topology is read as a {@linkplain TopologySnapshot snapshot}, so the
+     * number of round trips doesn't depend on the number of hosts.
+     *
+     * <p>
+     * The wildcard operations of the snapshot fail if a single server is blocked or a host is booting (HAL-1795). Only in that
+     * case the tasks fall back to read the hosts and server groups <em>without</em> servers. Callers can tell both cases apart
+     * by the {@link #SERVERS} key.
      *
      * <p>
      * The context is populated with the following keys:
@@ -128,13 +141,13 @@ public final class TopologyTasks {
      * <li>{@link #HOSTS}: The ordered list of hosts with the domain controller as first element. Each host contains its
      * servers.</li>
      * <li>{@link #SERVER_GROUPS}: The ordered list of server groups. Each server group contains its servers.</li>
+     * <li>{@link #SERVERS}: The list of all servers. Not set if the snapshot failed.</li>
      * </ul>
+     * Started servers contain additional attributes and optional server boot errors.
      */
     public static List<Task<FlowContext>> topology(Environment environment, Dispatcher dispatcher) {
         List<Task<FlowContext>> tasks = new ArrayList<>();
-        tasks.add(new Hosts(environment, dispatcher));
-        tasks.add(new DisconnectedHosts(environment, dispatcher));
-        tasks.add(new ServerGroups(environment, dispatcher));
+        tasks.add(new Snapshot(environment, dispatcher));
         return tasks;
     }
 
@@ -150,9 +163,19 @@ public final class TopologyTasks {
      * Started servers contain additional attributes and optional server boot errors.
      */
     public static List<Task<FlowContext>> hosts(Environment environment, Dispatcher dispatcher) {
+        return hosts(environment, dispatcher, null);
+    }
+
+    /**
+     * Same as {@link #hosts(Environment, Dispatcher)}, but reports the hosts read so far to the specified consumer as soon as
+     * the data of a host has been read. The hosts are read in parallel, so this can be used to show hosts before all hosts have
+     * been read. The partial lists are sorted, but don't contain disconnected hosts.
+     */
+    public static List<Task<FlowContext>> hosts(Environment environment, Dispatcher dispatcher,
+            Consumer<List<Host>> partialHosts) {
         List<Task<FlowContext>> tasks = new ArrayList<>();
         tasks.add(new HostsNames(environment, dispatcher));
-        tasks.add(new HostsAndServerConfigs(environment, dispatcher));
+        tasks.add(new HostsAndServerConfigs(environment, dispatcher, partialHosts));
         tasks.add(new DisconnectedHosts(environment, dispatcher));
         tasks.add(new Topology(environment));
         return tasks;
@@ -171,7 +194,7 @@ public final class TopologyTasks {
     public static List<Task<FlowContext>> serverGroups(Environment environment, Dispatcher dispatcher) {
         List<Task<FlowContext>> tasks = new ArrayList<>();
         tasks.add(new HostsNames(environment, dispatcher));
-        tasks.add(new HostsAndServerConfigs(environment, dispatcher));
+        tasks.add(new HostsAndServerConfigs(environment, dispatcher, null));
         tasks.add(new ServerGroups(environment, dispatcher));
         tasks.add(new Topology(environment));
         return tasks;
@@ -220,9 +243,19 @@ public final class TopologyTasks {
      */
     public static List<Task<FlowContext>> serversOfServerGroup(Environment environment, Dispatcher dispatcher,
             String serverGroup) {
+        return serversOfServerGroup(environment, dispatcher, serverGroup, null);
+    }
+
+    /**
+     * Same as {@link #serversOfServerGroup(Environment, Dispatcher, String)}, but reports the server configs read so far to the
+     * specified consumer as soon as the server configs of a host have been read. The partial lists don't contain the runtime
+     * attributes of started servers.
+     */
+    public static List<Task<FlowContext>> serversOfServerGroup(Environment environment, Dispatcher dispatcher,
+            String serverGroup, Consumer<List<Server>> partialServers) {
         List<Task<FlowContext>> tasks = new ArrayList<>();
         tasks.add(new HostsNames(environment, dispatcher));
-        tasks.add(new ServerConfigsOfServerGroup(environment, dispatcher, serverGroup));
+        tasks.add(new ServerConfigsOfServerGroup(environment, dispatcher, serverGroup, partialServers));
         tasks.add(new StartedServers(environment, dispatcher));
         return tasks;
     }
@@ -265,8 +298,97 @@ public final class TopologyTasks {
                 }));
     }
 
+    /**
+     * Executes the per-host tasks in parallel, but never more than {@link #MAX_CONCURRENT_HOSTS} at once. Failed tasks don't
+     * stop the remaining tasks.
+     */
+    private static Promise<FlowContext> forEachHost(FlowContext context, List<Task<FlowContext>> tasks) {
+        return Flow.parallel(new FlowContext(Progress.NOOP), tasks)
+                .maxConcurrency(MAX_CONCURRENT_HOSTS)
+                .failFast(false)
+                .promise()
+                .then(__ -> Promise.resolve(context));
+    }
+
+    /** Creates a map with an empty list for each host. Used to keep the order of the hosts when reading in parallel. */
+    private static <T> Map<String, List<T>> byHost(List<String> hostNames) {
+        Map<String, List<T>> byHost = new LinkedHashMap<>();
+        for (String hostName : hostNames) {
+            byHost.put(hostName, new ArrayList<>());
+        }
+        return byHost;
+    }
+
+    private static <T> List<T> flatten(Map<String, List<T>> byHost) {
+        return byHost.values().stream().flatMap(List::stream).collect(toList());
+    }
+
+    /** Returns an operation which reads the events of all disconnected hosts. */
+    static Operation disconnectedHostsOperation() {
+        ResourceAddress address = new ResourceAddress()
+                .add(CORE_SERVICE, MANAGEMENT)
+                .add(HOST_CONNECTION, WILDCARD);
+        return new Operation.Builder(address, QUERY)
+                .param(SELECT, new ModelNode().add(EVENTS))
+                .param(WHERE, new ModelNode().set(CONNECTED, false))
+                .build();
+    }
+
+    /** Turns the result of {@link #disconnectedHostsOperation()} into a list of disconnected hosts. */
+    static List<Host> disconnectedHosts(ModelNode result) {
+        return result.asList().stream()
+                .filter(node -> !node.isFailure())
+                .map(node -> {
+                    String name = new ResourceAddress(node.get(ADDRESS)).lastValue();
+                    long registered = 0;
+                    long unregistered = 0;
+                    for (ModelNode event : failSafeList(node, RESULT + "/" + EVENTS)) {
+                        if (event.hasDefined(TYPE) && event.hasDefined(TIMESTAMP)) {
+                            if (REGISTERED.equals(event.get(TYPE).asString())) {
+                                registered = max(registered, event.get(TIMESTAMP).asLong());
+                            } else if (UNREGISTERED.equals(event.get(TYPE).asString())) {
+                                unregistered = max(unregistered, event.get(TIMESTAMP).asLong());
+                            }
+                        }
+                    }
+                    Date disconnected = unregistered != 0 ? new Date(unregistered) : null;
+                    Date lastConnected = registered != 0 ? new Date(registered) : null;
+                    return Host.disconnected(name, disconnected, lastConnected);
+                })
+                .collect(toList());
+    }
+
     // ------------------------------------------------------ tasks
 
+    private static final class Snapshot implements Task<FlowContext> {
+
+        private final Environment environment;
+        private final Dispatcher dispatcher;
+
+        private Snapshot(Environment environment, Dispatcher dispatcher) {
+            this.environment = environment;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public Promise<FlowContext> apply(final FlowContext context) {
+            return TopologySnapshot.read(environment, dispatcher)
+                    .then(snapshot -> {
+                        context.set(HOSTS, snapshot.getHosts());
+                        context.set(SERVER_GROUPS, snapshot.getServerGroups());
+                        context.set(SERVERS, snapshot.getServers());
+                        return Promise.resolve(context);
+                    })
+                    .catch_(error -> {
+                        // read hosts and server groups without servers (HAL-1795)
+                        logger.warn("TopologyTasks.Snapshot failed: {}. Read hosts and server groups only.", error);
+                        return new Hosts(environment, dispatcher).apply(context)
+                                .then(c -> new DisconnectedHosts(environment, dispatcher).apply(c))
+                                .then(c -> new ServerGroups(environment, dispatcher).apply(c));
+                    });
+        }
+    }
+
     private static final class Topology implements Task<FlowContext> {
 
         private final Environment environment;
@@ -377,10 +499,12 @@ public final class TopologyTasks {
 
         private final Environment environment;
         private final Dispatcher dispatcher;
+        private final Consumer<List<Host>> partialHosts;
 
-        private HostsAndServerConfigs(Environment environment, Dispatcher dispatcher) {
+        private HostsAndServerConfigs(Environment environment, Dispatcher dispatcher, Consumer<List<Host>> partialHosts) {
             this.environment = environment;
             this.dispatcher = dispatcher;
+            this.partialHosts = partialHosts;
         }
 
         @Override
@@ -394,6 +518,7 @@ public final class TopologyTasks {
                 return Promise.resolve(context);
             } else {
                 List<String> hostNames = context.get(HOST_NAMES, Collections.emptyList());
+                Map<String, List<Server>> serversByHost = byHost(hostNames);
                 List<Task<FlowContext>> tasks = hostNames.stream()
                         .map(host -> {
                             ResourceAddress hostAddress = new ResourceAddress()
@@ -420,8 +545,11 @@ public final class TopologyTasks {
                                                 .map(node -> new Server(h.getAddressName(), node.get(RESULT)))
                                                 .forEach(server -> {
                                                     h.addServer(server);
-                                                    servers.add(server);
+                                                    serversByHost.get(host).add(server);
                                                 });
+                                        if (partialHosts != null) {
+                                            partialHosts.accept(Host.sort(hosts));
+                                        }
                                         return Promise.resolve(c);
                                     })
                                     .catch_(error -> {
@@ -434,9 +562,10 @@ public final class TopologyTasks {
                                     });
                         })
                         .collect(toList());
-                return Flow.sequential(new FlowContext(Progress.NOOP), tasks)
-                        .failFast(false)
-                        .promise();
+                return forEachHost(context, tasks).then(c -> {
+                    servers.addAll(flatten(serversByHost));
+                    return Promise.resolve(c);
+                });
             }
         }
     }
@@ -456,35 +585,9 @@ public final class TopologyTasks {
             if (environment.isStandalone()) {
                 return Promise.resolve(context);
             } else {
-                ResourceAddress address = new ResourceAddress()
-                        .add(CORE_SERVICE, MANAGEMENT)
-                        .add(HOST_CONNECTION, WILDCARD);
-                Operation operation = new Operation.Builder(address, QUERY)
-                        .param(SELECT, new ModelNode().add(EVENTS))
-                        .param(WHERE, new ModelNode().set(CONNECTED, false))
-                        .build();
-                return dispatcher.execute(operation)
+                return dispatcher.execute(disconnectedHostsOperation())
                         .then(result -> {
-                            List<Host> disconnectedHosts = result.asList().stream()
-                                    .filter(node -> !node.isFailure())
-                                    .map(node -> {
-                                        String name = new ResourceAddress(node.get(ADDRESS)).lastValue();
-                                        long registered = 0;
-                                        long unregistered = 0;
-                                        for (ModelNode event : failSafeList(node, RESULT + "/" + EVENTS)) {
-                                            if (event.hasDefined(TYPE) && event.hasDefined(TIMESTAMP)) {
-                                                if (REGISTERED.equals(event.get(TYPE).asString())) {
-                                                    registered = max(registered, event.get(TIMESTAMP).asLong());
-                                                } else if (UNREGISTERED.equals(event.get(TYPE).asString())) {
-                                                    unregistered = max(unregistered, event.get(TIMESTAMP).asLong());
-                                                }
-                                            }
-                                        }
-                                        Date disconnected = unregistered != 0 ? new Date(unregistered) : null;
-                                        Date lastConnected = registered != 0 ? new Date(registered) : null;
-                                        return Host.disconnected(name, disconnected, lastConnected);
-                                    })
-                                    .collect(toList());
+                            List<Host> disconnectedHosts = disconnectedHosts(result);
                             List<Host> hosts = context.get(HOSTS);
                             if (hosts == null) {
                                 hosts = new ArrayList<>();
@@ -585,11 +688,14 @@ public final class TopologyTasks {
         private final Environment environment;
         private final Dispatcher dispatcher;
         private final String serverGroup;
+        private final Consumer<List<Server>> partialServers;
 
-        private ServerConfigsOfServerGroup(Environment environment, Dispatcher dispatcher, String serverGroup) {
+        private ServerConfigsOfServerGroup(Environment environment, Dispatcher dispatcher, String serverGroup,
+                Consumer<List<Server>> partialServers) {
             this.environment = environment;
             this.dispatcher = dispatcher;
             this.serverGroup = serverGroup;
+            this.partialServers = partialServers;
         }
 
         @Override
@@ -601,6 +707,7 @@ public final class TopologyTasks {
                 return Promise.resolve(context);
             } else {
                 List<String> hostNames = context.get(HOST_NAMES, Collections.emptyList());
+                Map<String, List<Server>> serversByHost = byHost(hostNames);
                 List<Task<FlowContext>> tasks = hostNames.stream()
                         .map(host -> {
                             ResourceAddress address = new ResourceAddress()
@@ -619,7 +726,10 @@ public final class TopologyTasks {
                                                     String h = adr.getParent().lastValue();
                                                     return new Server(h, modelNode.get(RESULT));
                                                 })
-                                                .forEach(servers::add);
+                                                .forEach(serversByHost.get(host)::add);
+                                        if (partialServers != null) {
+                                            partialServers.accept(flatten(serversByHost));
+                                        }
                                         return Promise.resolve(c);
                                     })
                                     .catch_(error -> {
@@ -628,9 +738,10 @@ public final class TopologyTasks {
                                     });
                         })
                         .collect(toList());
-                return Flow.sequential(new FlowContext(Progress.NOOP), tasks)
-                        .failFast(false)
-                        .promise();
+                return forEachHost(context, tasks).then(c -> {
+                    servers.addAll(flatten(serversByHost));
+                    return Promise.resolve(c);
+                });
             }
         }
     }
@@ -657,6 +768,7 @@ public final class TopologyTasks {
                 return Promise.resolve(context);
             } else {
                 List<String> hostNames = context.get(HOST_NAMES);
+                Map<String, List<Server>> serversByHost = byHost(hostNames);
                 List<Task<FlowContext>> tasks = hostNames.stream()
                         .map(host -> {
                             ResourceAddress address = new ResourceAddress()
@@ -688,7 +800,7 @@ public final class TopologyTasks {
                                                     String h = adr.getParent().lastValue();
                                                     return new Server(h, modelNode.get(RESULT));
                                                 })
-                                                .forEach(servers::add);
+                                                .forEach(serversByHost.get(host)::add);
                                         return Promise.resolve(c);
                                     })
                                     .catch_(error -> {
@@ -697,9 +809,10 @@ public final class TopologyTasks {
                                     });
                         })
                         .collect(toList());
-                return Flow.sequential(new FlowContext(Progress.NOOP), tasks)
-                        .failFast(false)
-                        .promise();
+                return forEachHost(context, tasks).then(c -> {
+                    servers.addAll(flatten(serversByHost));
+                    return Promise.resolve(c);
+                });
             }
         }
     }
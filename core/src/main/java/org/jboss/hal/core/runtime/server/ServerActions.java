@@ -17,7 +17,6 @@ package org.jboss.hal.core.runtime.server;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +81,7 @@ import elemental2.promise.Promise;
 
 import static elemental2.dom.DomGlobal.setTimeout;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.jboss.elemento.Elements.a;
 import static org.jboss.elemento.Elements.p;
 import static org.jboss.elemento.Elements.span;
@@ -127,10 +127,8 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.SOCKET_BINDING_PORT_OF
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SSL;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.START;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.START_MODE;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.STATUS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.STOP;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_STATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_TIMEOUT;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SYSTEM_PROPERTY;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.UPDATE_AUTO_START_WITH_SERVER_STATUS;
@@ -164,12 +162,14 @@ public class ServerActions implements Timeouts {
     private final Map<String, Server> pendingServers;
     private final ServerUrlStorage serverUrlStorage;
     private final StatementContext statementContext;
+    private final ServerStateMonitor serverStateMonitor;
 
     @Inject
     public ServerActions(EventBus eventBus,
             Dispatcher dispatcher,
             ServerUrlStorage serverUrlStorage,
             StatementContext statementContext,
+            ServerStateMonitor serverStateMonitor,
             MetadataProcessor metadataProcessor,
             @Footer Provider<Progress> progress,
             Resources resources) {
@@ -177,6 +177,7 @@ public class ServerActions implements Timeouts {
         this.dispatcher = dispatcher;
         this.serverUrlStorage = serverUrlStorage;
         this.statementContext = statementContext;
+        this.serverStateMonitor = serverStateMonitor;
         this.metadataProcessor = metadataProcessor;
         this.progress = progress;
         this.resources = resources;
@@ -371,10 +372,7 @@ public class ServerActions implements Timeouts {
         DialogFactory.showConfirmation(title, question, () -> {
             prepare(server, action);
             dispatcher.execute(operation)
-                    .then(__ -> repeatOperationUntil(dispatcher,
-                            server.isStandalone() ? readServerState(server) : readServerConfigStatus(server),
-                            server.isStandalone() ? checkRunningState() : checkServerConfigStatus(STARTED),
-                            timeout))
+                    .then(__ -> awaitRunning(server, timeout))
                     .then(status -> finish(server, action, status, successMessage, timeoutMessage, errorMessage))
                     .catch_(error -> finish(server, FAILURE, Message.error(errorMessage, String.valueOf(error))));
         });
@@ -408,8 +406,8 @@ public class ServerActions implements Timeouts {
                                 .param(SUSPEND_TIMEOUT, timeout)
                                 .build();
                         dispatcher.execute(operation)
-                                .then(__ -> repeatOperationUntil(dispatcher,
-                                        readSuspendState(server), checkSuspendState(), uiTimeout))
+                                .then(__ -> serverStateMonitor.awaitSuspendState(
+                                        singletonList(server), uiTimeout, SuspendState.SUSPENDED))
                                 .then(status -> finish(server, Action.SUSPEND, status,
                                         resources.messages().suspendServerSuccess(server.getName()),
                                         resources.messages().serverTimeout(server.getName()),
@@ -440,10 +438,7 @@ public class ServerActions implements Timeouts {
         ResourceAddress address = server.isStandalone() ? server.getServerAddress() : server.getServerConfigAddress();
         Operation operation = new Operation.Builder(address, RESUME).build();
         dispatcher.execute(operation)
-                .then(__ -> repeatOperationUntil(dispatcher,
-                        server.isStandalone() ? readServerState(server) : readServerConfigStatus(server),
-                        server.isStandalone() ? checkRunningState() : checkServerConfigStatus(STARTED),
-                        SERVER_START_TIMEOUT))
+                .then(__ -> awaitRunning(server, SERVER_START_TIMEOUT))
                 .then(status -> finish(server, Action.RESUME, status,
                         resources.messages().resumeServerSuccess(server.getName()),
                         resources.messages().serverTimeout(server.getName()),
@@ -478,10 +473,8 @@ public class ServerActions implements Timeouts {
                                         .param(BLOCKING, false)
                                         .build();
                                 dispatcher.execute(operation)
-                                        .then(__ -> repeatOperationUntil(dispatcher,
-                                                readServerConfigStatus(server),
-                                                checkServerConfigStatus(STOPPED, DISABLED),
-                                                uiTimeout))
+                                        .then(__ -> serverStateMonitor.awaitServerConfigStatus(
+                                                singletonList(server), uiTimeout, STOPPED, DISABLED))
                                         .then(status -> finish(server, Action.STOP, status,
                                                 resources.messages().stopServerSuccess(server.getName()),
                                                 resources.messages().serverTimeout(server.getName()),
@@ -511,8 +504,8 @@ public class ServerActions implements Timeouts {
                 .param(BLOCKING, false)
                 .build();
         dispatcher.execute(operation)
-                .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                        checkServerConfigStatus(STOPPED, DISABLED), SERVER_STOP_TIMEOUT))
+                .then(__ -> serverStateMonitor.awaitServerConfigStatus(singletonList(server),
+                        SERVER_STOP_TIMEOUT, STOPPED, DISABLED))
                 .then(status -> finish(server, Action.STOP, status,
                         resources.messages().stopServerSuccess(server.getName()),
                         resources.messages().serverTimeout(server.getName()),
@@ -528,8 +521,8 @@ public class ServerActions implements Timeouts {
             prepare(server, Action.DESTROY);
             Operation operation = new Operation.Builder(server.getServerConfigAddress(), DESTROY).build();
             dispatcher.execute(operation)
-                    .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                            checkServerConfigStatus(STOPPED, DISABLED), SERVER_DESTROY_TIMEOUT))
+                    .then(__ -> serverStateMonitor.awaitServerConfigStatus(singletonList(server),
+                            SERVER_DESTROY_TIMEOUT, STOPPED, DISABLED))
                     .then(status -> finish(server, Action.DESTROY, status,
                             resources.messages().destroyServerSuccess(server.getName()),
                             resources.messages().serverTimeout(server.getName()),
@@ -545,8 +538,8 @@ public class ServerActions implements Timeouts {
             prepare(server, Action.KILL);
             Operation operation = new Operation.Builder(server.getServerConfigAddress(), KILL).build();
             dispatcher.execute(operation)
-                    .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                            checkServerConfigStatus(STOPPED, DISABLED), SERVER_KILL_TIMEOUT))
+                    .then(__ -> serverStateMonitor.awaitServerConfigStatus(singletonList(server),
+                            SERVER_KILL_TIMEOUT, STOPPED, DISABLED))
                     .then(status -> finish(server, Action.KILL, status,
                             resources.messages().killServerSuccess(server.getName()),
                             resources.messages().serverTimeout(server.getName()),
@@ -562,8 +555,8 @@ public class ServerActions implements Timeouts {
                 .param(BLOCKING, false)
                 .build();
         dispatcher.execute(operation)
-                .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                        checkServerConfigStatus(STARTED), SERVER_START_TIMEOUT))
+                .then(__ -> serverStateMonitor.awaitServerConfigStatus(singletonList(server),
+                        SERVER_START_TIMEOUT, STARTED))
                 .then(status -> finish(server, Action.START, status,
                         resources.messages().startServerSuccess(server.getName()),
                         resources.messages().serverTimeout(server.getName()),
@@ -579,8 +572,8 @@ public class ServerActions implements Timeouts {
                 .param(BLOCKING, false)
                 .build();
         dispatcher.execute(operation)
-                .then(__ -> repeatOperationUntil(dispatcher, readServerConfigStatus(server),
-                        checkServerConfigStatus(STARTED), SERVER_START_TIMEOUT))
+                .then(__ -> serverStateMonitor.awaitServerConfigStatus(singletonList(server),
+                        SERVER_START_TIMEOUT, STARTED))
                 .then(status -> finish(server, Action.START, status,
                         resources.messages().startServerSuccess(server.getName()),
                         resources.messages().serverTimeout(server.getName()),
@@ -773,10 +766,12 @@ public class ServerActions implements Timeouts {
         return pendingServers.containsKey(Ids.hostServer(server.getHost(), server.getName()));
     }
 
-    private Operation readServerConfigStatus(Server server) {
-        return new Operation.Builder(server.getServerConfigAddress(), READ_ATTRIBUTE_OPERATION)
-                .param(NAME, STATUS)
-                .build();
+    private Promise<FlowStatus> awaitRunning(Server server, int timeout) {
+        if (server.isStandalone()) {
+            return repeatOperationUntil(dispatcher, readServerState(server), checkRunningState(), timeout);
+        } else {
+            return serverStateMonitor.awaitServerConfigStatus(singletonList(server), timeout, STARTED);
+        }
     }
 
     private Operation readServerState(Server server) {
@@ -785,27 +780,10 @@ public class ServerActions implements Timeouts {
                 .build();
     }
 
-    private Predicate<ModelNode> checkServerConfigStatus(ServerConfigStatus first, ServerConfigStatus... rest) {
-        return result -> {
-            ServerConfigStatus status = asEnumValue(result, ServerConfigStatus::valueOf, ServerConfigStatus.UNDEFINED);
-            return EnumSet.of(first, rest).contains(status);
-        };
-    }
-
     private Predicate<ModelNode> checkRunningState() {
         return result -> RUNNING == asEnumValue(result, RunningState::valueOf, RunningState.UNDEFINED);
     }
 
-    private Operation readSuspendState(Server server) {
-        return new Operation.Builder(server.getServerAddress(), READ_ATTRIBUTE_OPERATION)
-                .param(NAME, SUSPEND_STATE)
-                .build();
-    }
-
-    private Predicate<ModelNode> checkSuspendState() {
-        return result -> SuspendState.SUSPENDED == asEnumValue(result, SuspendState::valueOf, SuspendState.UNDEFINED);
-    }
-
     private Promise<List<ModelNode>> readBootErrors(FlowStatus status, Server server) {
         if (status == SUCCESS) {
             ResourceAddress address = server.getServerAddress().add(CORE_SERVICE, MANAGEMENT);
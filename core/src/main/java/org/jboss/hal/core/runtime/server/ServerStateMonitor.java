@@ -0,0 +1,345 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime.server;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.core.runtime.SuspendState;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelDescriptionConstants;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.flow.FlowStatus;
+import org.jboss.hal.resources.Ids;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.promise.Promise;
+
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.setTimeout;
+import static java.lang.Math.min;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.QUERY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SELECT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_CONFIG;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STATUS;
+import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
+import static org.jboss.hal.flow.FlowStatus.SUCCESS;
+import static org.jboss.hal.flow.FlowStatus.TIMEOUT;
+
+/**
+ * Waits until servers in a managed domain reach a given state.
+ * <p>
+ * Instead of polling each server on its own, the monitor multiplexes all pending waits: For each host with pending waits
+ * there's one periodic wildcard query like {@code /host=master/server-config=*:query(select=[status])}. The interval between
+ * two queries starts at {@value #INITIAL_INTERVAL} ms and grows exponentially up to {@value #MAX_INTERVAL} ms. It's reset
+ * whenever a new wait is registered for the host. Query operations are never served from the read cache of the dispatcher, so
+ * each poll reads the current state.
+ * <p>
+ * Please note that the monitor is meant for managed domains only. Use the {@linkplain org.jboss.hal.core.runtime.TimeoutHandler
+ * timeout handler} for standalone servers.
+ */
+public class ServerStateMonitor {
+
+    static final long INITIAL_INTERVAL = 500;
+    static final long MAX_INTERVAL = 5_000;
+    static final double BACKOFF = 1.5;
+    private static final String WILDCARD = "*";
+    private static final Logger logger = LoggerFactory.getLogger(ServerStateMonitor.class);
+
+    private final Sender sender;
+    private final Scheduler scheduler;
+    private final Map<String, HostPoll> polls;
+
+    @Inject
+    public ServerStateMonitor(Dispatcher dispatcher) {
+        this((composite, success, failure) -> dispatcher.execute(composite, success,
+                (operation, error) -> failure.accept(error)), new TimeoutScheduler());
+    }
+
+    ServerStateMonitor(Sender sender, Scheduler scheduler) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.polls = new HashMap<>();
+    }
+
+    /**
+     * Waits until all servers have one of the specified server config statuses.
+     *
+     * @param timeout the timeout in seconds
+     *
+     * @return {@link FlowStatus#SUCCESS} or {@link FlowStatus#TIMEOUT}
+     */
+    public Promise<FlowStatus> awaitServerConfigStatus(List<Server> servers, int timeout, ServerConfigStatus first,
+            ServerConfigStatus... rest) {
+        return new Promise<>(
+                (resolve, reject) -> awaitServerConfigStatus(servers, timeout, resolve::onInvoke, first, rest));
+    }
+
+    void awaitServerConfigStatus(List<Server> servers, int timeout, Consumer<FlowStatus> callback,
+            ServerConfigStatus first, ServerConfigStatus... rest) {
+        EnumSet<ServerConfigStatus> statuses = EnumSet.of(first, rest);
+        await(Kind.SERVER_CONFIG_STATUS, servers, timeout,
+                value -> statuses.contains(asEnumValue(value, ServerConfigStatus::valueOf, ServerConfigStatus.UNDEFINED)),
+                callback);
+    }
+
+    /**
+     * Waits until all servers have the specified suspend state.
+     *
+     * @param timeout the timeout in seconds
+     *
+     * @return {@link FlowStatus#SUCCESS} or {@link FlowStatus#TIMEOUT}
+     */
+    public Promise<FlowStatus> awaitSuspendState(List<Server> servers, int timeout, SuspendState suspendState) {
+        return new Promise<>((resolve, reject) -> awaitSuspendState(servers, timeout, suspendState, resolve::onInvoke));
+    }
+
+    void awaitSuspendState(List<Server> servers, int timeout, SuspendState suspendState, Consumer<FlowStatus> callback) {
+        await(Kind.SUSPEND_STATE, servers, timeout,
+                value -> suspendState == asEnumValue(value, SuspendState::valueOf, SuspendState.UNDEFINED), callback);
+    }
+
+    private void await(Kind kind, List<Server> servers, int timeout, Predicate<ModelNode> reached,
+            Consumer<FlowStatus> callback) {
+        if (servers.isEmpty()) {
+            callback.accept(SUCCESS);
+            return;
+        }
+        Wait wait = new Wait(kind, servers, reached, callback);
+        wait.timeoutHandle = scheduler.schedule(() -> finish(wait, TIMEOUT), timeout * 1000L);
+        for (String host : wait.hosts()) {
+            HostPoll poll = polls.computeIfAbsent(host, HostPoll::new);
+            poll.waits.add(wait);
+            poll.reset();
+        }
+        logger.debug("Wait until {} of {} reached the expected state", kind.attribute, wait.remaining);
+    }
+
+    private void finish(Wait wait, FlowStatus status) {
+        scheduler.cancel(wait.timeoutHandle);
+        for (String host : wait.hosts()) {
+            HostPoll poll = polls.get(host);
+            if (poll != null) {
+                poll.waits.remove(wait);
+                if (poll.waits.isEmpty()) {
+                    poll.stop();
+                    polls.remove(host);
+                }
+            }
+        }
+        logger.debug("Finished waiting for {} of {}: {}", wait.kind.attribute, wait.servers, status);
+        wait.callback.accept(status);
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    @FunctionalInterface
+    interface Sender {
+
+        void send(Composite composite, Consumer<CompositeResult> success, Consumer<Object> failure);
+    }
+
+    /** Abstracts the timers for the polls and timeouts. */
+    interface Scheduler {
+
+        double schedule(Runnable task, long delay);
+
+        void cancel(double handle);
+    }
+
+    private static class TimeoutScheduler implements Scheduler {
+
+        @Override
+        public double schedule(Runnable task, long delay) {
+            return setTimeout(__ -> task.run(), delay);
+        }
+
+        @Override
+        public void cancel(double handle) {
+            clearTimeout(handle);
+        }
+    }
+
+    private enum Kind {
+        SERVER_CONFIG_STATUS(SERVER_CONFIG, STATUS), SUSPEND_STATE(SERVER, ModelDescriptionConstants.SUSPEND_STATE);
+
+        final String type;
+        final String attribute;
+
+        Kind(String type, String attribute) {
+            this.type = type;
+            this.attribute = attribute;
+        }
+
+        Operation query(String host) {
+            ResourceAddress address = new ResourceAddress()
+                    .add(HOST, host)
+                    .add(type, WILDCARD);
+            return new Operation.Builder(address, QUERY)
+                    .param(SELECT, new ModelNode().add(attribute))
+                    .build();
+        }
+    }
+
+    private static final class Wait {
+
+        final Kind kind;
+        final List<Server> servers;
+        final Set<String> remaining;
+        final Predicate<ModelNode> reached;
+        final Consumer<FlowStatus> callback;
+        double timeoutHandle;
+
+        Wait(Kind kind, List<Server> servers, Predicate<ModelNode> reached, Consumer<FlowStatus> callback) {
+            this.kind = kind;
+            this.servers = servers;
+            this.remaining = new HashSet<>();
+            for (Server server : servers) {
+                remaining.add(server.getId());
+            }
+            this.reached = reached;
+            this.callback = callback;
+        }
+
+        Set<String> hosts() {
+            Set<String> hosts = new LinkedHashSet<>();
+            for (Server server : servers) {
+                hosts.add(server.getHost());
+            }
+            return hosts;
+        }
+    }
+
+    private final class HostPoll {
+
+        final String host;
+        final Set<Wait> waits;
+        long interval;
+        double timeoutHandle;
+        boolean polling;
+        boolean resetPending;
+
+        HostPoll(String host) {
+            this.host = host;
+            this.waits = new LinkedHashSet<>();
+            this.interval = INITIAL_INTERVAL;
+        }
+
+        void reset() {
+            if (polling) {
+                // applied when the current poll completes, otherwise the backoff would override the reset
+                resetPending = true;
+            } else {
+                interval = INITIAL_INTERVAL;
+                stop();
+                schedule();
+            }
+        }
+
+        void stop() {
+            if (timeoutHandle != 0) {
+                scheduler.cancel(timeoutHandle);
+                timeoutHandle = 0;
+            }
+        }
+
+        void schedule() {
+            if (!waits.isEmpty() && !polling && timeoutHandle == 0) {
+                timeoutHandle = scheduler.schedule(this::poll, interval);
+            }
+        }
+
+        void poll() {
+            timeoutHandle = 0;
+            List<Kind> kinds = new ArrayList<>();
+            for (Wait wait : waits) {
+                if (!kinds.contains(wait.kind)) {
+                    kinds.add(wait.kind);
+                }
+            }
+            if (kinds.isEmpty()) {
+                return;
+            }
+
+            polling = true;
+            Composite composite = new Composite();
+            for (Kind kind : kinds) {
+                composite.add(kind.query(host));
+            }
+            sender.send(composite,
+                    result -> {
+                        update(kinds, result);
+                        pollDone();
+                    },
+                    error -> {
+                        // the host or its servers might not be available yet. Just try again later.
+                        logger.debug("Unable to read server states of host {}: {}", host, error);
+                        pollDone();
+                    });
+        }
+
+        private void pollDone() {
+            polling = false;
+            if (resetPending) {
+                resetPending = false;
+                interval = INITIAL_INTERVAL;
+            } else {
+                interval = min((long) (interval * BACKOFF), MAX_INTERVAL);
+            }
+            schedule();
+        }
+
+        private void update(List<Kind> kinds, CompositeResult result) {
+            for (int i = 0; i < kinds.size(); i++) {
+                Kind kind = kinds.get(i);
+                Map<String, ModelNode> values = new HashMap<>();
+                for (ModelNode node : result.step(i).get(RESULT).asList()) {
+                    if (!node.isFailure()) {
+                        String server = new ResourceAddress(node.get(ADDRESS)).lastValue();
+                        values.put(Ids.hostServer(host, server), node.get(RESULT).get(kind.attribute));
+                    }
+                }
+                for (Wait wait : new ArrayList<>(waits)) {
+                    if (wait.kind == kind) {
+                        wait.remaining.removeIf(id -> values.containsKey(id) && wait.reached.test(values.get(id)));
+                        if (wait.remaining.isEmpty()) {
+                            finish(wait, SUCCESS);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
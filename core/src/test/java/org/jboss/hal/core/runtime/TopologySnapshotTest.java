@@ -0,0 +1,248 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime;
+
+import java.util.List;
+
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.core.Core;
+import org.jboss.hal.core.runtime.group.ServerGroup;
+import org.jboss.hal.core.runtime.host.Host;
+import org.jboss.hal.core.runtime.server.Server;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "DuplicateStringLiteralInspection" })
+public class TopologySnapshotTest {
+
+    private TopologySnapshot snapshot;
+
+    @BeforeClass
+    public static void setUpClass() {
+        // Host uses the environment to find the domain controller
+        Core core = mock(Core.class);
+        when(core.environment()).thenReturn(mock(Environment.class));
+        Core.INSTANCE = core;
+    }
+
+    @Before
+    public void setUp() {
+        ModelNode steps = new ModelNode();
+
+        // :read-children-resources(child-type=host)
+        ModelNode hosts = new ModelNode();
+        hosts.get("alpha").get(NAME).set("alpha");
+        hosts.get("primary").get(NAME).set("primary");
+        hosts.get("primary").get(MASTER).set(true);
+        steps.get("step-1").set(success(hosts));
+
+        // :read-children-resources(child-type=server-group)
+        ModelNode serverGroups = new ModelNode();
+        serverGroups.get("other").get(PROFILE).set("full");
+        serverGroups.get("main").get(PROFILE).set("default");
+        steps.get("step-2").set(success(serverGroups));
+
+        // /host=*/server-config=*:read-resource
+        ModelNode serverConfigs = new ModelNode();
+        serverConfigs.add(serverConfig("primary", "one", "main", "started"));
+        serverConfigs.add(serverConfig("primary", "two", "other", "stopped"));
+        serverConfigs.add(serverConfig("alpha", "three", "main", "started"));
+        serverConfigs.add(failure(new ResourceAddress().add(HOST, "alpha").add(SERVER_CONFIG, "broken")));
+        steps.get("step-3").set(success(serverConfigs));
+
+        // /host=*/server=*:read-resource(attributes-only)
+        ModelNode servers = new ModelNode();
+        servers.add(server("primary", "one", "running"));
+        servers.add(server("alpha", "three", "running"));
+        servers.add(server("alpha", "unknown", "running"));
+        steps.get("step-4").set(success(servers));
+
+        // /core-service=management/host-connection=*:query(where={connected=false})
+        ModelNode disconnected = new ModelNode();
+        ModelNode gone = new ModelNode();
+        gone.get(ADDRESS).set(new ResourceAddress().add(CORE_SERVICE, MANAGEMENT).add(HOST_CONNECTION, "gone"));
+        gone.get(OUTCOME).set(SUCCESS);
+        gone.get(RESULT).get(EVENTS).setEmptyList();
+        disconnected.add(gone);
+        steps.get("step-5").set(success(disconnected));
+
+        snapshot = TopologySnapshot.assemble(new CompositeResult(steps));
+    }
+
+    @Test
+    public void hosts() {
+        List<Host> hosts = snapshot.getHosts();
+        assertEquals(3, hosts.size());
+        // domain controller first, then alphabetically
+        assertEquals("primary", hosts.get(0).getName());
+        assertEquals("alpha", hosts.get(1).getName());
+        assertEquals("gone", hosts.get(2).getName());
+        assertTrue(hosts.get(0).isConnected());
+        assertFalse(hosts.get(2).isConnected());
+        assertFalse(hosts.get(2).hasServers());
+    }
+
+    @Test
+    public void servers() {
+        // failed server configs are skipped, servers without server config are ignored
+        assertEquals(3, snapshot.getServers().size());
+        assertEquals(asList("one", "two"), names(snapshot.getHosts().get(0).getServers()));
+        assertEquals(singletonList("three"), names(snapshot.getHosts().get(1).getServers()));
+    }
+
+    @Test
+    public void serverAttributes() {
+        Server one = find("primary", "one");
+        assertEquals("main", one.getServerGroup());
+        assertEquals("primary", one.getHost());
+        assertTrue(one.isStarted());
+        assertEquals("running", one.get(SERVER_STATE).asString());
+
+        Server two = find("primary", "two");
+        assertFalse(two.isStarted());
+        assertFalse(two.hasDefined(SERVER_STATE));
+    }
+
+    @Test
+    public void serverGroups() {
+        List<ServerGroup> serverGroups = snapshot.getServerGroups();
+        assertEquals(asList("main", "other"), serverGroups.stream().map(ServerGroup::getName).collect(toList()));
+        assertEquals(asList("one", "three"), names(serverGroups.get(0).getServers()));
+        assertEquals(singletonList("two"), names(serverGroups.get(1).getServers()));
+    }
+
+    @Test
+    public void roundTrips() {
+        // At most two round trips no matter how many hosts. Reading host by host takes one round trip for the host
+        // names, one per host and one per started server.
+        for (int hosts : new int[] { 1, 10, 100 }) {
+            TopologySnapshot domain = TopologySnapshot.assemble(new CompositeResult(domain(hosts, 3, 2)));
+            assertEquals(hosts, domain.getHosts().size());
+            assertEquals(hosts * 3, domain.getServers().size());
+            assertEquals(2, roundTrips(domain));
+            assertEquals(5 + hosts * 2, operations(domain));
+        }
+    }
+
+    @Test
+    public void roundTripsWithoutStartedServers() {
+        TopologySnapshot domain = TopologySnapshot.assemble(new CompositeResult(domain(100, 3, 0)));
+        assertNull(domain.bootErrorsOperation());
+        assertEquals(1, roundTrips(domain));
+        assertEquals(5, operations(domain));
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private int roundTrips(TopologySnapshot snapshot) {
+        return snapshot.bootErrorsOperation() != null ? 2 : 1;
+    }
+
+    private int operations(TopologySnapshot snapshot) {
+        Composite bootErrors = snapshot.bootErrorsOperation();
+        return TopologySnapshot.topologyOperation().size() + (bootErrors != null ? bootErrors.size() : 0);
+    }
+
+    /** Builds the result of the topology composite for a domain with the specified number of hosts and servers. */
+    private ModelNode domain(int hostCount, int serversPerHost, int startedPerHost) {
+        ModelNode hosts = new ModelNode();
+        ModelNode serverGroups = new ModelNode();
+        ModelNode serverConfigs = new ModelNode();
+        ModelNode servers = new ModelNode();
+        serverGroups.get("main").get(PROFILE).set("default");
+        for (int i = 0; i < hostCount; i++) {
+            String host = "host-" + i;
+            hosts.get(host).get(NAME).set(host);
+            for (int j = 0; j < serversPerHost; j++) {
+                String server = "server-" + j;
+                boolean started = j < startedPerHost;
+                serverConfigs.add(serverConfig(host, server, "main", started ? "started" : "stopped"));
+                if (started) {
+                    servers.add(server(host, server, "running"));
+                }
+            }
+        }
+        ModelNode steps = new ModelNode();
+        steps.get("step-1").set(success(hosts));
+        steps.get("step-2").set(success(serverGroups));
+        steps.get("step-3").set(success(serverConfigs));
+        steps.get("step-4").set(success(servers.isDefined() ? servers : new ModelNode().setEmptyList()));
+        steps.get("step-5").set(success(new ModelNode().setEmptyList()));
+        return steps;
+    }
+
+    private Server find(String host, String name) {
+        return snapshot.getServers().stream()
+                .filter(server -> host.equals(server.getHost()) && name.equals(server.getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No server " + host + "/" + name));
+    }
+
+    private List<String> names(List<Server> servers) {
+        return servers.stream().map(Server::getName).sorted().collect(toList());
+    }
+
+    private ModelNode serverConfig(String host, String name, String group, String status) {
+        ModelNode result = new ModelNode();
+        result.get(NAME).set(name);
+        result.get(GROUP).set(group);
+        result.get(STATUS).set(status);
+        ModelNode node = new ModelNode();
+        node.get(ADDRESS).set(new ResourceAddress().add(HOST, host).add(SERVER_CONFIG, name));
+        node.get(OUTCOME).set(SUCCESS);
+        node.get(RESULT).set(result);
+        return node;
+    }
+
+    private ModelNode server(String host, String name, String state) {
+        ModelNode result = new ModelNode();
+        result.get(NAME).set(name);
+        result.get(SERVER_STATE).set(state);
+        ModelNode node = new ModelNode();
+        node.get(ADDRESS).set(new ResourceAddress().add(HOST, host).add(SERVER, name));
+        node.get(OUTCOME).set(SUCCESS);
+        node.get(RESULT).set(result);
+        return node;
+    }
+
+    private ModelNode success(ModelNode result) {
+        ModelNode node = new ModelNode();
+        node.get(OUTCOME).set(SUCCESS);
+        node.get(RESULT).set(result);
+        return node;
+    }
+
+    private ModelNode failure(ResourceAddress address) {
+        ModelNode node = new ModelNode();
+        node.get(ADDRESS).set(address);
+        node.get(OUTCOME).set(FAILED);
+        node.get(FAILURE_DESCRIPTION).set("failed");
+        return node;
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.core.runtime.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jboss.hal.core.runtime.SuspendState;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.flow.FlowStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.core.runtime.server.ServerConfigStatus.STARTED;
+import static org.jboss.hal.core.runtime.server.ServerStateMonitor.INITIAL_INTERVAL;
+import static org.jboss.hal.core.runtime.server.ServerStateMonitor.MAX_INTERVAL;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SERVER_CONFIG;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.STATUS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUSPEND_STATE;
+import static org.jboss.hal.flow.FlowStatus.TIMEOUT;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ServerStateMonitorTest {
+
+    private static final int TIMEOUT_SECONDS = 60;
+
+    private List<Request> requests;
+    private ManualScheduler scheduler;
+    private ServerStateMonitor monitor;
+    private List<FlowStatus> statuses;
+
+    @Before
+    public void setUp() {
+        requests = new ArrayList<>();
+        scheduler = new ManualScheduler();
+        monitor = new ServerStateMonitor(
+                (composite, success, failure) -> requests.add(new Request(composite, success, failure)), scheduler);
+        statuses = new ArrayList<>();
+    }
+
+    // ------------------------------------------------------ wait
+
+    @Test
+    public void noServers() {
+        monitor.awaitServerConfigStatus(emptyList(), TIMEOUT_SECONDS, statuses::add, STARTED);
+        assertEquals(singletonList(FlowStatus.SUCCESS), statuses);
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void reached() {
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "one")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        assertTrue(requests.isEmpty());
+
+        scheduler.advance(INITIAL_INTERVAL);
+        assertEquals(1, requests.size());
+        next().success.accept(result(serverConfigs("primary", "started", "one")));
+        assertEquals(singletonList(FlowStatus.SUCCESS), statuses);
+
+        // neither polls nor the timeout are pending
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void timeout() {
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "one")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        scheduler.advance(TIMEOUT_SECONDS * 1000L);
+        assertEquals(singletonList(TIMEOUT), statuses);
+
+        // the poll which is still running is ignored
+        next().success.accept(result(serverConfigs("primary", "started", "one")));
+        assertEquals(singletonList(TIMEOUT), statuses);
+        assertEquals(0, scheduler.pending());
+        assertTrue(requests.isEmpty());
+    }
+
+    // ------------------------------------------------------ polling
+
+    @Test
+    public void backoff() {
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "one")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        for (int i = 0; i < 8; i++) {
+            scheduler.advance(scheduler.lastDelay());
+            next().success.accept(result(serverConfigs("primary", "starting", "one")));
+        }
+        assertEquals(asList(500L, 750L, 1125L, 1687L, 2530L, 3795L, MAX_INTERVAL, MAX_INTERVAL, MAX_INTERVAL),
+                scheduler.pollDelays());
+        assertTrue(statuses.isEmpty());
+    }
+
+    @Test
+    public void failedPoll() {
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "one")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        scheduler.advance(INITIAL_INTERVAL);
+        next().failure.accept("WFLYCTL0379: host is booting");
+        assertTrue(statuses.isEmpty());
+
+        // the failed poll backs off like any other poll
+        assertEquals(asList(500L, 750L), scheduler.pollDelays());
+        scheduler.advance(750);
+        next().success.accept(result(serverConfigs("primary", "started", "one")));
+        assertEquals(singletonList(FlowStatus.SUCCESS), statuses);
+    }
+
+    @Test
+    public void resetWhileWaiting() {
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "one")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        scheduler.advance(INITIAL_INTERVAL);
+        next().success.accept(result(serverConfigs("primary", "starting", "one")));
+        scheduler.advance(750);
+        next().success.accept(result(serverConfigs("primary", "starting", "one")));
+        assertEquals(1125L, scheduler.lastDelay());
+
+        // a new wait replaces the scheduled poll by one with the initial interval
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "two")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        assertEquals(INITIAL_INTERVAL, scheduler.lastDelay());
+        assertEquals(3, scheduler.pending()); // two timeouts and one poll
+        scheduler.advance(INITIAL_INTERVAL);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void resetWhilePolling() {
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "one")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        scheduler.advance(INITIAL_INTERVAL);
+        next().success.accept(result(serverConfigs("primary", "starting", "one")));
+        scheduler.advance(750);
+        assertEquals(1, requests.size());
+
+        // the reset is applied when the running poll is done
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "two")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        assertEquals(asList(500L, 750L), scheduler.pollDelays());
+        next().success.accept(result(serverConfigs("primary", "starting", "one", "two")));
+        assertEquals(asList(500L, 750L, 500L), scheduler.pollDelays());
+
+        // the next poll backs off again
+        scheduler.advance(INITIAL_INTERVAL);
+        next().success.accept(result(serverConfigs("primary", "started", "one")));
+        assertEquals(asList(500L, 750L, 500L, 750L), scheduler.pollDelays());
+        assertEquals(singletonList(FlowStatus.SUCCESS), statuses);
+    }
+
+    // ------------------------------------------------------ hosts and waits
+
+    @Test
+    public void multipleHosts() {
+        monitor.awaitServerConfigStatus(asList(server("primary", "one"), server("alpha", "two")), TIMEOUT_SECONDS,
+                statuses::add, STARTED);
+        scheduler.advance(INITIAL_INTERVAL);
+
+        // one query per host
+        assertEquals(asList("primary", "alpha"), requests.stream().map(Request::host).collect(toList()));
+        next().success.accept(result(serverConfigs("primary", "started", "one")));
+        next().success.accept(result(serverConfigs("alpha", "starting", "two")));
+        assertTrue(statuses.isEmpty());
+
+        // both hosts are polled until the wait is done
+        scheduler.advance(750);
+        assertEquals(2, requests.size());
+        next().success.accept(result(serverConfigs("primary", "started", "one")));
+        next().success.accept(result(serverConfigs("alpha", "started", "two")));
+        assertEquals(singletonList(FlowStatus.SUCCESS), statuses);
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void multipleWaitsOnOneHost() {
+        List<FlowStatus> suspended = new ArrayList<>();
+        monitor.awaitServerConfigStatus(singletonList(server("primary", "one")), TIMEOUT_SECONDS, statuses::add, STARTED);
+        monitor.awaitSuspendState(singletonList(server("primary", "two")), TIMEOUT_SECONDS, SuspendState.SUSPENDED,
+                suspended::add);
+        scheduler.advance(INITIAL_INTERVAL);
+
+        // one composite with a query for each kind of wait
+        assertEquals(1, requests.size());
+        assertEquals(2, requests.get(0).composite.size());
+        next().success.accept(result(serverConfigs("primary", "started", "one"),
+                servers("primary", "suspended", "two")));
+        assertEquals(singletonList(FlowStatus.SUCCESS), statuses);
+        assertEquals(singletonList(FlowStatus.SUCCESS), suspended);
+        assertEquals(0, scheduler.pending());
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private Request next() {
+        assertFalse("No pending request", requests.isEmpty());
+        return requests.remove(0);
+    }
+
+    private Server server(String host, String name) {
+        ModelNode node = new ModelNode();
+        node.get(NAME).set(name);
+        return new Server(host, node);
+    }
+
+    /** Result of {@code /host=<host>/server-config=*:query(select=[status])} */
+    private ModelNode serverConfigs(String host, String status, String... servers) {
+        return query(host, SERVER_CONFIG, STATUS, status, servers);
+    }
+
+    /** Result of {@code /host=<host>/server=*:query(select=[suspend-state])} */
+    private ModelNode servers(String host, String suspendState, String... servers) {
+        return query(host, SERVER, SUSPEND_STATE, suspendState, servers);
+    }
+
+    private ModelNode query(String host, String type, String attribute, String value, String... servers) {
+        ModelNode nodes = new ModelNode().setEmptyList();
+        for (String server : servers) {
+            ModelNode node = new ModelNode();
+            node.get(ADDRESS).set(new ResourceAddress().add(HOST, host).add(type, server));
+            node.get(OUTCOME).set(SUCCESS);
+            node.get(RESULT).get(attribute).set(value);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private CompositeResult result(ModelNode... steps) {
+        ModelNode result = new ModelNode();
+        for (int i = 0; i < steps.length; i++) {
+            ModelNode step = new ModelNode();
+            step.get(OUTCOME).set(SUCCESS);
+            step.get(RESULT).set(steps[i]);
+            result.get("step-" + (i + 1)).set(step);
+        }
+        return new CompositeResult(result);
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Request {
+
+        final Composite composite;
+        final Consumer<CompositeResult> success;
+        final Consumer<Object> failure;
+
+        Request(Composite composite, Consumer<CompositeResult> success, Consumer<Object> failure) {
+            this.composite = composite;
+            this.success = success;
+            this.failure = failure;
+        }
+
+        String host() {
+            Operation operation = composite.iterator().next();
+            return operation.getAddress().getParent().lastValue();
+        }
+    }
+
+    /** Scheduler with a virtual clock which is moved forward by {@link #advance(long)}. */
+    private static class ManualScheduler implements ServerStateMonitor.Scheduler {
+
+        private final List<Timer> timers = new ArrayList<>();
+        private final List<Long> delays = new ArrayList<>();
+        private long now = 0;
+        private double handles = 0;
+
+        @Override
+        public double schedule(Runnable task, long delay) {
+            Timer timer = new Timer(++handles, now + delay, task);
+            timers.add(timer);
+            delays.add(delay);
+            return timer.handle;
+        }
+
+        @Override
+        public void cancel(double handle) {
+            timers.removeIf(timer -> timer.handle == handle);
+        }
+
+        /** Moves the clock forward and runs all timers which are due in the order of their due time. */
+        void advance(long millis) {
+            now += millis;
+            Timer due;
+            while ((due = nextDue()) != null) {
+                timers.remove(due);
+                due.task.run();
+            }
+        }
+
+        int pending() {
+            return timers.size();
+        }
+
+        long lastDelay() {
+            return delays.get(delays.size() - 1);
+        }
+
+        /** @return the delays of all scheduled polls, i.e. all delays except the timeouts */
+        List<Long> pollDelays() {
+            return delays.stream().filter(delay -> delay != TIMEOUT_SECONDS * 1000L).collect(toList());
+        }
+
+        private Timer nextDue() {
+            Timer due = null;
+            for (Timer timer : timers) {
+                if (timer.at <= now && (due == null || timer.at < due.at)) {
+                    due = timer;
+                }
+            }
+            return due;
+        }
+
+        private static final class Timer {
+
+            final double handle;
+            final long at;
+            final Runnable task;
+
+            Timer(double handle, long at, Runnable task) {
+                this.handle = handle;
+                this.at = at;
+                this.task = task;
+            }
+        }
+    }
+}
@@ -25,6 +25,8 @@ import static org.jboss.hal.resources.UIConstants.OBJECT;
 class AllDocsOptions {
 
     boolean include_docs;
+    boolean attachments;
+    boolean binary;
     String startkey;
     String endkey;
     JsArray<String> keys;
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.db;
+
+import elemental2.dom.Blob;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsType;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.resources.UIConstants.OBJECT;
+
+/** Binary attachment of a {@link Document}. Attachments are returned as blobs if requested with {@code binary: true}. */
+@JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+public class Attachment {
+
+    @JsOverlay
+    public static Attachment of(String contentType, Blob data) {
+        Attachment attachment = new Attachment();
+        attachment.content_type = contentType;
+        attachment.data = data;
+        return attachment;
+    }
+
+    public String content_type;
+    public Blob data;
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.db;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.Blob;
+import elemental2.dom.ReadableStream;
+import elemental2.dom.Response;
+import elemental2.promise.Promise;
+import jsinterop.annotations.JsConstructor;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+
+/** Reads blobs which were optionally compressed using the {@code CompressionStream} API. */
+public final class Blobs {
+
+    /** Encoding of uncompressed blobs */
+    public static final String IDENTITY = "identity";
+
+    /** Encoding of blobs compressed with {@code new CompressionStream("gzip")} */
+    public static final String GZIP = "gzip";
+
+    /** Returns the content of the blob and decompresses it if necessary. */
+    public static Promise<ArrayBuffer> read(Blob blob, String encoding) {
+        if (GZIP.equals(encoding)) {
+            if (!decompressionSupported()) {
+                return Promise.reject("Unable to read " + GZIP + " encoded blob: DecompressionStream not supported");
+            }
+            ReadableStream<?> stream = Js.<StreamingBlob> uncheckedCast(blob).stream()
+                    .pipeThrough(Js.uncheckedCast(new DecompressionStream(GZIP)));
+            return new Response(stream).arrayBuffer();
+        }
+        return blob.arrayBuffer();
+    }
+
+    public static boolean decompressionSupported() {
+        return Js.global().has("DecompressionStream");
+    }
+
+    private Blobs() {
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "Blob")
+    private static class StreamingBlob {
+
+        native ReadableStream<Object> stream();
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL)
+    private static class DecompressionStream {
+
+        @JsConstructor
+        DecompressionStream(String format) {
+        }
+    }
+}
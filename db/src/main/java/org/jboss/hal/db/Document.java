@@ -26,6 +26,8 @@ import static org.jboss.hal.resources.UIConstants.OBJECT;
 @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
 public interface Document extends JsPropertyMap<Object> {
 
+    @JsOverlay String ATTACHMENTS = "_attachments";
+
     @JsOverlay
     static Document of(String id) {
         Document document = Js.cast(JsPropertyMap.of());
@@ -37,4 +39,31 @@ public interface Document extends JsPropertyMap<Object> {
     default String getId() {
         return getAsAny("_id").asString();
     }
+
+    @JsOverlay
+    default void setRevision(String revision) {
+        set("_rev", revision);
+    }
+
+    @JsOverlay
+    default String getRevision() {
+        return has("_rev") ? getAsAny("_rev").asString() : null;
+    }
+
+    @JsOverlay
+    default void attach(String name, Attachment attachment) {
+        if (!has(ATTACHMENTS)) {
+            set(ATTACHMENTS, JsPropertyMap.of());
+        }
+        getAsAny(ATTACHMENTS).<JsPropertyMap<Attachment>> cast().set(name, attachment);
+    }
+
+    /** Returns the attachment or {@code null} if there's no such attachment. */
+    @JsOverlay
+    default Attachment getAttachment(String name) {
+        if (has(ATTACHMENTS)) {
+            return getAsAny(ATTACHMENTS).<JsPropertyMap<Attachment>> cast().get(name);
+        }
+        return null;
+    }
 }
@@ -42,11 +42,16 @@ public class PouchDB {
 
     public native Promise<Document> get(String id);
 
-    /** Returns the documents for the specified ids. Only documents with existing IDs will be returned. */
+    /**
+     * Returns the documents for the specified ids. Only documents with existing IDs will be returned. Attachments are included
+     * as blobs.
+     */
     @JsOverlay
     public final Promise<List<Document>> getAll(Set<String> ids) {
         AllDocsOptions options = new AllDocsOptions();
         options.include_docs = true;
+        options.attachments = true;
+        options.binary = true;
         options.keys = new JsArray<>();
         for (String id : ids) {
             options.keys.push(id);
@@ -64,11 +69,13 @@ public class PouchDB {
         });
     }
 
-    /** Returns all documents whose ID starts with the specified ID. */
+    /** Returns all documents whose ID starts with the specified ID. Attachments are included as blobs. */
     @JsOverlay
     public final Promise<List<Document>> prefixSearch(String id) {
         AllDocsOptions options = new AllDocsOptions();
         options.include_docs = true;
+        options.attachments = true;
+        options.binary = true;
         options.startkey = id;
         options.endkey = id + "\ufff0";
 
@@ -116,4 +123,19 @@ public class PouchDB {
 
     @JsMethod
     native Promise<JsArray<BulkDocsSingleUnionType>> bulkDocs(JsArray<Document> documents);
+
+    // ------------------------------------------------------ remove
+
+    /** Deletes the specified documents in one bulk operation. */
+    @JsOverlay
+    public final Promise<Set<String>> removeAll(List<Document> documents) {
+        List<Document> deleted = new ArrayList<>();
+        for (Document document : documents) {
+            Document tombstone = Document.of(document.getId());
+            tombstone.setRevision(document.getRevision());
+            tombstone.set("_deleted", true);
+            deleted.add(tombstone);
+        }
+        return putAll(deleted);
+    }
 }
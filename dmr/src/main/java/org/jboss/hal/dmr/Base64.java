@@ -19,15 +19,123 @@ import jsinterop.annotations.JsMethod;
 
 import static jsinterop.annotations.JsPackage.GLOBAL;
 
-/** Encodes and decodes to and from Base64 notation. */
+/**
+ * Encodes and decodes to and from Base64 notation.
+ * <p>
+ * Besides the string based {@code btoa()} / {@code atob()} functions, this class provides methods which convert directly
+ * between bytes and base64 without going through an intermediate binary string. The DMR codec uses these methods.
+ */
 public class Base64 {
 
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final int[] DECODABET = new int[128];
+    private static final int WHITESPACE = -2;
+    private static final int INVALID = -1;
+    private static final char PADDING = '=';
+
+    static {
+        for (int i = 0; i < DECODABET.length; i++) {
+            DECODABET[i] = INVALID;
+        }
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODABET[ALPHABET[i]] = i;
+        }
+        DECODABET[' '] = WHITESPACE;
+        DECODABET['\t'] = WHITESPACE;
+        DECODABET['\n'] = WHITESPACE;
+        DECODABET['\r'] = WHITESPACE;
+    }
+
     @JsMethod(namespace = GLOBAL, name = "btoa")
     public static native String encode(String decoded);
 
     @JsMethod(namespace = GLOBAL, name = "atob")
     public static native String decode(String encoded);
 
+    /** Encodes the first {@code length} bytes of the given array. */
+    public static String encodeBytes(byte[] bytes, int length) {
+        char[] encoded = new char[((length + 2) / 3) * 4];
+        int e = 0;
+        int i = 0;
+        int remaining = length - length % 3;
+        while (i < remaining) {
+            int bits = (bytes[i++] & 0xff) << 16 | (bytes[i++] & 0xff) << 8 | (bytes[i++] & 0xff);
+            encoded[e++] = ALPHABET[(bits >>> 18) & 0x3f];
+            encoded[e++] = ALPHABET[(bits >>> 12) & 0x3f];
+            encoded[e++] = ALPHABET[(bits >>> 6) & 0x3f];
+            encoded[e++] = ALPHABET[bits & 0x3f];
+        }
+        if (length - remaining == 1) {
+            int bits = (bytes[i] & 0xff) << 16;
+            encoded[e++] = ALPHABET[(bits >>> 18) & 0x3f];
+            encoded[e++] = ALPHABET[(bits >>> 12) & 0x3f];
+            encoded[e++] = PADDING;
+            encoded[e] = PADDING;
+        } else if (length - remaining == 2) {
+            int bits = (bytes[i++] & 0xff) << 16 | (bytes[i] & 0xff) << 8;
+            encoded[e++] = ALPHABET[(bits >>> 18) & 0x3f];
+            encoded[e++] = ALPHABET[(bits >>> 12) & 0x3f];
+            encoded[e++] = ALPHABET[(bits >>> 6) & 0x3f];
+            encoded[e] = PADDING;
+        }
+        return new String(encoded);
+    }
+
+    public static String encodeBytes(byte[] bytes) {
+        return encodeBytes(bytes, bytes.length);
+    }
+
+    /**
+     * Decodes the given base64 string into bytes. Whitespace (including line breaks) is ignored.
+     *
+     * @throws IllegalArgumentException if the string contains characters outside the base64 alphabet
+     */
+    public static byte[] decodeBytes(String encoded) {
+        int length = encoded.length();
+        int significant = 0;
+        for (int i = 0; i < length; i++) {
+            char c = encoded.charAt(i);
+            if (c == PADDING) {
+                break;
+            } else if (c >= DECODABET.length || DECODABET[c] == INVALID) {
+                throw new IllegalArgumentException("Invalid base64 character at index " + i);
+            } else if (DECODABET[c] != WHITESPACE) {
+                significant++;
+            }
+        }
+
+        byte[] decoded = ByteArrays.allocate(significant * 3 / 4);
+        int d = 0;
+        int bits = 0;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            char c = encoded.charAt(i);
+            if (c == PADDING) {
+                break;
+            }
+            int value = DECODABET[c];
+            if (value == WHITESPACE) {
+                continue;
+            }
+            bits = bits << 6 | value;
+            count++;
+            if (count == 4) {
+                decoded[d++] = (byte) (bits >> 16);
+                decoded[d++] = (byte) (bits >> 8);
+                decoded[d++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 3) {
+            decoded[d++] = (byte) (bits >> 10);
+            decoded[d] = (byte) (bits >> 2);
+        } else if (count == 2) {
+            decoded[d] = (byte) (bits >> 4);
+        }
+        return decoded;
+    }
+
     /** Defeats instantiation. */
     private Base64() {
     }
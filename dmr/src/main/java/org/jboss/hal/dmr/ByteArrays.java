@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import com.google.gwt.core.client.GWT;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.core.ArrayBufferView;
+import elemental2.core.Int8Array;
+import jsinterop.base.Js;
+
+/**
+ * Allocates byte arrays used by the DMR codec. In compiled mode the arrays are backed by an {@code Int8Array}, which is
+ * considerably faster and smaller than a plain JS array and can be passed to the fetch API without copying. On the JVM (unit
+ * tests, benchmarks) plain Java arrays are used.
+ */
+final class ByteArrays {
+
+    static byte[] allocate(int length) {
+        if (GWT.isScript()) {
+            return Js.uncheckedCast(new Int8Array(length));
+        }
+        return new byte[length];
+    }
+
+    /** Returns a new array of the given length containing the first {@code length} bytes of {@code source}. */
+    static byte[] copyOf(byte[] source, int length) {
+        byte[] copy = allocate(length);
+        int count = Math.min(length, source.length);
+        if (GWT.isScript()) {
+            Int8Array target = Js.uncheckedCast(copy);
+            target.set(Js.<Int8Array> uncheckedCast(source).subarray(0, count));
+        } else {
+            System.arraycopy(source, 0, copy, 0, count);
+        }
+        return copy;
+    }
+
+    /** Wraps the given buffer without copying. Must only be called in compiled mode. */
+    static byte[] wrap(ArrayBuffer buffer) {
+        return Js.uncheckedCast(new Int8Array(buffer));
+    }
+
+    /** Returns a view on the first {@code length} bytes without copying. Must only be called in compiled mode. */
+    static ArrayBufferView view(byte[] bytes, int length) {
+        return Js.<Int8Array> uncheckedCast(bytes).subarray(0, length);
+    }
+
+    private ByteArrays() {
+    }
+}
@@ -15,23 +15,25 @@
  */
 package org.jboss.hal.dmr;
 
-import elemental2.core.ArrayBuffer;
-import elemental2.core.DataView;
-import elemental2.core.Int8Array;
-
 class DataInput {
 
     private final byte[] bytes;
+    private final int length;
     private int pos = 0;
 
     DataInput(byte[] bytes) {
+        this(bytes, bytes.length);
+    }
+
+    DataInput(byte[] bytes, int length) {
         this.bytes = bytes;
+        this.length = length;
     }
 
     // ------------------------------------------------------ read a-z
 
     private int read() {
-        if (pos >= bytes.length) {
+        if (pos >= length) {
             return -1;
         }
         return bytes[pos++] & 0xFF;
@@ -56,19 +58,13 @@ class DataInput {
     }
 
     double readDouble() {
-        byte[] doubleBytes = new byte[8];
-        readFully(doubleBytes);
-
-        ArrayBuffer buffer = new ArrayBuffer(8);
-        Int8Array array = new Int8Array(buffer);
-        DataView view = new DataView(buffer);
-        for (int i = 0; i < doubleBytes.length; i++) {
-            array.setAt(i, (double) doubleBytes[i]);
-        }
-        return view.getFloat64(0);
+        return Double.longBitsToDouble(readLong());
     }
 
     void readFully(byte[] b) {
+        if (pos + b.length > length) {
+            throw new RuntimeException("EOF");
+        }
         for (int i = 0; i < b.length; i++) {
             b[i] = bytes[pos++];
         }
@@ -83,18 +79,9 @@ class DataInput {
     }
 
     long readLong() {
-        byte[] longBytes = new byte[8];
-        readFully(longBytes);
-
-        return (((long) longBytes[0] << 56) +
-                ((long) (longBytes[1] & 255) << 48) +
-                ((long) (longBytes[2] & 255) << 40) +
-                ((long) (longBytes[3] & 255) << 32) +
-                ((long) (longBytes[4] & 255) << 24) +
-                ((longBytes[5] & 255) << 16) +
-                ((longBytes[6] & 255) << 8) +
-                ((longBytes[7] & 255) << 0));
-
+        long high = readInt();
+        long low = readInt() & 0xFFFFFFFFL;
+        return (high << 32) | low;
     }
 
     short readShort() {
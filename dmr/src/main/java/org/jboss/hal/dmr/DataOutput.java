@@ -15,110 +15,125 @@
  */
 package org.jboss.hal.dmr;
 
-import com.google.common.base.Charsets;
-
-import elemental2.core.ArrayBuffer;
-import elemental2.core.DataView;
-import elemental2.core.Int8Array;
-import elemental2.core.JsArray;
+import elemental2.core.ArrayBufferView;
 
 class DataOutput {
 
-    private final JsArray<Byte> bytes;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private byte[] bytes;
+    private int size;
 
     DataOutput() {
-        bytes = new JsArray<>();
+        bytes = ByteArrays.allocate(INITIAL_CAPACITY);
+        size = 0;
     }
 
-    @Override
-    public String toString() {
-        int length = bytes.getLength();
-        byte[] array = new byte[length];
-        for (int i = 0; i < length; i++) {
-            array[i] = bytes.getAt(i);
+    /** @return the number of bytes written so far */
+    int size() {
+        return size;
+    }
+
+    /** @return a trimmed copy of the bytes written so far */
+    byte[] toByteArray() {
+        return ByteArrays.copyOf(bytes, size);
+    }
+
+    /** @return a view on the bytes written so far (compiled mode only) */
+    ArrayBufferView toArrayBufferView() {
+        return ByteArrays.view(bytes, size);
+    }
+
+    /** @return the bytes written so far as base64 encoded string */
+    String toBase64() {
+        return Base64.encodeBytes(bytes, size);
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = size + additional;
+        if (required > bytes.length) {
+            bytes = ByteArrays.copyOf(bytes, Math.max(bytes.length << 1, required));
         }
-        return new String(array, Charsets.ISO_8859_1);
     }
 
     // ------------------------------------------------------ write a-z
 
     void write(byte[] bits) {
-        for (int i = 0; i < bits.length; i++) {
-            bytes.push(bits[i]);
-        }
+        write(bits, 0, bits.length);
     }
 
     private void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
         for (int i = 0; i < len; i++) {
-            bytes.push(b[off + i]);
+            bytes[size++] = b[off + i];
         }
     }
 
     void writeBoolean(boolean v) {
-        bytes.push(v ? (byte) 1 : (byte) 0);
+        ensureCapacity(1);
+        bytes[size++] = v ? (byte) 1 : (byte) 0;
     }
 
     void writeByte(int v) {
-        bytes.push((byte) v);
+        ensureCapacity(1);
+        bytes[size++] = (byte) v;
     }
 
     void writeChar(int v) {
-        bytes.push((byte) (v >>> 8));
-        bytes.push((byte) (v & 0xFF));
+        writeShort(v);
     }
 
     void writeDouble(double v) {
-        ArrayBuffer buffer = new ArrayBuffer(8);
-        Int8Array array = new Int8Array(buffer);
-        DataView view = new DataView(buffer);
-        view.setFloat64(0, v);
-        for (int i = 0; i < array.getLength(); i++) {
-            bytes.push(array.getAt(i).byteValue());
-        }
+        writeLong(Double.doubleToLongBits(v));
     }
 
     void writeInt(int v) {
-        bytes.push((byte) (v >>> 24));
-        bytes.push((byte) ((v >>> 16) & 0xFF));
-        bytes.push((byte) ((v >>> 8) & 0xFF));
-        bytes.push((byte) (v & 0xFF));
+        ensureCapacity(4);
+        bytes[size++] = (byte) (v >>> 24);
+        bytes[size++] = (byte) ((v >>> 16) & 0xFF);
+        bytes[size++] = (byte) ((v >>> 8) & 0xFF);
+        bytes[size++] = (byte) (v & 0xFF);
     }
 
     void writeLong(long v) {
-        bytes.push((byte) (v >>> 56));
-        bytes.push((byte) ((v >>> 48) & 0xFF));
-        bytes.push((byte) ((v >>> 40) & 0xFF));
-        bytes.push((byte) ((v >>> 32) & 0xFF));
-        bytes.push((byte) ((v >>> 24) & 0xFF));
-        bytes.push((byte) ((v >>> 16) & 0xFF));
-        bytes.push((byte) ((v >>> 8) & 0xFF));
-        bytes.push((byte) (v & 0xFF));
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
     }
 
     private void writeShort(int v) {
-        bytes.push((byte) (v >>> 8));
-        bytes.push((byte) (v & 0xFF));
+        ensureCapacity(2);
+        bytes[size++] = (byte) (v >>> 8);
+        bytes[size++] = (byte) (v & 0xFF);
     }
 
     void writeUTF(String s) {
         int length = s.length();
-        byte[] bytes = new byte[length * 3];
-        int bl = 0;
+        int utfLength = 0;
         char c;
         for (int i = 0; i < length; i++) {
             c = s.charAt(i);
             if (c > 0 && c <= 0x7f) {
-                bytes[bl++] = (byte) c;
+                utfLength++;
+            } else if (c <= 0x07ff) {
+                utfLength += 2;
+            } else {
+                utfLength += 3;
+            }
+        }
+        writeShort(utfLength);
+        ensureCapacity(utfLength);
+        for (int i = 0; i < length; i++) {
+            c = s.charAt(i);
+            if (c > 0 && c <= 0x7f) {
+                bytes[size++] = (byte) c;
             } else if (c <= 0x07ff) {
-                bytes[bl++] = (byte) (0xc0 | 0x1f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                bytes[size++] = (byte) (0xc0 | 0x1f & c >> 6);
+                bytes[size++] = (byte) (0x80 | 0x3f & c);
             } else {
-                bytes[bl++] = (byte) (0xe0 | 0x0f & c >> 12);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                bytes[size++] = (byte) (0xe0 | 0x0f & c >> 12);
+                bytes[size++] = (byte) (0x80 | 0x3f & c >> 6);
+                bytes[size++] = (byte) (0x80 | 0x3f & c);
             }
         }
-        writeShort(bl);
-        write(bytes, 0, bl);
     }
 }
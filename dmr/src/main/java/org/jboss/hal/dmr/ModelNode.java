@@ -23,7 +23,8 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
-import com.google.common.base.CharMatcher;
+import elemental2.core.ArrayBuffer;
+import elemental2.core.ArrayBufferView;
 
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
@@ -44,21 +45,23 @@ public class ModelNode implements Cloneable {
      * @return the new model node
      */
     public static ModelNode fromBase64(String encoded) {
-        // Bloody IE can't cope with line breaks when decoding base64!
-        String safeEncoded = CharMatcher.breakingWhitespace().removeFrom(encoded);
         ModelNode node = new ModelNode();
-        String decoded = Base64.decode(safeEncoded);
-        node.readExternal(new DataInput(toBytes(decoded)));
+        node.readExternal(new DataInput(Base64.decodeBytes(encoded)));
         return node;
     }
 
-    private static native byte[] toBytes(String str) /*-{
-        var bytes = [];
-        for (var i = 0; i < str.length; ++i) {
-            bytes.push(str.charCodeAt(i));
-        }
-        return bytes;
-    }-*/;
+    /**
+     * Creates a new node from raw (not base64 encoded) DMR bytes. The buffer is read in place without copying.
+     *
+     * @param buffer The DMR bytes.
+     *
+     * @return the new model node
+     */
+    public static ModelNode fromBinary(ArrayBuffer buffer) {
+        ModelNode node = new ModelNode();
+        node.readExternal(new DataInput(ByteArrays.wrap(buffer)));
+        return node;
+    }
 
     private static final String NEW_VALUE_IS_NULL = "newValue is null";
 
@@ -75,7 +78,8 @@ public class ModelNode implements Cloneable {
 
     /**
      * Prevent further modifications to this node and its sub-nodes. Note that copies of this node made after this method call
-     * will not be protected.
+     * will not be protected. Getting a missing child of a protected node returns a detached undefined node, which is protected
+     * as well: Reading it yields undefined, modifying it throws an {@link UnsupportedOperationException}.
      */
     public void protect() {
         if (!protect) {
@@ -84,6 +88,18 @@ public class ModelNode implements Cloneable {
         }
     }
 
+    /** @return whether this node has been {@linkplain #protect() protected} */
+    public boolean isProtected() {
+        return protect;
+    }
+
+    /** @return a protected undefined node which stands in for a missing child of a protected node */
+    static ModelNode detached() {
+        ModelNode node = new ModelNode();
+        node.protect();
+        return node;
+    }
+
     /**
      * Get the value of this node as a {@code long}. Collection types will return the size of the collection for this value.
      * Other types may attempt a string conversion.
@@ -557,6 +573,31 @@ public class ModelNode implements Cloneable {
         return this;
     }
 
+    /**
+     * Adds the given node as child with the given name <em>without</em> copying it. The child is {@linkplain #protect()
+     * protected} first, so that it can be shared safely between several parents. If this node is undefined, it will be
+     * initialized to be of type object.
+     *
+     * @param name the child name
+     * @param child the child to share
+     *
+     * @return this node
+     *
+     * @throws IllegalArgumentException if this node is not of type object
+     */
+    public ModelNode setShared(String name, ModelNode child) {
+        checkProtect();
+        if (value == ModelValue.UNDEFINED) {
+            value = new ObjectModelValue();
+        }
+        if (!(value instanceof ObjectModelValue)) {
+            throw new IllegalArgumentException("Cannot share a child of a node of type " + value.getType());
+        }
+        child.protect();
+        ((ObjectModelValue) value).putChild(name, child);
+        return this;
+    }
+
     /**
      * Change this node's value to a property with the given name and value.
      *
@@ -803,7 +844,9 @@ public class ModelNode implements Cloneable {
     public ModelNode get(String name) {
         ModelValue value = this.value;
         if (value == ModelValue.UNDEFINED) {
-            checkProtect();
+            if (protect) {
+                return detached();
+            }
             this.value = new ObjectModelValue();
             return this.value.getChild(name);
         }
@@ -1290,7 +1333,14 @@ public class ModelNode implements Cloneable {
     public String toBase64String() {
         DataOutput out = new DataOutput();
         writeExternal(out);
-        return Base64.encode(out.toString());
+        return out.toBase64();
+    }
+
+    /** @return the raw (not base64 encoded) DMR bytes of this node */
+    public ArrayBufferView toBinary() {
+        DataOutput out = new DataOutput();
+        writeExternal(out);
+        return out.toArrayBufferView();
     }
 
     /**
@@ -30,15 +30,18 @@ import java.util.Set;
 class ObjectModelValue extends ModelValue {
 
     private final Map<String, ModelNode> map;
+    private final boolean readOnly;
 
     ObjectModelValue() {
         super(ModelType.OBJECT);
         map = new LinkedHashMap<>();
+        readOnly = false;
     }
 
-    private ObjectModelValue(Map<String, ModelNode> map) {
+    private ObjectModelValue(Map<String, ModelNode> map, boolean readOnly) {
         super(ModelType.OBJECT);
         this.map = map;
+        this.readOnly = readOnly;
     }
 
     ObjectModelValue(DataInput in) {
@@ -52,6 +55,7 @@ class ObjectModelValue extends ModelValue {
             map.put(key, value);
         }
         this.map = map;
+        this.readOnly = false;
     }
 
     @Override
@@ -71,7 +75,7 @@ class ObjectModelValue extends ModelValue {
         for (ModelNode node : map.values()) {
             node.protect();
         }
-        return map.getClass() == LinkedHashMap.class ? new ObjectModelValue(Collections.unmodifiableMap(map)) : this;
+        return map.getClass() == LinkedHashMap.class ? new ObjectModelValue(Collections.unmodifiableMap(map), true) : this;
     }
 
     @Override
@@ -88,11 +92,22 @@ class ObjectModelValue extends ModelValue {
         if (node != null) {
             return node;
         }
+        if (readOnly) {
+            // protected values are read-only: reading a missing child yields undefined, writing to it fails fast
+            return ModelNode.detached();
+        }
         ModelNode newNode = new ModelNode();
         map.put(name, newNode);
         return newNode;
     }
 
+    void putChild(String name, ModelNode node) {
+        if (readOnly) {
+            throw new UnsupportedOperationException();
+        }
+        map.put(name, node);
+    }
+
     @Override
     ModelNode removeChild(String name) {
         if (name == null) {
@@ -164,7 +179,7 @@ class ObjectModelValue extends ModelValue {
         for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
             newMap.put(entry.getKey(), resolve ? entry.getValue().resolve() : entry.getValue().clone());
         }
-        return new ObjectModelValue(newMap);
+        return new ObjectModelValue(newMap, false);
     }
 
     @Override
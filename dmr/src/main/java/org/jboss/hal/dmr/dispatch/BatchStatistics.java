@@ -0,0 +1,63 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+/** Counters which show the effect of batching read-only operations into composites. */
+public class BatchStatistics {
+
+    private int batches;
+    private int operations;
+    private int fallbacks;
+    private int roundTripsSaved;
+
+    void batched(int size) {
+        batches++;
+        operations += size;
+        roundTripsSaved += size - 1;
+    }
+
+    void fallback() {
+        fallbacks++;
+        // the composite itself was one additional round trip
+        roundTripsSaved--;
+    }
+
+    /** @return the number of composites which were sent instead of individual operations */
+    public int getBatches() {
+        return batches;
+    }
+
+    /** @return the number of operations which were sent as part of a composite */
+    public int getOperations() {
+        return operations;
+    }
+
+    /** @return the number of composites which failed and were replaced by individual operations */
+    public int getFallbacks() {
+        return fallbacks;
+    }
+
+    /** @return the number of HTTP round trips saved by batching */
+    public int getRoundTripsSaved() {
+        return roundTripsSaved;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchStatistics(batches=" + batches + ", operations=" + operations + ", fallbacks=" + fallbacks
+                + ", roundTripsSaved=" + roundTripsSaved + ")";
+    }
+}
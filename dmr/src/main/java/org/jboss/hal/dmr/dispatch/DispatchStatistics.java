@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CORE_SERVICE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUBSYSTEM;
+
+/**
+ * Latency histograms, transferred bytes, error rates and concurrency of the requests sent by the {@link Dispatcher}. The
+ * histograms are kept per operation name and per address template. Address templates replace the values of the address segments
+ * by a wildcard, except for {@code subsystem} and {@code core-service}, which identify the kind of resource.
+ */
+public class DispatchStatistics {
+
+    static final String COMPOSITE_TEMPLATE = "(composite)";
+    private static final Set<String> KEEP_VALUES = new HashSet<>(Arrays.asList(SUBSYSTEM, CORE_SERVICE));
+
+    private final LatencyHistogram total;
+    private final Map<String, LatencyHistogram> operations;
+    private final Map<String, LatencyHistogram> templates;
+    private int inFlight;
+    private int maxInFlight;
+    private long since;
+
+    DispatchStatistics() {
+        this.total = new LatencyHistogram("total");
+        this.operations = new TreeMap<>();
+        this.templates = new TreeMap<>();
+        this.since = System.currentTimeMillis();
+    }
+
+    void started() {
+        inFlight++;
+        maxInFlight = Math.max(maxInFlight, inFlight);
+    }
+
+    void finished(String operation, String template, long millis, long requestSize, long responseSize, boolean failed) {
+        inFlight = Math.max(0, inFlight - 1);
+        total.record(millis, requestSize, responseSize, failed);
+        operations.computeIfAbsent(operation, LatencyHistogram::new).record(millis, requestSize, responseSize, failed);
+        templates.computeIfAbsent(template, LatencyHistogram::new).record(millis, requestSize, responseSize, failed);
+    }
+
+    /** Removes all histograms and counters. Requests which are still in flight are counted when they finish. */
+    public void reset() {
+        total.reset();
+        operations.clear();
+        templates.clear();
+        maxInFlight = inFlight;
+        since = System.currentTimeMillis();
+    }
+
+    public LatencyHistogram getTotal() {
+        return total;
+    }
+
+    /** @return the histograms per operation name, sorted by name */
+    public Collection<LatencyHistogram> getOperations() {
+        return operations.values();
+    }
+
+    /** @return the histograms per address template, sorted by template */
+    public Collection<LatencyHistogram> getTemplates() {
+        return templates.values();
+    }
+
+    /** @return the number of requests which have been sent, but not yet answered */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /** @return the maximum number of concurrent requests */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /** @return the timestamp when the statistics were created or reset */
+    public long getSince() {
+        return since;
+    }
+
+    /** @return the statistics as JSON, meant to be attached to support cases */
+    public String toJson() {
+        ModelNode node = new ModelNode();
+        node.get("since").set(since);
+        node.get("duration").set(System.currentTimeMillis() - since);
+        node.get("in-flight").set(inFlight);
+        node.get("max-in-flight").set(maxInFlight);
+        node.get("total").set(total.toModelNode());
+        ModelNode operationsNode = node.get("operations").setEmptyObject();
+        operations.forEach((name, histogram) -> operationsNode.get(name).set(histogram.toModelNode()));
+        ModelNode templatesNode = node.get("templates").setEmptyObject();
+        templates.forEach((name, histogram) -> templatesNode.get(name).set(histogram.toModelNode()));
+        return node.toJSONString(false);
+    }
+
+    // ------------------------------------------------------ keys
+
+    /** @return the operation name or the distinct operation names of a composite */
+    static String operationName(Operation operation) {
+        if (operation instanceof Composite) {
+            Set<String> names = new TreeSet<>();
+            for (Operation step : (Composite) operation) {
+                names.add(step.getName());
+            }
+            return operation.getName() + names;
+        }
+        return operation.getName();
+    }
+
+    /** @return the address template of the operation or of all steps of a composite if they share the same template */
+    static String addressTemplate(Operation operation) {
+        if (operation instanceof Composite) {
+            Set<String> templates = new TreeSet<>();
+            for (Operation step : (Composite) operation) {
+                templates.add(addressTemplate(step.getAddress()));
+            }
+            return templates.size() == 1 ? templates.iterator().next() : COMPOSITE_TEMPLATE;
+        }
+        return addressTemplate(operation.getAddress());
+    }
+
+    static String addressTemplate(ResourceAddress address) {
+        if (address == null || !address.isDefined() || address.isEmpty()) {
+            return "/";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (Property segment : address.asPropertyList()) {
+            builder.append("/").append(segment.getName()).append("=")
+                    .append(KEEP_VALUES.contains(segment.getName()) ? segment.getValue().asString() : "*");
+        }
+        return builder.toString();
+    }
+}
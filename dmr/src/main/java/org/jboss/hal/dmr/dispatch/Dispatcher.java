@@ -44,11 +44,14 @@ import org.jboss.hal.dmr.macro.MacroOptions;
 import org.jboss.hal.dmr.macro.Macros;
 import org.jboss.hal.dmr.macro.RecordingEvent;
 import org.jboss.hal.dmr.macro.RecordingEvent.RecordingHandler;
+import org.jboss.hal.flow.Span;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.web.bindery.event.shared.EventBus;
 
+import elemental2.core.ArrayBufferView;
+import elemental2.dom.AbortController;
 import elemental2.dom.Blob;
 import elemental2.dom.Blob.ConstructorBlobPartsArrayUnionType;
 import elemental2.dom.BlobPropertyBag;
@@ -63,11 +66,15 @@ import elemental2.promise.IThenable.ThenOnFulfilledCallbackFn;
 import elemental2.promise.Promise;
 import elemental2.promise.Promise.CatchOnRejectedCallbackFn;
 
+import static com.google.common.base.Strings.nullToEmpty;
 import static com.google.common.collect.Sets.difference;
 import static elemental2.core.Global.encodeURIComponent;
 import static elemental2.dom.DomGlobal.fetch;
 import static elemental2.dom.DomGlobal.navigator;
 import static java.util.stream.Collectors.joining;
+import static org.jboss.hal.config.Settings.Key.BATCH_OPERATIONS;
+import static org.jboss.hal.config.Settings.Key.DMR_TRANSPORT;
+import static org.jboss.hal.config.Settings.Key.READ_CACHE_TTL;
 import static org.jboss.hal.config.Settings.Key.RUN_AS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FIND_NON_PROGRESSING_OPERATION;
@@ -75,6 +82,7 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.HOST;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INSTALLED_DRIVER_LIST;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OP;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.QUERY;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESPONSE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESPONSE_HEADERS;
@@ -90,6 +98,7 @@ import static org.jboss.hal.dmr.dispatch.RequestHeader.X_MANAGEMENT_CLIENT_NAME;
 /** Executes operations against the management endpoint. */
 public class Dispatcher implements RecordingHandler {
 
+    static final String APPLICATION_DMR = "application/dmr";
     static final String APPLICATION_DMR_ENCODED = "application/dmr-encoded";
     static final String APPLICATION_JSON = "application/json";
 
@@ -108,6 +117,10 @@ public class Dispatcher implements RecordingHandler {
     private final ResponseHeadersProcessors responseHeadersProcessors;
     private final Macros macros;
     private final ErrorCallback errorCallback;
+    private final OperationBatcher batcher;
+    private final ReadCache readCache;
+    private final DispatchStatistics statistics;
+    private boolean binaryUnsupported;
 
     @Inject
     public Dispatcher(Environment environment, Endpoints endpoints, Settings settings,
@@ -122,6 +135,17 @@ public class Dispatcher implements RecordingHandler {
 
         this.eventBus.addHandler(RecordingEvent.getType(), this);
         this.errorCallback = (operation, error) -> logger.error("Dispatcher error: {}, operation {}", error, operation.asCli());
+        this.batcher = new OperationBatcher((operation, record, spans, success, failure) -> send(operation, record, spans)
+                .then(payload -> {
+                    success.accept(payload);
+                    return null;
+                })
+                .catch_(error -> {
+                    failure.accept(error);
+                    return null;
+                }), this::recordOperation);
+        this.readCache = new ReadCache(() -> settings.get(READ_CACHE_TTL).asInt(0));
+        this.statistics = new DispatchStatistics();
     }
 
     // ------------------------------------------------------ execute composite
@@ -199,14 +223,137 @@ public class Dispatcher implements RecordingHandler {
      * "result" attribute.
      */
     public Promise<ModelNode> dmr(Operation operation) {
+        // the current span must be captured now: the request might be sent after the task has returned
+        List<Span> spans = Exchange.currentSpans();
+        if (readOnlyOperation(operation)) {
+            if (macros.current() == null) {
+                return readCache.get(runAs(operation), () -> dispatch(operation, spans));
+            }
+            return dispatch(operation, spans);
+        }
+        return dispatch(operation, spans).then(payload -> {
+            readCache.invalidate(operation);
+            return Promise.resolve(payload);
+        });
+    }
+
+    private Promise<ModelNode> dispatch(Operation operation, List<Span> spans) {
+        if (batchOperation(operation)) {
+            return new Promise<>((resolve, reject) -> batcher.add(operation, spans,
+                    payload -> resolve.onInvoke(payload), error -> reject.onInvoke(error)));
+        }
+        return send(operation, true, spans);
+    }
+
+    private Promise<ModelNode> send(Operation operation, boolean recordOperation, List<Span> spans) {
+        Operation dmrOperation = runAs(operation);
+        DmrTransport transport = DmrTransport.from(settings.get(DMR_TRANSPORT).value());
+        Exchange exchange = new Exchange(statistics, operation, spans);
+        Promise<ModelNode> promise;
+        if (transport == DmrTransport.BINARY || (transport == DmrTransport.AUTO && !binaryUnsupported)) {
+            promise = dmrBinary(operation, dmrOperation, transport, recordOperation, exchange);
+        } else {
+            promise = dmrEncoded(operation, dmrOperation, recordOperation, exchange);
+        }
+        return exchange.measure(promise).catch_(rejectWithError());
+    }
+
+    private Promise<ModelNode> dmrEncoded(Operation operation, Operation dmrOperation, boolean recordOperation,
+            Exchange exchange) {
         RequestInit init = requestInit(POST, true);
-        init.setBody(runAs(operation).toBase64String());
+        String body = dmrOperation.toBase64String();
+        init.setBody(body);
         Request request = new Request(endpoints.dmr(), init);
+        exchange.request(body.length());
 
         return fetch(request)
                 .then(processResponse())
-                .then(processText(operation, new DmrPayloadProcessor(), true))
-                .catch_(rejectWithError());
+                .then(text -> {
+                    exchange.response(text.length());
+                    return Promise.resolve(text);
+                })
+                .then(processText(operation, new DmrPayloadProcessor(), recordOperation));
+    }
+
+    private Promise<ModelNode> dmrBinary(Operation operation, Operation dmrOperation, DmrTransport transport,
+            boolean recordOperation, Exchange exchange) {
+        RequestInit init = requestInit(POST, APPLICATION_DMR, APPLICATION_DMR + ", " + APPLICATION_DMR_ENCODED + ";q=0.9");
+        ArrayBufferView body = dmrOperation.toBinary();
+        init.setBody(body);
+        Request request = new Request(endpoints.dmr(), init);
+        exchange.request(body.byteLength);
+
+        ThenOnFulfilledCallbackFn<Response, ModelNode> processBinaryResponse = response -> {
+            String contentType = nullToEmpty(response.headers.get(CONTENT_TYPE.header()));
+            if (response.status == 415) {
+                // the endpoint rejected the raw DMR request, so the operation was not executed
+                if (transport == DmrTransport.AUTO) {
+                    return fallBack(operation, dmrOperation, recordOperation, exchange);
+                }
+                return Promise.reject(statusError(response.status));
+            }
+            if (!response.ok && response.status != 500) {
+                return Promise.reject(statusError(response.status));
+            }
+            if (contentType.startsWith(APPLICATION_DMR_ENCODED)) {
+                return response.text().then(text -> {
+                    exchange.response(text.length());
+                    return processText(operation, new DmrPayloadProcessor(), recordOperation).onInvoke(text);
+                });
+            }
+            return response.arrayBuffer().then(buffer -> {
+                exchange.response(buffer.byteLength);
+                if (contentType.startsWith(APPLICATION_DMR)) {
+                    return processPayload(operation, new DmrPayloadProcessor().processPayload(POST, contentType, buffer),
+                            recordOperation);
+                }
+                // The content type might have been rewritten by a proxy or an error page *after* the operation was
+                // executed. Use the body if it's still DMR. Otherwise only read-only operations can safely be repeated.
+                ModelNode payload;
+                try {
+                    payload = ModelNode.fromBinary(buffer);
+                } catch (Throwable t) {
+                    if (transport == DmrTransport.AUTO && readOnlyOperation(operation)) {
+                        return fallBack(operation, dmrOperation, recordOperation, exchange);
+                    }
+                    return Promise.reject(PARSE_ERROR + contentType);
+                }
+                return processPayload(operation, payload, recordOperation);
+            });
+        };
+        return fetch(request).then(processBinaryResponse);
+    }
+
+    private Promise<ModelNode> fallBack(Operation operation, Operation dmrOperation, boolean recordOperation,
+            Exchange exchange) {
+        logger.info("Management endpoint does not support {}. Fall back to {}", APPLICATION_DMR, APPLICATION_DMR_ENCODED);
+        binaryUnsupported = true;
+        return dmrEncoded(operation, dmrOperation, recordOperation, exchange);
+    }
+
+    // ------------------------------------------------------ batching
+
+    /**
+     * Read-only operations are batched if enabled in the settings. Composites and operations with their own headers (e.g.
+     * roles) are always sent as they are.
+     */
+    private boolean batchOperation(Operation operation) {
+        return settings.get(BATCH_OPERATIONS).asBoolean()
+                && !(operation instanceof Composite)
+                && !operation.hasDefined(OPERATION_HEADERS)
+                && READ_ONLY.test(operation);
+    }
+
+    /** @return the counters which show the effect of batching read-only operations */
+    public BatchStatistics batchStatistics() {
+        return batcher.statistics();
+    }
+
+    // ------------------------------------------------------ statistics
+
+    /** @return the latency histograms, transferred bytes and error rates of the requests sent so far */
+    public DispatchStatistics statistics() {
+        return statistics;
     }
 
     // ------------------------------------------------------ upload
@@ -224,6 +371,15 @@ public class Dispatcher implements RecordingHandler {
     }
 
     public Promise<ModelNode> upload(File file, Operation operation) {
+        return prepareUpload(file, operation).send().catch_(rejectWithError());
+    }
+
+    /**
+     * Prepares the upload of the specified file. Use {@link Upload#send()} to start the upload. Other than
+     * {@link #upload(File, Operation)}, the returned upload can be used to track the progress and to cancel the upload.
+     */
+    public Upload prepareUpload(File file, Operation operation) {
+        List<Span> spans = Exchange.currentSpans();
         Operation uploadOperation = runAs(operation);
         ConstructorBlobPartsArrayUnionType blob = ConstructorBlobPartsArrayUnionType.of(
                 uploadOperation.toBase64String());
@@ -241,33 +397,42 @@ public class Dispatcher implements RecordingHandler {
         }
         formData.append(OPERATION, new Blob(new ConstructorBlobPartsArrayUnionType[] { blob }, options));
 
-        RequestInit init = requestInit(POST, false);
-        init.setBody(formData);
-        Request request = new Request(endpoints.upload(), init);
-
-        return fetch(request)
-                .then(processResponse())
-                .then(processText(operation, new UploadPayloadProcessor(), false))
-                .catch_(rejectWithError());
+        return new Upload(endpoints.upload(), formData,
+                () -> {
+                    Exchange exchange = new Exchange(statistics, operation, spans);
+                    exchange.request((long) file.size);
+                    return exchange;
+                },
+                xhr -> {
+                    // same as requestInit(POST, false)
+                    xhr.setRequestHeader(X_MANAGEMENT_CLIENT_NAME.header(), HEADER_MANAGEMENT_CLIENT_VALUE);
+                    String bearerToken = getBearerToken();
+                    if (bearerToken != null) {
+                        xhr.setRequestHeader("Authorization", "Bearer " + bearerToken);
+                    }
+                    xhr.withCredentials = true;
+                },
+                xhr -> {
+                    if ((xhr.status < 200 || xhr.status > 299) && xhr.status != 500) {
+                        return Promise.reject(statusError(xhr.status));
+                    }
+                    String contentType = xhr.getResponseHeader(CONTENT_TYPE.header());
+                    if (contentType == null || !contentType.startsWith(APPLICATION_DMR_ENCODED)) {
+                        return Promise.reject(PARSE_ERROR + contentType);
+                    }
+                    return Promise.resolve(processText(operation, new UploadPayloadProcessor(), false)
+                            .onInvoke(xhr.responseText))
+                            .then(payload -> {
+                                readCache.invalidate(operation);
+                                return Promise.resolve(payload);
+                            });
+                });
     }
 
     // ------------------------------------------------------ download
 
     public void download(Operation operation, Consumer<String> success) {
-        Operation downloadOperation = runAs(operation);
-        String downloadUrl = downloadUrl(downloadOperation);
-        RequestInit init = requestInit(GET, true);
-        Request request = new Request(downloadUrl, init);
-
-        fetch(request)
-                .then(response -> {
-                    if (response.status != 200) {
-                        return Promise.reject(statusError(200));
-                    } else {
-                        return response.text();
-
-                    }
-                })
+        download(operation).text()
                 .then(text -> {
                     success.accept(text);
                     return null;
@@ -275,6 +440,29 @@ public class Dispatcher implements RecordingHandler {
                 .catch_(rejectWithError());
     }
 
+    /**
+     * Starts to download the result of the specified operation. The response is streamed and can be written to a file using
+     * {@link Download#saveAs(String)} or read using {@link Download#blob()} or {@link Download#text()}.
+     */
+    public Download download(Operation operation) {
+        Operation downloadOperation = runAs(operation);
+        AbortController controller = new AbortController();
+        RequestInit init = requestInit(GET, true);
+        init.setSignal(controller.signal);
+        Request request = new Request(downloadUrl(downloadOperation), init);
+
+        // the statistics measure the time until the response headers have been received
+        Exchange exchange = new Exchange(statistics, operation, Exchange.currentSpans());
+        Promise<Response> response = fetch(request).then(r -> {
+            if (r.status != 200) {
+                return Promise.reject(statusError(r.status));
+            }
+            exchange.response(Exchange.contentLength(r.headers.get("Content-Length")));
+            return Promise.resolve(r);
+        });
+        return new Download(exchange.measure(response), controller);
+    }
+
     public String downloadUrl(Operation operation) {
         return operationUrl(operation) + "&useStreamAsResponse"; // NON-NLS
     }
@@ -336,10 +524,14 @@ public class Dispatcher implements RecordingHandler {
     // ------------------------------------------------------ request && promise handlers
 
     RequestInit requestInit(HttpMethod method, boolean dmr) {
+        return dmr ? requestInit(method, APPLICATION_DMR_ENCODED, APPLICATION_DMR_ENCODED) : requestInit(method, null, null);
+    }
+
+    private RequestInit requestInit(HttpMethod method, String contentType, String accept) {
         Headers headers = new Headers();
-        if (dmr) {
-            headers.set(ACCEPT.header(), APPLICATION_DMR_ENCODED);
-            headers.set(CONTENT_TYPE.header(), APPLICATION_DMR_ENCODED);
+        if (contentType != null) {
+            headers.set(ACCEPT.header(), accept);
+            headers.set(CONTENT_TYPE.header(), contentType);
         }
         headers.set(X_MANAGEMENT_CLIENT_NAME.header(), HEADER_MANAGEMENT_CLIENT_VALUE);
         String bearerToken = getBearerToken();
@@ -372,35 +564,37 @@ public class Dispatcher implements RecordingHandler {
 
     ThenOnFulfilledCallbackFn<String, ModelNode> processText(Operation operation, PayloadProcessor payloadProcessor,
             boolean recordOperation) {
-        return text -> {
-            if (recordOperation) {
-                recordOperation(operation);
-            }
-            logger.trace("DMR operation: {}", operation);
-            ModelNode payload = payloadProcessor.processPayload(POST, APPLICATION_DMR_ENCODED, text);
-            if (!payload.isFailure()) {
-                if (environment.isStandalone()) {
-                    if (payload.hasDefined(RESPONSE_HEADERS)) {
-                        Header[] headers = new Header[] { new Header(payload.get(RESPONSE_HEADERS)) };
+        return text -> processPayload(operation, payloadProcessor.processPayload(POST, APPLICATION_DMR_ENCODED, text),
+                recordOperation);
+    }
+
+    private Promise<ModelNode> processPayload(Operation operation, ModelNode payload, boolean recordOperation) {
+        if (recordOperation) {
+            recordOperation(operation);
+        }
+        logger.trace("DMR operation: {}", operation);
+        if (!payload.isFailure()) {
+            if (environment.isStandalone()) {
+                if (payload.hasDefined(RESPONSE_HEADERS)) {
+                    Header[] headers = new Header[] { new Header(payload.get(RESPONSE_HEADERS)) };
+                    for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
+                        processor.process(headers);
+                    }
+                }
+            } else {
+                if (payload.hasDefined(SERVER_GROUPS)) {
+                    Header[] headers = collectHeaders(payload.get(SERVER_GROUPS));
+                    if (headers.length != 0) {
                         for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
                             processor.process(headers);
                         }
                     }
-                } else {
-                    if (payload.hasDefined(SERVER_GROUPS)) {
-                        Header[] headers = collectHeaders(payload.get(SERVER_GROUPS));
-                        if (headers.length != 0) {
-                            for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
-                                processor.process(headers);
-                            }
-                        }
-                    }
                 }
-                return Promise.resolve(payload);
-            } else {
-                return Promise.reject(payload.getFailureDescription());
             }
-        };
+            return Promise.resolve(payload);
+        } else {
+            return Promise.reject(payload.getFailureDescription());
+        }
     }
 
     private Header[] collectHeaders(ModelNode serverGroups) {
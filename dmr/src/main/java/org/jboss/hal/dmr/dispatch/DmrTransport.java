@@ -0,0 +1,57 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import static com.google.common.base.CaseFormat.LOWER_HYPHEN;
+import static com.google.common.base.CaseFormat.UPPER_UNDERSCORE;
+
+/**
+ * Defines how the dispatcher sends DMR operations to and reads DMR responses from the management endpoint. The transport is
+ * selected using {@link org.jboss.hal.config.Settings.Key#DMR_TRANSPORT}.
+ */
+public enum DmrTransport {
+
+    /** Base64 encoded DMR using {@value Dispatcher#APPLICATION_DMR_ENCODED}. This is the default. */
+    ENCODED,
+
+    /**
+     * Raw DMR bytes using {@value Dispatcher#APPLICATION_DMR}. Requests fail if the management endpoint doesn't support raw
+     * DMR.
+     */
+    BINARY,
+
+    /**
+     * Raw DMR bytes if the management endpoint supports them, base64 encoded DMR otherwise. Support is detected with the first
+     * request and remembered for the lifetime of the dispatcher. Operations which modify the model are never sent twice: If the
+     * response to such an operation cannot be read, the operation fails instead of falling back to base64 encoded DMR.
+     */
+    AUTO;
+
+    public static DmrTransport from(String value) {
+        if (value != null) {
+            for (DmrTransport transport : values()) {
+                if (transport.key().equals(value)) {
+                    return transport;
+                }
+            }
+        }
+        return ENCODED;
+    }
+
+    public String key() {
+        return UPPER_UNDERSCORE.to(LOWER_HYPHEN, name());
+    }
+}
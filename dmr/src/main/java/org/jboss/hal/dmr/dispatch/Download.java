@@ -0,0 +1,217 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.dispatch.FileSystemAccess.FileHandle;
+import org.jboss.hal.dmr.dispatch.FileSystemAccess.WritableFile;
+import org.jboss.hal.flow.Span;
+
+import elemental2.core.JsArray;
+import elemental2.core.JsIIterableResult;
+import elemental2.core.Uint8Array;
+import elemental2.dom.AbortController;
+import elemental2.dom.Blob;
+import elemental2.dom.Blob.ConstructorBlobPartsArrayUnionType;
+import elemental2.dom.BlobPropertyBag;
+import elemental2.dom.HTMLAnchorElement;
+import elemental2.dom.MouseEvent;
+import elemental2.dom.ReadableStreamDefaultReader;
+import elemental2.dom.Response;
+import elemental2.dom.URL;
+import elemental2.promise.Promise;
+import jsinterop.base.Js;
+
+import static elemental2.dom.DomGlobal.document;
+import static org.jboss.hal.dmr.dispatch.RequestHeader.CONTENT_TYPE;
+
+/**
+ * A download started by {@link Dispatcher#download(org.jboss.hal.dmr.Operation)}. The response body is read as a stream chunk
+ * by chunk, which makes it possible to report the progress after each chunk and to cancel the download at any time.
+ * <p>
+ * Use {@link #saveAs(String)} to write the content to a file. If the browser supports the File System Access API, each chunk
+ * is written to the file as soon as it has been read, so the content is never held in memory as a whole.
+ * <p>
+ * Use {@link #blob()} or {@link #text()} to read the content in the browser. Please note that the content is held in memory
+ * as a whole in this case: The chunks are gathered as binary parts of one {@link Blob}. Compared to reading the response as
+ * text, this saves the intermediate string (and its UTF-16 copy) while the download is in progress, but it doesn't reduce the
+ * memory needed for the content itself.
+ * <p>
+ * The response body can be read only once: {@link #blob()} and {@link #saveAs(String)} return the same promise when called
+ * again.
+ */
+public class Download {
+
+    /** The total number of bytes if the response has no or a malformed content length. */
+    public static final double UNKNOWN_SIZE = Span.UNKNOWN_SIZE;
+
+    private final Promise<Response> response;
+    private final AbortController controller;
+    private ProgressHandler progressHandler;
+    private Promise<Blob> blob;
+    private Promise<Void> saved;
+    private boolean picked;
+    private boolean cancelled;
+
+    Download(Promise<Response> response, AbortController controller) {
+        this.response = response;
+        this.controller = controller;
+        this.progressHandler = (loaded, total) -> {
+        };
+    }
+
+    public Download onProgress(ProgressHandler progressHandler) {
+        this.progressHandler = progressHandler;
+        return this;
+    }
+
+    /** Aborts the request. Pending promises are rejected. */
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            controller.abort();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Reads the content as a blob. */
+    @SuppressWarnings("unchecked")
+    public Promise<Blob> blob() {
+        if (blob == null) {
+            if (saved != null) {
+                return Promise.reject("The content has already been written to a file"); // NON-NLS
+            }
+            blob = response.then(r -> {
+                BlobPropertyBag options = BlobPropertyBag.create();
+                String contentType = r.headers.get(CONTENT_TYPE.header());
+                if (contentType != null) {
+                    options.setType(contentType);
+                }
+                if (r.body == null) {
+                    return r.blob();
+                }
+                JsArray<ConstructorBlobPartsArrayUnionType> parts = new JsArray<>();
+                return read(r, chunk -> {
+                    parts.push(ConstructorBlobPartsArrayUnionType.of(chunk));
+                    return Promise.resolve((Void) null);
+                }).then(__ -> Promise.resolve(new Blob(parts, options)));
+            });
+        }
+        return blob;
+    }
+
+    /** Reads the content as a string. The content is decoded once, after all chunks have been read. */
+    public Promise<String> text() {
+        return blob().then(Blob::text);
+    }
+
+    /**
+     * Saves the content to a file. If the browser supports the File System Access API, the user picks the file and the chunks
+     * are written to it while they're read. Otherwise the content is read as a {@link #blob()}, which is then saved using a
+     * download link.
+     * <p>
+     * Must be called while handling a user gesture. If the user closes the file picker, the download is cancelled.
+     */
+    public Promise<Void> saveAs(String filename) {
+        if (saved == null) {
+            if (blob == null && FileSystemAccess.supported()) {
+                saved = FileSystemAccess.pickFile(filename)
+                        .then(FileHandle::createWritable)
+                        .then(file -> {
+                            picked = true;
+                            return response.then(r -> write(r, file));
+                        })
+                        .catch_(error -> {
+                            if (picked) {
+                                controller.abort();
+                            } else {
+                                cancel();
+                            }
+                            return Promise.reject(error);
+                        });
+            } else {
+                saved = blob().then(b -> {
+                    saveBlob(b, filename);
+                    return Promise.resolve((Void) null);
+                });
+            }
+        }
+        return saved;
+    }
+
+    private Promise<Void> write(Response r, WritableFile file) {
+        Promise<Void> written = r.body != null ? read(r, file::write) : Promise.resolve((Void) null);
+        return written
+                .then(__ -> file.close())
+                .catch_(error -> {
+                    file.abort();
+                    return Promise.reject(error);
+                });
+    }
+
+    private void saveBlob(Blob blob, String filename) {
+        String url = URL.createObjectURL(blob);
+        HTMLAnchorElement anchor = Js.cast(document.createElement("a")); // NON-NLS
+        anchor.href = url;
+        anchor.download = filename;
+        document.body.appendChild(anchor);
+        anchor.dispatchEvent(new MouseEvent("click")); // NON-NLS
+        document.body.removeChild(anchor);
+        URL.revokeObjectURL(url);
+    }
+
+    private Promise<Void> read(Response r, ChunkHandler handler) {
+        double total = Exchange.contentLength(r.headers.get("Content-Length")); // NON-NLS
+        ReadableStreamDefaultReader<Uint8Array> reader = r.body.getReader().asReadableStreamDefaultReader();
+        return read(reader, handler, 0, total);
+    }
+
+    private Promise<Void> read(ReadableStreamDefaultReader<Uint8Array> reader, ChunkHandler handler, double loaded,
+            double total) {
+        return reader.read().then((JsIIterableResult<Uint8Array> result) -> {
+            if (result.isDone()) {
+                return Promise.resolve((Void) null);
+            }
+            Uint8Array chunk = result.getValue();
+            double bytes = loaded + chunk.byteLength;
+            // wait until the chunk has been handled, so a slow file doesn't pile up chunks in memory
+            return handler.handle(chunk).then(__ -> {
+                progressHandler.onProgress(bytes, total);
+                return read(reader, handler, bytes, total);
+            });
+        });
+    }
+
+    @FunctionalInterface
+    private interface ChunkHandler {
+
+        Promise<Void> handle(Uint8Array chunk);
+    }
+
+    @FunctionalInterface
+    public interface ProgressHandler {
+
+        /**
+         * Called after a chunk has been read.
+         *
+         * @param loaded the number of bytes read so far
+         * @param total the total number of bytes or {@link #UNKNOWN_SIZE} if the response has no content length
+         */
+        void onProgress(double loaded, double total);
+    }
+}
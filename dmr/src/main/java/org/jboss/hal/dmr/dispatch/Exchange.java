@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.List;
+
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.flow.Span;
+import org.jboss.hal.flow.Span.Call;
+import org.jboss.hal.flow.Tracing;
+
+import elemental2.promise.Promise;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.flow.Span.UNKNOWN_SIZE;
+
+/**
+ * Measures one request to the management endpoint. The measurement is recorded in the {@link DispatchStatistics} and as a call
+ * in the spans of the flow tasks which dispatched the request.
+ * <p>
+ * The spans must be {@linkplain #currentSpans() captured} when an operation is dispatched: A request might be sent later, e.g.
+ * when the {@link OperationBatcher} flushes its time window, and by then the span of the task is no longer current. A batched
+ * composite combines the operations of several tasks, so it's recorded in the span of each of them.
+ */
+class Exchange {
+
+    /**
+     * Parses the value of a {@code Content-Length} header. Measuring must never fail a request, so missing, malformed or
+     * negative values are reported as {@link Span#UNKNOWN_SIZE}.
+     */
+    static long contentLength(String header) {
+        if (header != null) {
+            try {
+                long size = Long.parseLong(header.trim());
+                if (size >= 0) {
+                    return size;
+                }
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        return UNKNOWN_SIZE;
+    }
+
+    /** @return the current span as a list or an empty list if no task is running */
+    static List<Span> currentSpans() {
+        Span span = Tracing.current();
+        return span != null ? singletonList(span) : emptyList();
+    }
+
+    private final DispatchStatistics statistics;
+    private final String operation;
+    private final String template;
+    private final List<Call> calls;
+    private final long start;
+    private long requestSize;
+    private long responseSize;
+    private boolean done;
+
+    Exchange(DispatchStatistics statistics, Operation operation, List<Span> spans) {
+        this.statistics = statistics;
+        this.operation = DispatchStatistics.operationName(operation);
+        this.template = DispatchStatistics.addressTemplate(operation);
+        String name = operation.asCli();
+        this.calls = spans.stream().map(span -> span.call(name)).collect(toList());
+        this.start = System.currentTimeMillis();
+        this.requestSize = UNKNOWN_SIZE;
+        this.responseSize = UNKNOWN_SIZE;
+        statistics.started();
+    }
+
+    /** Finishes or fails this exchange when the specified promise is settled. */
+    <T> Promise<T> measure(Promise<T> promise) {
+        return promise
+                .then(value -> {
+                    finish();
+                    return Promise.resolve(value);
+                })
+                .catch_(error -> {
+                    fail(error);
+                    return Promise.reject(error);
+                });
+    }
+
+    void request(long size) {
+        requestSize = size;
+        calls.forEach(call -> call.request(size));
+    }
+
+    void response(long size) {
+        responseSize = size;
+        calls.forEach(call -> call.response(size));
+    }
+
+    void finish() {
+        if (!done) {
+            done = true;
+            statistics.finished(operation, template, System.currentTimeMillis() - start, requestSize, responseSize, false);
+            calls.forEach(Call::finish);
+        }
+    }
+
+    void fail(Object error) {
+        if (!done) {
+            done = true;
+            statistics.finished(operation, template, System.currentTimeMillis() - start, requestSize, responseSize, true);
+            calls.forEach(call -> call.fail(error));
+        }
+    }
+}
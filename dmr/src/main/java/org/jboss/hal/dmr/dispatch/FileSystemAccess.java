@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import elemental2.core.Uint8Array;
+import elemental2.dom.DomGlobal;
+import elemental2.promise.Promise;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.resources.UIConstants.OBJECT;
+
+/**
+ * The parts of the <a href="https://developer.mozilla.org/en-US/docs/Web/API/File_System_Access_API">File System Access API</a>
+ * used to write a {@link Download} directly to a file. The API is not available in all browsers, so check
+ * {@link #supported()} before using it.
+ */
+class FileSystemAccess {
+
+    private static final String SHOW_SAVE_FILE_PICKER = "showSaveFilePicker";
+
+    static boolean supported() {
+        return Js.asPropertyMap(DomGlobal.window).has(SHOW_SAVE_FILE_PICKER);
+    }
+
+    /** Lets the user pick the file to save to. Must be called while handling a user gesture. */
+    static Promise<FileHandle> pickFile(String suggestedName) {
+        SaveFilePickerOptions options = new SaveFilePickerOptions();
+        options.suggestedName = suggestedName;
+        return showSaveFilePicker(options);
+    }
+
+    @JsMethod(namespace = GLOBAL, name = SHOW_SAVE_FILE_PICKER)
+    private static native Promise<FileHandle> showSaveFilePicker(SaveFilePickerOptions options);
+
+    private FileSystemAccess() {
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    static class SaveFilePickerOptions {
+
+        String suggestedName;
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "FileSystemFileHandle")
+    static class FileHandle {
+
+        native Promise<WritableFile> createWritable();
+    }
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "FileSystemWritableFileStream")
+    static class WritableFile {
+
+        native Promise<Void> write(Uint8Array data);
+
+        native Promise<Void> close();
+
+        native Promise<Void> abort();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.Arrays;
+
+import org.jboss.hal.dmr.ModelNode;
+
+/**
+ * Latency histogram with fixed buckets. Besides the response times, the histogram counts failed requests and the number of
+ * transferred bytes. Percentiles are approximated by the upper bound of the bucket which contains the percentile.
+ */
+public class LatencyHistogram {
+
+    /** Upper bounds of the buckets in milliseconds. The last bucket collects everything above the last bound. */
+    static final long[] BOUNDS = { 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000 };
+
+    private final String name;
+    private final int[] buckets;
+    private int count;
+    private int errors;
+    private long totalTime;
+    private long minTime;
+    private long maxTime;
+    private long bytesSent;
+    private long bytesReceived;
+
+    LatencyHistogram(String name) {
+        this.name = name;
+        this.buckets = new int[BOUNDS.length + 1];
+    }
+
+    void record(long millis, long requestSize, long responseSize, boolean failed) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && millis > BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket]++;
+        minTime = count == 0 ? millis : Math.min(minTime, millis);
+        maxTime = Math.max(maxTime, millis);
+        totalTime += millis;
+        count++;
+        if (failed) {
+            errors++;
+        }
+        if (requestSize > 0) {
+            bytesSent += requestSize;
+        }
+        if (responseSize > 0) {
+            bytesReceived += responseSize;
+        }
+    }
+
+    void reset() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        errors = 0;
+        totalTime = 0;
+        minTime = 0;
+        maxTime = 0;
+        bytesSent = 0;
+        bytesReceived = 0;
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 100
+     * @return the upper bound of the bucket which contains the percentile, but not more than the maximum response time
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i];
+            if (cumulative >= rank) {
+                return i < BOUNDS.length ? Math.min(BOUNDS[i], maxTime) : maxTime;
+            }
+        }
+        return maxTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /** @return the ratio of failed requests between 0 and 1 */
+    public double getErrorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    public long getMean() {
+        return count == 0 ? 0 : totalTime / count;
+    }
+
+    public long getMin() {
+        return minTime;
+    }
+
+    public long getMax() {
+        return maxTime;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    ModelNode toModelNode() {
+        ModelNode node = new ModelNode();
+        node.get("count").set(count);
+        node.get("errors").set(errors);
+        node.get("min").set(minTime);
+        node.get("mean").set(getMean());
+        node.get("max").set(maxTime);
+        node.get("p50").set(percentile(50));
+        node.get("p90").set(percentile(90));
+        node.get("p99").set(percentile(99));
+        node.get("bytes-sent").set(bytesSent);
+        node.get("bytes-received").set(bytesReceived);
+        ModelNode histogram = node.get("buckets");
+        for (int i = 0; i < buckets.length; i++) {
+            histogram.get(i < BOUNDS.length ? "<=" + BOUNDS[i] : ">" + BOUNDS[BOUNDS.length - 1]).set(buckets[i]);
+        }
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram(" + name + ", count=" + count + ", errors=" + errors + ", p50=" + percentile(50) + ", p99="
+                + percentile(99) + ")";
+    }
+}
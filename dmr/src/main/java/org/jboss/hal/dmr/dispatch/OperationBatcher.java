@@ -0,0 +1,179 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.flow.Span;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.setTimeout;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+
+/**
+ * Collects read-only operations which are dispatched within a short time window and sends them as one composite. The composite
+ * result is split into its steps, which are passed to the callbacks of the individual operations in the order the operations
+ * were added.
+ * <p>
+ * If the composite fails, the operations are sent again one by one. That way each caller gets its own result or error just as
+ * if the operation had not been batched.
+ * <p>
+ * The batch is sent after the tasks which added the operations have returned. So the spans of these tasks are passed along
+ * with the operations and the composite is recorded in all of them.
+ */
+class OperationBatcher {
+
+    static final int WINDOW = 10; // ms
+    static final int MAX_SIZE = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationBatcher.class);
+
+    private final Sender sender;
+    private final Consumer<Operation> recorder;
+    private final Scheduler scheduler;
+    private final BatchStatistics statistics;
+    private List<PendingOperation> pending;
+    private double timeoutHandle;
+
+    /**
+     * @param sender sends an operation or composite
+     * @param recorder records an operation which was executed as part of a composite
+     */
+    OperationBatcher(Sender sender, Consumer<Operation> recorder) {
+        this(sender, recorder, new TimeoutScheduler());
+    }
+
+    OperationBatcher(Sender sender, Consumer<Operation> recorder, Scheduler scheduler) {
+        this.sender = sender;
+        this.recorder = recorder;
+        this.scheduler = scheduler;
+        this.statistics = new BatchStatistics();
+        this.pending = new ArrayList<>();
+    }
+
+    /**
+     * @param spans the spans of the tasks which dispatched the operation, captured when the operation was dispatched
+     */
+    void add(Operation operation, List<Span> spans, Consumer<ModelNode> success, Consumer<Object> failure) {
+        pending.add(new PendingOperation(operation, spans, success, failure));
+        if (pending.size() >= MAX_SIZE) {
+            flush();
+        } else if (pending.size() == 1) {
+            timeoutHandle = scheduler.schedule(this::flush, WINDOW);
+        }
+    }
+
+    BatchStatistics statistics() {
+        return statistics;
+    }
+
+    private void flush() {
+        scheduler.cancel(timeoutHandle);
+        List<PendingOperation> batch = pending;
+        pending = new ArrayList<>();
+
+        if (batch.size() == 1) {
+            sendSingle(batch.get(0));
+        } else if (!batch.isEmpty()) {
+            Composite composite = new Composite(batch.stream().map(po -> po.operation).collect(toList()));
+            Set<Span> spans = new LinkedHashSet<>();
+            batch.forEach(po -> spans.addAll(po.spans));
+            sender.send(composite, false, new ArrayList<>(spans),
+                    payload -> {
+                        statistics.batched(batch.size());
+                        logger.debug("Sent {} operations as one composite: {}", batch.size(), statistics);
+                        CompositeResult result = new CompositeResult(payload.get(RESULT));
+                        for (int i = 0; i < batch.size(); i++) {
+                            PendingOperation po = batch.get(i);
+                            recorder.accept(po.operation);
+                            po.success.accept(result.step(i));
+                        }
+                    },
+                    error -> {
+                        statistics.fallback();
+                        logger.debug("Composite of {} operations failed: {}. Send operations one by one.", batch.size(),
+                                error);
+                        batch.forEach(this::sendSingle);
+                    });
+        }
+    }
+
+    private void sendSingle(PendingOperation po) {
+        sender.send(po.operation, true, po.spans, po.success, po.failure);
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    @FunctionalInterface
+    interface Sender {
+
+        /**
+         * Sends an operation.
+         *
+         * @param record whether the operation should be recorded
+         * @param spans the spans to record the request in
+         */
+        void send(Operation operation, boolean record, List<Span> spans, Consumer<ModelNode> success,
+                Consumer<Object> failure);
+    }
+
+    /** Abstracts the timer which closes the time window. */
+    interface Scheduler {
+
+        double schedule(Runnable task, int delay);
+
+        void cancel(double handle);
+    }
+
+    private static class TimeoutScheduler implements Scheduler {
+
+        @Override
+        public double schedule(Runnable task, int delay) {
+            return setTimeout(__ -> task.run(), delay);
+        }
+
+        @Override
+        public void cancel(double handle) {
+            clearTimeout(handle);
+        }
+    }
+
+    private static class PendingOperation {
+
+        final Operation operation;
+        final List<Span> spans;
+        final Consumer<ModelNode> success;
+        final Consumer<Object> failure;
+
+        PendingOperation(Operation operation, List<Span> spans, Consumer<ModelNode> success, Consumer<Object> failure) {
+            this.operation = operation;
+            this.spans = spans;
+            this.success = success;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.promise.Promise;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.QUERY;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_LOG_FILE;
+
+/**
+ * Short-lived cache for the payloads of read-only operations.
+ * <p>
+ * Identical operations (same address, name, parameters and headers) which are dispatched while the first one is still in flight
+ * share its response. If a TTL &gt; 0 is configured, payloads are kept for the given number of milliseconds. Successful write
+ * operations invalidate all entries whose address is a parent, child or wildcard match of the <em>parent</em> of the written
+ * address. Using the parent also covers resources which reflect the state of a sibling (e.g. {@code server=s} and
+ * {@code server-config=s} of a host).
+ * <p>
+ * Operations which read runtime state are never cached nor shared: {@code query} (used for polling),
+ * {@code read-log-file} and all operations with {@code include-runtime=true}.
+ * <p>
+ * Callers always get their own copy of the payload, so modifying the result doesn't affect other callers.
+ */
+class ReadCache {
+
+    private static final int MAX_ENTRIES = 500;
+    private static final String WILDCARD = "*";
+    private static final Set<String> RUNTIME_OPERATIONS = new HashSet<>(asList(QUERY, READ_LOG_FILE));
+    private static final Logger logger = LoggerFactory.getLogger(ReadCache.class);
+
+    private final IntSupplier ttl;
+    private final Map<String, Entry> entries;
+    private final Map<String, InFlight> inFlight;
+    private int generation;
+
+    /** @param ttl supplies the time to live in milliseconds. 0 disables caching (in-flight requests are still shared). */
+    ReadCache(IntSupplier ttl) {
+        this.ttl = ttl;
+        this.entries = new HashMap<>();
+        this.inFlight = new HashMap<>();
+        this.generation = 0;
+    }
+
+    Promise<ModelNode> get(Operation operation, Supplier<Promise<ModelNode>> dispatch) {
+        if (!cacheable(operation)) {
+            return dispatch.get();
+        }
+        String key = key(operation);
+        int ttl = this.ttl.getAsInt();
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (now - entry.timestamp < ttl) {
+                logger.debug("Read cache hit: {}", operation.asCli());
+                return Promise.resolve(entry.payload.clone());
+            }
+            entries.remove(key);
+        }
+
+        InFlight pending = pending(key);
+        if (pending != null) {
+            logger.debug("Share in-flight request: {}", operation.asCli());
+            return pending.promise.then(payload -> Promise.resolve(payload.clone()));
+        }
+
+        int startGeneration = generation;
+        List<ResourceAddress> addresses = addresses(operation);
+        InFlight own = new InFlight(addresses);
+        own.promise = dispatch.get()
+                .then(payload -> {
+                    settle(key, own);
+                    if (ttl > 0 && startGeneration == generation) {
+                        purge(now);
+                        entries.put(key, new Entry(payload.clone(), addresses, now));
+                    }
+                    return Promise.resolve(payload);
+                })
+                .catch_(error -> {
+                    settle(key, own);
+                    return Promise.reject(error);
+                });
+        track(key, own);
+        // Sharing callers attach their callbacks directly to the promise and copy the payload before
+        // the callbacks of this caller (which are attached to the derived promise) can modify it.
+        return own.promise.then(payload -> Promise.resolve(payload));
+    }
+
+    /** Removes all entries and in-flight requests which might be affected by the given write operation. */
+    void invalidate(Operation operation) {
+        generation++;
+        List<ResourceAddress> written = invalidated(operation);
+        int before = entries.size();
+        entries.values().removeIf(entry -> affected(entry.addresses, written));
+        inFlight.values().removeIf(pending -> affected(pending.addresses, written));
+        if (before != entries.size()) {
+            logger.debug("Removed {} entries from read cache after {}", before - entries.size(), operation.asCli());
+        }
+    }
+
+    void track(String key, InFlight own) {
+        inFlight.put(key, own);
+    }
+
+    /**
+     * Removes the in-flight entry of a settled request. If the entry has been invalidated and the same read has been dispatched
+     * again in the meantime, the key belongs to the newer request, which must stay shared.
+     */
+    void settle(String key, InFlight own) {
+        inFlight.remove(key, own);
+    }
+
+    InFlight pending(String key) {
+        return inFlight.get(key);
+    }
+
+    private void purge(long now) {
+        if (entries.size() >= MAX_ENTRIES) {
+            int ttl = this.ttl.getAsInt();
+            entries.values().removeIf(entry -> now - entry.timestamp >= ttl);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+    }
+
+    // ------------------------------------------------------ keys and addresses
+
+    /** @return whether the operation (or all steps of a composite) may be cached and shared */
+    static boolean cacheable(Operation operation) {
+        if (operation instanceof Composite) {
+            for (Operation step : (Composite) operation) {
+                if (!cacheable(step)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return !RUNTIME_OPERATIONS.contains(operation.getName())
+                && !(operation.has(INCLUDE_RUNTIME) && operation.get(INCLUDE_RUNTIME).asBoolean(false));
+    }
+
+    static String key(Operation operation) {
+        StringBuilder builder = new StringBuilder();
+        normalize(operation, builder);
+        return builder.toString();
+    }
+
+    /** Writes the node with sorted object keys so that the order of parameters doesn't matter. */
+    private static void normalize(ModelNode node, StringBuilder builder) {
+        switch (node.getType()) {
+            case OBJECT:
+                List<String> keys = new ArrayList<>(node.keys());
+                keys.sort(String::compareTo);
+                builder.append('{');
+                for (String key : keys) {
+                    builder.append(key).append("=>");
+                    normalize(node.get(key), builder);
+                    builder.append(',');
+                }
+                builder.append('}');
+                break;
+            case LIST:
+                builder.append('[');
+                for (ModelNode element : node.asList()) {
+                    normalize(element, builder);
+                    builder.append(',');
+                }
+                builder.append(']');
+                break;
+            case PROPERTY:
+                Property property = node.asProperty();
+                builder.append('(').append(property.getName()).append("=>");
+                normalize(property.getValue(), builder);
+                builder.append(')');
+                break;
+            default:
+                builder.append(node.getType().name()).append(':').append(node.asString());
+                break;
+        }
+    }
+
+    static List<ResourceAddress> addresses(Operation operation) {
+        if (operation instanceof Composite) {
+            List<ResourceAddress> addresses = new ArrayList<>();
+            for (Operation step : (Composite) operation) {
+                addresses.addAll(addresses(step));
+            }
+            return addresses;
+        }
+        return singletonList(operation.getAddress());
+    }
+
+    /** @return the parents of the addresses written by the operation */
+    static List<ResourceAddress> invalidated(Operation operation) {
+        List<ResourceAddress> addresses = new ArrayList<>();
+        for (ResourceAddress address : addresses(operation)) {
+            addresses.add(address.getParent());
+        }
+        return addresses;
+    }
+
+    static boolean affected(List<ResourceAddress> cached, List<ResourceAddress> written) {
+        for (ResourceAddress c : cached) {
+            for (ResourceAddress w : written) {
+                if (related(c, w)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Two addresses are related if one is a (wildcard) prefix of the other. */
+    private static boolean related(ResourceAddress a, ResourceAddress b) {
+        List<Property> as = a.isDefined() ? a.asPropertyList() : new ArrayList<>();
+        List<Property> bs = b.isDefined() ? b.asPropertyList() : new ArrayList<>();
+        for (Iterator<Property> i = as.iterator(), j = bs.iterator(); i.hasNext() && j.hasNext();) {
+            Property p = i.next();
+            Property q = j.next();
+            if (!p.getName().equals(q.getName())) {
+                return false;
+            }
+            String pv = p.getValue().asString();
+            String qv = q.getValue().asString();
+            if (!pv.equals(qv) && !WILDCARD.equals(pv) && !WILDCARD.equals(qv)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Entry {
+
+        final ModelNode payload;
+        final List<ResourceAddress> addresses;
+        final long timestamp;
+
+        Entry(ModelNode payload, List<ResourceAddress> addresses, long timestamp) {
+            this.payload = payload;
+            this.addresses = addresses;
+            this.timestamp = timestamp;
+        }
+    }
+
+    static class InFlight {
+
+        final List<ResourceAddress> addresses;
+        Promise<ModelNode> promise;
+
+        InFlight(List<ResourceAddress> addresses) {
+            this.addresses = addresses;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.dom.FormData;
+import elemental2.dom.ProgressEvent;
+import elemental2.dom.XMLHttpRequest;
+import elemental2.dom.XMLHttpRequest.SendDataUnionType;
+import elemental2.promise.Promise;
+import jsinterop.base.Js;
+
+import static elemental2.dom.DomGlobal.setTimeout;
+import static org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod.POST;
+import static org.jboss.hal.flow.Span.UNKNOWN_SIZE;
+
+/**
+ * An upload prepared by {@link Dispatcher#prepareUpload(elemental2.dom.File, org.jboss.hal.dmr.Operation)}. The upload reports
+ * its progress together with the current throughput and can be cancelled.
+ * <p>
+ * The management endpoint has no means to append partial content to a deployment, so an upload cannot be resumed. Instead, if
+ * the connection fails while the file is still being transmitted, the upload is retried up to {@value #MAX_ATTEMPTS} times with
+ * an increasing delay. Failures after the file has been transmitted completely are not retried, since the operation might have
+ * been executed already.
+ */
+public class Upload {
+
+    public static final int MAX_ATTEMPTS = 3;
+    private static final int RETRY_DELAY = 2000; // ms, multiplied by the number of failed attempts
+    private static final Logger logger = LoggerFactory.getLogger(Upload.class);
+
+    private final String url;
+    private final FormData formData;
+    private final Supplier<Exchange> exchange;
+    private final Consumer<XMLHttpRequest> prepare;
+    private final ResponseProcessor processor;
+    private ProgressHandler progressHandler;
+    private XMLHttpRequest xhr;
+    private boolean transmitted;
+    private boolean cancelled;
+
+    Upload(String url, FormData formData, Supplier<Exchange> exchange, Consumer<XMLHttpRequest> prepare,
+            ResponseProcessor processor) {
+        this.url = url;
+        this.formData = formData;
+        this.exchange = exchange;
+        this.prepare = prepare;
+        this.processor = processor;
+        this.progressHandler = (loaded, total, bytesPerSecond) -> {
+        };
+    }
+
+    public Upload onProgress(ProgressHandler progressHandler) {
+        this.progressHandler = progressHandler;
+        return this;
+    }
+
+    /** Sends the file and resolves with the result of the operation. */
+    public Promise<ModelNode> send() {
+        Exchange exchange = this.exchange.get();
+        return exchange.measure(transmit(1).then(xhr -> {
+            exchange.response(xhr.responseText != null ? xhr.responseText.length() : UNKNOWN_SIZE);
+            return processor.process(xhr);
+        }));
+    }
+
+    /** Aborts the upload. The promise returned by {@link #send()} is rejected. */
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            if (xhr != null) {
+                xhr.abort();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private Promise<XMLHttpRequest> transmit(int attempt) {
+        return request().catch_(error -> {
+            if (!cancelled && !transmitted && attempt < MAX_ATTEMPTS) {
+                logger.warn("Upload failed in attempt {} of {}: {}. Retry in {} ms", attempt, MAX_ATTEMPTS, error,
+                        RETRY_DELAY * attempt);
+                return delay(RETRY_DELAY * attempt).then(__ -> cancelled
+                        ? Promise.reject(error)
+                        : transmit(attempt + 1));
+            }
+            return Promise.reject(error);
+        });
+    }
+
+    private Promise<XMLHttpRequest> request() {
+        return new Promise<>((resolve, reject) -> {
+            double start = System.currentTimeMillis();
+            transmitted = false;
+            xhr = new XMLHttpRequest();
+            xhr.open(POST.name(), url);
+            prepare.accept(xhr);
+            xhr.upload.addEventListener("progress", event -> { // NON-NLS
+                ProgressEvent<?> progressEvent = Js.uncheckedCast(event);
+                if (progressEvent.lengthComputable) {
+                    double seconds = (System.currentTimeMillis() - start) / 1000;
+                    progressHandler.onProgress(progressEvent.loaded, progressEvent.total,
+                            seconds > 0 ? progressEvent.loaded / seconds : 0);
+                }
+            });
+            xhr.upload.addEventListener("load", event -> transmitted = true); // NON-NLS
+            xhr.onload = event -> resolve.onInvoke(xhr);
+            xhr.onerror = event -> {
+                reject.onInvoke("Upload failed. Unable to reach the management interface.");
+                return null;
+            };
+            xhr.onabort = event -> reject.onInvoke("Upload cancelled.");
+            xhr.send(SendDataUnionType.of(formData));
+        });
+    }
+
+    private Promise<Void> delay(int ms) {
+        return new Promise<>((resolve, reject) -> setTimeout(__ -> resolve.onInvoke((Void) null), ms));
+    }
+
+    @FunctionalInterface
+    public interface ProgressHandler {
+
+        /**
+         * Called whenever a part of the file has been transmitted.
+         *
+         * @param loaded the number of bytes sent so far
+         * @param total the total number of bytes
+         * @param bytesPerSecond the average throughput of the current attempt
+         */
+        void onProgress(double loaded, double total, double bytesPerSecond);
+    }
+
+    @FunctionalInterface
+    interface ResponseProcessor {
+
+        Promise<ModelNode> process(XMLHttpRequest xhr);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DataCodecTest {
+
+    private ModelNode modelNode;
+
+    @Before
+    public void setUp() {
+        modelNode = new ModelNode();
+        modelNode.get("string").set("foo");
+        modelNode.get("unicode").set("äöü € 日本");
+        modelNode.get("int").set(42);
+        modelNode.get("long").set(Long.MIN_VALUE);
+        modelNode.get("double").set(-3.14159);
+        modelNode.get("boolean").set(true);
+        modelNode.get("bytes").set(new byte[] { 0, 1, -1, 127, -128 });
+        modelNode.get("type").set(ModelType.OBJECT);
+        modelNode.get("expression").setExpression("${jboss.home.dir}");
+        modelNode.get("property").set("name", "value");
+        modelNode.get("undefined");
+        modelNode.get("list").add("a").add(1).add(false);
+    }
+
+    @Test
+    public void writeMatchesJBossDmr() throws IOException {
+        org.jboss.dmr.ModelNode external = org.jboss.dmr.ModelNode.fromString(modelNode.toString());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        external.writeExternal(new DataOutputStream(baos));
+
+        DataOutput out = new DataOutput();
+        modelNode.writeExternal(out);
+
+        assertArrayEquals(baos.toByteArray(), out.toByteArray());
+    }
+
+    @Test
+    public void readMatchesJBossDmr() throws IOException {
+        DataOutput out = new DataOutput();
+        modelNode.writeExternal(out);
+
+        org.jboss.dmr.ModelNode external = new org.jboss.dmr.ModelNode();
+        external.readExternal(new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+
+        assertEquals(org.jboss.dmr.ModelNode.fromString(modelNode.toString()), external);
+    }
+
+    @Test
+    public void base64RoundTrip() {
+        ModelNode copy = ModelNode.fromBase64(modelNode.toBase64String());
+        assertEquals(modelNode, copy);
+    }
+
+    @Test
+    public void base64MatchesJdk() {
+        for (int length = 0; length < 10; length++) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (i * 37 - 100);
+            }
+            String encoded = java.util.Base64.getEncoder().encodeToString(bytes);
+            assertEquals(encoded, Base64.encodeBytes(bytes));
+            assertArrayEquals(bytes, Base64.decodeBytes(encoded));
+        }
+    }
+
+    @Test
+    public void base64IgnoresLineBreaks() {
+        byte[] bytes = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII);
+        String encoded = java.util.Base64.getMimeEncoder(8, "\r\n".getBytes(StandardCharsets.US_ASCII))
+                .encodeToString(bytes);
+        assertArrayEquals(bytes, Base64.decodeBytes(encoded));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void base64InvalidCharacter() {
+        Base64.decodeBytes("Zm9v!");
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Micro benchmark of the DMR codec ({@link ModelNode#toBase64String()} and {@link ModelNode#fromBase64(String)}).
+ * <p>
+ * The former codec relied on {@code JsArray} and {@code DataView} and can only run in the browser, so this benchmark doesn't
+ * compare against it. It measures the current codec on the JVM and verifies that each payload survives a round trip. Compare
+ * the numbers between revisions of the codec or use the browser profiler to compare against the former codec.
+ * <p>
+ * Usage: {@code DmrCodecBenchmark [directory]}. If a directory is given, all {@code *.dmr} files in that directory are read as
+ * recorded payloads (DMR string format as written by {@code org.jboss.dmr.ModelNode.toString()}). Otherwise a synthetic
+ * {@code read-resource-description} like payload is used. The results are reported using the logger.
+ * <p>
+ * This is not a unit test and is not run by the build. Run it from your IDE or using {@code java -cp ...}.
+ */
+public class DmrCodecBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(DmrCodecBenchmark.class);
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    public static void main(String[] args) throws IOException {
+        List<ModelNode> payloads = args.length > 0 ? recorded(Paths.get(args[0])) : synthetic();
+        for (ModelNode payload : payloads) {
+            String base64 = payload.toBase64String();
+            if (!payload.equals(ModelNode.fromBase64(base64))) {
+                throw new IllegalStateException("Payload does not survive a round trip");
+            }
+            logger.info("Payload of {} bytes ({} base64 characters)", base64.length() * 3 / 4, base64.length());
+            run("encode", payload::toBase64String);
+            run("decode", () -> ModelNode.fromBase64(base64));
+        }
+    }
+
+    private static void run(String name, Supplier<Object> codec) {
+        for (int i = 0; i < WARMUP; i++) {
+            codec.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.get();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+        logger.info("  {}: {} ms/op", name, String.format("%.3f", millis));
+    }
+
+    private static List<ModelNode> recorded(Path directory) throws IOException {
+        List<ModelNode> payloads = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".dmr")).collect(toList())) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    payloads.add(ExternalModelNode.read(in));
+                }
+            }
+        }
+        return payloads;
+    }
+
+    private static List<ModelNode> synthetic() {
+        ModelNode description = new ModelNode();
+        ModelNode attributes = description.get("attributes");
+        for (int i = 0; i < 2_000; i++) {
+            ModelNode attribute = attributes.get("attribute-" + i);
+            attribute.get("type").set(ModelType.STRING);
+            attribute.get("description").set("The description of attribute " + i + " which is a bit longer.");
+            attribute.get("expressions-allowed").set(true);
+            attribute.get("nillable").set(i % 2 == 0);
+            attribute.get("min-length").set(1L);
+            attribute.get("max-length").set(2147483647L);
+            attribute.get("default").set(i * 1.5);
+            attribute.get("access-type").set("read-write");
+            attribute.get("storage").set("configuration");
+            attribute.get("restart-required").set("no-services");
+        }
+        List<ModelNode> payloads = new ArrayList<>();
+        payloads.add(description);
+        return payloads;
+    }
+}
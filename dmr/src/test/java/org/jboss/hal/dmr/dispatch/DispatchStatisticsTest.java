@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.flow.Span.UNKNOWN_SIZE;
+import static org.junit.Assert.*;
+
+public class DispatchStatisticsTest {
+
+    @Test
+    public void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram("empty");
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getErrorRate(), 0);
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (int i = 0; i < 90; i++) {
+            histogram.record(20, UNKNOWN_SIZE, UNKNOWN_SIZE, false);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(400, UNKNOWN_SIZE, UNKNOWN_SIZE, false);
+        }
+        histogram.record(42_000, UNKNOWN_SIZE, UNKNOWN_SIZE, true);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1, histogram.getErrors());
+        assertEquals(0.01, histogram.getErrorRate(), 0.0001);
+        assertEquals(20, histogram.getMin());
+        assertEquals(42_000, histogram.getMax());
+        assertEquals(25, histogram.percentile(50));
+        assertEquals(25, histogram.percentile(90));
+        assertEquals(500, histogram.percentile(99));
+        assertEquals(42_000, histogram.percentile(100));
+    }
+
+    @Test
+    public void percentileCappedByMax() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(3, UNKNOWN_SIZE, UNKNOWN_SIZE, false);
+        assertEquals(3, histogram.percentile(99));
+    }
+
+    @Test
+    public void bytes() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(1, 100, 2000, false);
+        histogram.record(1, UNKNOWN_SIZE, UNKNOWN_SIZE, false);
+        assertEquals(100, histogram.getBytesSent());
+        assertEquals(2000, histogram.getBytesReceived());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getBytesSent());
+    }
+
+    @Test
+    public void addressTemplates() {
+        assertEquals("/", DispatchStatistics.addressTemplate(ResourceAddress.root()));
+        assertEquals("/subsystem=datasources/data-source=*",
+                DispatchStatistics.addressTemplate(ResourceAddress.from("/subsystem=datasources/data-source=ExampleDS")));
+        assertEquals("/host=*/server=*/core-service=platform-mbean",
+                DispatchStatistics
+                        .addressTemplate(ResourceAddress.from("/host=primary/server=one/core-service=platform-mbean")));
+    }
+
+    @Test
+    public void compositeKeys() {
+        Operation foo = new Operation.Builder(ResourceAddress.from("/subsystem=foo"), READ_RESOURCE_OPERATION).build();
+        Operation bar = new Operation.Builder(ResourceAddress.from("/subsystem=bar"), READ_ATTRIBUTE_OPERATION).build();
+        Operation baz = new Operation.Builder(ResourceAddress.from("/subsystem=foo"), READ_ATTRIBUTE_OPERATION).build();
+
+        Composite mixed = new Composite(foo, bar);
+        assertEquals("composite[read-attribute, read-resource]", DispatchStatistics.operationName(mixed));
+        assertEquals(DispatchStatistics.COMPOSITE_TEMPLATE, DispatchStatistics.addressTemplate(mixed));
+
+        Composite same = new Composite(foo, baz);
+        assertEquals("/subsystem=foo", DispatchStatistics.addressTemplate(same));
+    }
+
+    @Test
+    public void concurrency() {
+        DispatchStatistics statistics = new DispatchStatistics();
+        statistics.started();
+        statistics.started();
+        statistics.finished("read-resource", "/", 10, UNKNOWN_SIZE, UNKNOWN_SIZE, false);
+        assertEquals(1, statistics.getInFlight());
+        assertEquals(2, statistics.getMaxInFlight());
+        assertEquals(1, statistics.getTotal().getCount());
+        assertEquals(1, statistics.getOperations().size());
+        assertEquals(1, statistics.getTemplates().size());
+
+        statistics.reset();
+        assertEquals(1, statistics.getMaxInFlight());
+        assertTrue(statistics.getOperations().isEmpty());
+        assertTrue(statistics.toJson().contains("\"max-in-flight\""));
+    }
+
+    @Test
+    public void contentLength() {
+        assertEquals(1024, Exchange.contentLength("1024"));
+        assertEquals(1024, Exchange.contentLength(" 1024 "));
+        // downloads >= 2 GB
+        assertEquals(5_000_000_000L, Exchange.contentLength("5000000000"));
+        assertEquals(UNKNOWN_SIZE, Exchange.contentLength(null));
+        assertEquals(UNKNOWN_SIZE, Exchange.contentLength(""));
+        assertEquals(UNKNOWN_SIZE, Exchange.contentLength("foo"));
+        assertEquals(UNKNOWN_SIZE, Exchange.contentLength("-1"));
+        assertEquals(UNKNOWN_SIZE, Exchange.contentLength("99999999999999999999"));
+    }
+
+    @Test
+    public void largeSizes() {
+        DispatchStatistics statistics = new DispatchStatistics();
+        statistics.started();
+        statistics.finished("read-resource", "/", 10, 3_000_000_000L, 5_000_000_000L, false);
+        assertEquals(3_000_000_000L, statistics.getTotal().getBytesSent());
+        assertEquals(5_000_000_000L, statistics.getTotal().getBytesReceived());
+    }
+}
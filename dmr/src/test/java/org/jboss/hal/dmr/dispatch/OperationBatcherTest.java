@@ -0,0 +1,293 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.flow.Span;
+import org.jboss.hal.flow.Tracing;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class OperationBatcherTest {
+
+    private List<Request> requests;
+    private List<Operation> recorded;
+    private ManualScheduler scheduler;
+    private OperationBatcher batcher;
+
+    @Before
+    public void setUp() {
+        requests = new ArrayList<>();
+        recorded = new ArrayList<>();
+        scheduler = new ManualScheduler();
+        batcher = new OperationBatcher(
+                (operation, record, spans, success, failure) -> requests.add(
+                        new Request(operation, record, spans, success, failure)),
+                recorded::add, scheduler);
+    }
+
+    @Test
+    public void single() {
+        Result result = new Result();
+        batcher.add(readName("foo"), emptyList(), result::success, result::failure);
+        assertTrue(requests.isEmpty());
+
+        scheduler.run();
+        assertEquals(1, requests.size());
+        Request request = requests.get(0);
+        assertFalse(request.operation instanceof Composite);
+        assertTrue(request.record);
+
+        request.success.accept(payload("foo"));
+        assertEquals("foo", result.payload.get(RESULT).asString());
+        assertEquals(0, batcher.statistics().getBatches());
+    }
+
+    @Test
+    public void coalesce() {
+        Result foo = new Result();
+        Result bar = new Result();
+        batcher.add(readName("foo"), emptyList(), foo::success, foo::failure);
+        batcher.add(readName("bar"), emptyList(), bar::success, bar::failure);
+        assertEquals(1, scheduler.scheduled);
+        assertTrue(requests.isEmpty());
+
+        scheduler.run();
+        assertEquals(1, requests.size());
+        Request request = requests.get(0);
+        assertTrue(request.operation instanceof Composite);
+        assertEquals(2, ((Composite) request.operation).size());
+        assertFalse(request.record);
+
+        request.success.accept(compositePayload("foo", "bar"));
+        assertEquals("foo", foo.payload.get(RESULT).asString());
+        assertEquals("bar", bar.payload.get(RESULT).asString());
+        assertEquals(2, recorded.size());
+
+        BatchStatistics statistics = batcher.statistics();
+        assertEquals(1, statistics.getBatches());
+        assertEquals(2, statistics.getOperations());
+        assertEquals(1, statistics.getRoundTripsSaved());
+        assertEquals(0, statistics.getFallbacks());
+    }
+
+    @Test
+    public void fallback() {
+        Result foo = new Result();
+        Result bar = new Result();
+        batcher.add(readName("foo"), emptyList(), foo::success, foo::failure);
+        batcher.add(readName("bar"), emptyList(), bar::success, bar::failure);
+        scheduler.run();
+        requests.get(0).failure.accept("composite failed");
+
+        // the operations are sent again one by one and each caller gets its own outcome
+        assertEquals(3, requests.size());
+        assertTrue(requests.get(1).record);
+        assertTrue(requests.get(2).record);
+        requests.get(1).success.accept(payload("foo"));
+        requests.get(2).failure.accept("bar failed");
+
+        assertEquals("foo", foo.payload.get(RESULT).asString());
+        assertNull(foo.error);
+        assertNull(bar.payload);
+        assertEquals("bar failed", bar.error);
+        assertTrue(recorded.isEmpty());
+
+        BatchStatistics statistics = batcher.statistics();
+        assertEquals(0, statistics.getBatches());
+        assertEquals(1, statistics.getFallbacks());
+        assertEquals(-1, statistics.getRoundTripsSaved());
+    }
+
+    @Test
+    public void order() {
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Result result = new Result();
+            results.add(result);
+            batcher.add(readName("op" + i), emptyList(), result::success, result::failure);
+        }
+        scheduler.run();
+
+        Composite composite = (Composite) requests.get(0).operation;
+        int index = 0;
+        for (Operation step : composite) {
+            assertEquals("op" + index, step.get(NAME).asString());
+            index++;
+        }
+        requests.get(0).success.accept(compositePayload("op0", "op1", "op2"));
+        for (int i = 0; i < 3; i++) {
+            assertEquals("op" + i, results.get(i).payload.get(RESULT).asString());
+        }
+    }
+
+    @Test
+    public void maxSize() {
+        for (int i = 0; i < OperationBatcher.MAX_SIZE; i++) {
+            Result result = new Result();
+            batcher.add(readName("op" + i), emptyList(), result::success, result::failure);
+        }
+        // flushed immediately without waiting for the time window
+        assertEquals(1, requests.size());
+        assertEquals(OperationBatcher.MAX_SIZE, ((Composite) requests.get(0).operation).size());
+        assertEquals(1, scheduler.cancelled);
+
+        // the next operation opens a new window
+        Result next = new Result();
+        batcher.add(readName("next"), emptyList(), next::success, next::failure);
+        assertEquals(2, scheduler.scheduled);
+        scheduler.run();
+        assertEquals(2, requests.size());
+        assertFalse(requests.get(1).operation instanceof Composite);
+    }
+
+    @Test
+    public void spans() {
+        Span foo = Tracing.start("flow", "foo");
+        Span bar = Tracing.start("flow", "bar");
+        Result ignored = new Result();
+        batcher.add(readName("foo"), singletonList(foo), ignored::success, ignored::failure);
+        batcher.add(readName("bar"), singletonList(bar), ignored::success, ignored::failure);
+        batcher.add(readName("baz"), emptyList(), ignored::success, ignored::failure);
+        batcher.add(readName("qux"), singletonList(foo), ignored::success, ignored::failure);
+
+        // the batch is sent after the tasks have returned, but still in their spans
+        assertNull(Tracing.current());
+        scheduler.run();
+        Request request = requests.get(0);
+        assertEquals(asList(foo, bar), request.spans);
+
+        // the composite is recorded in both spans
+        Exchange exchange = new Exchange(new DispatchStatistics(), request.operation, request.spans);
+        exchange.request(42);
+        exchange.finish();
+        assertEquals(1, foo.calls().size());
+        assertEquals(1, bar.calls().size());
+        assertEquals(42, foo.calls().get(0).requestSize());
+        assertFalse(foo.calls().get(0).failed());
+
+        // the fallback sends each operation in the span of its own task
+        request.failure.accept("composite failed");
+        assertEquals(singletonList(foo), requests.get(1).spans);
+        assertEquals(singletonList(bar), requests.get(2).spans);
+        assertTrue(requests.get(3).spans.isEmpty());
+        assertEquals(singletonList(foo), requests.get(4).spans);
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private Operation readName(String name) {
+        return new Operation.Builder(ResourceAddress.from("/subsystem=" + name), READ_ATTRIBUTE_OPERATION)
+                .param(NAME, name)
+                .build();
+    }
+
+    private ModelNode payload(String value) {
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(SUCCESS);
+        payload.get(RESULT).set(value);
+        return payload;
+    }
+
+    private ModelNode compositePayload(String... values) {
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(SUCCESS);
+        for (int i = 0; i < values.length; i++) {
+            payload.get(RESULT).get("step-" + (i + 1)).set(payload(values[i]));
+        }
+        return payload;
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Request {
+
+        final Operation operation;
+        final boolean record;
+        final List<Span> spans;
+        final Consumer<ModelNode> success;
+        final Consumer<Object> failure;
+
+        Request(Operation operation, boolean record, List<Span> spans, Consumer<ModelNode> success,
+                Consumer<Object> failure) {
+            this.operation = operation;
+            this.record = record;
+            this.spans = spans;
+            this.success = success;
+            this.failure = failure;
+        }
+    }
+
+    private static class Result {
+
+        ModelNode payload;
+        Object error;
+
+        void success(ModelNode payload) {
+            this.payload = payload;
+        }
+
+        void failure(Object error) {
+            this.error = error;
+        }
+    }
+
+    private static class ManualScheduler implements OperationBatcher.Scheduler {
+
+        Runnable task;
+        int scheduled;
+        int cancelled;
+
+        @Override
+        public double schedule(Runnable task, int delay) {
+            this.task = task;
+            scheduled++;
+            return scheduled;
+        }
+
+        @Override
+        public void cancel(double handle) {
+            task = null;
+            cancelled++;
+        }
+
+        void run() {
+            Runnable current = task;
+            task = null;
+            if (current != null) {
+                current.run();
+            }
+        }
+    }
+}
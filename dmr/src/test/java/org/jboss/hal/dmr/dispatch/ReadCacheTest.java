@@ -0,0 +1,203 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.List;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.*;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "DuplicateStringLiteralInspection" })
+public class ReadCacheTest {
+
+    // ------------------------------------------------------ keys
+
+    @Test
+    public void keyIgnoresParameterOrder() {
+        Operation one = new Operation.Builder(ResourceAddress.from("/subsystem=datasources"), READ_RESOURCE_OPERATION)
+                .param(RECURSIVE, true)
+                .param(INCLUDE_DEFAULTS, false)
+                .build();
+        Operation two = new Operation.Builder(ResourceAddress.from("/subsystem=datasources"), READ_RESOURCE_OPERATION)
+                .param(INCLUDE_DEFAULTS, false)
+                .param(RECURSIVE, true)
+                .build();
+        assertEquals(ReadCache.key(one), ReadCache.key(two));
+    }
+
+    @Test
+    public void keyDistinguishesOperations() {
+        ResourceAddress address = ResourceAddress.from("/subsystem=datasources");
+        Operation recursive = new Operation.Builder(address, READ_RESOURCE_OPERATION).param(RECURSIVE, true).build();
+        Operation flat = new Operation.Builder(address, READ_RESOURCE_OPERATION).param(RECURSIVE, false).build();
+        Operation other = new Operation.Builder(ResourceAddress.from("/subsystem=logging"), READ_RESOURCE_OPERATION)
+                .param(RECURSIVE, true)
+                .build();
+        Operation header = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(RECURSIVE, true)
+                .header(ROLES, "Monitor")
+                .build();
+
+        assertNotEquals(ReadCache.key(recursive), ReadCache.key(flat));
+        assertNotEquals(ReadCache.key(recursive), ReadCache.key(other));
+        assertNotEquals(ReadCache.key(recursive), ReadCache.key(header));
+    }
+
+    @Test
+    public void keyDistinguishesTypes() {
+        ResourceAddress address = ResourceAddress.from("/subsystem=datasources");
+        Operation string = new Operation.Builder(address, READ_ATTRIBUTE_OPERATION).param(NAME, "1").build();
+        Operation number = new Operation.Builder(address, READ_ATTRIBUTE_OPERATION).param(NAME, 1).build();
+        assertNotEquals(ReadCache.key(string), ReadCache.key(number));
+    }
+
+    // ------------------------------------------------------ cacheable
+
+    @Test
+    public void cacheable() {
+        ResourceAddress address = ResourceAddress.from("/subsystem=datasources");
+        assertTrue(ReadCache.cacheable(new Operation.Builder(address, READ_RESOURCE_OPERATION).build()));
+        assertTrue(ReadCache.cacheable(new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, false)
+                .build()));
+    }
+
+    @Test
+    public void runtimeNotCacheable() {
+        ResourceAddress address = ResourceAddress.from("/subsystem=logging/log-file=server.log");
+        assertFalse(ReadCache.cacheable(new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .build()));
+        assertFalse(ReadCache.cacheable(new Operation.Builder(address, READ_LOG_FILE).build()));
+        assertFalse(ReadCache.cacheable(new Operation.Builder(ResourceAddress.from("/host=primary/server-config=*"), QUERY)
+                .param(SELECT, new ModelNode().add(STATUS))
+                .build()));
+    }
+
+    @Test
+    public void compositeNotCacheable() {
+        Operation read = new Operation.Builder(ResourceAddress.from("/subsystem=logging"), READ_RESOURCE_OPERATION).build();
+        Operation query = new Operation.Builder(ResourceAddress.from("/host=primary/server-config=*"), QUERY).build();
+        assertTrue(ReadCache.cacheable(new Composite(read)));
+        assertFalse(ReadCache.cacheable(new Composite(read, query)));
+    }
+
+    // ------------------------------------------------------ invalidation
+
+    @Test
+    public void invalidateSameAddress() {
+        assertAffected("/subsystem=datasources/data-source=ds", "/subsystem=datasources/data-source=ds");
+    }
+
+    @Test
+    public void invalidateParentAndChild() {
+        assertAffected("/subsystem=datasources", "/subsystem=datasources/data-source=ds");
+        assertAffected("/", "/subsystem=datasources/data-source=ds");
+        assertAffected("/subsystem=datasources/data-source=ds/connection-properties=url",
+                "/subsystem=datasources/data-source=ds");
+    }
+
+    @Test
+    public void invalidateSibling() {
+        // read-children-resources of the parent and siblings share the parent
+        assertAffected("/subsystem=datasources/data-source=other", "/subsystem=datasources/data-source=ds");
+        assertAffected("/host=primary/server=one", "/host=primary/server-config=one");
+    }
+
+    @Test
+    public void invalidateWildcard() {
+        assertAffected("/host=*/server=*", "/host=primary/server-config=one");
+        assertAffected("/host=*/server=*/subsystem=undertow", "/host=primary/server-config=one");
+        assertAffected("/subsystem=datasources/data-source=*", "/subsystem=datasources/data-source=ds");
+        assertAffected("/host=primary/server=one", "/host=*/server-config=one");
+    }
+
+    @Test
+    public void keepUnrelated() {
+        assertNotAffected("/subsystem=logging", "/subsystem=datasources/data-source=ds");
+        assertNotAffected("/host=secondary/server=one", "/host=primary/server-config=one");
+        assertNotAffected("/subsystem=datasources/xa-data-source=ds", "/subsystem=undertow/server=default");
+    }
+
+    @Test
+    public void invalidateComposite() {
+        Operation one = new Operation.Builder(ResourceAddress.from("/subsystem=logging/logger=foo"), ADD).build();
+        Operation two = new Operation.Builder(ResourceAddress.from("/subsystem=datasources/data-source=ds"), REMOVE).build();
+        List<ResourceAddress> written = ReadCache.invalidated(new Composite(one, two));
+        assertTrue(ReadCache.affected(singletonList(ResourceAddress.from("/subsystem=logging")), written));
+        assertTrue(ReadCache.affected(singletonList(ResourceAddress.from("/subsystem=datasources")), written));
+        assertFalse(ReadCache.affected(singletonList(ResourceAddress.from("/subsystem=undertow")), written));
+    }
+
+    // ------------------------------------------------------ in-flight
+
+    @Test
+    public void settleRemovesOwnEntry() {
+        ReadCache cache = new ReadCache(() -> 0);
+        Operation read = new Operation.Builder(ResourceAddress.from("/subsystem=datasources"), READ_RESOURCE_OPERATION).build();
+        String key = ReadCache.key(read);
+        ReadCache.InFlight first = new ReadCache.InFlight(ReadCache.addresses(read));
+        cache.track(key, first);
+        assertSame(first, cache.pending(key));
+
+        cache.settle(key, first);
+        assertNull(cache.pending(key));
+    }
+
+    @Test
+    public void settleKeepsNewerEntry() {
+        ReadCache cache = new ReadCache(() -> 0);
+        ResourceAddress address = ResourceAddress.from("/subsystem=datasources/data-source=ds");
+        Operation read = new Operation.Builder(address, READ_RESOURCE_OPERATION).build();
+        Operation write = new Operation.Builder(address, WRITE_ATTRIBUTE_OPERATION).build();
+        String key = ReadCache.key(read);
+
+        ReadCache.InFlight first = new ReadCache.InFlight(ReadCache.addresses(read));
+        cache.track(key, first);
+        // a write invalidates the first read while it's in flight, then the same read is dispatched again
+        cache.invalidate(write);
+        assertNull(cache.pending(key));
+        ReadCache.InFlight second = new ReadCache.InFlight(ReadCache.addresses(read));
+        cache.track(key, second);
+
+        // the response of the first read must not remove the entry of the second one
+        cache.settle(key, first);
+        assertSame(second, cache.pending(key));
+        cache.settle(key, second);
+        assertNull(cache.pending(key));
+    }
+
+    private void assertAffected(String cached, String written) {
+        assertTrue(cached + " should be invalidated by a write to " + written, affected(cached, written));
+    }
+
+    private void assertNotAffected(String cached, String written) {
+        assertFalse(cached + " should not be invalidated by a write to " + written, affected(cached, written));
+    }
+
+    private boolean affected(String cached, String written) {
+        Operation read = new Operation.Builder(ResourceAddress.from(cached), READ_RESOURCE_OPERATION).build();
+        Operation write = new Operation.Builder(ResourceAddress.from(written), WRITE_ATTRIBUTE_OPERATION).build();
+        return ReadCache.affected(ReadCache.addresses(read), ReadCache.invalidated(write));
+    }
+}
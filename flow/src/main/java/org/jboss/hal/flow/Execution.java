@@ -0,0 +1,241 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.jboss.hal.flow.FlowRunner.CANCELLED_ERROR;
+import static org.jboss.hal.flow.FlowRunner.TIMEOUT_ERROR;
+
+/**
+ * Starts the tasks of a {@linkplain SequenceImpl sequence} and keeps track of their outcome. Takes care of the maximal
+ * concurrency, fail fast, the timeout of the sequence and of single tasks, cancellation and the {@linkplain Lanes lane} of the
+ * sequence.
+ * <p>
+ * The execution neither uses promises nor timers of the browser. Tasks are started by a {@link Starter} which calls back once
+ * the task is done, timeouts are scheduled by a {@link Scheduler}.
+ */
+final class Execution {
+
+    private final int size;
+    private final Starter starter;
+    private final Lanes lanes;
+    private final Scheduler scheduler;
+    private final List<Runnable> withdrawals;
+    private boolean failFast;
+    private int concurrency;
+    private long timeout;
+    private long taskTimeout;
+    private Priority priority;
+    private BooleanSupplier cancelled;
+
+    private Runnable tick;
+    private Runnable success;
+    private Consumer<Object> failure;
+    private int next;
+    private int running;
+    private boolean finished;
+    private double timeoutHandle;
+
+    Execution(int size, Starter starter, Lanes lanes, Scheduler scheduler) {
+        this.size = size;
+        this.starter = starter;
+        this.lanes = lanes;
+        this.scheduler = scheduler;
+        this.withdrawals = new ArrayList<>();
+        this.failFast = Sequence.DEFAULT_FAIL_FAST;
+        this.concurrency = -1;
+        this.timeout = Sequence.DEFAULT_TIMEOUT;
+        this.taskTimeout = Sequence.DEFAULT_TASK_TIMEOUT;
+        this.priority = Sequence.DEFAULT_PRIORITY;
+        this.cancelled = () -> false;
+    }
+
+    Execution failFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    /** The number of tasks which are executed at the same time. Values &lt;= 0 start all tasks at once. */
+    Execution concurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    Execution timeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    Execution taskTimeout(long taskTimeout) {
+        this.taskTimeout = taskTimeout;
+        return this;
+    }
+
+    Execution priority(Priority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    Execution cancelled(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+        return this;
+    }
+
+    // ------------------------------------------------------ run
+
+    /**
+     * Starts the execution. Exactly one of {@code success} or {@code failure} is called when the execution is done.
+     *
+     * @param tick called each time a task is done and the execution continues
+     */
+    void run(Runnable tick, Runnable success, Consumer<Object> failure) {
+        this.tick = tick;
+        this.success = success;
+        this.failure = failure;
+        lanes.enter(priority);
+        if (size == 0) {
+            succeed();
+            return;
+        }
+        if (timeout > 0) {
+            timeoutHandle = scheduler.schedule(() -> fail(TIMEOUT_ERROR), timeout);
+        }
+        int initial = concurrency > 0 ? Math.min(concurrency, size) : size;
+        for (int i = 0; i < initial && !finished; i++) {
+            startNext();
+        }
+    }
+
+    private void startNext() {
+        if (finished) {
+            return;
+        }
+        if (next < size) {
+            int index = next++;
+            running++;
+            withdrawals.add(lanes.start(priority, () -> start(index)));
+        } else if (running == 0) {
+            succeed();
+        }
+    }
+
+    private void start(int index) {
+        if (finished) {
+            return;
+        }
+        if (cancelled.getAsBoolean()) {
+            running--;
+            fail(CANCELLED_ERROR);
+            return;
+        }
+
+        TaskRun run = new TaskRun();
+        if (taskTimeout > 0) {
+            run.timeoutHandle = scheduler.schedule(() -> {
+                if (run.settle()) {
+                    failed(TIMEOUT_ERROR);
+                }
+            }, taskTimeout);
+        }
+        starter.start(index, () -> {
+            if (run.settle()) {
+                succeeded();
+            }
+        }, error -> {
+            if (run.settle()) {
+                failed(error);
+            }
+        });
+    }
+
+    private void succeeded() {
+        running--;
+        if (!finished) {
+            tick.run();
+            startNext();
+        }
+    }
+
+    private void failed(Object error) {
+        running--;
+        if (!finished) {
+            if (failFast || CANCELLED_ERROR.equals(error)) {
+                fail(error);
+            } else {
+                tick.run();
+                startNext();
+            }
+        }
+    }
+
+    private void succeed() {
+        finished = true;
+        cleanup();
+        success.run();
+    }
+
+    private void fail(Object error) {
+        if (!finished) {
+            finished = true;
+            cleanup();
+            failure.accept(error);
+        }
+    }
+
+    private void cleanup() {
+        if (timeoutHandle != 0) {
+            scheduler.cancel(timeoutHandle);
+        }
+        // tasks of this execution which are still held back must not be started anymore
+        withdrawals.forEach(Runnable::run);
+        withdrawals.clear();
+        lanes.leave(priority);
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    @FunctionalInterface
+    interface Starter {
+
+        /**
+         * Starts the task with the given zero-based index. Exactly one of the callbacks must be called when the task is done.
+         */
+        void start(int index, Runnable success, Consumer<Object> failure);
+    }
+
+    /** Makes sure that a task is settled only once: either by its callbacks or by the task timeout. */
+    private final class TaskRun {
+
+        boolean settled;
+        double timeoutHandle;
+
+        /** @return true if the task has not been settled before */
+        boolean settle() {
+            if (settled) {
+                return false;
+            }
+            settled = true;
+            if (timeoutHandle != 0) {
+                scheduler.cancel(timeoutHandle);
+            }
+            return true;
+        }
+    }
+}
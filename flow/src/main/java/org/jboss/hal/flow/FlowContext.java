@@ -45,11 +45,20 @@ public class FlowContext {
         return error.equals(FlowRunner.TIMEOUT_ERROR);
     }
 
+    /**
+     * Method to check if the error in a {@linkplain Promise.CatchOnRejectedCallbackFn catch} callback is due to a
+     * {@linkplain #cancel() cancellation}.
+     */
+    public static boolean cancelled(Object error) {
+        return error.equals(FlowRunner.CANCELLED_ERROR);
+    }
+
     private final Stack<Object> stack;
     private final Map<String, Object> data;
     final Progress progress;
     FlowStatus status;
     String failure;
+    private boolean cancelled;
 
     /**
      * Creates a new instance with a {@linkplain Progress#NOOP noop progress implementation}.
@@ -68,6 +77,7 @@ public class FlowContext {
         this.stack = new Stack<>();
         this.data = new HashMap<>();
         this.status = FlowStatus.NOT_STARTED;
+        this.cancelled = false;
     }
 
     // ------------------------------------------------------ control
@@ -111,6 +121,14 @@ public class FlowContext {
         return Promise.reject(error);
     }
 
+    /**
+     * Cancels the execution. Tasks which have not been started yet are skipped and the flow is rejected with a cancellation
+     * error. Running tasks are not aborted, but long-running tasks can check {@link #cancelled()} to stop early.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
     // ------------------------------------------------------ data
 
     /**
@@ -200,6 +218,13 @@ public class FlowContext {
         return status == FlowStatus.TIMEOUT;
     }
 
+    /**
+     * @return whether the execution has been {@linkplain #cancel() cancelled}
+     */
+    public boolean cancelled() {
+        return cancelled;
+    }
+
     /**
      * @return whether the execution failed
      */
@@ -21,6 +21,7 @@ import elemental2.promise.Promise;
 abstract class FlowRunner<C extends FlowContext> implements Promisable<C>, Subscription<C> {
 
     static final String TIMEOUT_ERROR = "flow.timeout";
+    static final String CANCELLED_ERROR = "flow.cancelled";
 
     final C context;
 
@@ -83,6 +84,8 @@ abstract class FlowRunner<C extends FlowContext> implements Promisable<C>, Subsc
                 .catch_(error -> {
                     if (TIMEOUT_ERROR.equals(error)) {
                         context.status = FlowStatus.TIMEOUT;
+                    } else if (CANCELLED_ERROR.equals(error)) {
+                        context.status = FlowStatus.CANCELLED;
                     } else {
                         context.status = FlowStatus.FAILURE;
                         context.failure = String.valueOf(error);
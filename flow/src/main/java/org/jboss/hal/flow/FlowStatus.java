@@ -43,9 +43,20 @@ public enum FlowStatus {
     /**
      * The execution failed.
      */
-    FAILURE;
+    FAILURE,
+
+    /**
+     * The execution has been {@linkplain FlowContext#cancel() cancelled}.
+     */
+    CANCELLED;
 
     public static FlowStatus fromError(Object error) {
-        return FlowContext.timeout(error) ? TIMEOUT : FAILURE;
+        if (FlowContext.timeout(error)) {
+            return TIMEOUT;
+        } else if (FlowContext.cancelled(error)) {
+            return CANCELLED;
+        } else {
+            return FAILURE;
+        }
     }
 }
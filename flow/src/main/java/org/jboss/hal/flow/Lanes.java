@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of running {@linkplain Priority#INTERACTIVE interactive} flows and holds back the tasks of
+ * {@linkplain Priority#BACKGROUND background} flows.
+ * <p>
+ * A task is held back for at most {@value #MAX_HOLD_BACK} ms. This way background flows don't starve if an interactive flow
+ * never finishes (e.g. because one of its tasks never settles).
+ */
+final class Lanes {
+
+    /** The maximal time in milliseconds a background task is held back. */
+    static final long MAX_HOLD_BACK = 10_000;
+
+    private static final Lanes shared = new Lanes(Scheduler.TIMEOUT, MAX_HOLD_BACK);
+
+    /** @return the lanes shared by all flows */
+    static Lanes shared() {
+        return shared;
+    }
+
+    private final Scheduler scheduler;
+    private final long maxHoldBack;
+    private final List<Waiting> waiting;
+    private int interactive;
+
+    Lanes(Scheduler scheduler, long maxHoldBack) {
+        this.scheduler = scheduler;
+        this.maxHoldBack = maxHoldBack;
+        this.waiting = new ArrayList<>();
+        this.interactive = 0;
+    }
+
+    void enter(Priority priority) {
+        if (priority == Priority.INTERACTIVE) {
+            interactive++;
+        }
+    }
+
+    void leave(Priority priority) {
+        if (priority == Priority.INTERACTIVE) {
+            interactive = Math.max(0, interactive - 1);
+            if (interactive == 0 && !waiting.isEmpty()) {
+                List<Waiting> resume = new ArrayList<>(waiting);
+                waiting.clear();
+                for (Waiting w : resume) {
+                    scheduler.cancel(w.handle);
+                    w.start.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the task start now or - for background tasks - as soon as no interactive flow is running, but no later than
+     * {@value #MAX_HOLD_BACK} ms.
+     *
+     * @return an action which withdraws the start if it's still held back. Does nothing if the start has already been run.
+     */
+    Runnable start(Priority priority, Runnable start) {
+        if (priority == Priority.BACKGROUND && interactive > 0) {
+            Waiting w = new Waiting(start);
+            waiting.add(w);
+            w.handle = scheduler.schedule(() -> {
+                if (waiting.remove(w)) {
+                    start.run();
+                }
+            }, maxHoldBack);
+            return () -> {
+                if (waiting.remove(w)) {
+                    scheduler.cancel(w.handle);
+                }
+            };
+        } else {
+            start.run();
+            return () -> {
+            };
+        }
+    }
+
+    /** @return the number of held back tasks */
+    int waiting() {
+        return waiting.size();
+    }
+
+    private static final class Waiting {
+
+        final Runnable start;
+        double handle;
+
+        Waiting(Runnable start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+
+/**
+ * The priority of {@linkplain Flow#parallel(FlowContext, List) parallel} and {@linkplain Flow#sequential(FlowContext, List)
+ * sequential} flows.
+ * <p>
+ * Flows with priority {@link #BACKGROUND} don't start new tasks as long as flows with priority {@link #INTERACTIVE} are
+ * running. Tasks which already have been started are not affected.
+ */
+public enum Priority {
+
+    /**
+     * Flows which are started by the user and whose result is waited for, e.g. reading the metadata of a place.
+     */
+    INTERACTIVE,
+
+    /**
+     * Flows which neither wait for nor hold back other flows.
+     */
+    NORMAL,
+
+    /**
+     * Flows which are started speculatively, e.g. prefetching metadata. They yield to {@linkplain #INTERACTIVE interactive}
+     * flows.
+     */
+    BACKGROUND
+}
@@ -103,7 +103,8 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
             if (failFast && lastFailure != null) {
                 cancel(reject, lastFailure);
             } else {
-                task.apply(context)
+                String taskName = task.name() != null ? task.name() : "#" + (index + 1);
+                Tracing.trace("repeat", taskName, context, task)
                         .then(c -> {
                             index++;
                             c.progress.tick();
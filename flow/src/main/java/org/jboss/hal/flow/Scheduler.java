@@ -0,0 +1,41 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.setTimeout;
+
+/** Runs delayed code. Abstracts {@code setTimeout()} so that timeouts and hold-backs can be tested outside the browser. */
+interface Scheduler {
+
+    /** Uses {@code setTimeout()} and {@code clearTimeout()}. */
+    Scheduler TIMEOUT = new Scheduler() {
+        @Override
+        public double schedule(Runnable task, long delay) {
+            return setTimeout(__ -> task.run(), delay);
+        }
+
+        @Override
+        public void cancel(double handle) {
+            clearTimeout(handle);
+        }
+    };
+
+    /** @return a handle which can be used to {@linkplain #cancel(double) cancel} the task */
+    double schedule(Runnable task, long delay);
+
+    void cancel(double handle);
+}
@@ -35,6 +35,21 @@ public interface Sequence<C extends FlowContext> extends Promisable<C>, Subscrip
      */
     long DEFAULT_TIMEOUT = -1;
 
+    /**
+     * By default, parallel flows execute all tasks at once.
+     */
+    int DEFAULT_MAX_CONCURRENCY = -1;
+
+    /**
+     * By default, no timeout is used for single tasks.
+     */
+    long DEFAULT_TASK_TIMEOUT = -1;
+
+    /**
+     * By default, flows neither wait for nor hold back other flows.
+     */
+    Priority DEFAULT_PRIORITY = Priority.NORMAL;
+
     /**
      * Whether the execution of {@linkplain Task tasks} should fail fast or fail last. Defaults to {@value DEFAULT_FAIL_FAST}.
      */
@@ -47,4 +62,35 @@ public interface Sequence<C extends FlowContext> extends Promisable<C>, Subscrip
      * does not provide a method to cancel running promises.
      */
     Sequence<C> timeout(long timeout);
+
+    /**
+     * The maximum number of tasks which are executed at the same time. Defaults to no limit
+     * ({@value #DEFAULT_MAX_CONCURRENCY}).
+     * <p>
+     * Please note that this only applies to parallel flows. Tasks which exceed the limit are queued and started in order as
+     * soon as a running task has finished.
+     */
+    Sequence<C> maxConcurrency(int maxConcurrency);
+
+    /**
+     * The timeout in milliseconds for each {@linkplain Task task}. Defaults to no timeout ({@value #DEFAULT_TASK_TIMEOUT}).
+     * <p>
+     * A task which runs into the timeout is treated like a failed task: Depending on {@link #failFast(boolean)} the sequence is
+     * rejected or continues with the next task. The task itself is not aborted.
+     */
+    Sequence<C> taskTimeout(long taskTimeout);
+
+    /**
+     * The priority of this sequence. Defaults to {@link Priority#NORMAL}.
+     * <p>
+     * {@linkplain Priority#BACKGROUND Background} sequences don't start new tasks as long as {@linkplain Priority#INTERACTIVE
+     * interactive} sequences are running.
+     */
+    Sequence<C> priority(Priority priority);
+
+    /**
+     * The name of this sequence used when {@linkplain Tracing tracing} the execution of the tasks. Defaults to the execution
+     * mode.
+     */
+    Sequence<C> name(String name);
 }
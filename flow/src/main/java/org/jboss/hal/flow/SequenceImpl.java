@@ -15,15 +15,10 @@
  */
 package org.jboss.hal.flow;
 
-import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 import elemental2.promise.Promise;
-import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
-import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
-
-import static elemental2.dom.DomGlobal.clearTimeout;
-import static elemental2.dom.DomGlobal.setTimeout;
 
 class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Sequence<C> {
 
@@ -33,21 +28,23 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
 
     private final Mode mode;
     private final List<Task<C>> tasks;
-    private final Iterator<Task<C>> iterator;
     private boolean failFast;
     private long timeout;
-    private double timeoutHandle;
-    private boolean timedOut;
+    private int maxConcurrency;
+    private long taskTimeout;
+    private Priority priority;
+    private String name;
 
     SequenceImpl(final Mode mode, final C context, final List<Task<C>> tasks) {
         super(context, tasks.size());
         this.mode = mode;
         this.tasks = tasks;
-        this.iterator = tasks.iterator();
         this.failFast = DEFAULT_FAIL_FAST;
         this.timeout = DEFAULT_TIMEOUT;
-        this.timeoutHandle = 0;
-        this.timedOut = false;
+        this.maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        this.taskTimeout = DEFAULT_TASK_TIMEOUT;
+        this.priority = DEFAULT_PRIORITY;
+        this.name = mode.name().toLowerCase();
     }
 
     // ------------------------------------------------------ sequence API
@@ -64,100 +61,78 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
         return this;
     }
 
-    // ------------------------------------------------------ run
-
     @Override
-    Promise<C> run() {
-        if (tasks.isEmpty()) {
-            return Promise.resolve(context);
-        } else {
-            switch (mode) {
-                case PARALLEL:
-                    return parallel();
-                case SEQUENTIAL:
-                    return sequential();
-                default:
-                    throw new IllegalStateException("Unexpected flow execution mode: " + mode);
-            }
-        }
+    public Sequence<C> maxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
     }
 
-    // ------------------------------------------------------ run parallel
-
-    @SuppressWarnings("unchecked")
-    private Promise<C> parallel() {
-        Promise<C>[] promises = tasks.stream()
-                .map(task -> task.apply(context).then(c -> {
-                    context.progress.tick();
-                    return Promise.resolve(c);
-                }))
-                .toArray(Promise[]::new);
-        if (failFast) {
-            return FlowPromise.all(promises).then(__ -> {
-                context.progress.finish();
-                return Promise.resolve(context);
-            });
-        } else {
-            return FlowPromise.allSettled(promises).then(__ -> {
-                context.progress.finish();
-                return Promise.resolve(context);
-            });
-        }
+    @Override
+    public Sequence<C> taskTimeout(final long taskTimeout) {
+        this.taskTimeout = taskTimeout;
+        return this;
     }
 
-    // ------------------------------------------------------ run sequential
+    @Override
+    public Sequence<C> priority(final Priority priority) {
+        this.priority = priority;
+        return this;
+    }
 
-    private Promise<C> sequential() {
-        return new Promise<C>((resolve, reject) -> {
-            if (timeout > 0) {
-                timeoutHandle = setTimeout(__ -> rejectWithTimeout(reject), timeout);
-            }
-            next(resolve, reject);
-        }).then(c -> {
-            context.progress.finish();
-            return Promise.resolve(context);
-        }).catch_(Promise::reject);
+    @Override
+    public Sequence<C> name(final String name) {
+        this.name = name;
+        return this;
     }
 
-    private void next(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
-        if (timedOut) {
-            reject.onInvoke(TIMEOUT_ERROR);
-        } else {
-            iterator.next().apply(context)
-                    .then(c -> {
-                        if (timedOut) {
-                            reject.onInvoke(TIMEOUT_ERROR);
-                        } else {
-                            if (iterator.hasNext()) {
-                                c.progress.tick();
-                                next(resolve, reject);
-                            } else {
-                                resolve.onInvoke(c);
-                            }
-                        }
-                        return null;
-                    })
-                    .catch_(error -> {
-                        if (failFast) {
-                            reject.onInvoke(error);
-                        } else {
-                            if (iterator.hasNext()) {
-                                context.progress.tick();
-                                next(resolve, reject);
-                            } else {
-                                resolve.onInvoke(context);
-                            }
-                        }
-                        return null;
-                    });
+    // ------------------------------------------------------ run
+
+    @Override
+    Promise<C> run() {
+        if (tasks.isEmpty()) {
+            return Promise.resolve(context);
         }
+        Execution execution = new Execution(tasks.size(), this::start, Lanes.shared(), Scheduler.TIMEOUT)
+                .failFast(failFast)
+                .taskTimeout(taskTimeout)
+                .priority(priority)
+                .cancelled(context::cancelled);
+        switch (mode) {
+            case PARALLEL:
+                // the timeout only applies to sequential flows
+                execution.concurrency(maxConcurrency);
+                break;
+            case SEQUENTIAL:
+                execution.concurrency(1).timeout(timeout);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected flow execution mode: " + mode);
+        }
+        return new Promise<C>((resolve, reject) -> execution.run(context.progress::tick,
+                () -> resolve.onInvoke(context), reject::onInvoke))
+                .then(c -> {
+                    context.progress.finish();
+                    return Promise.resolve(context);
+                });
     }
 
-    // ------------------------------------------------------ helper methods
-
-    private void rejectWithTimeout(RejectCallbackFn reject) {
-        clearTimeout(timeoutHandle);
-        timedOut = true;
-        reject.onInvoke(TIMEOUT_ERROR);
+    /** Starts and traces the task with the given index. */
+    private void start(int index, Runnable success, Consumer<Object> failure) {
+        Task<C> task = tasks.get(index);
+        String taskName = task.name() != null ? task.name() : "#" + (index + 1);
+        Promise<C> promise;
+        try {
+            promise = Tracing.trace(name, taskName, context, task);
+        } catch (RuntimeException e) {
+            failure.accept(e);
+            return;
+        }
+        promise.then(c -> {
+            success.run();
+            return null;
+        }).catch_(error -> {
+            failure.accept(error);
+            return null;
+        });
     }
 }
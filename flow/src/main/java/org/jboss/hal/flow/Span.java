@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the execution of a {@linkplain Task task}: When it was started and finished, whether it failed and which
+ * {@linkplain Call calls} (e.g. DMR operations) it made.
+ */
+public class Span {
+
+    /** The size of a request or response which is not known. */
+    public static final int UNKNOWN_SIZE = -1;
+
+    private final String flow;
+    private final String task;
+    private final long start;
+    private final List<Call> calls;
+    private long end;
+    private String failure;
+
+    Span(String flow, String task) {
+        this.flow = flow;
+        this.task = task;
+        this.start = System.currentTimeMillis();
+        this.calls = new ArrayList<>();
+        this.end = -1;
+        this.failure = null;
+    }
+
+    /** Marks the span as successfully finished. */
+    public void finish() {
+        end = System.currentTimeMillis();
+    }
+
+    /** Marks the span as failed. */
+    public void fail(Object error) {
+        end = System.currentTimeMillis();
+        failure = String.valueOf(error);
+    }
+
+    /** Starts a new call made by the task. */
+    public Call call(String name) {
+        Call call = new Call(name);
+        calls.add(call);
+        return call;
+    }
+
+    public String flow() {
+        return flow;
+    }
+
+    public String task() {
+        return task;
+    }
+
+    public long start() {
+        return start;
+    }
+
+    /** @return the end of the span or -1 if the span is still running */
+    public long end() {
+        return end;
+    }
+
+    public boolean running() {
+        return end < 0;
+    }
+
+    public boolean failed() {
+        return failure != null;
+    }
+
+    /** @return the failure or {@code null} if the task did not fail */
+    public String failure() {
+        return failure;
+    }
+
+    public List<Call> calls() {
+        return calls;
+    }
+
+    @Override
+    public String toString() {
+        return flow + " / " + task;
+    }
+
+    /** A call made by a task, e.g. a DMR operation. */
+    public static class Call {
+
+        private final String name;
+        private final long start;
+        private long end;
+        private long requestSize;
+        private long responseSize;
+        private String failure;
+
+        Call(String name) {
+            this.name = name;
+            this.start = System.currentTimeMillis();
+            this.end = -1;
+            this.requestSize = UNKNOWN_SIZE;
+            this.responseSize = UNKNOWN_SIZE;
+            this.failure = null;
+        }
+
+        /** Records the size of the request in bytes. */
+        public void request(long size) {
+            this.requestSize = size;
+        }
+
+        /** Records the size of the response in bytes. */
+        public void response(long size) {
+            this.responseSize = size;
+        }
+
+        public void finish() {
+            this.end = System.currentTimeMillis();
+        }
+
+        public void fail(Object error) {
+            this.end = System.currentTimeMillis();
+            this.failure = String.valueOf(error);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long start() {
+            return start;
+        }
+
+        /** @return the end of the call or -1 if the call is still running */
+        public long end() {
+            return end;
+        }
+
+        public long requestSize() {
+            return requestSize;
+        }
+
+        public long responseSize() {
+            return responseSize;
+        }
+
+        public boolean failed() {
+            return failure != null;
+        }
+
+        public String failure() {
+            return failure;
+        }
+    }
+}
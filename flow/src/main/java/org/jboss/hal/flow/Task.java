@@ -38,4 +38,12 @@ public interface Task<C extends FlowContext> {
      * @return a promise containing the shared context
      */
     Promise<C> apply(C context);
+
+    /**
+     * The name of the task used when {@linkplain Tracing tracing} the execution. Defaults to {@code null}, in which case the
+     * position of the task is used.
+     */
+    default String name() {
+        return null;
+    }
 }
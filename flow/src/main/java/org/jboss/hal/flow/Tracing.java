@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import elemental2.promise.Promise;
+
+/**
+ * Records {@linkplain Span spans} for the {@linkplain Task tasks} executed by {@linkplain Flow flows}. The spans are kept in a
+ * ring buffer of {@value #CAPACITY} entries.
+ * <p>
+ * While a task is started, its span is the {@linkplain #current() current span}. Code which is called synchronously from the
+ * task (like the DMR dispatcher) can use the current span to record its {@linkplain Span.Call calls}.
+ * <p>
+ * Code which is called asynchronously, e.g. in a {@code then} callback of a promise returned by a task, runs after the task
+ * has returned. If exactly one traced task is running at that time, its span is still the current span. If several tasks run
+ * concurrently, the caller can't be told apart and there's no current span.
+ */
+public final class Tracing {
+
+    /** The maximal number of spans kept in the ring buffer. */
+    public static final int CAPACITY = 250;
+
+    private static final LinkedList<Span> spans = new LinkedList<>();
+    private static final List<Span> running = new ArrayList<>();
+    private static Span current = null;
+
+    /** Creates a new span for the given flow and task and adds it to the ring buffer. */
+    public static Span start(String flow, String task) {
+        Span span = new Span(flow, task);
+        if (spans.size() == CAPACITY) {
+            spans.removeFirst();
+        }
+        spans.add(span);
+        return span;
+    }
+
+    /** Executes the task and records its execution in a new span. */
+    public static <C extends FlowContext> Promise<C> trace(String flow, String task, C context, Task<C> code) {
+        Span span = start(flow, task);
+        running.add(span);
+        Promise<C> promise;
+        try {
+            promise = within(span, () -> code.apply(context));
+        } catch (RuntimeException e) {
+            running.remove(span);
+            span.fail(e);
+            throw e;
+        }
+        return promise
+                .then(c -> {
+                    running.remove(span);
+                    span.finish();
+                    return Promise.resolve(c);
+                })
+                .catch_(error -> {
+                    running.remove(span);
+                    span.fail(error);
+                    return Promise.reject(error);
+                });
+    }
+
+    /** Makes the given span the current span while executing the given code. */
+    public static <T> T within(Span span, Supplier<T> code) {
+        Span previous = current;
+        current = span;
+        try {
+            return code.get();
+        } finally {
+            current = previous;
+        }
+    }
+
+    /**
+     * @return the span of the task which is started right now, otherwise the span of the only running task or {@code null} if
+     *         no or several tasks are running
+     */
+    public static Span current() {
+        if (current != null) {
+            return current;
+        }
+        return running.size() == 1 ? running.get(0) : null;
+    }
+
+    /** @return a copy of the recorded spans ordered by their start */
+    public static List<Span> spans() {
+        return new ArrayList<>(spans);
+    }
+
+    public static void clear() {
+        spans.clear();
+    }
+
+    private Tracing() {
+    }
+}
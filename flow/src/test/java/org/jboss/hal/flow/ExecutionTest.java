@@ -0,0 +1,214 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.jboss.hal.flow.FlowRunner.CANCELLED_ERROR;
+import static org.jboss.hal.flow.FlowRunner.TIMEOUT_ERROR;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ExecutionTest {
+
+    private ManualScheduler scheduler;
+    private Lanes lanes;
+    private RecordingStarter tasks;
+
+    @Before
+    public void setUp() {
+        scheduler = new ManualScheduler();
+        lanes = new Lanes(scheduler, Lanes.MAX_HOLD_BACK);
+        tasks = new RecordingStarter();
+    }
+
+    // ------------------------------------------------------ concurrency
+
+    @Test
+    public void allAtOnce() {
+        tasks.run(execution(3));
+        assertEquals(asList(0, 1, 2), tasks.started);
+
+        tasks.succeed(2);
+        tasks.succeed(0);
+        assertFalse(tasks.done());
+        tasks.succeed(1);
+        assertTrue(tasks.succeeded);
+        assertEquals(3, tasks.ticks);
+    }
+
+    @Test
+    public void sequential() {
+        tasks.run(execution(3).concurrency(1));
+        assertEquals(singletonList(0), tasks.started);
+        tasks.succeed(0);
+        assertEquals(asList(0, 1), tasks.started);
+        tasks.succeed(1);
+        tasks.succeed(2);
+        assertEquals(asList(0, 1, 2), tasks.started);
+        assertTrue(tasks.succeeded);
+    }
+
+    @Test
+    public void maxConcurrency() {
+        tasks.run(execution(5).concurrency(2));
+        assertEquals(asList(0, 1), tasks.started);
+
+        // the queued tasks are started in order as soon as a running task is done
+        tasks.succeed(1);
+        assertEquals(asList(0, 1, 2), tasks.started);
+        tasks.succeed(0);
+        assertEquals(asList(0, 1, 2, 3), tasks.started);
+        tasks.succeed(2);
+        tasks.succeed(3);
+        assertEquals(asList(0, 1, 2, 3, 4), tasks.started);
+        assertFalse(tasks.done());
+        tasks.succeed(4);
+        assertTrue(tasks.succeeded);
+        assertEquals(5, tasks.ticks);
+    }
+
+    @Test
+    public void empty() {
+        tasks.run(execution(0));
+        assertTrue(tasks.succeeded);
+        assertTrue(tasks.started.isEmpty());
+    }
+
+    // ------------------------------------------------------ failures
+
+    @Test
+    public void failFast() {
+        tasks.run(execution(4).concurrency(2));
+        tasks.fail(0, "error");
+        assertEquals("error", tasks.error);
+
+        // no new tasks after the failure, late results are ignored
+        tasks.succeed(1);
+        assertEquals(asList(0, 1), tasks.started);
+        assertFalse(tasks.succeeded);
+    }
+
+    @Test
+    public void failLast() {
+        tasks.run(execution(3).concurrency(1).failFast(false));
+        tasks.fail(0, "error");
+        tasks.succeed(1);
+        tasks.fail(2, "error");
+        assertEquals(asList(0, 1, 2), tasks.started);
+        assertTrue(tasks.succeeded);
+        assertNull(tasks.error);
+        assertEquals(3, tasks.ticks);
+    }
+
+    // ------------------------------------------------------ cancel
+
+    @Test
+    public void cancel() {
+        boolean[] cancelled = { false };
+        tasks.run(execution(3).concurrency(1).failFast(false).cancelled(() -> cancelled[0]));
+        cancelled[0] = true;
+
+        // the running task is not aborted, but the next one is skipped
+        tasks.succeed(0);
+        assertEquals(singletonList(0), tasks.started);
+        assertEquals(CANCELLED_ERROR, tasks.error);
+        assertFalse(tasks.succeeded);
+    }
+
+    @Test
+    public void cancelBeforeStart() {
+        tasks.run(execution(2).cancelled(() -> true));
+        assertTrue(tasks.started.isEmpty());
+        assertEquals(CANCELLED_ERROR, tasks.error);
+    }
+
+    @Test
+    public void cancelledTask() {
+        // a task which rejects with the cancellation error always stops the execution
+        tasks.run(execution(3).concurrency(1).failFast(false));
+        tasks.fail(0, CANCELLED_ERROR);
+        assertEquals(singletonList(0), tasks.started);
+        assertEquals(CANCELLED_ERROR, tasks.error);
+    }
+
+    // ------------------------------------------------------ timeouts
+
+    @Test
+    public void taskTimeout() {
+        tasks.run(execution(2).concurrency(1).taskTimeout(100));
+        scheduler.advance(99);
+        assertFalse(tasks.done());
+        scheduler.advance(1);
+        assertEquals(TIMEOUT_ERROR, tasks.error);
+
+        // the late result of the timed out task is ignored
+        tasks.succeed(0);
+        assertEquals(singletonList(0), tasks.started);
+        assertFalse(tasks.succeeded);
+    }
+
+    @Test
+    public void taskTimeoutFailLast() {
+        tasks.run(execution(2).concurrency(1).taskTimeout(100).failFast(false));
+        scheduler.advance(100);
+        assertEquals(asList(0, 1), tasks.started);
+        assertEquals(1, tasks.ticks);
+
+        // the late result of the timed out task is not counted twice
+        tasks.succeed(0);
+        assertEquals(1, tasks.ticks);
+        tasks.succeed(1);
+        assertTrue(tasks.succeeded);
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void taskInTime() {
+        tasks.run(execution(1).taskTimeout(100));
+        scheduler.advance(50);
+        tasks.succeed(0);
+        assertTrue(tasks.succeeded);
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void timeout() {
+        tasks.run(execution(3).concurrency(1).timeout(500));
+        tasks.succeed(0);
+        scheduler.advance(500);
+        assertEquals(TIMEOUT_ERROR, tasks.error);
+
+        tasks.succeed(1);
+        assertEquals(asList(0, 1), tasks.started);
+        assertFalse(tasks.succeeded);
+    }
+
+    @Test
+    public void noTimeout() {
+        tasks.run(execution(1).timeout(500));
+        tasks.succeed(0);
+        assertTrue(tasks.succeeded);
+        assertEquals(0, scheduler.pending());
+    }
+
+    private Execution execution(int size) {
+        return new Execution(size, tasks, lanes, scheduler);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.jboss.hal.flow.FlowRunner.TIMEOUT_ERROR;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LanesTest {
+
+    private ManualScheduler scheduler;
+    private Lanes lanes;
+    private RecordingStarter interactive;
+    private RecordingStarter background;
+
+    @Before
+    public void setUp() {
+        scheduler = new ManualScheduler();
+        lanes = new Lanes(scheduler, Lanes.MAX_HOLD_BACK);
+        interactive = new RecordingStarter();
+        background = new RecordingStarter();
+    }
+
+    @Test
+    public void holdBackBackground() {
+        interactive.run(execution(interactive, 1, Priority.INTERACTIVE));
+        background.run(execution(background, 2, Priority.BACKGROUND));
+        assertTrue(background.started.isEmpty());
+        assertEquals(2, lanes.waiting());
+
+        // the background tasks start as soon as the interactive flow is done
+        interactive.succeed(0);
+        assertEquals(asList(0, 1), background.started);
+        assertEquals(0, lanes.waiting());
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void holdBackRunningBackground() {
+        background.run(execution(background, 2, Priority.BACKGROUND).concurrency(1));
+        assertEquals(singletonList(0), background.started);
+
+        // the running task is not affected, but the next one waits
+        interactive.run(execution(interactive, 1, Priority.INTERACTIVE));
+        background.succeed(0);
+        assertEquals(singletonList(0), background.started);
+
+        interactive.succeed(0);
+        assertEquals(asList(0, 1), background.started);
+    }
+
+    @Test
+    public void normalNotHeldBack() {
+        RecordingStarter normal = new RecordingStarter();
+        interactive.run(execution(interactive, 1, Priority.INTERACTIVE));
+        normal.run(execution(normal, 2, Priority.NORMAL));
+        assertEquals(asList(0, 1), normal.started);
+        assertEquals(0, lanes.waiting());
+    }
+
+    @Test
+    public void nestedInteractive() {
+        RecordingStarter other = new RecordingStarter();
+        interactive.run(execution(interactive, 1, Priority.INTERACTIVE));
+        other.run(execution(other, 1, Priority.INTERACTIVE));
+        background.run(execution(background, 1, Priority.BACKGROUND));
+
+        interactive.succeed(0);
+        assertTrue(background.started.isEmpty());
+        other.fail(0, "error");
+        assertEquals(singletonList(0), background.started);
+    }
+
+    @Test
+    public void maxHoldBack() {
+        // the interactive flow never finishes
+        interactive.run(execution(interactive, 1, Priority.INTERACTIVE));
+        background.run(execution(background, 1, Priority.BACKGROUND));
+
+        scheduler.advance(Lanes.MAX_HOLD_BACK - 1);
+        assertTrue(background.started.isEmpty());
+        scheduler.advance(1);
+        assertEquals(singletonList(0), background.started);
+        assertEquals(0, lanes.waiting());
+    }
+
+    @Test
+    public void withdrawOnTimeout() {
+        interactive.run(execution(interactive, 1, Priority.INTERACTIVE));
+        background.run(execution(background, 2, Priority.BACKGROUND).concurrency(1).timeout(500));
+        scheduler.advance(500);
+        assertEquals(TIMEOUT_ERROR, background.error);
+        assertEquals(0, lanes.waiting());
+
+        // the tasks of the timed out flow are never started
+        interactive.succeed(0);
+        scheduler.advance(Lanes.MAX_HOLD_BACK);
+        assertTrue(background.started.isEmpty());
+    }
+
+    private Execution execution(RecordingStarter starter, int size, Priority priority) {
+        return new Execution(size, starter, lanes, scheduler).priority(priority);
+    }
+}
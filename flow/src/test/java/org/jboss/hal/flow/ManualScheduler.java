@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Scheduler with a virtual clock which is moved forward by {@link #advance(long)}. */
+class ManualScheduler implements Scheduler {
+
+    private final List<Timer> timers = new ArrayList<>();
+    private long now = 0;
+    private double handles = 0;
+
+    @Override
+    public double schedule(Runnable task, long delay) {
+        Timer timer = new Timer(++handles, now + delay, task);
+        timers.add(timer);
+        return timer.handle;
+    }
+
+    @Override
+    public void cancel(double handle) {
+        timers.removeIf(timer -> timer.handle == handle);
+    }
+
+    /** Moves the clock forward and runs all timers which are due in the order of their due time. */
+    void advance(long millis) {
+        now += millis;
+        Timer due;
+        while ((due = nextDue()) != null) {
+            timers.remove(due);
+            due.task.run();
+        }
+    }
+
+    int pending() {
+        return timers.size();
+    }
+
+    private Timer nextDue() {
+        Timer due = null;
+        for (Timer timer : timers) {
+            if (timer.at <= now && (due == null || timer.at < due.at)) {
+                due = timer;
+            }
+        }
+        return due;
+    }
+
+    private static final class Timer {
+
+        final double handle;
+        final long at;
+        final Runnable task;
+
+        Timer(double handle, long at, Runnable task) {
+            this.handle = handle;
+            this.at = at;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/** Records the started tasks and lets the test decide when and how they're done. Records the outcome of the execution. */
+class RecordingStarter implements Execution.Starter {
+
+    private final Map<Integer, Runnable> successes = new LinkedHashMap<>();
+    private final Map<Integer, Consumer<Object>> failures = new LinkedHashMap<>();
+    final List<Integer> started = new ArrayList<>();
+    int ticks;
+    boolean succeeded;
+    Object error;
+
+    @Override
+    public void start(int index, Runnable success, Consumer<Object> failure) {
+        started.add(index);
+        successes.put(index, success);
+        failures.put(index, failure);
+    }
+
+    void succeed(int index) {
+        successes.get(index).run();
+    }
+
+    void fail(int index, Object error) {
+        failures.get(index).accept(error);
+    }
+
+    void run(Execution execution) {
+        execution.run(() -> ticks++, () -> succeeded = true, e -> error = e);
+    }
+
+    boolean done() {
+        return succeeded || error != null;
+    }
+}
@@ -15,20 +15,42 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.jboss.hal.db.Attachment;
+import org.jboss.hal.db.Blobs;
+import org.jboss.hal.db.Document;
 import org.jboss.hal.db.PouchDB;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.Blob;
+import elemental2.dom.Blob.ConstructorBlobPartsArrayUnionType;
+import elemental2.dom.BlobPropertyBag;
 import elemental2.promise.Promise;
 
 import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 
-/** Abstract database which uses the specified statement context to resolve address templates. */
-public abstract class AbstractDatabase<T> implements Database<T> {
+/**
+ * Abstract database which uses the specified statement context to resolve address templates.
+ * <p>
+ * Metadata is stored as DMR encoded bytes in a blob attachment ({@link #BINARY_FORMAT}). Documents stored in the former base64
+ * format ({@link #BASE64_FORMAT}) are still readable and are migrated to the binary format when they're read for the first
+ * time.
+ */
+public abstract class AbstractDatabase<T extends ModelNode> implements Database<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractDatabase.class);
 
     private final StatementContext statementContext;
     private final String type;
@@ -53,25 +75,24 @@ public abstract class AbstractDatabase<T> implements Database<T> {
         Set<String> ids = templates.stream()
                 .map(template -> template.resolve(statementContext).toString())
                 .collect(toSet());
-        return database().getAll(ids)
-                .then(documents -> {
-                    Map<ResourceAddress, T> metadata = documents.stream().collect(toMap(
-                            document -> ResourceAddress.from(document.getId()),
-                            this::asMetadata));
-                    return Promise.resolve(metadata);
-                });
+        return database().getAll(ids).then(this::readDocuments);
     }
 
     @Override
     public Promise<Map<ResourceAddress, T>> getRecursive(AddressTemplate template) {
         String id = template.resolve(statementContext).toString();
-        return database().prefixSearch(id)
-                .then(documents -> {
-                    Map<ResourceAddress, T> metadata = documents.stream().collect(toMap(
-                            document -> ResourceAddress.from(document.getId()),
-                            this::asMetadata));
-                    return Promise.resolve(metadata);
-                });
+        return database().prefixSearch(id).then(this::readDocuments);
+    }
+
+    @Override
+    public Document asDocument(ResourceAddress address, T metadata) {
+        Blob blob = new Blob(new ConstructorBlobPartsArrayUnionType[] {
+                ConstructorBlobPartsArrayUnionType.of(metadata.toBinary()) }, blobProperties());
+        Document document = Document.of(address.toString());
+        document.set(FORMAT, BINARY_FORMAT);
+        document.set(ENCODING, Blobs.IDENTITY);
+        document.attach(PAYLOAD, Attachment.of(APPLICATION_DMR, blob));
+        return document;
     }
 
     @Override
@@ -80,4 +101,83 @@ public abstract class AbstractDatabase<T> implements Database<T> {
     }
 
     protected abstract PouchDB database();
+
+    /**
+     * Decodes the metadata of the documents. Documents which can't be decoded (e.g. a corrupt or undecodable attachment) are
+     * treated as cache misses and deleted. They never fail the whole read.
+     */
+    private Promise<Map<ResourceAddress, T>> readDocuments(List<Document> documents) {
+        return new Promise<>((resolve, reject) -> {
+            List<Document> migrate = new ArrayList<>();
+            Map<ResourceAddress, Document> byAddress = new HashMap<>();
+            DecodedDocuments<T> decoded = new DecodedDocuments<>(documents.size());
+            for (Document document : documents) {
+                ResourceAddress address = ResourceAddress.from(document.getId());
+                byAddress.put(address, document);
+                if (format(document) == BINARY_FORMAT) {
+                    Attachment attachment = document.getAttachment(PAYLOAD);
+                    String encoding = document.has(ENCODING) ? document.getAsAny(ENCODING).asString() : Blobs.IDENTITY;
+                    Promise<ArrayBuffer> buffer = attachment != null
+                            ? Blobs.read(attachment.data, encoding)
+                            : Promise.reject("No " + PAYLOAD + " attachment");
+                    buffer.then(b -> {
+                        decoded.decoded(address, asMetadata(ModelNode.fromBinary(b)));
+                        return null;
+                    }).catch_(error -> {
+                        logger.warn("Unable to read {} from {}: {}", address, name(), error);
+                        decoded.failed(address);
+                        return null;
+                    });
+                } else {
+                    T t;
+                    try {
+                        t = asMetadata(ModelNode.fromBase64(document.getAsAny(PAYLOAD).asString()));
+                    } catch (RuntimeException e) {
+                        logger.warn("Unable to read {} from {}: {}", address, name(), e.getMessage());
+                        decoded.failed(address);
+                        continue;
+                    }
+                    Document migrated = asDocument(address, t);
+                    migrated.setRevision(document.getRevision());
+                    migrate.add(migrated);
+                    decoded.decoded(address, t);
+                }
+            }
+            if (!migrate.isEmpty()) {
+                database().putAll(migrate).then(ids -> {
+                    logger.info("Migrated {} {} documents in {} to the binary format", ids.size(), type, name());
+                    return null;
+                }).catch_(error -> {
+                    logger.error("Unable to migrate {} documents in {}: {}", type, name(), error);
+                    return null;
+                });
+            }
+            decoded.whenDone(() -> {
+                if (!decoded.failed().isEmpty()) {
+                    remove(decoded.failed().stream().map(byAddress::get).collect(toList()));
+                }
+                resolve.onInvoke(decoded.metadata());
+            });
+        });
+    }
+
+    private void remove(List<Document> documents) {
+        database().removeAll(documents).then(ids -> {
+            logger.info("Removed {} unreadable {} documents from {}", ids.size(), type, name());
+            return null;
+        }).catch_(error -> {
+            logger.error("Unable to remove unreadable {} documents from {}: {}", type, name(), error);
+            return null;
+        });
+    }
+
+    private int format(Document document) {
+        return document.has(FORMAT) ? document.getAsAny(FORMAT).asInt() : BASE64_FORMAT;
+    }
+
+    private BlobPropertyBag blobProperties() {
+        BlobPropertyBag properties = BlobPropertyBag.create();
+        properties.setType(APPLICATION_DMR);
+        return properties;
+    }
 }
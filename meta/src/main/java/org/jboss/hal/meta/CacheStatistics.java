@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+/** Snapshot of the statistics of a {@link WeightedCache}. Weights are measured in bytes. */
+public class CacheStatistics {
+
+    private final String name;
+    private final int size;
+    private final long weight;
+    private final long maximumWeight;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    CacheStatistics(String name, int size, long weight, long maximumWeight, long hits, long misses, long evictions) {
+        this.name = name;
+        this.size = size;
+        this.weight = weight;
+        this.maximumWeight = maximumWeight;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    @Override
+    public String toString() {
+        return name + "(size: " + size + ", weight: " + weight + "/" + maximumWeight + ", hits: " + hits
+                + ", misses: " + misses + ", evictions: " + evictions + ")";
+    }
+
+    /** @return the ratio of hits to all requests or 1 if there were no requests */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+}
@@ -19,14 +19,31 @@ import java.util.Map;
 import java.util.Set;
 
 import org.jboss.hal.db.Document;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 
 import elemental2.promise.Promise;
 
 public interface Database<T> {
 
+    /** Name of the base64 payload (format 1) or the binary payload attachment (format 2) */
     String PAYLOAD = "payload";
 
+    /** Storage format of a document. Documents without format use {@link #BASE64_FORMAT}. */
+    String FORMAT = "format";
+
+    /** Encoding of the binary payload attachment: {@code identity} or {@code gzip} */
+    String ENCODING = "encoding";
+
+    /** Payload stored as base64 encoded DMR string */
+    int BASE64_FORMAT = 1;
+
+    /** Payload stored as DMR encoded bytes in a blob attachment */
+    int BINARY_FORMAT = 2;
+
+    /** Content type of the binary payload attachment (raw DMR bytes, not base64 encoded) */
+    String APPLICATION_DMR = "application/dmr";
+
     /** Turns a template into a resource addresses for later lookup. */
     ResourceAddress resolveTemplate(AddressTemplate template);
 
@@ -39,8 +56,8 @@ public interface Database<T> {
     /** Returns a map with metadata whose address starts with the specified template */
     Promise<Map<ResourceAddress, T>> getRecursive(AddressTemplate template);
 
-    /** Returns metadata for a given document */
-    T asMetadata(Document document);
+    /** Returns metadata for a given payload */
+    T asMetadata(ModelNode payload);
 
     /** Returns a document for a given metadata */
     Document asDocument(ResourceAddress address, T metadata);
@@ -48,6 +65,6 @@ public interface Database<T> {
     /** The type of this database. */
     String type();
 
-    /** The databas name */
+    /** The database name */
     String name();
 }
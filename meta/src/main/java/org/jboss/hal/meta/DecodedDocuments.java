@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ResourceAddress;
+
+/**
+ * Collects the metadata decoded from the documents of one database read. Each document is settled exactly once, either as
+ * {@linkplain #decoded(ResourceAddress, Object) decoded} or as {@linkplain #failed(ResourceAddress) failed}. A failed document
+ * doesn't fail the read: it's a cache miss and the metadata is read from the server.
+ */
+final class DecodedDocuments<T> {
+
+    private final Map<ResourceAddress, T> metadata;
+    private final List<ResourceAddress> failed;
+    private int pending;
+    private Runnable done;
+
+    DecodedDocuments(int documents) {
+        this.metadata = new HashMap<>();
+        this.failed = new ArrayList<>();
+        this.pending = documents;
+    }
+
+    void decoded(ResourceAddress address, T t) {
+        metadata.put(address, t);
+        settle();
+    }
+
+    void failed(ResourceAddress address) {
+        failed.add(address);
+        settle();
+    }
+
+    /** Runs the callback once all documents are settled (immediately, if they already are). */
+    void whenDone(Runnable done) {
+        this.done = done;
+        if (pending == 0) {
+            done.run();
+        }
+    }
+
+    Map<ResourceAddress, T> metadata() {
+        return metadata;
+    }
+
+    List<ResourceAddress> failed() {
+        return failed;
+    }
+
+    private void settle() {
+        pending--;
+        if (pending == 0 && done != null) {
+            done.run();
+        }
+    }
+}
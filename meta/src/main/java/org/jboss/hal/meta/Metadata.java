@@ -89,7 +89,12 @@ public class Metadata {
     public void copyAttribute(String attribute, Metadata destination) {
         Property p = getDescription().findAttribute(ATTRIBUTES, attribute);
         if (p != null) {
-            destination.getDescription().get(ATTRIBUTES).get(attribute).set(p.getValue());
+            ModelNode attributes = destination.getDescription().get(ATTRIBUTES);
+            if (attributes.has(attribute) && attributes.get(attribute).isProtected()) {
+                // shared attribute descriptions are read-only, replace them instead
+                attributes.remove(attribute);
+            }
+            attributes.get(attribute).set(p.getValue());
         }
     }
 
@@ -137,7 +142,7 @@ public class Metadata {
                 // The nested name is *always* just the nested property name,
                 // since it's used when building the DMR operations
                 String nestedName = nestedProperty.getName();
-                ModelNode nestedDescription = nestedProperty.getValue();
+                ModelNode nestedDescription = nestedProperty.getValue().clone();
                 // The name which is used for the label can be prefixed with the complex attribute name.
                 // If prefixComplexAttribute == true), it is stored as an artificial attribute and picked
                 // up by LabelBuilder.label(Property)
@@ -213,6 +218,14 @@ public class Metadata {
         return new Metadata(template, () -> operationContext, new ResourceDescription(payload), capabilities);
     }
 
+    /**
+     * Creates a new metadata instance with a deep copy of the resource description. Attribute and operation descriptions of
+     * registered metadata are shared and read-only. Use this method if you need to modify them.
+     */
+    public Metadata copy() {
+        return new Metadata(template, securityContext, new ResourceDescription(description), capabilities);
+    }
+
     /** @return the address template */
     public AddressTemplate getTemplate() {
         return template;
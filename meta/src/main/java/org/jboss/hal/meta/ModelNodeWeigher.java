@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.function.ToIntFunction;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+
+/**
+ * Approximates the size of the serialized model node in bytes. Walks the model node and adds the length of names and string
+ * values plus a fixed amount for all other values.
+ * <p>
+ * If shared nodes are skipped, {@linkplain ModelNode#isProtected() protected} sub-trees count as a reference only. Use this for
+ * resource descriptions whose attribute and operation descriptions are shared by the
+ * {@linkplain org.jboss.hal.meta.description.ResourceDescriptionInterner interner}: The memory of a shared sub-tree is used once
+ * and is bounded by the interner, not by the cache.
+ */
+public class ModelNodeWeigher<T extends ModelNode> implements ToIntFunction<T> {
+
+    private static final int TYPE_SIZE = 1;
+    private static final int VALUE_SIZE = 8;
+
+    private final boolean skipShared;
+
+    public ModelNodeWeigher() {
+        this(false);
+    }
+
+    public ModelNodeWeigher(boolean skipShared) {
+        this.skipShared = skipShared;
+    }
+
+    @Override
+    public int applyAsInt(T modelNode) {
+        return weighValue(modelNode);
+    }
+
+    private int weigh(ModelNode node) {
+        if (skipShared && node.isProtected()) {
+            return VALUE_SIZE;
+        }
+        return weighValue(node);
+    }
+
+    private int weighValue(ModelNode node) {
+        switch (node.getType()) {
+            case OBJECT:
+                int object = TYPE_SIZE + VALUE_SIZE;
+                for (Property property : node.asPropertyList()) {
+                    object += property.getName().length() + weigh(property.getValue());
+                }
+                return object;
+            case LIST:
+                int list = TYPE_SIZE + VALUE_SIZE;
+                for (ModelNode element : node.asList()) {
+                    list += weigh(element);
+                }
+                return list;
+            case PROPERTY:
+                Property property = node.asProperty();
+                return TYPE_SIZE + property.getName().length() + weigh(property.getValue());
+            case STRING:
+            case EXPRESSION:
+            case BIG_DECIMAL:
+            case BIG_INTEGER:
+                return TYPE_SIZE + VALUE_SIZE + node.asString().length();
+            case UNDEFINED:
+                return TYPE_SIZE;
+            default:
+                return TYPE_SIZE + VALUE_SIZE;
+        }
+    }
+}
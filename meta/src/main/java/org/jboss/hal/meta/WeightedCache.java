@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Least recently used cache which limits the total weight of its entries instead of the number of entries. If adding an entry
+ * exceeds the maximum weight, the least recently used entries are evicted.
+ * <p>
+ * Guava's {@code CacheBuilder.weigher()} is not available in GWT, that's why this cache exists.
+ */
+public class WeightedCache<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeightedCache.class);
+
+    private final String name;
+    private final long maximumWeight;
+    private final ToIntFunction<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public WeightedCache(String name, long maximumWeight, ToIntFunction<V> weigher) {
+        this.name = name;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+            return entry.value;
+        }
+        misses++;
+        return null;
+    }
+
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, weigher.applyAsInt(value));
+        Entry<V> previous = entries.put(key, entry);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entry.weight;
+        evict();
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public CacheStatistics statistics() {
+        return new CacheStatistics(name, entries.size(), weight, maximumWeight, hits, misses, evictions);
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (weight > maximumWeight && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.getValue().weight;
+            evictions++;
+            logger.debug("Evict {} from {} cache", eldest.getKey(), name);
+        }
+    }
+
+    private static class Entry<V> {
+
+        final V value;
+        final int weight;
+
+        Entry(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
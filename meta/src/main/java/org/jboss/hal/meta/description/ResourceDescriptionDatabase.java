@@ -19,10 +19,8 @@ import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Settings;
-import org.jboss.hal.db.Document;
 import org.jboss.hal.db.PouchDB;
 import org.jboss.hal.dmr.ModelNode;
-import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractDatabase;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
@@ -51,15 +49,8 @@ public class ResourceDescriptionDatabase extends AbstractDatabase<ResourceDescri
     }
 
     @Override
-    public ResourceDescription asMetadata(Document document) {
-        return new ResourceDescription(ModelNode.fromBase64(document.getAsAny(PAYLOAD).asString()));
-    }
-
-    @Override
-    public Document asDocument(ResourceAddress address, ResourceDescription resourceDescription) {
-        Document document = Document.of(address.toString());
-        document.set(PAYLOAD, resourceDescription.toBase64String());
-        return document;
+    public ResourceDescription asMetadata(ModelNode payload) {
+        return new ResourceDescription(payload);
     }
 
     @Override
@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.description;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
+
+/**
+ * Pool which deduplicates identical attribute and operation descriptions across resource descriptions. Many resources share the
+ * same attributes and operations (think of {@code /host=* /server=* /subsystem=*} or data sources). Instead of keeping one copy
+ * per resource description, equal sub-trees are replaced by one shared and {@linkplain ModelNode#protect() protected} instance.
+ * <p>
+ * Shared nodes are read-only. Code which wants to modify parts of a resource description has to work on a copy.
+ * <p>
+ * GWT doesn't support weak references, so the pool is bounded and forgets the least recently used nodes. Forgotten nodes remain
+ * shared by the descriptions which already use them.
+ */
+public class ResourceDescriptionInterner {
+
+    /** Default maximum number of nodes in the pool */
+    public static final int DEFAULT_POOL_SIZE = 8192;
+
+    private final Map<ModelNode, ModelNode> pool;
+    private long hits;
+    private long misses;
+
+    public ResourceDescriptionInterner(int poolSize) {
+        this.pool = new LinkedHashMap<ModelNode, ModelNode>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ModelNode, ModelNode> eldest) {
+                return size() > poolSize;
+            }
+        };
+    }
+
+    /** Replaces the attribute and operation descriptions of the specified resource description by shared nodes. */
+    public void intern(ModelNode resourceDescription) {
+        internChildren(resourceDescription, ATTRIBUTES);
+        internChildren(resourceDescription, OPERATIONS);
+    }
+
+    private void internChildren(ModelNode resourceDescription, String name) {
+        if (resourceDescription.hasDefined(name)) {
+            ModelNode children = resourceDescription.get(name);
+            for (Property property : children.asPropertyList()) {
+                ModelNode node = property.getValue();
+                if (!node.isProtected()) {
+                    children.setShared(property.getName(), shared(node));
+                }
+            }
+        }
+    }
+
+    private ModelNode shared(ModelNode node) {
+        ModelNode shared = pool.get(node);
+        if (shared != null) {
+            hits++;
+            return shared;
+        }
+        misses++;
+        node.protect();
+        pool.put(node, node);
+        return node;
+    }
+
+    public void clear() {
+        pool.clear();
+    }
+
+    /** @return the number of nodes in the pool */
+    public int size() {
+        return pool.size();
+    }
+
+    /** @return the number of nodes which were replaced by a shared node */
+    public long getHits() {
+        return hits;
+    }
+
+    /** @return the number of nodes which were added to the pool */
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceDescriptionInterner(size: " + pool.size() + ", hits: " + hits + ", misses: " + misses + ")";
+    }
+}
@@ -15,53 +15,70 @@
  */
 package org.jboss.hal.meta.description;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractRegistry;
 import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.CacheStatistics;
+import org.jboss.hal.meta.ModelNodeWeigher;
 import org.jboss.hal.meta.StatementContext;
+import org.jboss.hal.meta.WeightedCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-
+import static org.jboss.hal.config.Settings.Key.RESOURCE_DESCRIPTION_CACHE_SIZE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 
 /** A registry for resource descriptions. */
 public class ResourceDescriptionRegistry extends AbstractRegistry<ResourceDescription> {
 
-    private static final int CACHE_SIZE = 250;
+    /**
+     * Default maximum size of the cache in KB. Attribute and operation descriptions shared by the interner count as a reference
+     * only, so the size covers the parts which are specific to each resource description.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 10240;
     private static final String RESOURCE_DESCRIPTION_TYPE = "resource description";
     private static final Logger logger = LoggerFactory.getLogger(ResourceDescriptionRegistry.class);
 
-    private final Cache<ResourceAddress, ResourceDescription> cache;
+    private final Settings settings;
+    private WeightedCache<ResourceAddress, ResourceDescription> cache;
     private final ResourceDescriptionTemplateProcessor templateProcessor;
+    private final ResourceDescriptionInterner interner;
+    private final List<BiConsumer<ResourceAddress, ResourceDescription>> listeners;
 
     @Inject
-    public ResourceDescriptionRegistry(StatementContext statementContext, Environment environment) {
+    public ResourceDescriptionRegistry(StatementContext statementContext, Environment environment,
+            Settings settings) {
         super(new ResourceDescriptionStatementContext(statementContext, environment), RESOURCE_DESCRIPTION_TYPE);
-        this.cache = CacheBuilder.newBuilder()
-                .maximumSize(CACHE_SIZE)
-                .recordStats()
-                .removalListener(
-                        notification -> logger.debug("Remove {} from {} cache: {}", notification.getKey(), type,
-                                notification.getCause()))
-                .build();
+        this.settings = settings;
         this.templateProcessor = new ResourceDescriptionTemplateProcessor();
+        this.interner = new ResourceDescriptionInterner(ResourceDescriptionInterner.DEFAULT_POOL_SIZE);
+        this.listeners = new ArrayList<>();
+    }
+
+    /** Registers a listener which is called whenever a resource description is added to this registry. */
+    public void addListener(BiConsumer<ResourceAddress, ResourceDescription> listener) {
+        listeners.add(listener);
     }
 
     public void add(ResourceAddress address, ResourceDescription resourceDescription, boolean recursive) {
         resourceDescription.get(HAL_RECURSIVE).set(recursive);
-        cache.put(address, resourceDescription);
+        interner.intern(resourceDescription);
+        cache().put(address, resourceDescription);
+        listeners.forEach(listener -> listener.accept(address, resourceDescription));
         logger.debug("Added {} to {} ({})", address.toString(), type, recursive ? "recursive" : "none-recursive");
     }
 
     @Override
     protected ResourceDescription lookupAddress(ResourceAddress address) {
-        return cache.getIfPresent(address);
+        return cache().getIfPresent(address);
     }
 
     @Override
@@ -69,4 +86,23 @@ public class ResourceDescriptionRegistry extends AbstractRegistry<ResourceDescri
         AddressTemplate modifiedTemplate = templateProcessor.apply(template);
         return super.resolveTemplate(modifiedTemplate);
     }
+
+    /** @return the statistics of the underlying cache */
+    public CacheStatistics statistics() {
+        return cache().statistics();
+    }
+
+    /** @return the pool which shares identical attribute and operation descriptions */
+    public ResourceDescriptionInterner interner() {
+        return interner;
+    }
+
+    // The registry might be created before the settings are loaded, so the cache is created on first use.
+    private WeightedCache<ResourceAddress, ResourceDescription> cache() {
+        if (cache == null) {
+            long maximumWeight = settings.get(RESOURCE_DESCRIPTION_CACHE_SIZE).asInt(DEFAULT_CACHE_SIZE) * 1024L;
+            cache = new WeightedCache<>(type, maximumWeight, new ModelNodeWeigher<>(true));
+        }
+        return cache;
+    }
 }
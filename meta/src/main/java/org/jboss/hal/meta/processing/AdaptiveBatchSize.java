@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+/**
+ * Adapts the number of {@code read-resource-description} operations per composite to the measured response times and payload
+ * sizes. Fast and small responses increase the batch size by one, slow or big responses halve it.
+ * <p>
+ * The number of resource descriptions in a response is used as measure for the payload size.
+ */
+class AdaptiveBatchSize {
+
+    static final int MIN_SIZE = 1;
+    static final int MAX_SIZE = 12;
+    static final long FAST_RESPONSE = 400; // ms
+    static final long SLOW_RESPONSE = 1500; // ms
+    static final int MAX_DESCRIPTIONS = 300;
+
+    private int size;
+
+    AdaptiveBatchSize(int initialSize) {
+        this.size = Math.max(MIN_SIZE, Math.min(MAX_SIZE, initialSize));
+    }
+
+    int get() {
+        return size;
+    }
+
+    /**
+     * @param operations the number of operations in the composite
+     * @param millis the response time of the composite
+     * @param descriptions the number of resource descriptions in the response
+     */
+    void measured(int operations, long millis, int descriptions) {
+        if (millis > SLOW_RESPONSE || descriptions > MAX_DESCRIPTIONS) {
+            size = Math.max(MIN_SIZE, size / 2);
+        } else if (operations >= size && millis < FAST_RESPONSE && descriptions * 2 < MAX_DESCRIPTIONS) {
+            // only grow if the composite was a full batch
+            size = Math.min(MAX_SIZE, size + 1);
+        }
+    }
+}
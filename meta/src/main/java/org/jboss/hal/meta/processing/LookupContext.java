@@ -16,11 +16,13 @@
 package org.jboss.hal.meta.processing;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Priority;
 import org.jboss.hal.flow.Progress;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.description.ResourceDescription;
@@ -29,31 +31,37 @@ import org.jboss.hal.meta.security.SecurityContext;
 class LookupContext extends FlowContext {
 
     final boolean recursive;
+    final Priority priority;
     final LookupResult lookupResult;
     final Map<ResourceAddress, ResourceDescription> toResourceDescriptionRegistry;
     final Map<ResourceAddress, ResourceDescription> toResourceDescriptionDatabase;
     final Map<ResourceAddress, SecurityContext> toSecurityContextRegistry;
     final Map<ResourceAddress, SecurityContext> toSecurityContextDatabase;
+    final Map<String, Long> timings;
 
     // for unit testing only!
     LookupContext(LookupResult lookupResult) {
         super(Progress.NOOP);
         this.recursive = false;
+        this.priority = Priority.NORMAL;
         this.lookupResult = lookupResult;
         this.toResourceDescriptionRegistry = new HashMap<>();
         this.toResourceDescriptionDatabase = new HashMap<>();
         this.toSecurityContextRegistry = new HashMap<>();
         this.toSecurityContextDatabase = new HashMap<>();
+        this.timings = new LinkedHashMap<>();
     }
 
-    LookupContext(Progress progress, Set<AddressTemplate> template, boolean recursive) {
+    LookupContext(Progress progress, Set<AddressTemplate> template, boolean recursive, Priority priority) {
         super(progress);
         this.recursive = recursive;
+        this.priority = priority;
         this.lookupResult = new LookupResult(template);
         this.toResourceDescriptionRegistry = new HashMap<>();
         this.toResourceDescriptionDatabase = new HashMap<>();
         this.toSecurityContextRegistry = new HashMap<>();
         this.toSecurityContextDatabase = new HashMap<>();
+        this.timings = new LinkedHashMap<>();
     }
 
     boolean updateDatabase() {
@@ -165,6 +165,10 @@ final class LookupDatabaseTask implements Task<LookupContext> {
                         }
                     }
                     return Promise.resolve(c);
+                })
+                .catch_(error -> {
+                    // leave the bits in LookupResult unchanged, the metadata is read from the server
+                    return Promise.resolve(c);
                 });
 
         Map<ResourceAddress, AddressTemplate> scLookup = securityContextDatabase.resolveTemplates(scTemplates);
@@ -182,6 +186,10 @@ final class LookupDatabaseTask implements Task<LookupContext> {
                         }
                     }
                     return Promise.resolve(c);
+                })
+                .catch_(error -> {
+                    // leave the bits in LookupResult unchanged, the metadata is read from the server
+                    return Promise.resolve(c);
                 });
 
         return Arrays.asList(rdTask, scTask);
@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Priority;
+import org.jboss.hal.meta.resource.RequiredResources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental2.dom.DomGlobal.RequestIdleCallbackOptionsType;
+import elemental2.dom.IdleDeadline;
+import jsinterop.base.Js;
+
+import static elemental2.dom.DomGlobal.cancelIdleCallback;
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.requestIdleCallback;
+import static elemental2.dom.DomGlobal.setTimeout;
+
+/**
+ * Processes the required resources of places and columns which are likely to be visited next, while the browser is idle. Uses
+ * {@code requestIdleCallback()} if available and falls back to {@code setTimeout()} otherwise.
+ * <p>
+ * At most {@link #MAX_CONCURRENT_LOOKUPS} lookups run at the same time. Lookups run with {@linkplain Priority#BACKGROUND
+ * background priority}: They don't start new operations while metadata of a place is processed. Calling {@link #prefetch(Set)}
+ * drops all pending lookups. Calling {@link #cancel()} additionally cancels the running lookups, which skip their remaining
+ * operations.
+ */
+public class MetadataPrefetcher {
+
+    static final int MAX_CONCURRENT_LOOKUPS = 2;
+    private static final int IDLE_TIMEOUT = 2000; // ms
+    private static final int FALLBACK_DELAY = 250; // ms
+    private static final double MIN_IDLE_TIME = 5; // ms
+    private static final String SELECTED = "{selected.";
+    private static final Logger logger = LoggerFactory.getLogger(MetadataPrefetcher.class);
+
+    private final MetadataProcessor metadataProcessor;
+    private final RequiredResources requiredResources;
+    private final Set<String> pending;
+    private final boolean idleCallbackSupported;
+    private int running;
+    private double handle;
+
+    @Inject
+    public MetadataPrefetcher(MetadataProcessor metadataProcessor, RequiredResources requiredResources) {
+        this.metadataProcessor = metadataProcessor;
+        this.requiredResources = requiredResources;
+        this.pending = new LinkedHashSet<>();
+        this.idleCallbackSupported = Js.global().has("requestIdleCallback");
+        this.running = 0;
+        this.handle = -1;
+    }
+
+    /**
+     * Replaces the pending lookups with the specified ids of places or columns. Ids w/o required resources or whose required
+     * resources depend on a selection are ignored.
+     */
+    public void prefetch(Set<String> ids) {
+        dropPending();
+        for (String id : ids) {
+            Set<String> resources = requiredResources.getResources(id);
+            if (!resources.isEmpty() && resources.stream().noneMatch(resource -> resource.contains(SELECTED))) {
+                pending.add(id);
+            }
+        }
+        if (!pending.isEmpty()) {
+            logger.debug("Prefetch metadata for {}", pending);
+            schedule();
+        }
+    }
+
+    /** Drops all pending and cancels all running lookups. */
+    public void cancel() {
+        dropPending();
+        metadataProcessor.cancelPrefetches();
+    }
+
+    private void dropPending() {
+        pending.clear();
+        if (handle >= 0) {
+            if (idleCallbackSupported) {
+                cancelIdleCallback((int) handle);
+            } else {
+                clearTimeout(handle);
+            }
+            handle = -1;
+        }
+    }
+
+    private void schedule() {
+        if (handle < 0 && !pending.isEmpty() && running < MAX_CONCURRENT_LOOKUPS) {
+            if (idleCallbackSupported) {
+                RequestIdleCallbackOptionsType options = RequestIdleCallbackOptionsType.create();
+                options.setTimeout(IDLE_TIMEOUT);
+                handle = requestIdleCallback(this::run, options);
+            } else {
+                handle = setTimeout(__ -> run(null), FALLBACK_DELAY);
+            }
+        }
+    }
+
+    private void run(IdleDeadline deadline) {
+        handle = -1;
+        Iterator<String> iterator = pending.iterator();
+        while (iterator.hasNext() && running < MAX_CONCURRENT_LOOKUPS
+                && (deadline == null || deadline.isDidTimeout() || deadline.timeRemaining() > MIN_IDLE_TIME)) {
+            String id = iterator.next();
+            iterator.remove();
+            running++;
+            metadataProcessor.prefetch(id)
+                    .then(__ -> {
+                        finished();
+                        return null;
+                    })
+                    .catch_(error -> {
+                        if (!FlowContext.cancelled(error)) {
+                            logger.debug("Unable to prefetch metadata for '{}': {}", id, error);
+                        }
+                        finished();
+                        return null;
+                    });
+        }
+        schedule();
+    }
+
+    private void finished() {
+        running--;
+        schedule();
+    }
+}
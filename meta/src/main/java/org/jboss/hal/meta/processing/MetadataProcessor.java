@@ -16,6 +16,7 @@
 package org.jboss.hal.meta.processing;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -25,6 +26,7 @@ import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Settings;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.Flow;
+import org.jboss.hal.flow.Priority;
 import org.jboss.hal.flow.Progress;
 import org.jboss.hal.flow.Task;
 import org.jboss.hal.js.Browser;
@@ -48,6 +50,9 @@ import elemental2.promise.Promise;
 import static java.util.Collections.singleton;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toSet;
+import static org.jboss.hal.config.Settings.Key.METADATA_CONCURRENCY;
+import static org.jboss.hal.flow.Priority.BACKGROUND;
+import static org.jboss.hal.flow.Priority.INTERACTIVE;
 
 /**
  * Reads resource {@linkplain Metadata metadata} using read-resource-description operations and stores it into the
@@ -58,9 +63,12 @@ public class MetadataProcessor {
     /** Recursive depth for the r-r-d operations. Keep this small - some browsers choke on too big payload size */
     static final int RRD_DEPTH = 3;
 
-    /** Number of r-r-d operations part of one composite operation. */
+    /** Initial number of r-r-d operations part of one composite operation. Adapted based on the response times. */
     private static final int BATCH_SIZE = 3;
 
+    /** Default number of composite r-r-d operations executed in parallel. */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
     private static final Logger logger = LoggerFactory.getLogger(MetadataProcessor.class);
 
     private final Environment environment;
@@ -74,6 +82,8 @@ public class MetadataProcessor {
     private final SecurityContextRegistry securityContextRegistry;
     private final Settings settings;
     private final WorkerChannel workerChannel;
+    private final AdaptiveBatchSize batchSize;
+    private final Set<LookupContext> prefetches;
 
     @Inject
     public MetadataProcessor(Environment environment,
@@ -98,11 +108,13 @@ public class MetadataProcessor {
         this.resourceDescriptionRegistry = resourceDescriptionRegistry;
         this.settings = settings;
         this.workerChannel = workerChannel;
+        this.batchSize = new AdaptiveBatchSize(BATCH_SIZE);
+        this.prefetches = new HashSet<>();
     }
 
     public void lookup(AddressTemplate template, Progress progress, MetadataCallback callback) {
         logger.debug("Lookup metadata for {}", template);
-        processInternal(singleton(template), false, progress)
+        processInternal(singleton(template), false, progress, INTERACTIVE)
                 .then(c -> {
                     callback.onMetadata(metadataRegistry.lookup(template));
                     return null;
@@ -115,11 +127,28 @@ public class MetadataProcessor {
 
     public Promise<Metadata> lookup(AddressTemplate template, Progress progress) {
         logger.debug("Lookup metadata for {}", template);
-        return processInternal(singleton(template), false, progress)
+        return processInternal(singleton(template), false, progress, INTERACTIVE)
                 .then(__ -> Promise.resolve(metadataRegistry.lookup(template)));
     }
 
     public Promise<Void> process(String id, Progress progress) {
+        return process(id, progress, INTERACTIVE);
+    }
+
+    /** Processes the required resources with {@linkplain Priority#BACKGROUND background} priority. */
+    Promise<Void> prefetch(String id) {
+        return process(id, Progress.NOOP, BACKGROUND);
+    }
+
+    /** Cancels all running {@linkplain #prefetch(String) prefetches}. Remaining r-r-d operations are skipped. */
+    void cancelPrefetches() {
+        for (LookupContext context : prefetches) {
+            context.cancel();
+        }
+        prefetches.clear();
+    }
+
+    private Promise<Void> process(String id, Progress progress, Priority priority) {
         Set<String> resources = requiredResources.getResources(id);
         boolean recursive = requiredResources.isRecursive(id);
         logger.debug("Process required resources {} for id '{}' (recursive={})", resources, id, recursive);
@@ -129,11 +158,12 @@ public class MetadataProcessor {
 
         } else {
             Set<AddressTemplate> templates = resources.stream().map(AddressTemplate::of).collect(toSet());
-            return processInternal(templates, recursive, progress);
+            return processInternal(templates, recursive, progress, priority);
         }
     }
 
-    private Promise<Void> processInternal(Set<AddressTemplate> templates, boolean recursive, Progress progress) {
+    private Promise<Void> processInternal(Set<AddressTemplate> templates, boolean recursive, Progress progress,
+            Priority priority) {
         // we can skip the tasks if the metadata is already in the registries
         LookupRegistryTask lookupRegistries = new LookupRegistryTask(resourceDescriptionRegistry,
                 securityContextRegistry);
@@ -143,28 +173,54 @@ public class MetadataProcessor {
 
         } else {
             boolean ie = Browser.isIE();
+            int concurrency = settings.get(METADATA_CONCURRENCY).asInt(DEFAULT_CONCURRENCY);
             List<Task<LookupContext>> tasks = new ArrayList<>();
-            tasks.add(lookupRegistries);
+            tasks.add(timed("registry", lookupRegistries));
             if (!ie) {
-                tasks.add(new LookupDatabaseTask(resourceDescriptionDatabase, securityContextDatabase));
+                tasks.add(timed("database", new LookupDatabaseTask(resourceDescriptionDatabase, securityContextDatabase)));
             }
-            tasks.add(new RrdTask(environment, dispatcher, statementContext, settings, BATCH_SIZE, RRD_DEPTH));
-            tasks.add(new UpdateRegistryTask(resourceDescriptionRegistry, securityContextRegistry));
+            tasks.add(timed("rrd", new RrdTask(environment, dispatcher, statementContext, settings, batchSize,
+                    concurrency, RRD_DEPTH)));
+            tasks.add(timed("update-registry", new UpdateRegistryTask(resourceDescriptionRegistry, securityContextRegistry)));
             if (!ie) {
-                tasks.add(new UpdateDatabaseTask(workerChannel));
+                tasks.add(timed("update-database", new UpdateDatabaseTask(workerChannel)));
             }
 
-            LookupContext context = new LookupContext(progress, templates, recursive);
+            LookupContext context = new LookupContext(progress, templates, recursive, priority);
+            if (priority == BACKGROUND) {
+                prefetches.add(context);
+            }
             Stopwatch stopwatch = Stopwatch.createStarted();
-            return Flow.sequential(context, tasks).then(
+            return Flow.sequential(context, tasks).priority(priority).name("metadata").then(
                     c -> {
                         stopwatch.stop();
-                        logger.info("Successfully processed metadata in {} ms", stopwatch.elapsed(MILLISECONDS));
+                        logger.info("Successfully processed metadata for {} in {} ms {}", templates,
+                                stopwatch.elapsed(MILLISECONDS), c.timings);
                         return Promise.resolve((Void) null);
-                    });
+                    })
+                    .finally_(() -> prefetches.remove(context));
         }
     }
 
+    /** Records the execution time of the task in {@link LookupContext#timings} and names the task for tracing. */
+    private Task<LookupContext> timed(String name, Task<LookupContext> task) {
+        return new Task<LookupContext>() {
+            @Override
+            public Promise<LookupContext> apply(LookupContext context) {
+                Stopwatch stopwatch = Stopwatch.createStarted();
+                return task.apply(context).then(c -> {
+                    c.timings.put(name, stopwatch.elapsed(MILLISECONDS));
+                    return Promise.resolve(c);
+                });
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+
     public interface MetadataCallback {
 
         void onMetadata(Metadata metadata);
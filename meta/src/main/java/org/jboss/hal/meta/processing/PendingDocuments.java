@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Collects the documents which are about to be sent to the worker, per database and keyed by their {@code _id}. The worker
+ * resolves the revisions of a batch with one {@code allDocs()} call, so a batch must not contain the same id twice: The second
+ * write would fail with a conflict. If a document is added again before the batch is sent, the last write wins.
+ */
+class PendingDocuments<D> {
+
+    private final Function<D, String> id;
+    private final Map<String, Map<String, D>> databases;
+
+    PendingDocuments(Function<D, String> id) {
+        this.id = id;
+        this.databases = new LinkedHashMap<>();
+    }
+
+    /** @return the number of pending documents of the database */
+    int add(String database, D document) {
+        Map<String, D> documents = databases.computeIfAbsent(database, __ -> new LinkedHashMap<>());
+        String key = id.apply(document);
+        documents.remove(key);
+        documents.put(key, document);
+        return documents.size();
+    }
+
+    /** Removes and returns the pending documents of the database. */
+    List<D> remove(String database) {
+        Map<String, D> documents = databases.remove(database);
+        return documents != null ? new ArrayList<>(documents.values()) : new ArrayList<>();
+    }
+
+    /** Removes and returns the pending documents of all databases. */
+    Map<String, List<D>> removeAll() {
+        Map<String, List<D>> all = new LinkedHashMap<>();
+        databases.forEach((database, documents) -> all.put(database, new ArrayList<>(documents.values())));
+        databases.clear();
+        return all;
+    }
+
+    boolean isEmpty() {
+        return databases.isEmpty();
+    }
+}
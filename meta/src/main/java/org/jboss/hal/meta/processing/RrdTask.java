@@ -31,25 +31,33 @@ import org.jboss.hal.meta.StatementContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 
 import elemental2.promise.Promise;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 
-/** Creates, executes and parses the {@code read-resource-description} operations to read the missing metadata. */
+/**
+ * Creates, executes and parses the {@code read-resource-description} operations to read the missing metadata. The composites
+ * are executed in parallel with a bounded concurrency. The number of operations per composite adapts to the measured response
+ * times and payload sizes.
+ */
 final class RrdTask implements Task<LookupContext> {
 
     private static final Logger logger = LoggerFactory.getLogger(RrdTask.class);
 
     private final Dispatcher dispatcher;
-    private final int batchSize;
+    private final AdaptiveBatchSize batchSize;
+    private final int concurrency;
     private final CreateRrdOperations rrdOps;
 
     RrdTask(Environment environment, Dispatcher dispatcher, StatementContext statementContext, Settings settings,
-            int batchSize, int depth) {
+            AdaptiveBatchSize batchSize, int concurrency, int depth) {
         this.dispatcher = dispatcher;
         this.batchSize = batchSize;
+        this.concurrency = concurrency;
         this.rrdOps = new CreateRrdOperations(environment, statementContext, settings.get(Settings.Key.LOCALE).value(),
                 depth);
     }
@@ -61,13 +69,20 @@ final class RrdTask implements Task<LookupContext> {
 
         // create and partition non-optional operations
         List<Operation> operations = rrdOps.create(context, recursive, false);
-        List<List<Operation>> piles = Lists.partition(operations, batchSize);
+        List<List<Operation>> piles = Lists.partition(operations, batchSize.get());
         List<Composite> composites = piles.stream().map(Composite::new).collect(toList());
         for (Composite composite : composites) {
-            tasks.add((LookupContext c) -> dispatcher.execute(composite).then(result -> {
-                parseRrdAction(context, composite, result);
-                return Promise.resolve(c);
-            }));
+            tasks.add((LookupContext c) -> {
+                Stopwatch stopwatch = Stopwatch.createStarted();
+                return dispatcher.execute(composite).then(result -> {
+                    long millis = stopwatch.elapsed(MILLISECONDS);
+                    int descriptions = parseRrdAction(context, composite, result);
+                    batchSize.measured(composite.size(), millis, descriptions);
+                    logger.debug("Executed {} r-r-d operations in {} ms ({} resource descriptions, next batch size {})",
+                            composite.size(), millis, descriptions, batchSize.get());
+                    return Promise.resolve(c);
+                });
+            });
         }
 
         // create optional operations w/o partitioning!
@@ -102,18 +117,24 @@ final class RrdTask implements Task<LookupContext> {
                     logger.debug("Optional operations: {}", optionalOps);
                 }
             }
-            return Flow.sequential(context, tasks).promise();
+            return Flow.parallel(context, tasks)
+                    .maxConcurrency(concurrency)
+                    .priority(context.priority)
+                    .name("rrd")
+                    .promise();
         } else {
             logger.debug("No DMR operations necessary");
             return Promise.resolve(context);
         }
     }
 
-    private void parseRrdAction(LookupContext context, Composite composite, CompositeResult compositeResult) {
+    /** @return the number of parsed resource descriptions */
+    private int parseRrdAction(LookupContext context, Composite composite, CompositeResult compositeResult) {
         RrdResult rrdResult = new CompositeRrdParser(composite).parse(compositeResult);
         context.toResourceDescriptionRegistry.putAll(rrdResult.resourceDescriptions);
         context.toResourceDescriptionDatabase.putAll(rrdResult.resourceDescriptions);
         context.toSecurityContextRegistry.putAll(rrdResult.securityContexts);
         context.toSecurityContextDatabase.putAll(rrdResult.securityContexts);
+        return rrdResult.resourceDescriptions.size();
     }
 }
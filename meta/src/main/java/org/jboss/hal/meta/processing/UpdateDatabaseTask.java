@@ -58,7 +58,7 @@ final class UpdateDatabaseTask implements Task<LookupContext> {
                 workerChannel.postSecurityContext(address, securityContext, context.recursive);
             }
             logger.debug(
-                    "Posted {} resource descriptions and {} security contexts to the databases in {} ms",
+                    "Queued {} resource descriptions and {} security contexts for the databases in {} ms",
                     context.toResourceDescriptionDatabase.size(), context.toSecurityContextDatabase.size(),
                     watch.stop().elapsed(MILLISECONDS));
         }
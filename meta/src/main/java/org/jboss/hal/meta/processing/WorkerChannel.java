@@ -15,8 +15,11 @@
  */
 package org.jboss.hal.meta.processing;
 
+import java.util.List;
+
 import javax.inject.Inject;
 
+import org.jboss.hal.config.Settings;
 import org.jboss.hal.db.Document;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.js.Browser;
@@ -24,17 +27,35 @@ import org.jboss.hal.meta.description.ResourceDescription;
 import org.jboss.hal.meta.description.ResourceDescriptionDatabase;
 import org.jboss.hal.meta.security.SecurityContext;
 import org.jboss.hal.meta.security.SecurityContextDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import elemental2.dom.Worker;
 import jsinterop.annotations.JsProperty;
 import jsinterop.annotations.JsType;
 
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.setTimeout;
 import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.config.Settings.Key.METADATA_BATCH_SIZE;
+import static org.jboss.hal.config.Settings.Key.METADATA_COMPRESSION;
+import static org.jboss.hal.config.Settings.Key.METADATA_FLUSH_INTERVAL;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 import static org.jboss.hal.resources.UIConstants.OBJECT;
 
+/**
+ * Sends resource descriptions and security contexts to the web worker which stores them in the databases.
+ * <p>
+ * The documents are collected per database and sent as one message, once the configured batch size is reached or the configured
+ * flush interval has passed. The worker writes each message in one bulk operation. If a document is posted again before its
+ * batch has been sent, only the last version is sent.
+ */
 public class WorkerChannel {
 
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_FLUSH_INTERVAL = 250; // ms
+    private static final Logger logger = LoggerFactory.getLogger(WorkerChannel.class);
+
     // provided by app/src/web/script/index.js
     @JsType(isNative = true, namespace = GLOBAL, name = "window")
     static class WorkerProvider {
@@ -44,40 +65,77 @@ public class WorkerChannel {
 
     private final ResourceDescriptionDatabase resourceDescriptionDatabase;
     private final SecurityContextDatabase securityContextDatabase;
+    private final Settings settings;
     private final Worker worker;
+    private final PendingDocuments<Document> pending;
+    private double timeoutHandle;
 
     @Inject
     public WorkerChannel(ResourceDescriptionDatabase resourceDescriptionDatabase,
-            SecurityContextDatabase securityContextDatabase) {
+            SecurityContextDatabase securityContextDatabase, Settings settings) {
         this.resourceDescriptionDatabase = resourceDescriptionDatabase;
         this.securityContextDatabase = securityContextDatabase;
+        this.settings = settings;
         this.worker = Browser.isIE() ? null : WorkerProvider.metadataChannel;
+        this.pending = new PendingDocuments<>(document -> document.getId());
+        this.timeoutHandle = -1;
     }
 
     void postResourceDescription(ResourceAddress address, ResourceDescription resourceDescription, boolean recursive) {
         if (worker != null) {
             resourceDescription.get(HAL_RECURSIVE).set(recursive);
-            UpdateMessage message = new UpdateMessage();
-            message.database = resourceDescriptionDatabase.name();
-            message.document = resourceDescriptionDatabase.asDocument(address, resourceDescription);
-            worker.postMessage(message);
+            post(resourceDescriptionDatabase.name(),
+                    resourceDescriptionDatabase.asDocument(address, resourceDescription));
         }
     }
 
     void postSecurityContext(ResourceAddress address, SecurityContext securityContext, boolean recursive) {
         if (worker != null) {
             securityContext.get(HAL_RECURSIVE).set(recursive);
-            UpdateMessage message = new UpdateMessage();
-            message.database = securityContextDatabase.name();
-            message.document = securityContextDatabase.asDocument(address, securityContext);
-            worker.postMessage(message);
+            post(securityContextDatabase.name(), securityContextDatabase.asDocument(address, securityContext));
+        }
+    }
+
+    private void post(String database, Document document) {
+        int size = pending.add(database, document);
+        if (size >= settings.get(METADATA_BATCH_SIZE).asInt(DEFAULT_BATCH_SIZE)) {
+            send(database, pending.remove(database));
+        }
+        if (pending.isEmpty()) {
+            cancelFlush();
+        } else if (timeoutHandle < 0) {
+            timeoutHandle = setTimeout(__ -> flush(),
+                    settings.get(METADATA_FLUSH_INTERVAL).asInt(DEFAULT_FLUSH_INTERVAL));
         }
     }
 
+    /** Sends all pending documents to the worker. */
+    void flush() {
+        cancelFlush();
+        pending.removeAll().forEach(this::send);
+    }
+
+    private void cancelFlush() {
+        if (timeoutHandle >= 0) {
+            clearTimeout(timeoutHandle);
+            timeoutHandle = -1;
+        }
+    }
+
+    private void send(String database, List<Document> documents) {
+        UpdateMessage message = new UpdateMessage();
+        message.database = database;
+        message.documents = documents.toArray(new Document[0]);
+        message.compress = settings.get(METADATA_COMPRESSION).asBoolean();
+        worker.postMessage(message);
+        logger.debug("Posted {} documents to {}", documents.size(), database);
+    }
+
     @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
     private static class UpdateMessage {
 
         String database;
-        Document document;
+        Document[] documents;
+        boolean compress;
     }
 }
@@ -24,10 +24,8 @@ import org.jboss.hal.config.Role;
 import org.jboss.hal.config.Settings;
 import org.jboss.hal.config.Settings.Key;
 import org.jboss.hal.config.User;
-import org.jboss.hal.db.Document;
 import org.jboss.hal.db.PouchDB;
 import org.jboss.hal.dmr.ModelNode;
-import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractDatabase;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
@@ -76,16 +74,8 @@ public class SecurityContextDatabase extends AbstractDatabase<SecurityContext> {
     }
 
     @Override
-    public SecurityContext asMetadata(Document document) {
-        return new SecurityContext(ModelNode.fromBase64(document.getAsAny(PAYLOAD).asString()));
-    }
-
-    @Override
-    public Document asDocument(ResourceAddress address, SecurityContext securityContext) {
-        Document document = Document.of(address.toString());
-        document.set(PAYLOAD, securityContext.toBase64String());
-        return document;
-
+    public SecurityContext asMetadata(ModelNode payload) {
+        return new SecurityContext(payload);
     }
 
     @Override
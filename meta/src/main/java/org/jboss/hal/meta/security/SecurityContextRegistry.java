@@ -18,45 +18,58 @@ package org.jboss.hal.meta.security;
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractRegistry;
+import org.jboss.hal.meta.CacheStatistics;
+import org.jboss.hal.meta.ModelNodeWeigher;
 import org.jboss.hal.meta.StatementContext;
+import org.jboss.hal.meta.WeightedCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-
+import static org.jboss.hal.config.Settings.Key.SECURITY_CONTEXT_CACHE_SIZE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 
 public class SecurityContextRegistry extends AbstractRegistry<SecurityContext> {
 
-    private static final int CACHE_SIZE = 500;
+    /** Default maximum size of the cache in KB */
+    public static final int DEFAULT_CACHE_SIZE = 2048;
     private static final String SECURITY_CONTEXT_TYPE = "security context";
     private static final Logger logger = LoggerFactory.getLogger(SecurityContextRegistry.class);
 
-    private final Cache<ResourceAddress, SecurityContext> cache;
+    private final Settings settings;
+    private WeightedCache<ResourceAddress, SecurityContext> cache;
 
     @Inject
-    public SecurityContextRegistry(StatementContext statementContext, Environment environment) {
+    public SecurityContextRegistry(StatementContext statementContext, Environment environment,
+            Settings settings) {
         super(new SecurityContextStatementContext(statementContext, environment), SECURITY_CONTEXT_TYPE);
-        this.cache = CacheBuilder.newBuilder()
-                .maximumSize(CACHE_SIZE)
-                .recordStats()
-                .removalListener(
-                        notification -> logger.debug("Remove {} from {} cache: {}", notification.getKey(), type,
-                                notification.getCause()))
-                .build();
+        this.settings = settings;
     }
 
     public void add(ResourceAddress address, SecurityContext securityContext, boolean recursive) {
         securityContext.get(HAL_RECURSIVE).set(recursive);
-        cache.put(address, securityContext);
+        cache().put(address, securityContext);
         logger.debug("Added {} to {} ({})", address.toString(), type, recursive ? "recursive" : "none-recursive");
     }
 
     @Override
     protected SecurityContext lookupAddress(ResourceAddress address) {
-        return cache.getIfPresent(address);
+        return cache().getIfPresent(address);
+    }
+
+    /** @return the statistics of the underlying cache */
+    public CacheStatistics statistics() {
+        return cache().statistics();
+    }
+
+    // created on first use, when the settings have been loaded
+    private WeightedCache<ResourceAddress, SecurityContext> cache() {
+        if (cache == null) {
+            long maximumWeight = settings.get(SECURITY_CONTEXT_CACHE_SIZE).asInt(DEFAULT_CACHE_SIZE) * 1024L;
+            cache = new WeightedCache<>(type, maximumWeight, new ModelNodeWeigher<>());
+        }
+        return cache;
     }
 }
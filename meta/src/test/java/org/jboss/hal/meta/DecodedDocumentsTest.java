@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class DecodedDocumentsTest {
+
+    private static final ResourceAddress FOO = ResourceAddress.from("/subsystem=foo");
+    private static final ResourceAddress BAR = ResourceAddress.from("/subsystem=bar");
+
+    @Test
+    public void noDocuments() {
+        DecodedDocuments<String> decoded = new DecodedDocuments<>(0);
+        int[] done = new int[1];
+        decoded.whenDone(() -> done[0]++);
+        assertEquals(1, done[0]);
+        assertTrue(decoded.metadata().isEmpty());
+    }
+
+    @Test
+    public void allDecoded() {
+        DecodedDocuments<String> decoded = new DecodedDocuments<>(2);
+        int[] done = new int[1];
+        decoded.whenDone(() -> done[0]++);
+        decoded.decoded(FOO, "foo");
+        assertEquals(0, done[0]);
+        decoded.decoded(BAR, "bar");
+        assertEquals(1, done[0]);
+        assertEquals(2, decoded.metadata().size());
+        assertTrue(decoded.failed().isEmpty());
+    }
+
+    @Test
+    public void failedDocumentIsCacheMiss() {
+        DecodedDocuments<String> decoded = new DecodedDocuments<>(2);
+        int[] done = new int[1];
+        decoded.whenDone(() -> done[0]++);
+        decoded.failed(FOO);
+        assertEquals(0, done[0]);
+        decoded.decoded(BAR, "bar");
+
+        // one corrupt document must not fail the read of the others
+        assertEquals(1, done[0]);
+        assertEquals("bar", decoded.metadata().get(BAR));
+        assertFalse(decoded.metadata().containsKey(FOO));
+        assertEquals(singletonList(FOO), decoded.failed());
+    }
+
+    @Test
+    public void settledBeforeWhenDone() {
+        // documents decoded synchronously (former base64 format) are settled before the callback is registered
+        DecodedDocuments<String> decoded = new DecodedDocuments<>(1);
+        decoded.decoded(FOO, "foo");
+        int[] done = new int[1];
+        decoded.whenDone(() -> done[0]++);
+        assertEquals(1, done[0]);
+    }
+}
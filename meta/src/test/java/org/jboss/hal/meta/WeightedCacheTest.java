@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class WeightedCacheTest {
+
+    private WeightedCache<String, String> cache;
+
+    @Before
+    public void setUp() {
+        cache = new WeightedCache<>("test", 10, String::length);
+    }
+
+    @Test
+    public void hitsAndMisses() {
+        cache.put("a", "aaa");
+        assertEquals("aaa", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+
+        CacheStatistics statistics = cache.statistics();
+        assertEquals(1, statistics.getSize());
+        assertEquals(3, statistics.getWeight());
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(0.5, statistics.hitRate(), 0.001);
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.getIfPresent("a");
+        cache.put("c", "cccc");
+
+        assertNotNull(cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertNotNull(cache.getIfPresent("c"));
+        assertEquals(8, cache.statistics().getWeight());
+        assertEquals(1, cache.statistics().getEvictions());
+    }
+
+    @Test
+    public void replace() {
+        cache.put("a", "aaaa");
+        cache.put("a", "aa");
+        assertEquals(2, cache.statistics().getWeight());
+        assertEquals(0, cache.statistics().getEvictions());
+    }
+
+    @Test
+    public void tooHeavy() {
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbbbbbbbbb");
+        assertNull(cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(0, cache.statistics().getWeight());
+    }
+
+    @Test
+    public void invalidateAll() {
+        cache.put("a", "aaaa");
+        cache.invalidateAll();
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(0, cache.statistics().getWeight());
+    }
+
+    @Test
+    public void weighModelNode() {
+        ModelNode small = new ModelNode();
+        small.get("name").set("foo");
+        ModelNode big = new ModelNode();
+        for (int i = 0; i < 10; i++) {
+            big.get("attribute-" + i).get("description").set("Description of attribute " + i);
+        }
+        ModelNodeWeigher<ModelNode> weigher = new ModelNodeWeigher<>();
+        assertTrue(weigher.applyAsInt(small) > 0);
+        assertTrue(weigher.applyAsInt(big) > 10 * weigher.applyAsInt(small));
+    }
+
+    @Test
+    public void weighSharedNodes() {
+        ModelNode shared = new ModelNode();
+        shared.get("description").set("A long description which is shared by many resource descriptions");
+        ModelNode one = new ModelNode();
+        one.get("attributes").setShared("foo", shared);
+        ModelNode two = new ModelNode();
+        two.get("attributes").setShared("foo", shared);
+
+        ModelNodeWeigher<ModelNode> all = new ModelNodeWeigher<>();
+        ModelNodeWeigher<ModelNode> unshared = new ModelNodeWeigher<>(true);
+        assertTrue(unshared.applyAsInt(one) < all.applyAsInt(one));
+        assertEquals(unshared.applyAsInt(one), unshared.applyAsInt(two));
+        assertTrue(unshared.applyAsInt(one) < all.applyAsInt(shared));
+    }
+}
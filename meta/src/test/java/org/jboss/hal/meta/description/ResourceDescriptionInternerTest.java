@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.description;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DEFAULT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUEST_PROPERTIES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ResourceDescriptionInternerTest {
+
+    private ResourceDescriptionInterner interner;
+
+    @Before
+    public void setUp() {
+        interner = new ResourceDescriptionInterner(2);
+    }
+
+    @Test
+    public void shareEqualDescriptions() {
+        ModelNode first = description("foo", "bar");
+        ModelNode second = description("foo", "bar");
+        interner.intern(first);
+        interner.intern(second);
+
+        assertSame(first.get(ATTRIBUTES).get("foo"), second.get(ATTRIBUTES).get("foo"));
+        assertSame(first.get(OPERATIONS).get("bar"), second.get(OPERATIONS).get("bar"));
+        assertEquals(2, interner.size());
+        assertEquals(2, interner.getHits());
+        assertEquals(2, interner.getMisses());
+    }
+
+    @Test
+    public void keepDifferentDescriptions() {
+        ModelNode first = description("foo", "bar");
+        ModelNode second = description("foo", "bar");
+        second.get(ATTRIBUTES).get("foo").get(DEFAULT).set(42);
+        interner.intern(first);
+        interner.intern(second);
+
+        assertNotSame(first.get(ATTRIBUTES).get("foo"), second.get(ATTRIBUTES).get("foo"));
+        assertSame(first.get(OPERATIONS).get("bar"), second.get(OPERATIONS).get("bar"));
+    }
+
+    @Test
+    public void sharedNodesAreReadOnly() {
+        ModelNode description = description("foo", "bar");
+        interner.intern(description);
+
+        ModelNode attribute = description.get(ATTRIBUTES).get("foo");
+        assertTrue(attribute.isProtected());
+        assertFalse(attribute.get(DEFAULT).isDefined());
+        assertFalse(attribute.has(DEFAULT));
+
+        ModelNode copy = description.clone();
+        copy.get(ATTRIBUTES).get("foo").get(DEFAULT).set(42);
+        assertFalse(copy.get(ATTRIBUTES).get("foo").isProtected());
+        assertFalse(attribute.has(DEFAULT));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void modifySharedNode() {
+        ModelNode description = description("foo", "bar");
+        interner.intern(description);
+        description.get(ATTRIBUTES).get("foo").get(TYPE).set("INT");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addMissingChildToSharedNode() {
+        ModelNode description = description("foo", "bar");
+        interner.intern(description);
+        description.get(ATTRIBUTES).get("foo").get(DEFAULT).set(42);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addNestedMissingChildToSharedNode() {
+        ModelNode description = description("foo", "bar");
+        interner.intern(description);
+        description.get(OPERATIONS).get("bar").get(REQUEST_PROPERTIES).get("baz").get(TYPE).set("STRING");
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        interner.intern(description("a", "b"));
+        interner.intern(description("c", "d"));
+
+        assertEquals(2, interner.size());
+        assertEquals(4, interner.getMisses());
+    }
+
+    private ModelNode description(String attribute, String operation) {
+        ModelNode description = new ModelNode();
+        description.get(DESCRIPTION).set("description");
+        description.get(ATTRIBUTES).get(attribute).get(TYPE).set("STRING");
+        description.get(ATTRIBUTES).get(attribute).get(DESCRIPTION).set("attribute " + attribute);
+        description.get(OPERATIONS).get(operation).get(DESCRIPTION).set("operation " + operation);
+        return description;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.description;
+
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.meta.TestableStatementContext;
+import org.jboss.hal.meta.capabilitiy.Capabilities;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADD;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.REQUEST_PROPERTIES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings({ "HardCodedStringLiteral", "DuplicateStringLiteralInspection" })
+public class ResourceDescriptionRegistryTest {
+
+    private static final ResourceAddress FIRST = ResourceAddress.from("/subsystem=foo/bar=first");
+    private static final ResourceAddress SECOND = ResourceAddress.from("/subsystem=foo/bar=second");
+
+    private ResourceDescriptionRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new ResourceDescriptionRegistry(new TestableStatementContext(), mock(Environment.class),
+                new Settings());
+        registry.add(FIRST, new ResourceDescription(description()), false);
+        registry.add(SECOND, new ResourceDescription(description()), false);
+    }
+
+    @Test
+    public void shared() {
+        ResourceDescription first = registry.lookupAddress(FIRST);
+        ResourceDescription second = registry.lookupAddress(SECOND);
+        assertSame(first.get(OPERATIONS).get(ADD), second.get(OPERATIONS).get(ADD));
+        assertSame(first.get(ATTRIBUTES).get("foo"), second.get(ATTRIBUTES).get("foo"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void modifyRegistered() {
+        ResourceDescription first = registry.lookupAddress(FIRST);
+        first.get(OPERATIONS).get(ADD).get(REQUEST_PROPERTIES).remove("foo");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addMissingChildToRegistered() {
+        ResourceDescription first = registry.lookupAddress(FIRST);
+        // reading a missing child is fine, writing to it must fail instead of being silently lost
+        assertFalse(first.get(ATTRIBUTES).get("foo").get("missing").isDefined());
+        first.get(ATTRIBUTES).get("foo").get("missing").set("value");
+    }
+
+    @Test
+    public void modifyCopy() {
+        Metadata metadata = new Metadata(AddressTemplate.of(FIRST), () -> SecurityContext.RWX,
+                registry.lookupAddress(FIRST), new Capabilities(null)).copy();
+
+        // the same modifications as in the model browser (flatten request properties) and the JCA view
+        ModelNode requestProperties = metadata.getDescription().get(OPERATIONS).get(ADD).get(REQUEST_PROPERTIES);
+        requestProperties.remove("foo");
+        requestProperties.get("foo.bar").get(TYPE).set("STRING");
+        requestProperties.get("max-threads").set(new ModelNode().set(TYPE, "INT"));
+        metadata.getDescription().get(ATTRIBUTES).get("foo").get(DESCRIPTION).set("modified");
+
+        ModelNode copied = metadata.getDescription().get(OPERATIONS).get(ADD).get(REQUEST_PROPERTIES);
+        assertFalse(copied.has("foo"));
+        assertEquals("STRING", copied.get("foo.bar").get(TYPE).asString());
+        assertEquals("INT", copied.get("max-threads").get(TYPE).asString());
+        assertEquals("modified", metadata.getDescription().get(ATTRIBUTES).get("foo").get(DESCRIPTION).asString());
+
+        // the registered descriptions are not affected and still shared
+        ResourceDescription first = registry.lookupAddress(FIRST);
+        ResourceDescription second = registry.lookupAddress(SECOND);
+        assertNotSame(first, metadata.getDescription());
+        assertTrue(first.get(OPERATIONS).get(ADD).get(REQUEST_PROPERTIES).has("foo"));
+        assertFalse(first.get(OPERATIONS).get(ADD).get(REQUEST_PROPERTIES).has("max-threads"));
+        assertEquals("attribute foo", first.get(ATTRIBUTES).get("foo").get(DESCRIPTION).asString());
+        assertSame(first.get(OPERATIONS).get(ADD), second.get(OPERATIONS).get(ADD));
+    }
+
+    private ModelNode description() {
+        ModelNode description = new ModelNode();
+        description.get(DESCRIPTION).set("description");
+        description.get(ATTRIBUTES).get("foo").get(TYPE).set("STRING");
+        description.get(ATTRIBUTES).get("foo").get(DESCRIPTION).set("attribute foo");
+        description.get(OPERATIONS).get(ADD).get(DESCRIPTION).set("add");
+        description.get(OPERATIONS).get(ADD).get(REQUEST_PROPERTIES).get("foo").get(TYPE).set("STRING");
+        return description;
+    }
+}
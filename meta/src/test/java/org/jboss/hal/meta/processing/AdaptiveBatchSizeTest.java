@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import org.junit.Test;
+
+import static org.jboss.hal.meta.processing.AdaptiveBatchSize.FAST_RESPONSE;
+import static org.jboss.hal.meta.processing.AdaptiveBatchSize.MAX_DESCRIPTIONS;
+import static org.jboss.hal.meta.processing.AdaptiveBatchSize.MAX_SIZE;
+import static org.jboss.hal.meta.processing.AdaptiveBatchSize.MIN_SIZE;
+import static org.jboss.hal.meta.processing.AdaptiveBatchSize.SLOW_RESPONSE;
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveBatchSizeTest {
+
+    @Test
+    public void bounds() {
+        assertEquals(MIN_SIZE, new AdaptiveBatchSize(0).get());
+        assertEquals(MAX_SIZE, new AdaptiveBatchSize(MAX_SIZE + 1).get());
+    }
+
+    @Test
+    public void grow() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(3);
+        batchSize.measured(3, FAST_RESPONSE - 1, 10);
+        assertEquals(4, batchSize.get());
+    }
+
+    @Test
+    public void growOnlyOnFullBatch() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(3);
+        batchSize.measured(2, FAST_RESPONSE - 1, 10);
+        assertEquals(3, batchSize.get());
+    }
+
+    @Test
+    public void growUpToMax() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(MAX_SIZE);
+        batchSize.measured(MAX_SIZE, 1, 1);
+        assertEquals(MAX_SIZE, batchSize.get());
+    }
+
+    @Test
+    public void keep() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(3);
+        batchSize.measured(3, FAST_RESPONSE + 1, 10);
+        assertEquals(3, batchSize.get());
+    }
+
+    @Test
+    public void shrinkOnSlowResponse() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(8);
+        batchSize.measured(8, SLOW_RESPONSE + 1, 10);
+        assertEquals(4, batchSize.get());
+    }
+
+    @Test
+    public void shrinkOnLargePayload() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(8);
+        batchSize.measured(8, 1, MAX_DESCRIPTIONS + 1);
+        assertEquals(4, batchSize.get());
+    }
+
+    @Test
+    public void shrinkDownToMin() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(MIN_SIZE);
+        batchSize.measured(MIN_SIZE, SLOW_RESPONSE + 1, 10);
+        assertEquals(MIN_SIZE, batchSize.get());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class PendingDocumentsTest {
+
+    private PendingDocuments<String[]> pending;
+
+    @Before
+    public void setUp() {
+        // documents are [id, content]
+        pending = new PendingDocuments<>(document -> document[0]);
+    }
+
+    @Test
+    public void add() {
+        assertEquals(1, pending.add("rrd", doc("a", "1")));
+        assertEquals(2, pending.add("rrd", doc("b", "1")));
+        assertEquals(1, pending.add("sc", doc("a", "1")));
+        assertEquals(asList("a:1", "b:1"), contents(pending.remove("rrd")));
+        assertEquals(asList("a:1"), contents(pending.remove("sc")));
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    public void lastWriteWins() {
+        pending.add("rrd", doc("a", "1"));
+        pending.add("rrd", doc("b", "1"));
+        assertEquals(2, pending.add("rrd", doc("a", "2")));
+        assertEquals(asList("b:1", "a:2"), contents(pending.remove("rrd")));
+    }
+
+    @Test
+    public void removeAll() {
+        pending.add("rrd", doc("a", "1"));
+        pending.add("sc", doc("a", "1"));
+        pending.add("rrd", doc("a", "2"));
+
+        Map<String, List<String[]>> all = pending.removeAll();
+        assertEquals(asList("rrd", "sc"), asList(all.keySet().toArray()));
+        assertEquals(asList("a:2"), contents(all.get("rrd")));
+        assertEquals(asList("a:1"), contents(all.get("sc")));
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    public void removeUnknown() {
+        assertTrue(pending.remove("rrd").isEmpty());
+    }
+
+    private String[] doc(String id, String content) {
+        return new String[] { id, content };
+    }
+
+    private List<String> contents(List<String[]> documents) {
+        return asList(documents.stream().map(d -> d[0] + ":" + d[1]).toArray(String[]::new));
+    }
+}
@@ -165,9 +165,13 @@ public interface CSS {
     String finderItem = "finder-item";
     String finderPreview = "finder-preview";
     String flexRow = "flex-row";
+    String flowTraceBar = "flow-trace-bar";
+    String flowTraceCall = "flow-trace-call";
+    String flowTraces = "flow-traces";
     String folder = "folder";
     String footer = "footer";
     String footerProgress = "footer-progress";
+    String footerTraces = "footer-traces";
     String footerTools = "footer-tools";
     String form = "form";
     String formButtons = "form-buttons";
@@ -180,6 +184,9 @@ public interface CSS {
     String formLinks = "form-links";
     String formSection = "form-section";
 
+    String globalSearch = "global-search";
+    String globalSearchKind = "global-search-kind";
+    String globalSearchMatches = "global-search-matches";
     String grey = "grey";
 
     String halBreadcrumb = "hal-breadcrumb";
@@ -262,12 +269,14 @@ public interface CSS {
     String listPfSelect = "list-pf-select";
     String listPfStacked = "list-pf-stacked";
     String listPfTitle = "list-pf-title";
+    String listUnstyled = "list-unstyled";
     String loading = "loading";
     String loadingContainer = "loading-container";
     String logFileEditorContainer = "log-file-editor-container";
     String logFileFollow = "log-file-follow";
     String logFileLoading = "log-file-loading";
     String logFilePreview = "log-file-preview";
+    String logSearchResults = "log-search-results";
     String logo = "logo";
     String logoText = "logo-text";
     String logoTextFirst = "logo-text-first";
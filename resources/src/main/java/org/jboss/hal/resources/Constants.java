@@ -48,6 +48,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String addressMatch();
 
+    String addressTemplates();
+
     String adminOnly();
 
     String aliases();
@@ -82,8 +84,14 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String browseBy();
 
+    String bytesReceived();
+
+    String bytesSent();
+
     String cacheMemory();
 
+    String cacheStatistics();
+
     String cacheStore();
 
     String callerThread();
@@ -168,6 +176,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String connectToServer();
 
+    String consolePerformance();
+
     String consoleVersion();
 
     String consumersForAddress();
@@ -338,6 +348,10 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String error();
 
+    String errorRate();
+
+    String evictionCount();
+
     String excludeRole();
 
     String excludes();
@@ -384,6 +398,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String filter();
 
+    String filterMessages();
+
     String findNonProgressingOperation();
 
     String finish();
@@ -392,6 +408,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String firstPage();
 
+    String flowTraces();
+
     String flushAll();
 
     String flushGracefully();
@@ -424,10 +442,14 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String getRoles();
 
+    String globalSearch();
+
     String globalSettings();
 
     String gotoDeployment();
 
+    String gotoLine();
+
     String group();
 
     String groups();
@@ -440,6 +462,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String hitCount();
 
+    String hitRate();
+
     String homepageAccessControlSection();
 
     String homepageAccessControlSsoSubHeader();
@@ -606,6 +630,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String identity();
 
+    String ignoreCase();
+
     String importCertificate();
 
     String importSecretKey();
@@ -856,6 +882,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String ping();
 
+    String place();
+
     String platform();
 
     String play();
@@ -934,6 +962,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String request();
 
+    String requests();
+
     String required();
 
     String requiredField();
@@ -946,6 +976,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String resolveExpression();
 
+    String resource();
+
     String resourceRollback();
 
     String response();
@@ -1002,6 +1034,10 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String search();
 
+    String searchInFile();
+
+    String searchLogFiles();
+
     String second();
 
     String seconds();
@@ -1118,6 +1154,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String tailMode();
 
+    String task();
+
     String test();
 
     String testConnection();
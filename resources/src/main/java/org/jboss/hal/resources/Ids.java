@@ -328,6 +328,7 @@ public interface Ids {
     String FOOTER_EXTENSIONS = "footer-extensions";
     String FOOTER_EXTENSIONS_DROPDOWN = "footer-extensions-dropdown";
     String FORM = "form";
+    String GLOBAL_SEARCH = "global-search";
     String GROUP = "group";
     String HAL_MODAL = "hal-modal";
     String HAL_MODAL_TITLE = "hal-modal-title";
@@ -438,11 +439,14 @@ public interface Ids {
     String JMS_MESSAGE_CHANGE_PRIORITY = "jms-message-change-priority";
     String JMS_MESSAGE_CHANGE_PRIORITY_FORM = "jms-message-change-priority-form";
     String JMS_MESSAGE_EXPIRE = "jms-message-expire";
+    String JMS_MESSAGE_FILTER_FORM = "jms-message-filter-form";
     String JMS_MESSAGE_LIST = "jms-message-list";
     String JMS_MESSAGE_LIST_CHANGE_PRIORITY = "jms-message-list-change-priority";
     String JMS_MESSAGE_LIST_CLEAR_SELECTION = "jms-message-list-clear-selection";
     String JMS_MESSAGE_LIST_EXPIRE = "jms-message-list-expire";
+    String JMS_MESSAGE_LIST_FILTER = "jms-message-list-filter";
     String JMS_MESSAGE_LIST_MOVE = "jms-message-list-move";
+    String JMS_MESSAGE_LIST_NO_MATCH = "jms-message-list-no-match";
     String JMS_MESSAGE_LIST_REFRESH = "jms-message-list-refresh";
     String JMS_MESSAGE_LIST_REMOVE = "jms-message-list-remove";
     String JMS_MESSAGE_LIST_SELECT_ALL = "jms-message-list-select-all";
@@ -484,8 +488,12 @@ public interface Ids {
     String LOG_FILE = "lf";
     String LOG_FILE_EDITOR = "lf-editor";
     String LOG_FILE_FOLLOW = "lf-follow";
+    String LOG_FILE_GOTO_LINE = "lf-goto-line";
     String LOG_FILE_REFRESH = "lf-refresh";
     String LOG_FILE_SEARCH = "lf-search";
+    String LOG_FILE_SEARCH_FILES = "lf-search-files";
+    String LOG_FILE_SEARCH_IGNORE_CASE = "lf-search-ignore-case";
+    String LOG_FILE_SEARCH_PATTERN = "lf-search-pattern";
     String LOGGING_CONFIG_AND_PROFILES = "lcap";
     String LOGGING_CONFIGURATION = "logging-configuration";
     String LOGGING_FORMATTER_ITEM = "logging-formatter-item";
@@ -320,6 +320,8 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     SafeHtml extensionUrl();
 
+    SafeHtml filteredMessagesQuestion(String filter);
+
     SafeHtml failedReadKeycloak(String address, String errorMessage);
 
     SafeHtml failedRedirectConsole(String url, String message);
@@ -442,6 +444,8 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     SafeHtml messageServerStopped(String name, String server);
 
+    SafeHtml messagesWindow(String from, String to, long count);
+
     SafeHtml messagingServerStatisticsDisabled(String server);
 
     SafeHtml metadataError();
@@ -993,6 +997,8 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     SafeHtml uploadInProgress(String name);
 
+    SafeHtml uploadProgress(String name, String loaded, String total, String throughput);
+
     SafeHtml uploadSuccessful(String name);
 
     SafeHtml verifyRenewError(String alias, String resource, String error);
@@ -1019,6 +1025,8 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     String bootErrors();
 
+    String cacheStatisticsDescription();
+
     String cancelNonProgressingOperation();
 
     String changeAccountKeyQuestion(String name);
@@ -1033,6 +1041,10 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     String connectedTo(String url);
 
+    String consolePerformanceDescription();
+
+    String consolePerformanceSummary(int inFlight, int maxInFlight, int batches, int roundTripsSaved);
+
     String contentFilterDescription();
 
     String copyServerTitle();
@@ -1069,6 +1081,8 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     String domainUuidLabel(String uuid);
 
+    String downloadProgress(String loaded, String total);
+
     String duplicateAuthenticationModuleReason();
 
     String duplicateResource(String type);
@@ -1089,6 +1103,12 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     String findNonProgressingOperation();
 
+    String flowTracesDescription(int capacity);
+
+    String globalSearchDescription(int places, int resources);
+
+    String globalSearchError(String error);
+
     String goTo(String name);
 
     String homepagePatchingDomainStepIntro(String name);
@@ -1141,12 +1161,26 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
 
     String logfileColumnFilterDescription();
 
+    String logFileChunkStatus(int from, int to, String lastUpdate);
+
     String logFileFullStatus(int lines, String lastUpdate);
 
+    String logFileNoMatch(String query);
+
     String logFilePartStatus(int lines, String lastUpdate);
 
     String logFilePreview(int lines);
 
+    String logFileSearching(int line);
+
+    String logSearchInvalidPattern(String error);
+
+    String logSearchLimit(int hits);
+
+    String logSearchProgress(String file, int hits);
+
+    String logSearchResult(int hits, int files);
+
     String mailColumnFilterDescription();
 
     String membershipColumnFilterDescription();